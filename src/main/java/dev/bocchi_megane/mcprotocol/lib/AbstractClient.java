@@ -0,0 +1,1755 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import dev.bocchi_megane.mcprotocol.lib.capability.CpuCapability;
+import dev.bocchi_megane.mcprotocol.lib.capability.CpuCapabilityRegistry;
+import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.mapping.StructMapper;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.ArrayLabelReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.ArrayLabelWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockBitReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockWordReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BufferMemoryReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BufferMemoryReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.BufferMemoryWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.EchoTestRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.EchoTestResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.LabelRandomReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.LabelRandomWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.LabelReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.PlcTypeNameRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.PlcTypeNameResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RemoteRunRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RemoteStopRequest;
+import dev.bocchi_megane.mcprotocol.lib.plan.ReadPlan;
+import dev.bocchi_megane.mcprotocol.lib.plan.ReadPlanner;
+import dev.bocchi_megane.mcprotocol.lib.plan.ReadResult;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * MCプロトコルクライアント基底クラス
+ * デバイスの読み書きや制御コマンドなど、PLCに対する操作を要求の送信処理の上に実装します。
+ * 要求をどの通信路で送受信するかはサブクラスが決定します。
+ */
+public abstract class AbstractClient {
+    /** デバッグモードフラグ */
+    protected boolean _isDebug;
+    /** 接続先のCPUの能力 */
+    private volatile CpuCapability _cpuCapability = CpuCapability.DEFAULT;
+    /** デバイス指定の読書きのデバイス指定形式 */
+    private volatile DeviceFormatEnum _deviceFormat = DeviceFormatEnum.Q;
+    /** ラベル名から変換済みのラベル指定を引くキャッシュ */
+    private final LabelCache _labelCache = new LabelCache();
+
+    /**
+     * コンストラクタ
+     * 
+     * @param isDebug デバッグモードを有効にする場合はtrue
+     */
+    protected AbstractClient(boolean isDebug) {
+        this._isDebug = isDebug;
+    }
+
+    /**
+     * PLCへ安全に接続を確立します。
+     * 
+     * @return 接続が失敗したら true を返す
+     */
+    public abstract boolean connect();
+
+    /**
+     * PLCへの接続を例外処理なしで実行します。
+     * 
+     * @throws Exception 接続時に発生する可能性のある例外
+     */
+    public abstract void unsafe_connect() throws Exception;
+
+    /**
+     * PLCとの接続を切断します。
+     */
+    public abstract void disconnect();
+
+    /**
+     * 現在の接続状態を確認します。
+     * 
+     * @return 接続中の場合はtrue、切断中の場合はfalse
+     */
+    public abstract boolean isConnected();
+
+    /**
+     * PLCに要求伝文を送信し、応答伝文を受信・解析します。
+     * 
+     * @param requestPayload 送信する要求ペイロード
+     * @return 解析された応答ペイロード
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException 応答の終了コードが異常の場合
+     */
+    public abstract AbstractResponse sendRequest(AbstractRequest requestPayload);
+
+    /**
+     * PLCに要求伝文を非同期に送信します。
+     * 送受信に失敗した場合や応答が異常の場合、フューチャーは sendRequest と同じ例外で異常完了します。
+     * 
+     * @param requestPayload 送信する要求ペイロード
+     * @return 解析された応答ペイロードで完了するフューチャー
+     */
+    public abstract CompletableFuture<AbstractResponse> sendRequestAsync(AbstractRequest requestPayload);
+
+    /**
+     * 複数の要求伝文をまとめて送信し、それぞれの応答伝文を受信・解析します。
+     * 
+     * @param requestPayloads 送信する要求ペイロードのリスト
+     * @return 要求と同じ順序に並べた応答ペイロードのリスト
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException いずれかの応答の終了コードが異常の場合
+     */
+    public abstract List<AbstractResponse> sendRequests(List<? extends AbstractRequest> requestPayloads);
+
+    /**
+     * 接続先のCPUの能力を設定します。
+     * 一括読書きの分割や読出し計画は、この能力の点数上限とデバイスの範囲に従います。
+     * 
+     * @param cpuCapability CPUの能力
+     */
+    public void setCpuCapability(CpuCapability cpuCapability) {
+        _cpuCapability = cpuCapability;
+    }
+
+    /**
+     * 接続先のCPUの能力を取得します。
+     * 
+     * @return CPUの能力（設定していない場合は {@link CpuCapability#DEFAULT}）
+     */
+    public CpuCapability getCpuCapability() {
+        return _cpuCapability;
+    }
+
+    /**
+     * デバイス指定の読書きのデバイス指定形式を設定します。
+     * {@link DeviceFormatEnum#IQ_R} を設定すると、一括・ランダム・複数ブロックの読書きをサブコマンド0002H/0003Hで要求し、
+     * 3バイトに収まらないデバイス番号も指定できるようになります。
+     * iQ-Rシリーズの形式では、ランダム読書きの点数と複数ブロック読書きのブロック数の上限が小さくなります。
+     * 
+     * @param deviceFormat デバイス指定形式
+     */
+    public void setDeviceFormat(DeviceFormatEnum deviceFormat) {
+        _deviceFormat = deviceFormat;
+    }
+
+    /**
+     * デバイス指定の読書きのデバイス指定形式を取得します。
+     * 
+     * @return デバイス指定形式（設定していない場合は {@link DeviceFormatEnum#Q}）
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
+    /**
+     * PLC形名を読み取り、レジストリから引いたCPUの能力を設定します。
+     * CPUがiQ-Rシリーズ用のサブコマンドに対応している場合は、デバイス指定形式も {@link DeviceFormatEnum#IQ_R} にします。
+     * 
+     * @param registry CPU能力レジストリ
+     * @return 設定したCPUの能力
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException 応答の終了コードが異常の場合
+     */
+    public CpuCapability loadCpuCapability(CpuCapabilityRegistry registry) {
+        CpuCapability cpuCapability = registry.lookup(readPlcTypeName());
+        setCpuCapability(cpuCapability);
+        setDeviceFormat(cpuCapability.isIqrSubcommandSupported() ? DeviceFormatEnum.IQ_R : DeviceFormatEnum.Q);
+        return cpuCapability;
+    }
+
+    /**
+     * 指定されたデバイスの値を取得します。
+     * デバイス種別に応じて自動的にワード読込みまたはビット読込みを実行します。
+     * 
+     * @param deviceString デバイス名（例："D100", "M0"）
+     * @return デバイスの値（ビットデバイスの場合は0または1）
+     * @throws UnsupportedOperationException サポートされていないデバイス種別の場合
+     */
+    public short getDevice2(String deviceString) {
+        DeviceSpec device = new DeviceSpec(deviceString);
+        switch (device.getDeviceCode().getDataType()) {
+            case WORD:
+                return readBlockWord(device, (short)1)[0];
+            case BIT:
+                return (short)(readBlockBit(device, (short)1)[0] ? 1 : 0);
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * 指定されたデバイスに値を設定します。
+     * デバイス種別に応じて自動的にワード書込みまたはビット書込みを実行します。
+     * 
+     * @param deviceString デバイス名（例："D100", "M0"）
+     * @param value 設定する値（ビットデバイスの場合は0または1）
+     * @throws UnsupportedOperationException サポートされていないデバイス種別の場合
+     * @throws IllegalArgumentException ビットデバイスで0,1以外の値が指定された場合
+     */
+    public void setDevice2(String deviceString, short value) {
+        DeviceSpec device = new DeviceSpec(deviceString);
+        switch (device.getDeviceCode().getDataType()) {
+            case WORD:
+                writeBlockWord(device, new short[]{value});
+                break;
+            case BIT:
+                if (value == 0) {
+                    writeBlockBit(device, new boolean[]{false});
+                } else if (value == 1) {
+                    writeBlockBit(device, new boolean[]{true});
+                } else {
+                    throw new IllegalArgumentException("test");
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * 指定されたデバイスの値をコンソールに表示します。
+     * 
+     * @param deviceName 表示するデバイス名
+     */
+    public void printDevice2(String deviceName) {
+        short value = getDevice2(deviceName);
+        System.out.println(deviceName + ": " + value);
+    }
+
+    /**
+     * ワード単位でのデバイス一括読込みを実行します。
+     * 1回の要求の上限（{@link CpuCapability#getMaxWordPoints()} 点）を超える範囲は複数の要求に分割し、
+     * 続けて送信（4Eフレームではパイプライン送信）した応答を1つの配列にまとめます。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様
+     * @param devicePoint 読込みデバイス点数
+     * @return 読込まれたデータの配列
+     * @throws IllegalArgumentException 点数が負の場合
+     */
+    public short[] readBlockWord(DeviceSpec deviceSpec, int devicePoint) {
+        if (_isDebug) {
+            System.out.println("一括読込み（ワード単位）: readBlockWord");
+        }
+        // 要求伝文を構築
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, false);
+        // 送信
+        return concatWordResponses(sendChunks(requestPayloads), devicePoint);
+    }
+
+    /**
+     * ワード単位でのデバイス一括読込みを非同期に実行します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様
+     * @param devicePoint 読込みデバイス点数
+     * @return 読込まれたデータの配列で完了するフューチャー
+     * @throws IllegalArgumentException 点数が負の場合
+     * @see #readBlockWord(DeviceSpec, int)
+     */
+    public CompletableFuture<short[]> readBlockWordAsync(DeviceSpec deviceSpec, int devicePoint) {
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, false);
+        return sendChunksAsync(requestPayloads)
+            .thenApply(responses -> concatWordResponses(responses, devicePoint));
+    }
+    
+    /**
+     * ワード単位でのデバイス一括書込みを実行します。
+     * 1回の要求の上限を超えるデータは複数の要求に分割して続けて送信するため、
+     * 途中の要求が失敗した場合はそれより前の範囲だけが書き込まれた状態になります。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様
+     * @param writeData 書込むデータの配列
+     */
+    public void writeBlockWord(DeviceSpec deviceSpec, short[] writeData) {
+        if (_isDebug) {
+            System.out.println("一括書込み（ワード単位）: writeBlockWord");
+        }
+        // 要求伝文を構築
+        List<BlockWriteRequest> requestPayloads = buildBlockWriteWordRequests(deviceSpec, Converter.fromShortArrayToBytes(writeData));
+        // 送信
+        sendChunks(requestPayloads);
+    }
+
+    /**
+     * ワード単位でのデバイス一括書込みを非同期に実行します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様
+     * @param writeData 書込むデータの配列
+     * @return 書込みの完了で完了するフューチャー
+     * @see #writeBlockWord(DeviceSpec, short[])
+     */
+    public CompletableFuture<Void> writeBlockWordAsync(DeviceSpec deviceSpec, short[] writeData) {
+        return sendChunksAsync(buildBlockWriteWordRequests(deviceSpec, Converter.fromShortArrayToBytes(writeData)))
+            .thenApply(responses -> null);
+    }
+
+    /**
+     * ワード単位でのデバイス一括読込みを実行し、型を指定して読み出せるワードブロックとして取得します。
+     * 分割が不要な場合、ワードブロックは応答のバイトデータをコピーせずに参照します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様
+     * @param devicePoint 読込みデバイス点数（ワード数）
+     * @return 読込まれたデータのワードブロック
+     * @throws IllegalArgumentException 点数が負の場合
+     */
+    public WordBlock readWordBlock(DeviceSpec deviceSpec, int devicePoint) {
+        if (_isDebug) {
+            System.out.println("一括読込み（ワードブロック）: readWordBlock");
+        }
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, false);
+        return new WordBlock(deviceSpec, concatWordResponseBytes(sendChunks(requestPayloads), devicePoint));
+    }
+
+    /**
+     * ワード単位でのデバイス一括読込みを非同期に実行し、ワードブロックとして取得します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様
+     * @param devicePoint 読込みデバイス点数（ワード数）
+     * @return 読込まれたデータのワードブロックで完了するフューチャー
+     * @throws IllegalArgumentException 点数が負の場合
+     * @see #readWordBlock(DeviceSpec, int)
+     */
+    public CompletableFuture<WordBlock> readWordBlockAsync(DeviceSpec deviceSpec, int devicePoint) {
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, false);
+        return sendChunksAsync(requestPayloads)
+            .thenApply(responses -> new WordBlock(deviceSpec, concatWordResponseBytes(responses, devicePoint)));
+    }
+
+    /**
+     * ワードブロックの内容をワード単位で一括書込みします。
+     * 分割が不要な場合、ワードブロックのバイトデータをコピーせずに要求の書込みデータとして使います。
+     * 
+     * @param writeData 書込むワードブロック（先頭デバイスから書き込みます）
+     */
+    public void writeWordBlock(WordBlock writeData) {
+        if (_isDebug) {
+            System.out.println("一括書込み（ワードブロック）: writeWordBlock");
+        }
+        sendChunks(buildBlockWriteWordRequests(writeData.getDeviceSpec(), writeData.getBytes()));
+    }
+
+    /**
+     * ワードブロックの内容をワード単位で非同期に一括書込みします。
+     * 
+     * @param writeData 書込むワードブロック（先頭デバイスから書き込みます）
+     * @return 書込みの完了で完了するフューチャー
+     * @see #writeWordBlock(WordBlock)
+     */
+    public CompletableFuture<Void> writeWordBlockAsync(WordBlock writeData) {
+        return sendChunksAsync(buildBlockWriteWordRequests(writeData.getDeviceSpec(), writeData.getBytes()))
+            .thenApply(responses -> null);
+    }
+
+    /**
+     * ワード単位でのデバイス一括読込みを実行し、1件分の値に変換します。
+     * 
+     * @param <T> 対応付ける型
+     * @param deviceSpec 読込み開始デバイス仕様
+     * @param mapper 対応付けに使うマッパー
+     * @return 読み出した値
+     * @see StructMapper#decode(WordBlock)
+     */
+    public <T> T readStruct(DeviceSpec deviceSpec, StructMapper<T> mapper) {
+        return mapper.decode(readWordBlock(deviceSpec, mapper.getWordCount()));
+    }
+
+    /**
+     * ワード単位でのデバイス一括読込みを実行し、連続して並んだ複数件の値に変換します。
+     * 
+     * @param <T> 対応付ける型
+     * @param deviceSpec 読込み開始デバイス仕様
+     * @param mapper 対応付けに使うマッパー
+     * @param count 件数
+     * @return 読み出した値のリスト
+     * @see StructMapper#decodeAll(WordBlock, int)
+     */
+    public <T> List<T> readStructs(DeviceSpec deviceSpec, StructMapper<T> mapper, int count) {
+        return mapper.decodeAll(readWordBlock(deviceSpec, mapper.getWordCount() * count), count);
+    }
+
+    /**
+     * 1件分の値をワード単位で一括書込みします。
+     * フィールドの割り当てのないワードと、BITフィールドのワード中の割り当てのないビットには0を書き込みます。
+     * 
+     * @param <T> 対応付ける型
+     * @param deviceSpec 書込み開始デバイス仕様
+     * @param mapper 対応付けに使うマッパー
+     * @param value 書き込む値
+     * @see StructMapper#encode(DeviceSpec, Object)
+     */
+    public <T> void writeStruct(DeviceSpec deviceSpec, StructMapper<T> mapper, T value) {
+        writeWordBlock(mapper.encode(deviceSpec, value));
+    }
+
+    /**
+     * ダブルワードデバイス（LTN、LSTN、LCN、LZ）の一括読込みを実行します。
+     * 現在値の2ワード（下位、上位の順）をint値に変換します。
+     * LTN、LSTNは1点が4ワード（現在値、接点・コイル、予約）のため、先頭の2ワードだけを取り出します。
+     * これらのデバイスはiQ-Rシリーズの形式でのみ指定できるため、{@link #setDeviceFormat(DeviceFormatEnum)} の設定によらず
+     * サブコマンド0002Hで要求します。
+     * 1回の要求の上限（{@link CpuCapability#getMaxWordPoints()} / 1点のワード数）を超える範囲は複数の要求に分割します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ダブルワードデバイスのみ）
+     * @param devicePoint 読込みデバイス点数（ダブルワード点数）
+     * @return 読込まれたデータの配列
+     * @throws IllegalArgumentException ダブルワードデバイス以外、負の点数が指定された場合
+     */
+    public int[] readBlockDword(DeviceSpec deviceSpec, int devicePoint) {
+        if (_isDebug) {
+            System.out.println("一括読込み（ダブルワード単位）: readBlockDword");
+        }
+        List<BlockReadRequest> requestPayloads = buildBlockReadDwordRequests(deviceSpec, devicePoint);
+        return concatDwordResponses(sendChunks(requestPayloads), devicePoint, deviceSpec.getDeviceCode().getWordsPerPoint());
+    }
+
+    /**
+     * ダブルワードデバイス（LTN、LSTN、LCN、LZ）の一括読込みを非同期に実行します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ダブルワードデバイスのみ）
+     * @param devicePoint 読込みデバイス点数（ダブルワード点数）
+     * @return 読込まれたデータの配列で完了するフューチャー
+     * @throws IllegalArgumentException ダブルワードデバイス以外、負の点数が指定された場合
+     * @see #readBlockDword(DeviceSpec, int)
+     */
+    public CompletableFuture<int[]> readBlockDwordAsync(DeviceSpec deviceSpec, int devicePoint) {
+        List<BlockReadRequest> requestPayloads = buildBlockReadDwordRequests(deviceSpec, devicePoint);
+        return sendChunksAsync(requestPayloads)
+            .thenApply(responses -> concatDwordResponses(responses, devicePoint, deviceSpec.getDeviceCode().getWordsPerPoint()));
+    }
+
+    /**
+     * ダブルワードデバイス（LCN、LZ）の一括書込みを実行します。
+     * 1点を2ワード（下位、上位の順）として、iQ-Rシリーズの形式（サブコマンド0002H）で書き込みます。
+     * LTN、LSTNは1点のワードに接点・コイルを含み、現在値だけを書き込めないため指定できません。
+     * 1回の要求の上限を超えるデータは複数の要求に分割して続けて送信します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（LCN、LZのみ）
+     * @param writeData 書込むデータの配列
+     * @throws IllegalArgumentException ダブルワードデバイス以外、またはLTN、LSTNが指定された場合
+     */
+    public void writeBlockDword(DeviceSpec deviceSpec, int[] writeData) {
+        if (_isDebug) {
+            System.out.println("一括書込み（ダブルワード単位）: writeBlockDword");
+        }
+        sendChunks(buildBlockWriteDwordRequests(deviceSpec, writeData));
+    }
+
+    /**
+     * ダブルワードデバイス（LCN、LZ）の一括書込みを非同期に実行します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（LCN、LZのみ）
+     * @param writeData 書込むデータの配列
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException ダブルワードデバイス以外、またはLTN、LSTNが指定された場合
+     * @see #writeBlockDword(DeviceSpec, int[])
+     */
+    public CompletableFuture<Void> writeBlockDwordAsync(DeviceSpec deviceSpec, int[] writeData) {
+        return sendChunksAsync(buildBlockWriteDwordRequests(deviceSpec, writeData)).thenApply(responses -> null);
+    }
+
+    /**
+     * ビット単位でのデバイス一括読込みを実行します。
+     * 1回の要求の上限（{@link CpuCapability#getMaxBitPoints()} 点）を超える範囲は複数の要求に分割し、
+     * 続けて送信（4Eフレームではパイプライン送信）した応答を1つの配列にまとめます。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ビットデバイスのみ）
+     * @param devicePoint 読込みデバイス点数
+     * @return 読込まれたデータの配列（true/false）
+     * @throws UnsupportedOperationException ビットデバイス以外が指定された場合
+     * @throws IllegalArgumentException 点数が負の場合
+     */
+    public boolean[] readBlockBit(DeviceSpec deviceSpec, int devicePoint) {
+        if (_isDebug) {
+            System.out.println("一括読込み（ビット単位）: readBlockBit");
+        }
+        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
+            throw new UnsupportedOperationException("ビットデバイス以外は対応していません");
+        }
+
+        // 要求伝文を構築
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, true);
+        // 送信
+        return concatBitResponses(sendChunks(requestPayloads), devicePoint);
+    }
+
+    /**
+     * ビット単位でのデバイス一括読込みを非同期に実行します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ビットデバイスのみ）
+     * @param devicePoint 読込みデバイス点数
+     * @return 読込まれたデータの配列（true/false）で完了するフューチャー
+     * @throws UnsupportedOperationException ビットデバイス以外が指定された場合
+     * @throws IllegalArgumentException 点数が負の場合
+     * @see #readBlockBit(DeviceSpec, int)
+     */
+    public CompletableFuture<boolean[]> readBlockBitAsync(DeviceSpec deviceSpec, int devicePoint) {
+        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
+            throw new UnsupportedOperationException("ビットデバイス以外は対応していません");
+        }
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, true);
+        return sendChunksAsync(requestPayloads)
+            .thenApply(responses -> concatBitResponses(responses, devicePoint));
+    }
+
+    /**
+     * ビット単位でのデバイス一括書込みを実行します。
+     * 配列サイズが奇数の場合は自動的に偶数に調整されます。
+     * 1回の要求の上限を超えるデータは複数の要求に分割して続けて送信します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ）
+     * @param writeData 書込むデータの配列（true/false）
+     * @throws IllegalArgumentException 配列サイズが0またはビットデバイス以外が指定された場合
+     */
+    public void writeBlockBit(DeviceSpec deviceSpec, boolean[] writeData) {
+        if (_isDebug) {
+            System.out.println("一括書込み（ビット単位）: writeBlockBit");
+        }
+        // 送信
+        sendChunks(buildBlockWriteBitRequests(deviceSpec, writeData));
+    }
+
+    /**
+     * ビット単位でのデバイス一括書込みを非同期に実行します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ）
+     * @param writeData 書込むデータの配列（true/false）
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException 配列サイズが0またはビットデバイス以外が指定された場合
+     * @see #writeBlockBit(DeviceSpec, boolean[])
+     */
+    public CompletableFuture<Void> writeBlockBitAsync(DeviceSpec deviceSpec, boolean[] writeData) {
+        return sendChunksAsync(buildBlockWriteBitRequests(deviceSpec, writeData)).thenApply(responses -> null);
+    }
+
+    /**
+     * ビット単位でのデバイス一括読込みを実行し、64点ずつlongに詰めた形で取得します。
+     * 通信は {@link #readBlockBit(DeviceSpec, int)} と同じビット単位ですが、
+     * 応答をboolean配列に展開せずに1点あたり1ビットで保持します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ビットデバイスのみ）
+     * @param devicePoint 読込みデバイス点数
+     * @return 読込まれたデータ（インデックス0が先頭デバイス）
+     * @throws UnsupportedOperationException ビットデバイス以外が指定された場合
+     * @throws IllegalArgumentException 点数が負の場合
+     */
+    public BitSet readBlockBitPacked(DeviceSpec deviceSpec, int devicePoint) {
+        if (_isDebug) {
+            System.out.println("一括読込み（ビット単位、パック形式）: readBlockBitPacked");
+        }
+        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
+            throw new UnsupportedOperationException("ビットデバイス以外は対応していません");
+        }
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, true);
+        return concatPackedBitResponses(sendChunks(requestPayloads), devicePoint);
+    }
+
+    /**
+     * ビット単位でのデバイス一括読込みを非同期に実行し、64点ずつlongに詰めた形で取得します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ビットデバイスのみ）
+     * @param devicePoint 読込みデバイス点数
+     * @return 読込まれたデータで完了するフューチャー
+     * @throws UnsupportedOperationException ビットデバイス以外が指定された場合
+     * @throws IllegalArgumentException 点数が負の場合
+     * @see #readBlockBitPacked(DeviceSpec, int)
+     */
+    public CompletableFuture<BitSet> readBlockBitPackedAsync(DeviceSpec deviceSpec, int devicePoint) {
+        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
+            throw new UnsupportedOperationException("ビットデバイス以外は対応していません");
+        }
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, devicePoint, true);
+        return sendChunksAsync(requestPayloads)
+            .thenApply(responses -> concatPackedBitResponses(responses, devicePoint));
+    }
+
+    /**
+     * ビットデバイスをワード単位（16点で1ワード）で一括読込みします。
+     * ビット単位の読込みに比べて通信量が1/4になり、結果も1点あたり1ビットで保持します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ビットデバイスのみ、デバイス番号は16の倍数）
+     * @param devicePoint 読込みデバイス点数（ビット点数）
+     * @return 読込まれたデータ（インデックス0が先頭デバイス）
+     * @throws IllegalArgumentException ビットデバイス以外、16の倍数でない先頭デバイス、負の点数が指定された場合
+     */
+    public BitSet readBits(DeviceSpec deviceSpec, int devicePoint) {
+        if (_isDebug) {
+            System.out.println("一括読込み（ビットデバイスのワード単位）: readBits");
+        }
+        int wordPoint = toWordPoint(deviceSpec, devicePoint);
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, wordPoint, false);
+        short[] words = concatWordResponses(sendChunks(requestPayloads), wordPoint);
+        return toBitSet(Converter.fromWordsToLongArray(words), devicePoint);
+    }
+
+    /**
+     * ビットデバイスをワード単位（16点で1ワード）で非同期に一括読込みします。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ビットデバイスのみ、デバイス番号は16の倍数）
+     * @param devicePoint 読込みデバイス点数（ビット点数）
+     * @return 読込まれたデータで完了するフューチャー
+     * @throws IllegalArgumentException ビットデバイス以外、16の倍数でない先頭デバイス、負の点数が指定された場合
+     * @see #readBits(DeviceSpec, int)
+     */
+    public CompletableFuture<BitSet> readBitsAsync(DeviceSpec deviceSpec, int devicePoint) {
+        int wordPoint = toWordPoint(deviceSpec, devicePoint);
+        List<BlockReadRequest> requestPayloads = buildBlockReadRequests(deviceSpec, wordPoint, false);
+        return sendChunksAsync(requestPayloads)
+            .thenApply(responses -> {
+                short[] words = concatWordResponses(responses, wordPoint);
+                return toBitSet(Converter.fromWordsToLongArray(words), devicePoint);
+            });
+    }
+
+    /**
+     * ビットデバイスへワード単位（16点で1ワード）で一括書込みします。
+     * ワード単位で書き込むため、点数は16の倍数で指定します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ、デバイス番号は16の倍数）
+     * @param writeData 書込むデータ（インデックス0が先頭デバイス）
+     * @param devicePoint 書込みデバイス点数（ビット点数、16の倍数）
+     * @throws IllegalArgumentException ビットデバイス以外、16の倍数でない先頭デバイス・点数が指定された場合
+     */
+    public void writeBits(DeviceSpec deviceSpec, BitSet writeData, int devicePoint) {
+        if (_isDebug) {
+            System.out.println("一括書込み（ビットデバイスのワード単位）: writeBits");
+        }
+        sendChunks(buildBlockWriteBitsRequests(deviceSpec, writeData, devicePoint));
+    }
+
+    /**
+     * ビットデバイスへワード単位（16点で1ワード）で非同期に一括書込みします。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ、デバイス番号は16の倍数）
+     * @param writeData 書込むデータ（インデックス0が先頭デバイス）
+     * @param devicePoint 書込みデバイス点数（ビット点数、16の倍数）
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException ビットデバイス以外、16の倍数でない先頭デバイス・点数が指定された場合
+     * @see #writeBits(DeviceSpec, BitSet, int)
+     */
+    public CompletableFuture<Void> writeBitsAsync(DeviceSpec deviceSpec, BitSet writeData, int devicePoint) {
+        return sendChunksAsync(buildBlockWriteBitsRequests(deviceSpec, writeData, devicePoint)).thenApply(responses -> null);
+    }
+
+    /**
+     * 分割した要求を送信します。
+     * 要求が1つの場合は単独で、複数の場合はまとめて送信します。
+     * 
+     * @param requestPayloads 送信する要求ペイロードのリスト
+     * @return 要求と同じ順序に並べた応答ペイロードのリスト
+     */
+    private List<AbstractResponse> sendChunks(List<? extends AbstractRequest> requestPayloads) {
+        if (requestPayloads.size() == 1) {
+            return List.of(sendRequest(requestPayloads.get(0)));
+        }
+        return sendRequests(requestPayloads);
+    }
+
+    /**
+     * 分割した要求を非同期に送信します。
+     * 
+     * @param requestPayloads 送信する要求ペイロードのリスト
+     * @return 要求と同じ順序に並べた応答ペイロードのリストで完了するフューチャー
+     */
+    private CompletableFuture<List<AbstractResponse>> sendChunksAsync(List<? extends AbstractRequest> requestPayloads) {
+        if (requestPayloads.size() == 1) {
+            return sendRequestAsync(requestPayloads.get(0)).thenApply(List::of);
+        }
+        List<CompletableFuture<AbstractResponse>> futures = new ArrayList<>(requestPayloads.size());
+        for (AbstractRequest requestPayload : requestPayloads) {
+            futures.add(sendRequestAsync(requestPayload));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(v -> {
+                List<AbstractResponse> responses = new ArrayList<>(futures.size());
+                for (CompletableFuture<AbstractResponse> future : futures) {
+                    responses.add(future.join());
+                }
+                return responses;
+            });
+    }
+
+    /**
+     * 一括読込みの範囲を、1回の要求の上限以内の要求に分割します。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様
+     * @param devicePoint 読込みデバイス点数
+     * @param isBitDevice ビット単位読込みの場合はtrue
+     * @return 一括読込み要求のリスト（範囲の先頭から順）
+     * @throws IllegalArgumentException 点数が負の場合
+     */
+    private List<BlockReadRequest> buildBlockReadRequests(DeviceSpec deviceSpec, int devicePoint, boolean isBitDevice) {
+        if (devicePoint < 0) {
+            throw new IllegalArgumentException("読込み点数が不正です: " + devicePoint);
+        }
+        CpuCapability capability = _cpuCapability;
+        DeviceFormatEnum format = deviceFormatOf(deviceSpec);
+        capability.checkRange(deviceSpec, deviceCount(deviceSpec, devicePoint, isBitDevice));
+        int wordsPerPoint = deviceSpec.getDeviceCode().getWordsPerPoint();
+        // ダブルワードデバイスは1点のワードを分割しない
+        int maxPoints = isBitDevice ? capability.getMaxBitPoints() : capability.getMaxWordPoints() / wordsPerPoint * wordsPerPoint;
+        if (devicePoint <= maxPoints) {
+            return List.of(new BlockReadRequest(deviceSpec, (short)devicePoint, isBitDevice, format));
+        }
+        int unit = deviceUnit(deviceSpec, isBitDevice);
+        List<BlockReadRequest> requestPayloads = new ArrayList<>();
+        for (int offset = 0; offset < devicePoint; offset += maxPoints) {
+            requestPayloads.add(new BlockReadRequest(
+                offsetDeviceSpec(deviceSpec, offset * unit / wordsPerPoint),
+                (short)Math.min(maxPoints, devicePoint - offset),
+                isBitDevice,
+                format
+            ));
+        }
+        return requestPayloads;
+    }
+
+    /**
+     * ワード単位の一括書込みデータを、1回の要求の上限以内の要求に分割します。
+     * 分割が不要な場合は書込みデータのバイト配列をそのまま要求に渡します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様
+     * @param writeBytes 書込むデータ（1ワードに2バイト、リトルエンディアン）
+     * @return 一括書込み要求のリスト（範囲の先頭から順）
+     */
+    private List<BlockWriteRequest> buildBlockWriteWordRequests(DeviceSpec deviceSpec, byte[] writeBytes) {
+        CpuCapability capability = _cpuCapability;
+        DeviceFormatEnum format = deviceFormatOf(deviceSpec);
+        capability.checkRange(deviceSpec, deviceCount(deviceSpec, writeBytes.length / 2, false));
+        int wordsPerPoint = deviceSpec.getDeviceCode().getWordsPerPoint();
+        // ダブルワードデバイスは1点のワードを分割しない
+        int maxBytes = capability.getMaxWordPoints() / wordsPerPoint * wordsPerPoint * 2;
+        if (writeBytes.length <= maxBytes) {
+            return List.of(new BlockWriteRequest(deviceSpec, (short)(writeBytes.length / 2), writeBytes, false, format));
+        }
+        int unit = deviceUnit(deviceSpec, false);
+        List<BlockWriteRequest> requestPayloads = new ArrayList<>();
+        for (int offset = 0; offset < writeBytes.length; offset += maxBytes) {
+            byte[] chunk = Arrays.copyOfRange(writeBytes, offset, Math.min(offset + maxBytes, writeBytes.length));
+            requestPayloads.add(new BlockWriteRequest(
+                offsetDeviceSpec(deviceSpec, offset / 2 * unit / wordsPerPoint),
+                (short)(chunk.length / 2),
+                chunk,
+                false,
+                format
+            ));
+        }
+        return requestPayloads;
+    }
+
+    /**
+     * ビット単位の一括書込みデータを、1回の要求の上限以内の要求に分割します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ）
+     * @param writeData 書込むデータの配列（true/false）
+     * @return 一括書込み要求のリスト（範囲の先頭から順）
+     * @throws IllegalArgumentException 配列サイズが0またはビットデバイス以外が指定された場合
+     */
+    private List<BlockWriteRequest> buildBlockWriteBitRequests(DeviceSpec deviceSpec, boolean[] writeData) {
+        CpuCapability capability = _cpuCapability;
+        DeviceFormatEnum format = deviceFormatOf(deviceSpec);
+        capability.checkRange(deviceSpec, writeData.length);
+        int maxPoints = capability.getMaxBitPoints();
+        if (writeData.length <= maxPoints) {
+            return List.of(buildBlockWriteBitRequest(deviceSpec, writeData, format));
+        }
+        List<BlockWriteRequest> requestPayloads = new ArrayList<>();
+        for (int offset = 0; offset < writeData.length; offset += maxPoints) {
+            boolean[] chunk = Arrays.copyOfRange(writeData, offset, Math.min(offset + maxPoints, writeData.length));
+            requestPayloads.add(buildBlockWriteBitRequest(offsetDeviceSpec(deviceSpec, offset), chunk, format));
+        }
+        return requestPayloads;
+    }
+
+    /**
+     * 一括読書きの1点が占めるデバイス数を求めます。
+     * ビットデバイスをワード単位でアクセスする場合は、1点（1ワード）が16デバイスに相当します。
+     * 
+     * @param deviceSpec 先頭デバイス仕様
+     * @param isBitDevice ビット単位でアクセスする場合はtrue
+     * @return 1点あたりのデバイス数
+     */
+    private static int deviceUnit(DeviceSpec deviceSpec, boolean isBitDevice) {
+        return !isBitDevice && deviceSpec.getDeviceCode().getDataType() == DataTypeEnum.BIT ? 16 : 1;
+    }
+
+    /**
+     * 一括読書きの点数が占めるデバイス数を求めます。
+     * ダブルワードデバイスをワード単位でアクセスする場合は、1デバイスの占めるワード数
+     * （{@link DeviceCodeEnum#getWordsPerPoint()}）の点数が1デバイスに相当します。
+     * 
+     * @param deviceSpec 先頭デバイス仕様
+     * @param devicePoint 点数
+     * @param isBitDevice ビット単位でアクセスする場合はtrue
+     * @return デバイス数
+     */
+    private static int deviceCount(DeviceSpec deviceSpec, int devicePoint, boolean isBitDevice) {
+        int wordsPerPoint = deviceSpec.getDeviceCode().getWordsPerPoint();
+        if (wordsPerPoint > 1) {
+            return (devicePoint + wordsPerPoint - 1) / wordsPerPoint;
+        }
+        return devicePoint * deviceUnit(deviceSpec, isBitDevice);
+    }
+
+    /**
+     * 一括読書きに使うデバイス指定形式を求めます。
+     * ロングタイマーなどiQ-Rシリーズの形式でのみ指定できるデバイスは、設定によらずiQ-Rシリーズの形式で要求します。
+     * 
+     * @param deviceSpec 先頭デバイス仕様
+     * @return デバイス指定形式
+     */
+    private DeviceFormatEnum deviceFormatOf(DeviceSpec deviceSpec) {
+        return deviceSpec.getDeviceCode().isIqrOnly() ? DeviceFormatEnum.IQ_R : _deviceFormat;
+    }
+
+    /**
+     * ランダム読書きに使うデバイス指定形式を求めます。
+     * iQ-Rシリーズの形式でのみ指定できるデバイスを1つでも含む場合は、設定によらずiQ-Rシリーズの形式で要求します。
+     * 
+     * @param first デバイス仕様のリスト
+     * @param second デバイス仕様のリスト
+     * @return デバイス指定形式
+     */
+    private DeviceFormatEnum deviceFormatOf(List<DeviceSpec> first, List<DeviceSpec> second) {
+        for (List<DeviceSpec> deviceSpecs : List.of(first, second)) {
+            for (DeviceSpec deviceSpec : deviceSpecs) {
+                if (deviceSpec.getDeviceCode().isIqrOnly()) {
+                    return DeviceFormatEnum.IQ_R;
+                }
+            }
+        }
+        return _deviceFormat;
+    }
+
+    /**
+     * 複数ブロック読書きに使うデバイス指定形式を求めます。
+     * iQ-Rシリーズの形式でのみ指定できるデバイスのブロックを1つでも含む場合は、設定によらずiQ-Rシリーズの形式で要求します。
+     * 
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト
+     * @return デバイス指定形式
+     */
+    private DeviceFormatEnum blockFormatOf(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks) {
+        for (List<DeviceBlock> blocks : List.of(wordBlocks, bitBlocks)) {
+            for (DeviceBlock block : blocks) {
+                if (block.getDeviceSpec().getDeviceCode().isIqrOnly()) {
+                    return DeviceFormatEnum.IQ_R;
+                }
+            }
+        }
+        return _deviceFormat;
+    }
+
+    /**
+     * 先頭デバイスから指定点数だけ進めたデバイス仕様を作成します。
+     * 
+     * @param deviceSpec 先頭デバイス仕様
+     * @param offset 進める点数
+     * @return 進めた位置のデバイス仕様
+     */
+    private static DeviceSpec offsetDeviceSpec(DeviceSpec deviceSpec, int offset) {
+        if (offset == 0) {
+            return deviceSpec;
+        }
+        return new DeviceSpec(deviceSpec.getDeviceCode(), deviceSpec.getDeviceNumber() + offset);
+    }
+
+    /**
+     * ビットデバイスをワード単位でアクセスする際のワード点数を求めます。
+     * 
+     * @param deviceSpec 先頭デバイス仕様
+     * @param devicePoint ビット点数
+     * @return ワード点数（ビット点数 / 16 の切り上げ）
+     * @throws IllegalArgumentException ビットデバイス以外、16の倍数でない先頭デバイス、負の点数が指定された場合
+     */
+    private static int toWordPoint(DeviceSpec deviceSpec, int devicePoint) {
+        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
+            throw new IllegalArgumentException("ビットデバイスを指定してください: " + deviceSpec);
+        }
+        if (deviceSpec.getDeviceNumber() % 16 != 0) {
+            throw new IllegalArgumentException("ワード単位でアクセスする先頭デバイスは16の倍数で指定してください: " + deviceSpec);
+        }
+        if (devicePoint < 0) {
+            throw new IllegalArgumentException("読込み点数が不正です: " + devicePoint);
+        }
+        return (devicePoint + 15) / 16;
+    }
+
+    /**
+     * ビットデバイスへのワード単位書込みデータを、1回の要求の上限以内の要求に分割します。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ、デバイス番号は16の倍数）
+     * @param writeData 書込むデータ
+     * @param devicePoint 書込みデバイス点数（ビット点数、16の倍数）
+     * @return 一括書込み要求のリスト（範囲の先頭から順）
+     * @throws IllegalArgumentException ビットデバイス以外、16の倍数でない先頭デバイス・点数が指定された場合
+     */
+    private List<BlockWriteRequest> buildBlockWriteBitsRequests(DeviceSpec deviceSpec, BitSet writeData, int devicePoint) {
+        if (devicePoint <= 0 || devicePoint % 16 != 0) {
+            throw new IllegalArgumentException("ワード単位で書き込む点数は16の倍数で指定してください: " + devicePoint);
+        }
+        int wordPoint = toWordPoint(deviceSpec, devicePoint);
+        short[] words = Converter.fromLongArrayToWords(writeData.toLongArray(), wordPoint);
+        return buildBlockWriteWordRequests(deviceSpec, Converter.fromShortArrayToBytes(words));
+    }
+
+    /**
+     * 64点ずつlongに詰めた配列から、指定点数より後ろを取り除いたBitSetを作成します。
+     * 
+     * @param packed 64点ずつlongに詰めた配列
+     * @param devicePoint 有効な点数
+     * @return 作成したBitSet
+     */
+    private static BitSet toBitSet(long[] packed, int devicePoint) {
+        BitSet bits = BitSet.valueOf(packed);
+        bits.clear(devicePoint, Math.max(devicePoint, packed.length * 64));
+        return bits;
+    }
+
+    /**
+     * 分割したビット単位読込みの応答を、64点ずつlongに詰めた1つのBitSetにまとめます。
+     * 分割の単位は64の倍数のため、各応答の配列をそのまま連結できます。
+     * 
+     * @param responses 要求順に並んだ応答のリスト
+     * @param devicePoint 全体の読込み点数
+     * @return 読込まれたデータ
+     */
+    private static BitSet concatPackedBitResponses(List<AbstractResponse> responses, int devicePoint) {
+        if (responses.size() == 1) {
+            return toBitSet(((BlockBitReadResponse)responses.get(0)).getPackedData(), devicePoint);
+        }
+        long[] result = new long[(devicePoint + 63) / 64];
+        int offset = 0;
+        for (AbstractResponse response : responses) {
+            long[] data = ((BlockBitReadResponse)response).getPackedData();
+            int length = Math.min(data.length, result.length - offset);
+            System.arraycopy(data, 0, result, offset, length);
+            offset += length;
+        }
+        return toBitSet(result, devicePoint);
+    }
+
+    /**
+     * ダブルワードデバイスの一括読込みの範囲を、1回の要求の上限以内の要求に分割します。
+     * 要求の点数はワード単位（1点で {@link DeviceCodeEnum#getWordsPerPoint()} ワード）で指定し、
+     * デバイス指定はiQ-Rシリーズの形式とします。
+     * 
+     * @param deviceSpec 読込み開始デバイス仕様（ダブルワードデバイスのみ）
+     * @param devicePoint 読込みデバイス点数（ダブルワード点数）
+     * @return 一括読込み要求のリスト（範囲の先頭から順）
+     * @throws IllegalArgumentException ダブルワードデバイス以外、負の点数が指定された場合
+     */
+    private List<BlockReadRequest> buildBlockReadDwordRequests(DeviceSpec deviceSpec, int devicePoint) {
+        checkDwordDevice(deviceSpec);
+        if (devicePoint < 0) {
+            throw new IllegalArgumentException("読込み点数が不正です: " + devicePoint);
+        }
+        CpuCapability capability = _cpuCapability;
+        DeviceFormatEnum format = deviceFormatOf(deviceSpec);
+        capability.checkRange(deviceSpec, devicePoint);
+        int wordsPerPoint = deviceSpec.getDeviceCode().getWordsPerPoint();
+        int maxPoints = capability.getMaxWordPoints() / wordsPerPoint;
+        List<BlockReadRequest> requestPayloads = new ArrayList<>();
+        int offset = 0;
+        do {
+            int points = Math.min(maxPoints, devicePoint - offset);
+            requestPayloads.add(new BlockReadRequest(offsetDeviceSpec(deviceSpec, offset), (short)(points * wordsPerPoint), false, format));
+            offset += points;
+        } while (offset < devicePoint);
+        return requestPayloads;
+    }
+
+    /**
+     * ダブルワードデバイスの一括書込みデータを、1回の要求の上限以内の要求に分割します。
+     * デバイス指定はiQ-Rシリーズの形式とします。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（2ワードで1点のダブルワードデバイスのみ）
+     * @param writeData 書込むデータの配列
+     * @return 一括書込み要求のリスト（範囲の先頭から順）
+     * @throws IllegalArgumentException ダブルワードデバイス以外、または接点・コイルを含むデバイスが指定された場合
+     */
+    private List<BlockWriteRequest> buildBlockWriteDwordRequests(DeviceSpec deviceSpec, int[] writeData) {
+        checkDwordDevice(deviceSpec);
+        if (deviceSpec.getDeviceCode().getWordsPerPoint() != 2) {
+            // 1点のワードに接点・コイルを含むため、現在値だけを書き込めない
+            throw new IllegalArgumentException("接点・コイルを含むデバイスにはダブルワード単位で一括書込みできません: " + deviceSpec);
+        }
+        CpuCapability capability = _cpuCapability;
+        DeviceFormatEnum format = deviceFormatOf(deviceSpec);
+        capability.checkRange(deviceSpec, writeData.length);
+        int maxPoints = capability.getMaxWordPoints() / 2;
+        List<BlockWriteRequest> requestPayloads = new ArrayList<>();
+        int offset = 0;
+        do {
+            int[] chunk = Arrays.copyOfRange(writeData, offset, Math.min(offset + maxPoints, writeData.length));
+            requestPayloads.add(new BlockWriteRequest(
+                offsetDeviceSpec(deviceSpec, offset),
+                (short)(chunk.length * 2),
+                Converter.fromIntArrayToBytes(chunk),
+                false,
+                format
+            ));
+            offset += chunk.length;
+        } while (offset < writeData.length);
+        return requestPayloads;
+    }
+
+    /**
+     * ダブルワードデバイスが指定されていることを確認します。
+     * 
+     * @param deviceSpec デバイス仕様
+     * @throws IllegalArgumentException ダブルワードデバイス以外が指定された場合
+     */
+    private static void checkDwordDevice(DeviceSpec deviceSpec) {
+        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.DWORD) {
+            throw new IllegalArgumentException("ダブルワードデバイスを指定してください: " + deviceSpec);
+        }
+    }
+
+    /**
+     * 分割したダブルワード単位読込みの応答を1つの配列にまとめます。
+     * 
+     * @param responses 要求順に並んだ応答のリスト
+     * @param devicePoint 全体の読込み点数（ダブルワード点数）
+     * @param wordsPerPoint 1点あたりのワード数
+     * @return 読込まれたデータの配列
+     */
+    private static int[] concatDwordResponses(List<AbstractResponse> responses, int devicePoint, int wordsPerPoint) {
+        if (responses.size() == 1) {
+            return ((BlockWordReadResponse)responses.get(0)).getDwordData(wordsPerPoint);
+        }
+        int[] result = new int[devicePoint];
+        int offset = 0;
+        for (AbstractResponse response : responses) {
+            int[] data = ((BlockWordReadResponse)response).getDwordData(wordsPerPoint);
+            System.arraycopy(data, 0, result, offset, data.length);
+            offset += data.length;
+        }
+        return result;
+    }
+
+    /**
+     * 分割したワード単位読込みの応答のバイトデータを1つの配列にまとめます。
+     * 
+     * @param responses 要求順に並んだ応答のリスト
+     * @param devicePoint 全体の読込み点数（ワード数）
+     * @return 読込まれたデータ（1ワードに2バイト、リトルエンディアン）
+     */
+    private static byte[] concatWordResponseBytes(List<AbstractResponse> responses, int devicePoint) {
+        if (responses.size() == 1) {
+            return ((BlockWordReadResponse)responses.get(0)).getReadBytes();
+        }
+        byte[] result = new byte[devicePoint * 2];
+        int offset = 0;
+        for (AbstractResponse response : responses) {
+            byte[] data = ((BlockWordReadResponse)response).getReadBytes();
+            System.arraycopy(data, 0, result, offset, data.length);
+            offset += data.length;
+        }
+        return result;
+    }
+
+    /**
+     * 分割したワード単位読込みの応答を1つの配列にまとめます。
+     * 
+     * @param responses 要求順に並んだ応答のリスト
+     * @param devicePoint 全体の読込み点数
+     * @return 読込まれたデータの配列
+     */
+    private static short[] concatWordResponses(List<AbstractResponse> responses, int devicePoint) {
+        if (responses.size() == 1) {
+            return ((BlockWordReadResponse)responses.get(0)).getReadData();
+        }
+        short[] result = new short[devicePoint];
+        int offset = 0;
+        for (AbstractResponse response : responses) {
+            short[] data = ((BlockWordReadResponse)response).getReadData();
+            System.arraycopy(data, 0, result, offset, data.length);
+            offset += data.length;
+        }
+        return result;
+    }
+
+    /**
+     * 分割したビット単位読込みの応答を1つの配列にまとめます。
+     * 各応答は偶数点に切り上げられているため、分割した点数分だけを取り出します。
+     * 
+     * @param responses 要求順に並んだ応答のリスト
+     * @param devicePoint 全体の読込み点数
+     * @return 読込まれたデータの配列（true/false）
+     */
+    private static boolean[] concatBitResponses(List<AbstractResponse> responses, int devicePoint) {
+        if (responses.size() == 1) {
+            return ((BlockBitReadResponse)responses.get(0)).getReadData();
+        }
+        boolean[] result = new boolean[devicePoint];
+        int offset = 0;
+        for (AbstractResponse response : responses) {
+            boolean[] data = ((BlockBitReadResponse)response).getReadData();
+            int length = Math.min(data.length, devicePoint - offset);
+            System.arraycopy(data, 0, result, offset, length);
+            offset += length;
+        }
+        return result;
+    }
+
+    /**
+     * ビット単位の一括書込み要求を構築します。
+     * 配列サイズが奇数の場合は自動的に偶数に調整されます。
+     * 
+     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ）
+     * @param writeData 書込むデータの配列（true/false）
+     * @param deviceFormat デバイス指定形式
+     * @return 一括書込み要求
+     * @throws IllegalArgumentException 配列サイズが0またはビットデバイス以外が指定された場合
+     */
+    private static BlockWriteRequest buildBlockWriteBitRequest(DeviceSpec deviceSpec, boolean[] writeData, DeviceFormatEnum deviceFormat) {
+        if (writeData.length < 1) {
+            throw new IllegalArgumentException("配列のサイズが間違っています");
+        }
+        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
+            throw new IllegalArgumentException("ビットデバイス以外は対応していません");
+        }
+
+        // 配列サイズが奇数であれば、偶数に揃える
+        if (writeData.length % 2 != 0) {
+            boolean[] temp = new boolean[writeData.length + 1];
+            for (int i=0; i<writeData.length; i++) {
+                temp[i] = writeData[i];
+            }
+            writeData = temp;
+        }
+  
+        // 送信データの変換
+        byte[] sendBytes = new byte[writeData.length / 2];
+        for (int i=0; i<sendBytes.length; i++) {
+            byte temp0 = (byte)(writeData[i*2 + 0] ? 0x1 : 0x0);
+            byte temp1 = (byte)(writeData[i*2 + 1] ? 0x1 : 0x0);
+            sendBytes[i] = (byte)(temp0 << 4 | temp1);
+        }
+
+        // 要求伝文を構築
+        return new BlockWriteRequest(
+            deviceSpec,
+            (short)writeData.length,
+            sendBytes,
+            true,
+            deviceFormat
+        );
+    }
+
+    /**
+     * ワード単位とダブルワード単位のランダム読出しを実行します。
+     * 連続していない複数のデバイスを1回の要求でまとめて読み出します。
+     *
+     * @param words ワード単位で読み出すデバイス仕様のリスト
+     * @param dwords ダブルワード単位で読み出すデバイス仕様のリスト
+     * @return 先頭にワードの値（符号拡張済み）、続いてダブルワードの値を並べた配列
+     * @throws IllegalArgumentException アクセス点数が0、または上限を超える場合
+     */
+    public int[] readRandom(List<DeviceSpec> words, List<DeviceSpec> dwords) {
+        if (_isDebug) {
+            System.out.println("ランダム読出し: readRandom");
+        }
+        // 要求伝文を構築
+        RandomReadRequest requestPayload = new RandomReadRequest(words, dwords, deviceFormatOf(words, dwords));
+        // 送信
+        RandomReadResponse responsePayload = (RandomReadResponse)sendRequest(requestPayload);
+        return responsePayload.getReadData();
+    }
+
+    /**
+     * ワード単位とダブルワード単位のランダム読出しを非同期に実行します。
+     *
+     * @param words ワード単位で読み出すデバイス仕様のリスト
+     * @param dwords ダブルワード単位で読み出すデバイス仕様のリスト
+     * @return ワードの値、続いてダブルワードの値を並べた配列で完了するフューチャー
+     * @throws IllegalArgumentException アクセス点数が0、または上限を超える場合
+     * @see #readRandom(List, List)
+     */
+    public CompletableFuture<int[]> readRandomAsync(List<DeviceSpec> words, List<DeviceSpec> dwords) {
+        RandomReadRequest requestPayload = new RandomReadRequest(words, dwords, deviceFormatOf(words, dwords));
+        return sendRequestAsync(requestPayload)
+            .thenApply(response -> ((RandomReadResponse)response).getReadData());
+    }
+
+    /**
+     * ワード単位とダブルワード単位のランダム書込みを実行します。
+     * 連続していない複数のデバイスへ1回の要求でまとめて書き込みます。
+     *
+     * @param words ワード単位で書き込むデバイス仕様のリスト
+     * @param wordValues ワード単位で書き込む値（words と同じ順序）
+     * @param dwords ダブルワード単位で書き込むデバイス仕様のリスト
+     * @param dwordValues ダブルワード単位で書き込む値（dwords と同じ順序）
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または上限を超える場合
+     */
+    public void writeRandomWords(List<DeviceSpec> words, short[] wordValues, List<DeviceSpec> dwords, int[] dwordValues) {
+        if (_isDebug) {
+            System.out.println("ランダム書込み（ワード単位）: writeRandomWords");
+        }
+        // 送信
+        sendRequest(new RandomWriteRequest(words, wordValues, dwords, dwordValues, deviceFormatOf(words, dwords)));
+    }
+
+    /**
+     * ワード単位とダブルワード単位のランダム書込みを非同期に実行します。
+     *
+     * @param words ワード単位で書き込むデバイス仕様のリスト
+     * @param wordValues ワード単位で書き込む値（words と同じ順序）
+     * @param dwords ダブルワード単位で書き込むデバイス仕様のリスト
+     * @param dwordValues ダブルワード単位で書き込む値（dwords と同じ順序）
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または上限を超える場合
+     * @see #writeRandomWords(List, short[], List, int[])
+     */
+    public CompletableFuture<Void> writeRandomWordsAsync(List<DeviceSpec> words, short[] wordValues, List<DeviceSpec> dwords, int[] dwordValues) {
+        return sendRequestAsync(new RandomWriteRequest(words, wordValues, dwords, dwordValues, deviceFormatOf(words, dwords)))
+            .thenApply(response -> null);
+    }
+
+    /**
+     * ビット単位のランダム書込みを実行します。
+     * 連続していない複数のビットデバイスを1回の要求でまとめてON/OFFします。
+     *
+     * @param bits 書き込むビットデバイス仕様のリスト
+     * @param values 書き込む値（trueでON、bits と同じ順序）
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または上限を超える場合、
+     *                                  ビットデバイス以外が指定された場合
+     */
+    public void writeRandomBits(List<DeviceSpec> bits, boolean[] values) {
+        if (_isDebug) {
+            System.out.println("ランダム書込み（ビット単位）: writeRandomBits");
+        }
+        // 送信
+        sendRequest(new RandomWriteRequest(bits, values, deviceFormatOf(bits, List.of())));
+    }
+
+    /**
+     * ビット単位のランダム書込みを非同期に実行します。
+     *
+     * @param bits 書き込むビットデバイス仕様のリスト
+     * @param values 書き込む値（trueでON、bits と同じ順序）
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または上限を超える場合、
+     *                                  ビットデバイス以外が指定された場合
+     * @see #writeRandomBits(List, boolean[])
+     */
+    public CompletableFuture<Void> writeRandomBitsAsync(List<DeviceSpec> bits, boolean[] values) {
+        return sendRequestAsync(new RandomWriteRequest(bits, values, deviceFormatOf(bits, List.of()))).thenApply(response -> null);
+    }
+
+    /**
+     * 複数ブロック一括読出しを実行します。
+     * 離れた位置にある複数の連続範囲を1回の要求でまとめて読み出します。
+     * 各ブロックの値は、1つの配列を共有するビューとして返されます。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位、16点で1ワード）
+     * @return ブロックの値のビューのリスト（wordBlocks、bitBlocks の順）
+     * @throws IllegalArgumentException ブロック数・点数が0または上限を超える場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    public List<ShortBuffer> readMultiBlock(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks) {
+        if (_isDebug) {
+            System.out.println("複数ブロック一括読出し: readMultiBlock");
+        }
+        // 要求伝文を構築
+        MultiBlockReadRequest requestPayload = new MultiBlockReadRequest(wordBlocks, bitBlocks, blockFormatOf(wordBlocks, bitBlocks));
+        // 送信
+        MultiBlockReadResponse responsePayload = (MultiBlockReadResponse)sendRequest(requestPayload);
+        return responsePayload.getBlocks();
+    }
+
+    /**
+     * 複数ブロック一括読出しを非同期に実行します。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位、16点で1ワード）
+     * @return ブロックの値のビューのリストで完了するフューチャー
+     * @throws IllegalArgumentException ブロック数・点数が0または上限を超える場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     * @see #readMultiBlock(List, List)
+     */
+    public CompletableFuture<List<ShortBuffer>> readMultiBlockAsync(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks) {
+        MultiBlockReadRequest requestPayload = new MultiBlockReadRequest(wordBlocks, bitBlocks, blockFormatOf(wordBlocks, bitBlocks));
+        return sendRequestAsync(requestPayload)
+            .thenApply(response -> ((MultiBlockReadResponse)response).getBlocks());
+    }
+
+    /**
+     * 読出し計画を実行します。
+     * 計画の要求をまとめて送信し、応答からデバイスの値を取り出します。
+     * 計画は {@link ReadPlanner} で一度作成すれば、何度でも実行できます。
+     *
+     * @param plan 読出し計画
+     * @return 読出し結果
+     */
+    public ReadResult readPlan(ReadPlan plan) {
+        if (_isDebug) {
+            System.out.println("読出し計画の実行: readPlan " + plan);
+        }
+        return plan.collect(sendChunks(plan.getRequests()));
+    }
+
+    /**
+     * 読出し計画を非同期に実行します。
+     *
+     * @param plan 読出し計画
+     * @return 読出し結果で完了するフューチャー
+     * @see #readPlan(ReadPlan)
+     */
+    public CompletableFuture<ReadResult> readPlanAsync(ReadPlan plan) {
+        return sendChunksAsync(plan.getRequests()).thenApply(plan::collect);
+    }
+
+    /**
+     * 複数ブロック一括書込みを実行します。
+     * 離れた位置にある複数の連続範囲へ、できるだけ少ない要求でまとめて書き込みます。
+     * 1回の要求の点数上限を超える場合は複数の要求に分割して送信するため、
+     * 途中の要求が失敗した場合はそれより前のブロックだけが書き込まれた状態になります。
+     * ビットブロックの値は {@link Converter#fromBooleanArrayToWords(boolean[])} で16点ずつワードに詰めて指定できます。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位、16点で1ワード）
+     * @param writeData 全ブロックの書込みデータ（wordBlocks、bitBlocks の順に連結）
+     * @throws IllegalArgumentException データ長がブロックの合計点数と一致しない場合、ブロックが指定されていない場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    public void writeMultiBlock(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, short[] writeData) {
+        if (_isDebug) {
+            System.out.println("複数ブロック一括書込み: writeMultiBlock");
+        }
+        // 要求伝文を構築
+        List<MultiBlockWriteRequest> requestPayloads = MultiBlockWriteRequest.split(wordBlocks, bitBlocks, writeData,
+            blockFormatOf(wordBlocks, bitBlocks));
+        // 送信
+        if (requestPayloads.size() == 1) {
+            sendRequest(requestPayloads.get(0));
+        } else {
+            sendRequests(requestPayloads);
+        }
+    }
+
+    /**
+     * 複数ブロック一括書込みを非同期に実行します。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位、16点で1ワード）
+     * @param writeData 全ブロックの書込みデータ（wordBlocks、bitBlocks の順に連結）
+     * @return 全ての書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException データ長がブロックの合計点数と一致しない場合、ブロックが指定されていない場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     * @see #writeMultiBlock(List, List, short[])
+     */
+    public CompletableFuture<Void> writeMultiBlockAsync(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, short[] writeData) {
+        List<MultiBlockWriteRequest> requestPayloads = MultiBlockWriteRequest.split(wordBlocks, bitBlocks, writeData,
+            blockFormatOf(wordBlocks, bitBlocks));
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requestPayloads.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = sendRequestAsync(requestPayloads.get(i));
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * インテリジェント機能ユニットのバッファメモリ（U□\G□）をワード単位で一括読出しします。
+     * 1回の要求の上限（{@link BufferMemoryReadRequest#MAX_WORD_POINTS} 点）を超える範囲は複数の要求に分割し、
+     * 続けて送信（4Eフレームではパイプライン送信）した応答を1つの配列にまとめます。
+     * 
+     * @param moduleNumber ユニット番号（U□、先頭入出力番号を16で割った値）
+     * @param address 先頭アドレス（G□、ワード単位）
+     * @param wordPoint 読込みワード点数
+     * @return 読込まれたデータの配列
+     * @throws IllegalArgumentException ユニット番号・アドレスが範囲外の場合、点数が1未満の場合
+     */
+    public short[] readBufferMemory(int moduleNumber, int address, int wordPoint) {
+        if (_isDebug) {
+            System.out.println("バッファメモリ一括読出し: readBufferMemory");
+        }
+        // 要求伝文を構築
+        List<BufferMemoryReadRequest> requestPayloads = buildBufferMemoryReadRequests(moduleNumber, address, wordPoint);
+        // 送信
+        List<AbstractResponse> responses = sendChunks(requestPayloads);
+        if (responses.size() == 1) {
+            return ((BufferMemoryReadResponse)responses.get(0)).getReadData();
+        }
+        ShortBuffer result = ShortBuffer.allocate(wordPoint);
+        for (AbstractResponse response : responses) {
+            result.put(((BufferMemoryReadResponse)response).getReadData());
+        }
+        return result.array();
+    }
+
+    /**
+     * インテリジェント機能ユニットのバッファメモリを一括読出しし、バイトバッファに書き込みます。
+     * バッファの残り（{@link ByteBuffer#remaining()}）の分だけを読み出し、分割した応答を受信した順に
+     * 中間の配列を作らずにバッファへ書き込みます。値は1ワードに2バイト（下位バイトが先）の並びで書き込まれるため、
+     * ワード単位で取り出す場合はバッファのバイト順を {@link java.nio.ByteOrder#LITTLE_ENDIAN} にしてください。
+     * 
+     * @param moduleNumber ユニット番号（U□、先頭入出力番号を16で割った値）
+     * @param address 先頭アドレス（G□、ワード単位）
+     * @param destination 書込み先のバッファ（読出し後は残りの末尾まで位置が進む）
+     * @throws IllegalArgumentException ユニット番号・アドレスが範囲外の場合、バッファの残りが0または奇数バイトの場合
+     */
+    public void readBufferMemory(int moduleNumber, int address, ByteBuffer destination) {
+        if (destination.remaining() % 2 != 0) {
+            throw new IllegalArgumentException("バッファの残りが奇数バイトです: " + destination.remaining());
+        }
+        List<BufferMemoryReadRequest> requestPayloads = buildBufferMemoryReadRequests(moduleNumber, address, destination.remaining() / 2);
+        for (AbstractResponse response : sendChunks(requestPayloads)) {
+            destination.put(((BufferMemoryReadResponse)response).getReadBytes());
+        }
+    }
+
+    /**
+     * インテリジェント機能ユニットのバッファメモリを非同期に一括読出しします。
+     * 
+     * @param moduleNumber ユニット番号（U□、先頭入出力番号を16で割った値）
+     * @param address 先頭アドレス（G□、ワード単位）
+     * @param wordPoint 読込みワード点数
+     * @return 読込まれたデータの配列で完了するフューチャー
+     * @throws IllegalArgumentException ユニット番号・アドレスが範囲外の場合、点数が1未満の場合
+     * @see #readBufferMemory(int, int, int)
+     */
+    public CompletableFuture<short[]> readBufferMemoryAsync(int moduleNumber, int address, int wordPoint) {
+        List<BufferMemoryReadRequest> requestPayloads = buildBufferMemoryReadRequests(moduleNumber, address, wordPoint);
+        return sendChunksAsync(requestPayloads).thenApply(responses -> {
+            ShortBuffer result = ShortBuffer.allocate(wordPoint);
+            for (AbstractResponse response : responses) {
+                result.put(((BufferMemoryReadResponse)response).getReadData());
+            }
+            return result.array();
+        });
+    }
+
+    /**
+     * インテリジェント機能ユニットのバッファメモリへワード単位で一括書込みします。
+     * 1回の要求の上限を超えるデータは複数の要求に分割して続けて送信するため、
+     * 途中の要求が失敗した場合はそれより前の範囲だけが書き込まれた状態になります。
+     * 
+     * @param moduleNumber ユニット番号（U□、先頭入出力番号を16で割った値）
+     * @param address 先頭アドレス（G□、ワード単位）
+     * @param writeData 書込むデータの配列
+     * @throws IllegalArgumentException ユニット番号・アドレスが範囲外の場合、データが空の場合
+     */
+    public void writeBufferMemory(int moduleNumber, int address, short[] writeData) {
+        if (_isDebug) {
+            System.out.println("バッファメモリ一括書込み: writeBufferMemory");
+        }
+        // 要求伝文を構築
+        List<BufferMemoryWriteRequest> requestPayloads = buildBufferMemoryWriteRequests(moduleNumber, address, writeData);
+        // 送信
+        sendChunks(requestPayloads);
+    }
+
+    /**
+     * インテリジェント機能ユニットのバッファメモリへ非同期に一括書込みします。
+     * 
+     * @param moduleNumber ユニット番号（U□、先頭入出力番号を16で割った値）
+     * @param address 先頭アドレス（G□、ワード単位）
+     * @param writeData 書込むデータの配列
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException ユニット番号・アドレスが範囲外の場合、データが空の場合
+     * @see #writeBufferMemory(int, int, short[])
+     */
+    public CompletableFuture<Void> writeBufferMemoryAsync(int moduleNumber, int address, short[] writeData) {
+        return sendChunksAsync(buildBufferMemoryWriteRequests(moduleNumber, address, writeData))
+            .thenApply(responses -> null);
+    }
+
+    /**
+     * バッファメモリの読出し範囲を、1回の要求の上限以内の要求に分割します。
+     * 
+     * @param moduleNumber ユニット番号
+     * @param address 先頭アドレス（ワード単位）
+     * @param wordPoint 読込みワード点数
+     * @return バッファメモリ読出し要求のリスト（範囲の先頭から順）
+     * @throws IllegalArgumentException ユニット番号・アドレスが範囲外の場合、点数が1未満の場合
+     */
+    private static List<BufferMemoryReadRequest> buildBufferMemoryReadRequests(int moduleNumber, int address, int wordPoint) {
+        if (wordPoint < 1) {
+            throw new IllegalArgumentException("読込み点数が不正です: " + wordPoint);
+        }
+        int maxPoints = BufferMemoryReadRequest.MAX_WORD_POINTS;
+        List<BufferMemoryReadRequest> requestPayloads = new ArrayList<>((wordPoint + maxPoints - 1) / maxPoints);
+        for (int offset = 0; offset < wordPoint; offset += maxPoints) {
+            requestPayloads.add(new BufferMemoryReadRequest(moduleNumber, address + offset, Math.min(maxPoints, wordPoint - offset)));
+        }
+        return requestPayloads;
+    }
+
+    /**
+     * バッファメモリの書込みデータを、1回の要求の上限以内の要求に分割します。
+     * 
+     * @param moduleNumber ユニット番号
+     * @param address 先頭アドレス（ワード単位）
+     * @param writeData 書込むデータの配列
+     * @return バッファメモリ書込み要求のリスト（範囲の先頭から順）
+     * @throws IllegalArgumentException ユニット番号・アドレスが範囲外の場合、データが空の場合
+     */
+    private static List<BufferMemoryWriteRequest> buildBufferMemoryWriteRequests(int moduleNumber, int address, short[] writeData) {
+        if (writeData.length < 1) {
+            throw new IllegalArgumentException("配列のサイズが間違っています");
+        }
+        byte[] writeBytes = Converter.fromShortArrayToBytes(writeData);
+        int maxBytes = BufferMemoryReadRequest.MAX_WORD_POINTS * 2;
+        if (writeBytes.length <= maxBytes) {
+            return List.of(new BufferMemoryWriteRequest(moduleNumber, address, writeBytes));
+        }
+        List<BufferMemoryWriteRequest> requestPayloads = new ArrayList<>();
+        for (int offset = 0; offset < writeBytes.length; offset += maxBytes) {
+            byte[] chunk = Arrays.copyOfRange(writeBytes, offset, Math.min(offset + maxBytes, writeBytes.length));
+            requestPayloads.add(new BufferMemoryWriteRequest(moduleNumber, address + offset / 2, chunk));
+        }
+        return requestPayloads;
+    }
+
+    /**
+     * ラベルアクセスに使用するラベル指定キャッシュを取得します。
+     * ラベル名は初回の読み書き時にUTF-16LEに変換してキャッシュされ、以降の要求では変換済みの値を使用します。
+     * 
+     * @return ラベル指定キャッシュ
+     */
+    public LabelCache getLabelCache() {
+        return _labelCache;
+    }
+
+    /**
+     * グローバルラベルの値をラベル名を指定してまとめて読み出します（ラベルランダム読出し）。
+     * 
+     * @param labelNames ラベル名のリスト
+     * @return ラベル名と同じ順序に並べた値（ラベルのデータ型のバイト列、リトルエンディアン）
+     * @throws IllegalArgumentException ラベルが指定されていない場合、ラベル名の長さが不正な場合
+     */
+    public List<byte[]> readLabels(List<String> labelNames) {
+        if (_isDebug) {
+            System.out.println("ラベルランダム読出し: readLabels");
+        }
+        LabelRandomReadRequest requestPayload = new LabelRandomReadRequest(_labelCache.get(labelNames));
+        LabelReadResponse responsePayload = (LabelReadResponse)sendRequest(requestPayload);
+        return responsePayload.getReadData();
+    }
+
+    /**
+     * グローバルラベルの値を非同期にまとめて読み出します。
+     * 
+     * @param labelNames ラベル名のリスト
+     * @return ラベル名と同じ順序に並べた値で完了するフューチャー
+     * @throws IllegalArgumentException ラベルが指定されていない場合、ラベル名の長さが不正な場合
+     * @see #readLabels(List)
+     */
+    public CompletableFuture<List<byte[]>> readLabelsAsync(List<String> labelNames) {
+        LabelRandomReadRequest requestPayload = new LabelRandomReadRequest(_labelCache.get(labelNames));
+        return sendRequestAsync(requestPayload)
+            .thenApply(response -> ((LabelReadResponse)response).getReadData());
+    }
+
+    /**
+     * グローバルラベルへラベル名と値を指定してまとめて書き込みます（ラベルランダム書込み）。
+     * 
+     * @param labelNames ラベル名のリスト
+     * @param writeData ラベル名と同じ順序の値（ラベルのデータ型のバイト列、リトルエンディアン）
+     * @throws IllegalArgumentException ラベル数とデータ数が一致しない場合、ラベルが指定されていない場合、
+     *                                  ラベル名・データの長さが不正な場合
+     */
+    public void writeLabels(List<String> labelNames, List<byte[]> writeData) {
+        if (_isDebug) {
+            System.out.println("ラベルランダム書込み: writeLabels");
+        }
+        sendRequest(new LabelRandomWriteRequest(_labelCache.get(labelNames), writeData));
+    }
+
+    /**
+     * グローバルラベルへ非同期にまとめて書き込みます。
+     * 
+     * @param labelNames ラベル名のリスト
+     * @param writeData ラベル名と同じ順序の値（ラベルのデータ型のバイト列、リトルエンディアン）
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException ラベル数とデータ数が一致しない場合、ラベルが指定されていない場合、
+     *                                  ラベル名・データの長さが不正な場合
+     * @see #writeLabels(List, List)
+     */
+    public CompletableFuture<Void> writeLabelsAsync(List<String> labelNames, List<byte[]> writeData) {
+        return sendRequestAsync(new LabelRandomWriteRequest(_labelCache.get(labelNames), writeData))
+            .thenApply(response -> null);
+    }
+
+    /**
+     * 配列型のグローバルラベルをワード単位で一括読出しします。
+     * 
+     * @param labelName 読出しを開始する配列要素のラベル名（例："Buffer[0]"）
+     * @param wordPoint 読込みワード点数
+     * @return 読込まれたデータの配列
+     * @throws IllegalArgumentException ラベル名の長さが不正な場合、点数が範囲外の場合
+     */
+    public short[] readArrayLabel(String labelName, int wordPoint) {
+        if (_isDebug) {
+            System.out.println("配列型ラベル一括読出し: readArrayLabel");
+        }
+        ArrayLabelReadRequest requestPayload = new ArrayLabelReadRequest(List.of(_labelCache.get(labelName)), new int[] {wordPoint * 2});
+        LabelReadResponse responsePayload = (LabelReadResponse)sendRequest(requestPayload);
+        return Converter.fromBytesToShortArray(responsePayload.getReadData().get(0));
+    }
+
+    /**
+     * 配列型のグローバルラベルを非同期にワード単位で一括読出しします。
+     * 
+     * @param labelName 読出しを開始する配列要素のラベル名（例："Buffer[0]"）
+     * @param wordPoint 読込みワード点数
+     * @return 読込まれたデータの配列で完了するフューチャー
+     * @throws IllegalArgumentException ラベル名の長さが不正な場合、点数が範囲外の場合
+     * @see #readArrayLabel(String, int)
+     */
+    public CompletableFuture<short[]> readArrayLabelAsync(String labelName, int wordPoint) {
+        ArrayLabelReadRequest requestPayload = new ArrayLabelReadRequest(List.of(_labelCache.get(labelName)), new int[] {wordPoint * 2});
+        return sendRequestAsync(requestPayload)
+            .thenApply(response -> Converter.fromBytesToShortArray(((LabelReadResponse)response).getReadData().get(0)));
+    }
+
+    /**
+     * 配列型のグローバルラベルへワード単位で一括書込みします。
+     * 
+     * @param labelName 書込みを開始する配列要素のラベル名（例："Buffer[0]"）
+     * @param writeData 書込むデータの配列
+     * @throws IllegalArgumentException ラベル名の長さが不正な場合、データが空または長すぎる場合
+     */
+    public void writeArrayLabel(String labelName, short[] writeData) {
+        if (_isDebug) {
+            System.out.println("配列型ラベル一括書込み: writeArrayLabel");
+        }
+        sendRequest(new ArrayLabelWriteRequest(List.of(_labelCache.get(labelName)), List.of(Converter.fromShortArrayToBytes(writeData))));
+    }
+
+    /**
+     * 配列型のグローバルラベルへ非同期にワード単位で一括書込みします。
+     * 
+     * @param labelName 書込みを開始する配列要素のラベル名（例："Buffer[0]"）
+     * @param writeData 書込むデータの配列
+     * @return 書込みの完了で完了するフューチャー
+     * @throws IllegalArgumentException ラベル名の長さが不正な場合、データが空または長すぎる場合
+     * @see #writeArrayLabel(String, short[])
+     */
+    public CompletableFuture<Void> writeArrayLabelAsync(String labelName, short[] writeData) {
+        ArrayLabelWriteRequest requestPayload = new ArrayLabelWriteRequest(
+            List.of(_labelCache.get(labelName)), List.of(Converter.fromShortArrayToBytes(writeData)));
+        return sendRequestAsync(requestPayload).thenApply(response -> null);
+    }
+
+    /**
+     * PLC形名を読み取ります。
+     * 
+     * @return PLC形名文字列
+     */
+    public String readPlcTypeName() {
+        PlcTypeNameRequest requestPayload = new PlcTypeNameRequest();
+        PlcTypeNameResponse responsePayload = (PlcTypeNameResponse)sendRequest(requestPayload);
+        return responsePayload.getPlcTypeName();
+    }
+
+    /**
+     * PLC形名を非同期に読み取ります。
+     * 
+     * @return PLC形名文字列で完了するフューチャー
+     */
+    public CompletableFuture<String> readPlcTypeNameAsync() {
+        return sendRequestAsync(new PlcTypeNameRequest())
+            .thenApply(response -> ((PlcTypeNameResponse)response).getPlcTypeName());
+    }
+
+    /**
+     * リモートRUNコマンドを実行します。
+     * PLCをRUN状態に移行させます。
+     */
+    public void remoteRun() {
+        RemoteRunRequest requestPayload = new RemoteRunRequest(
+            RemoteRunRequest.FORCE_EXEC,
+            RemoteRunRequest.DEVICE_UNCLEAR
+        );
+        sendRequest(requestPayload);
+    }
+
+    /**
+     * リモートRUNコマンドを非同期に実行します。
+     * 
+     * @return 実行の完了で完了するフューチャー
+     */
+    public CompletableFuture<Void> remoteRunAsync() {
+        RemoteRunRequest requestPayload = new RemoteRunRequest(
+            RemoteRunRequest.FORCE_EXEC,
+            RemoteRunRequest.DEVICE_UNCLEAR
+        );
+        return sendRequestAsync(requestPayload).thenApply(response -> null);
+    }
+    
+    /**
+     * リモートSTOPコマンドを実行します。
+     * PLCをSTOP状態に移行させます。
+     */
+    public void remoteStop() {
+        RemoteStopRequest requestPayload = new RemoteStopRequest();
+        sendRequest(requestPayload);
+    }
+
+    /**
+     * リモートSTOPコマンドを非同期に実行します。
+     * 
+     * @return 実行の完了で完了するフューチャー
+     */
+    public CompletableFuture<Void> remoteStopAsync() {
+        return sendRequestAsync(new RemoteStopRequest()).thenApply(response -> null);
+    }
+
+    /**
+     * 折り返しテストを実行します。
+     * 送信したデータがそのまま返ってくるかを確認します。
+     * 
+     * @param data テスト用データ
+     */
+    public void echoTest(byte[] data) {
+        EchoTestRequest requestPayload = new EchoTestRequest(null, data);
+        EchoTestResponse responsePayload = (EchoTestResponse)sendRequest(requestPayload);
+        
+        System.out.println("Echo test");
+        System.out.println("send: " + Converter.fromBytesToHexStringBigEndian(data));
+        System.out.println("recv: " + Converter.fromBytesToHexStringBigEndian(responsePayload.getReadData()));
+
+        if (java.util.Arrays.equals(data, responsePayload.getReadData())) {
+            System.out.println("正常: データは一致しています");
+        } else {
+            System.out.println("異常: データは一致していません");
+        }
+    }
+
+    /**
+     * デバッグモードの設定状態を取得します。
+     * 
+     * @return デバッグモードが有効な場合はtrue、無効な場合はfalse
+     */
+    public boolean getIsDebug() {
+        return _isDebug;
+    }
+}
@@ -3,50 +3,39 @@ package dev.bocchi_megane.mcprotocol.lib;
 import java.io.BufferedInputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import dev.bocchi_megane.mcprotocol.lib.define.AccessRoute;
-import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
-import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.ConnectionStateEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.FrameTypeEnum;
 import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
 import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
 import dev.bocchi_megane.mcprotocol.lib.frame.Builder;
 import dev.bocchi_megane.mcprotocol.lib.frame.Frame3E;
+import dev.bocchi_megane.mcprotocol.lib.frame.FrameReader;
 import dev.bocchi_megane.mcprotocol.lib.frame.Parser;
 import dev.bocchi_megane.mcprotocol.lib.payload.AbnormalResponse;
 import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
 import dev.bocchi_megane.mcprotocol.lib.payload.AbstractResponse;
-import dev.bocchi_megane.mcprotocol.lib.payload.BlockBitReadResponse;
-import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
-import dev.bocchi_megane.mcprotocol.lib.payload.BlockWordReadResponse;
-import dev.bocchi_megane.mcprotocol.lib.payload.BlockWriteRequest;
-import dev.bocchi_megane.mcprotocol.lib.payload.EchoTestRequest;
-import dev.bocchi_megane.mcprotocol.lib.payload.EchoTestResponse;
-import dev.bocchi_megane.mcprotocol.lib.payload.PlcTypeNameRequest;
-import dev.bocchi_megane.mcprotocol.lib.payload.PlcTypeNameResponse;
-import dev.bocchi_megane.mcprotocol.lib.payload.RemoteRunRequest;
-import dev.bocchi_megane.mcprotocol.lib.payload.RemoteStopRequest;
-import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+import dev.bocchi_megane.mcprotocol.lib.transport.ITransport;
+import dev.bocchi_megane.mcprotocol.lib.transport.ReconnectPolicy;
+import dev.bocchi_megane.mcprotocol.lib.transport.RequestDispatcher;
+import dev.bocchi_megane.mcprotocol.lib.transport.SocketTransport;
 
 /**
  * MC3EプロトコルクライアントクラスPLCとの通信を行うためのメインクラスです。
- * TCP/IPソケット通信を使用してPLCへの接続、データの読み書き、制御コマンドの実行を行います。
+ * トランスポート（既定ではTCP/IPソケット通信）を使用してPLCへの接続、データの読み書き、制御コマンドの実行を行います。
+ * 1つのインスタンスを複数のスレッドで共有できます。要求伝文の構築と応答伝文の解析は呼び出し元のスレッドで行い、
+ * 通信路への送受信は接続ごとに1本のI/Oスレッドがまとめて行います。
  */
-public class Client {
-    /** デバッグモードフラグ */
-    private boolean _isDebug;
-    /** 接続先ホスト名またはIPアドレス */
-    private String _host;
-    /** 接続先ポート番号 */
-    private int _port;
-
-    /** TCPソケット */
-    private Socket _so;
-    /** 出力ストリーム */
-    private OutputStream _out;
-    /** 入力ストリーム */
-    private BufferedInputStream _in;
-    /** 受信バッファサイズ */
-    private int _bufferSize = 1024;
+public class Client extends AbstractClient {
+    /** 通信路 */
+    private ITransport _transport;
 
     /** アクセスルート設定 */
     private AccessRoute _accessRoute;
@@ -56,30 +45,65 @@ public class Client {
     /** フレーム構築器 */
     private Builder _builder;
 
+    /** フレーム種別 */
+    private volatile FrameTypeEnum _frameType;
+    /** 次に使用するシリアル番号（4Eフレーム用） */
+    private final AtomicInteger _serialNumber;
+    /** パイプライン送信時に同時に応答待ちにできる要求数の上限 */
+    private volatile int _pipelineDepth;
+
+    /** 要求送出器（接続中のみ、通信路を専有するI/Oスレッドを持つ） */
+    private volatile RequestDispatcher _dispatcher;
+
+    /** 再接続ポリシー（nullの場合は自動で再接続しない） */
+    private volatile ReconnectPolicy _reconnectPolicy;
+    /** 接続状態 */
+    private volatile ConnectionStateEnum _connectionState = ConnectionStateEnum.DISCONNECTED;
+    /** 接続状態リスナー */
+    private final List<IConnectionStateListener> _stateListeners = new CopyOnWriteArrayList<>();
+    /** 要求観測者のリスト */
+    private final List<IRequestObserver> _requestObservers = new CopyOnWriteArrayList<>();
+
     /**
      * コンストラクタ
      * MC3Eプロトコルクライアントのインスタンスを作成します。
+     * 通信路にはTCPソケット（SocketTransport）を使用します。
      * 
      * @param host 接続先のホスト名またはIPアドレス
      * @param port 接続先のポート番号
      * @param isDebug デバッグモードを有効にする場合はtrue
      */
     public Client(String host, int port, boolean isDebug) {
-        this._isDebug = isDebug;
-        this._host = host;
-        this._port = port;
+        this(new SocketTransport(host, port), isDebug);
+    }
+
+    /**
+     * コンストラクタ
+     * 通信路を指定してMC3Eプロトコルクライアントのインスタンスを作成します。
+     * 
+     * @param transport 使用する通信路
+     * @param isDebug デバッグモードを有効にする場合はtrue
+     */
+    public Client(ITransport transport, boolean isDebug) {
+        super(isDebug);
+        this._transport = transport;
 
         this._accessRoute = AccessRoute.DEFAULT;
         this._monitorTimer = (short)0x0001;
 
         this._builder = new Builder(_accessRoute);
+
+        this._frameType = FrameTypeEnum.FRAME_3E;
+        this._serialNumber = new AtomicInteger();
+        this._pipelineDepth = 8;
     }
 
     /**
      * PLCへ安全に接続を確立します。
-     * TCPソケットを作成し、入出力ストリームを初期化します。
+     * 通信路の接続を確立します。
      * @return 接続が失敗したら true を返す
      */
+    @Override
     public boolean connect() {
         try {
             unsafe_connect();
@@ -93,310 +117,335 @@ public class Client {
 
     /**
      * PLCへの接続を例外処理なしで実行します。
-     * TCPソケットを作成し、タイムアウトを設定して入出力ストリームを初期化します。
+     * 通信路の接続を確立します。
      * このメソッドは例外をキャッチしないため、呼び出し元で適切な例外処理を行う必要があります。
      * 
      * @throws Exception ソケット接続、ストリーム初期化時に発生する可能性のある例外
      */
-    public void unsafe_connect() throws Exception {
-        _so = new Socket(_host, _port);
-        _so.setSoTimeout(1000);  // タイムアウト時間
-        _in = new BufferedInputStream(_so.getInputStream());
-        _out = _so.getOutputStream();
+    @Override
+    public synchronized void unsafe_connect() throws Exception {
+        stopDispatcher();
+        _transport.connect();
+        _dispatcher = new RequestDispatcher(_transport, _pipelineDepth, _reconnectPolicy, this::changeState);
+        changeState(ConnectionStateEnum.CONNECTED);
     }
 
 
     /**
      * PLCとの接続を切断します。
-     * 開いているストリームとソケットを適切にクローズします。
+     * 通信路を適切にクローズします。
      */
-    public void disconnect() {
-        if(_out != null) try { _out.close(); } catch(Exception e){ e.printStackTrace(); }
-        if(_in != null) try { _in.close(); } catch(Exception e){ e.printStackTrace(); }
-        if(_so != null) try { _so.close(); } catch(Exception e){ e.printStackTrace(); }
+    @Override
+    public synchronized void disconnect() {
+        stopDispatcher();
+        _transport.close();
+        changeState(ConnectionStateEnum.DISCONNECTED);
     }
 
     /**
-     * 現在の接続状態を確認します。
+     * I/Oスレッドを停止します。
+     * 送信待ち・応答待ちの要求は RequestAbnormalException で異常完了します。
+     */
+    private void stopDispatcher() {
+        RequestDispatcher dispatcher = _dispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+        _dispatcher = null;
+        dispatcher.stop();
+        // 受信待ちのI/Oスレッドを起こすため通信路を先にクローズする
+        _transport.close();
+        dispatcher.awaitTermination(1000);
+        // 再接続処理と競合して開き直された場合に備え、I/Oスレッドの終了後にもう一度クローズする
+        _transport.close();
+    }
+
+    /**
+     * 接続状態を変更し、変化した場合はリスナーに通知します。
      * 
-     * @return 接続中の場合はtrue、切断中の場合はfalse
+     * @param state 変更後の接続状態
      */
-    public boolean isConnected() {
-        if (_so == null) {
-            return false;
+    private void changeState(ConnectionStateEnum state) {
+        if (_connectionState == state) {
+            return;
         }
-        if (_so.isConnected() && ! _so.isClosed()) {
-            return true;
-        } else {
-            return false;
+        _connectionState = state;
+        for (IConnectionStateListener listener : _stateListeners) {
+            try {
+                listener.onConnectionStateChanged(this, state);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
         }
     }
 
     /**
-     * 指定されたデバイスの値を取得します。
-     * デバイス種別に応じて自動的にワード読込みまたはビット読込みを実行します。
+     * 現在の接続状態を取得します。
      * 
-     * @param deviceString デバイス名（例："D100", "M0"）
-     * @return デバイスの値（ビットデバイスの場合は0または1）
-     * @throws UnsupportedOperationException サポートされていないデバイス種別の場合
+     * @return 接続状態
      */
-    public short getDevice2(String deviceString) {
-        DeviceSpec device = new DeviceSpec(deviceString);
-        switch (device.getDeviceCode().getDataType()) {
-            case WORD:
-                return readBlockWord(device, (short)1)[0];
-            case BIT:
-                return (short)(readBlockBit(device, (short)1)[0] ? 1 : 0);
-            default:
-                throw new UnsupportedOperationException();
-        }
+    public ConnectionStateEnum getConnectionState() {
+        return _connectionState;
     }
 
     /**
-     * 指定されたデバイスに値を設定します。
-     * デバイス種別に応じて自動的にワード書込みまたはビット書込みを実行します。
-     * 
-     * @param deviceString デバイス名（例："D100", "M0"）
-     * @param value 設定する値（ビットデバイスの場合は0または1）
-     * @throws UnsupportedOperationException サポートされていないデバイス種別の場合
-     * @throws IllegalArgumentException ビットデバイスで0,1以外の値が指定された場合
-     */
-    public void setDevice2(String deviceString, short value) {
-        DeviceSpec device = new DeviceSpec(deviceString);
-        switch (device.getDeviceCode().getDataType()) {
-            case WORD:
-                writeBlockWord(device, new short[]{value});
-                break;
-            case BIT:
-                if (value == 0) {
-                    writeBlockBit(device, new boolean[]{false});
-                } else if (value == 1) {
-                    writeBlockBit(device, new boolean[]{true});
-                } else {
-                    throw new IllegalArgumentException("test");
-                }
-                break;
-            default:
-                throw new UnsupportedOperationException();
-        }
+     * 接続状態リスナーを登録します。
+     * 
+     * @param listener 接続状態リスナー
+     */
+    public void addConnectionStateListener(IConnectionStateListener listener) {
+        _stateListeners.add(listener);
     }
 
     /**
-     * 指定されたデバイスの値をコンソールに表示します。
+     * 接続状態リスナーの登録を解除します。
      * 
-     * @param deviceName 表示するデバイス名
+     * @param listener 接続状態リスナー
      */
-    public void printDevice2(String deviceName) {
-        short value = getDevice2(deviceName);
-        System.out.println(deviceName + ": " + value);
+    public void removeConnectionStateListener(IConnectionStateListener listener) {
+        _stateListeners.remove(listener);
     }
 
     /**
-     * ワード単位でのデバイス一括読込みを実行します。
+     * 要求観測者を登録します。
+     * 以降、正常応答が返った要求ごとにフレームの大きさと応答時間が通知されます。
      * 
-     * @param deviceSpec 読込み開始デバイス仕様
-     * @param devicePoint 読込みデバイス点数
-     * @return 読込まれたデータの配列
+     * @param observer 登録する要求観測者
      */
-    public short[] readBlockWord(DeviceSpec deviceSpec, short devicePoint) {
-        if (_isDebug) {
-            System.out.println("一括読込み（ワード単位）: readBlockWord");
-        }
-        // 要求伝文を構築
-        BlockReadRequest requestPayload = new BlockReadRequest(
-            deviceSpec,
-            devicePoint,
-            false
-        );
-        // 送信
-        BlockWordReadResponse responseFrame = (BlockWordReadResponse)sendRequest(requestPayload);
-        return responseFrame.getReadData();
+    public void addRequestObserver(IRequestObserver observer) {
+        _requestObservers.add(observer);
     }
-    
+
     /**
-     * ワード単位でのデバイス一括書込みを実行します。
+     * 要求観測者の登録を解除します。
      * 
-     * @param deviceSpec 書込み開始デバイス仕様
-     * @param writeData 書込むデータの配列
+     * @param observer 解除する要求観測者
      */
-    public void writeBlockWord(DeviceSpec deviceSpec, short[] writeData) {
-        if (_isDebug) {
-            System.out.println("一括書込み（ワード単位）: writeBlockWord");
-        }
-        // 要求伝文を構築
-        BlockWriteRequest requestPayload = new BlockWriteRequest(
-            deviceSpec,
-            (short)writeData.length,
-            Converter.fromShortArrayToBytes(writeData),
-            false
-        );
-        // 送信
-        sendRequest(requestPayload);
+    public void removeRequestObserver(IRequestObserver observer) {
+        _requestObservers.remove(observer);
     }
 
     /**
-     * ビット単位でのデバイス一括読込みを実行します。
+     * 再接続ポリシーを設定します。
+     * 設定すると、通信路の切断を検出したときにポリシーに従って自動で再接続し、
+     * 応答待ちだった読出しなどの再送可能な要求を再接続後に送り直します。
+     * 書込みなどの要求は、PLCで実行済みかどうかが分からないため RequestAbnormalException で異常完了します。
      * 
-     * @param deviceSpec 読込み開始デバイス仕様（ビットデバイスのみ）
-     * @param devicePoint 読込みデバイス点数
-     * @return 読込まれたデータの配列（true/false）
-     * @throws UnsupportedOperationException ビットデバイス以外が指定された場合
+     * @param reconnectPolicy 再接続ポリシー（nullの場合は自動で再接続しない）
+     * @see ReconnectPolicy#DEFAULT
      */
-    public boolean[] readBlockBit(DeviceSpec deviceSpec, short devicePoint) {
-        if (_isDebug) {
-            System.out.println("一括読込み（ビット単位）: readBlockBit");
-        }
-        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
-            throw new UnsupportedOperationException("ビットデバイス以外は対応していません");
+    public void setReconnectPolicy(ReconnectPolicy reconnectPolicy) {
+        _reconnectPolicy = reconnectPolicy;
+        RequestDispatcher dispatcher = _dispatcher;
+        if (dispatcher != null) {
+            dispatcher.setReconnectPolicy(reconnectPolicy);
         }
+    }
 
-        // 要求伝文を構築
-        BlockReadRequest requestPayload = new BlockReadRequest(
-            deviceSpec,
-            devicePoint,
-            true
-        );
-        // 送信
-        BlockBitReadResponse responseFrame = (BlockBitReadResponse)sendRequest(requestPayload);
-        return responseFrame.getReadData();
+    /**
+     * 再接続ポリシーを取得します。
+     * 
+     * @return 再接続ポリシー（自動で再接続しない場合はnull）
+     */
+    public ReconnectPolicy getReconnectPolicy() {
+        return _reconnectPolicy;
     }
 
     /**
-     * ビット単位でのデバイス一括書込みを実行します。
-     * 配列サイズが奇数の場合は自動的に偶数に調整されます。
+     * 現在の接続状態を確認します。
      * 
-     * @param deviceSpec 書込み開始デバイス仕様（ビットデバイスのみ）
-     * @param writeData 書込むデータの配列（true/false）
-     * @throws IllegalArgumentException 配列サイズが0またはビットデバイス以外が指定された場合
+     * @return 接続中の場合はtrue、切断中の場合はfalse
      */
-    public void writeBlockBit(DeviceSpec deviceSpec, boolean[] writeData) {
-        if (_isDebug) {
-            System.out.println("一括書込み（ビット単位）: writeBlockBit");
-        }
+    @Override
+    public boolean isConnected() {
+        return _transport.isConnected();
+    }
 
-        if (writeData.length < 1) {
-            throw new IllegalArgumentException("配列のサイズが間違っています");
-        }
-        if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
-            throw new IllegalArgumentException("ビットデバイス以外は対応していません");
+    /**
+     * PLCに要求伝文を送信し、応答伝文を受信・解析します。
+     * 複数のスレッドから同時に呼び出すことができます。
+     * 
+     * @param requestPayload 送信する要求ペイロード
+     * @return 解析された応答ペイロード
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException 応答の終了コードが異常の場合
+     */
+    @Override
+    public AbstractResponse sendRequest(AbstractRequest requestPayload) {
+        Frame3E responseFrame = awaitFrame(submitRequest(requestPayload));
+        return parseResponseFrame(requestPayload, responseFrame);
+    }
+
+    /**
+     * PLCに要求伝文を非同期に送信します。
+     * 送受信は接続ごとに1本のI/Oスレッドで行われ、応答の受信・解析が終わるとフューチャーが完了します。
+     * 呼び出し元のスレッドは応答を待たずに戻るため、複数の要求を同時に発行できます。
+     * 応答の解析はI/Oスレッドを止めないよう、I/Oスレッド以外で行います。
+     * 送受信に失敗した場合や応答が異常の場合、フューチャーは sendRequest と同じ例外で異常完了します。
+     * 
+     * @param requestPayload 送信する要求ペイロード
+     * @return 解析された応答ペイロードで完了するフューチャー
+     * @see #sendRequest(AbstractRequest)
+     */
+    @Override
+    public CompletableFuture<AbstractResponse> sendRequestAsync(AbstractRequest requestPayload) {
+        return submitRequest(requestPayload)
+            .thenApplyAsync(responseFrame -> parseResponseFrame(requestPayload, responseFrame));
+    }
+
+    /**
+     * 複数の要求伝文をまとめて送信し、それぞれの応答伝文を受信・解析します。
+     * 4Eフレーム使用時は、パイプライン深さを上限として応答を待たずに続けて要求を送信し、
+     * 応答はシリアル番号で要求と対応付けます。3Eフレーム使用時は1件ずつ順番に送受信します。
+     * 
+     * @param requestPayloads 送信する要求ペイロードのリスト
+     * @return 要求と同じ順序に並べた応答ペイロードのリスト
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException いずれかの応答の終了コードが異常の場合
+     */
+    @Override
+    public List<AbstractResponse> sendRequests(List<? extends AbstractRequest> requestPayloads) {
+        List<CompletableFuture<Frame3E>> futures = new ArrayList<>(requestPayloads.size());
+        for (AbstractRequest requestPayload : requestPayloads) {
+            futures.add(submitRequest(requestPayload));
         }
 
-        // 配列サイズが奇数であれば、偶数に揃える
-        if (writeData.length % 2 != 0) {
-            boolean[] temp = new boolean[writeData.length + 1];
-            for (int i=0; i<writeData.length; i++) {
-                temp[i] = writeData[i];
+        // 全ての応答を受信しきってから解析する（異常応答があっても受信を途中で止めない）
+        Frame3E[] responseFrames = new Frame3E[requestPayloads.size()];
+        RuntimeException failure = null;
+        for (int i = 0; i < responseFrames.length; i++) {
+            try {
+                responseFrames[i] = awaitFrame(futures.get(i));
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
             }
-            writeData = temp;
         }
-  
-        // 送信データの変換
-        byte[] sendBytes = new byte[writeData.length / 2];
-        for (int i=0; i<sendBytes.length; i++) {
-            byte temp0 = (byte)(writeData[i*2 + 0] ? 0x1 : 0x0);
-            byte temp1 = (byte)(writeData[i*2 + 1] ? 0x1 : 0x0);
-            sendBytes[i] = (byte)(temp0 << 4 | temp1);
+        if (failure != null) {
+            throw failure;
         }
 
-        // 要求伝文を構築
-        BlockWriteRequest requestPayload = new BlockWriteRequest(
-            deviceSpec,
-            (short)writeData.length,
-            sendBytes,
-            true
-        );
-
-        // 送信
-        sendRequest(requestPayload);
+        List<AbstractResponse> responses = new ArrayList<>(requestPayloads.size());
+        for (int i = 0; i < responseFrames.length; i++) {
+            responses.add(parseResponseFrame(requestPayloads.get(i), responseFrames[i]));
+        }
+        return responses;
     }
 
     /**
-     * PLC形名を読み取ります。
+     * 要求伝文を呼び出し元のスレッドで構築し、I/Oスレッドの送信キューに投入します。
      * 
-     * @return PLC形名文字列
+     * @param requestPayload 送信する要求ペイロード
+     * @return 応答フレームで完了するフューチャー
      */
-    public String readPlcTypeName() {
-        PlcTypeNameRequest requestPayload = new PlcTypeNameRequest();
-        PlcTypeNameResponse responsePayload = (PlcTypeNameResponse)sendRequest(requestPayload);
-        return responsePayload.getPlcTypeName();
+    private CompletableFuture<Frame3E> submitRequest(AbstractRequest requestPayload) {
+        FrameTypeEnum frameType = _frameType;
+        short serialNumber = nextSerialNumber();
+        byte[] requestBytes = buildRequestFrame(requestPayload, serialNumber, frameType);
+
+        RequestDispatcher dispatcher = _dispatcher;
+        if (dispatcher == null) {
+            return CompletableFuture.failedFuture(new RequestAbnormalException("送信できませんでした"));
+        }
+        if (_requestObservers.isEmpty()) {
+            return dispatcher.submit(requestBytes, serialNumber, frameType == FrameTypeEnum.FRAME_4E, requestPayload.isIdempotent());
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<Frame3E> future =
+            dispatcher.submit(requestBytes, serialNumber, frameType == FrameTypeEnum.FRAME_4E, requestPayload.isIdempotent());
+        // 呼び出し元が応答を受け取る前に観測者への通知を終えるため、通知後に完了するフューチャーを返す
+        return future.thenApply(responseFrame -> {
+            if (responseFrame.isNormalFinish()) {
+                notifyRequestCompleted(requestPayload, requestBytes.length, responseFrame, frameType, System.nanoTime() - startNanos);
+            }
+            return responseFrame;
+        });
     }
 
     /**
-     * リモートRUNコマンドを実行します。
-     * PLCをRUN状態に移行させます。
-     */
-    public void remoteRun() {
-        RemoteRunRequest requestPayload = new RemoteRunRequest(
-            RemoteRunRequest.FORCE_EXEC,
-            RemoteRunRequest.DEVICE_UNCLEAR
-        );
-        sendRequest(requestPayload);
-    }
-    
-    /**
-     * リモートSTOPコマンドを実行します。
-     * PLCをSTOP状態に移行させます。
+     * 要求観測者に正常応答を通知します。
+     * 
+     * @param requestPayload 送信した要求ペイロード
+     * @param requestLength 要求フレームのバイト数
+     * @param responseFrame 受信した応答フレーム
+     * @param frameType フレーム種別
+     * @param elapsedNanos 応答時間（ナノ秒）
      */
-    public void remoteStop() {
-        RemoteStopRequest requestPayload = new RemoteStopRequest();
-        sendRequest(requestPayload);
+    private void notifyRequestCompleted(AbstractRequest requestPayload, int requestLength, Frame3E responseFrame,
+            FrameTypeEnum frameType, long elapsedNanos) {
+        int headerLength = frameType == FrameTypeEnum.FRAME_4E ? FrameReader.HEADER_LENGTH_4E : FrameReader.HEADER_LENGTH_3E;
+        int responseLength = headerLength + (responseFrame._uncheckedDataLength & 0xffff);
+        for (IRequestObserver observer : _requestObservers) {
+            try {
+                observer.onRequestCompleted(this, requestPayload, requestLength, responseLength, elapsedNanos);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
     /**
-     * 折り返しテストを実行します。
-     * 送信したデータがそのまま返ってくるかを確認します。
+     * 応答フレームの受信を待機します。
      * 
-     * @param data テスト用データ
+     * @param future 応答フレームで完了するフューチャー
+     * @return 受信した応答フレーム
+     * @throws RequestAbnormalException 送受信に失敗した場合
      */
-    public void echoTest(byte[] data) {
-        EchoTestRequest requestPayload = new EchoTestRequest(null, data);
-        EchoTestResponse responsePayload = (EchoTestResponse)sendRequest(requestPayload);
-        
-        System.out.println("Echo test");
-        System.out.println("send: " + Converter.fromBytesToHexStringBigEndian(data));
-        System.out.println("recv: " + Converter.fromBytesToHexStringBigEndian(responsePayload.getReadData()));
-
-        if (java.util.Arrays.equals(data, responsePayload.getReadData())) {
-            System.out.println("正常: データは一致しています");
-        } else {
-            System.out.println("異常: データは一致していません");
+    private static Frame3E awaitFrame(CompletableFuture<Frame3E> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            throw new RequestAbnormalException("送信できませんでした");
         }
     }
 
     /**
-     * PLCに要求伝文を送信し、応答伝文を受信・解析します。
+     * 要求伝文を構築します。
+     * フレーム種別に応じて3Eまたは4E形式のフレームを生成します。
      * 
      * @param requestPayload 送信する要求ペイロード
-     * @return 解析された応答ペイロード
-     * @throws RequestAbnormalException 送信に失敗した場合
-     * @throws ResponseAbnormalException 応答の終了コードが異常の場合
+     * @param serialNumber シリアル番号（3Eフレームの場合は使用されません）
+     * @param frameType フレーム種別
+     * @return 要求伝文のバイト配列
      */
-    public AbstractResponse sendRequest(AbstractRequest requestPayload) {
-        // 要求伝文を構築
-        byte[] requestBytes = _builder.build(requestPayload, _monitorTimer);
-        
+    private byte[] buildRequestFrame(AbstractRequest requestPayload, short serialNumber, FrameTypeEnum frameType) {
+        byte[] requestBytes;
+        if (frameType == FrameTypeEnum.FRAME_4E) {
+            requestBytes = _builder.build4E(requestPayload, serialNumber, _monitorTimer);
+        } else {
+            requestBytes = _builder.build(requestPayload, _monitorTimer);
+        }
+
         // デバッグ
         if (_isDebug) {
             Parser.printFrameInfo(requestBytes);
             requestPayload.printInfo();
         }
-        
-        byte[] responseBytes;
-        try {
-            // 送信
-            _out = _so.getOutputStream();
-            _out.write(requestBytes);
-            _out.flush();
-            // 応答伝文を取得
-            responseBytes = new byte[_bufferSize];
-            _in.read(responseBytes);
-        } catch (Exception e){
-            throw new RequestAbnormalException("送信できませんでした");    
-        }
+        return requestBytes;
+    }
 
-        // 応答伝文を解析
-        Frame3E responseFrame = Parser.parseFrame(responseBytes);
+    /**
+     * 次のシリアル番号を払い出します。
+     * 
+     * @return シリアル番号
+     */
+    private short nextSerialNumber() {
+        return (short)_serialNumber.getAndIncrement();
+    }
 
+    /**
+     * 応答フレームの終了コードを確認し、応答ペイロードを解析します。
+     * 
+     * @param requestPayload 対応する要求ペイロード
+     * @param responseFrame 受信した応答フレーム
+     * @return 解析された応答ペイロード
+     * @throws ResponseAbnormalException 応答の終了コードが異常の場合
+     */
+    private AbstractResponse parseResponseFrame(AbstractRequest requestPayload, Frame3E responseFrame) {
         // デバッグ
         if (_isDebug) {
             Parser.printFrameInfo(responseFrame.toBytes());
@@ -404,21 +453,70 @@ public class Client {
 
         // 終了コードが正常でない場合は例外を投げる
         if (!responseFrame.isNormalFinish()) {
-            AbnormalResponse res = new AbnormalResponse(responseFrame._payloadByteArray);
-            res.printErrorInfo();
-            throw new ResponseAbnormalException("終了コードが正常ではありません: " + responseFrame._monitorOrFinishCode);
+            if (_isDebug) {
+                AbnormalResponse res = new AbnormalResponse(responseFrame._payloadByteArray);
+                res.printErrorInfo();
+            }
+            throw new ResponseAbnormalException("終了コードが正常ではありません: " + responseFrame._monitorOrFinishCode,
+                responseFrame._monitorOrFinishCode);
         }
         return requestPayload.parseResponse(responseFrame._payloadByteArray);
     }
 
-    
+
     /**
-     * デバッグモードの設定状態を取得します。
+     * 送信待ち・応答待ちの要求数を取得します。
      * 
-     * @return デバッグモードが有効な場合はtrue、無効な場合はfalse
+     * @return 未完了の要求数（未接続の場合は0）
      */
-    public boolean getIsDebug() {
-        return _isDebug;
+    public int getOutstandingCount() {
+        RequestDispatcher dispatcher = _dispatcher;
+        return dispatcher == null ? 0 : dispatcher.getOutstandingCount();
+    }
+
+    /**
+     * フレーム種別を設定します。
+     * 4Eフレームを使用すると、sendRequests で複数の要求をパイプライン送信できます。
+     * 
+     * @param frameType フレーム種別
+     */
+    public void setFrameType(FrameTypeEnum frameType) {
+        _frameType = frameType;
+    }
+
+    /**
+     * フレーム種別を取得します。
+     * 
+     * @return フレーム種別
+     */
+    public FrameTypeEnum getFrameType() {
+        return _frameType;
+    }
+
+    /**
+     * パイプライン送信時に同時に応答待ちにできる要求数の上限を設定します。
+     * 
+     * @param pipelineDepth 応答待ち要求数の上限（1以上）
+     * @throws IllegalArgumentException 1未満が指定された場合
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        if (pipelineDepth < 1) {
+            throw new IllegalArgumentException("パイプライン深さは1以上を指定してください");
+        }
+        _pipelineDepth = pipelineDepth;
+        RequestDispatcher dispatcher = _dispatcher;
+        if (dispatcher != null) {
+            dispatcher.setPipelineDepth(pipelineDepth);
+        }
+    }
+
+    /**
+     * パイプライン送信時に同時に応答待ちにできる要求数の上限を取得します。
+     * 
+     * @return 応答待ち要求数の上限
+     */
+    public int getPipelineDepth() {
+        return _pipelineDepth;
     }
 
     /**
@@ -427,7 +525,7 @@ public class Client {
      * @return 接続先ホスト名またはIPアドレス
      */
     public String getHost() {
-        return _host;
+        return _transport.getHost();
     }
 
     /**
@@ -436,34 +534,52 @@ public class Client {
      * @return 接続先ポート番号
      */
     public int getPort() {
-        return _port;
+        return _transport.getPort();
+    }
+
+    /**
+     * 通信路を取得します。
+     * 
+     * @return 通信路
+     */
+    public ITransport getTransport() {
+        return _transport;
     }
 
     /**
      * 現在のTCPソケットを取得します。
      * 
-     * @return TCPソケット（未接続の場合はnull）
+     * @return TCPソケット（未接続の場合、またはSocketTransport以外の通信路の場合はnull）
      */
     public Socket getSocket() {
-        return _so;
+        if (_transport instanceof SocketTransport) {
+            return ((SocketTransport)_transport).getSocket();
+        }
+        return null;
     }
 
     /**
      * 現在の出力ストリームを取得します。
      * 
-     * @return 出力ストリーム（未接続の場合はnull）
+     * @return 出力ストリーム（未接続の場合、またはSocketTransport以外の通信路の場合はnull）
      */
     public OutputStream getOutput() {
-        return _out;
+        if (_transport instanceof SocketTransport) {
+            return ((SocketTransport)_transport).getOutput();
+        }
+        return null;
     }
 
     /**
      * 現在の入力ストリームを取得します。
      * 
-     * @return 入力ストリーム（未接続の場合はnull）
+     * @return 入力ストリーム（未接続の場合、またはSocketTransport以外の通信路の場合はnull）
      */
     public BufferedInputStream getInput() {
-        return _in;
+        if (_transport instanceof SocketTransport) {
+            return ((SocketTransport)_transport).getInput();
+        }
+        return null;
     }
 
     /**
@@ -0,0 +1,418 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.bocchi_megane.mcprotocol.lib.define.ConnectionStateEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.FrameTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.EchoTestRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.EchoTestResponse;
+
+/**
+ * MCプロトコルクライアントプールクラス
+ * 同じPLCに対して複数の接続を開き、要求を接続間に振り分けます。
+ * 各要求は未完了の要求数が最も少ない正常な接続に送信されるため、1本の接続の逐次処理に律速されません。
+ * 接続は定期的に折り返しテストで正常性を確認し、異常な接続は振り分けから外して再接続を試みます。
+ * Clientと同じ読み書きAPIを提供します。
+ */
+public class ClientPool extends AbstractClient {
+    /** 正常性確認の既定間隔（ミリ秒） */
+    public static final int DEFAULT_HEALTH_CHECK_INTERVAL = 10000;
+    /** 正常性確認に使用する折り返しデータ */
+    private static final byte[] HEALTH_CHECK_DATA = "HC".getBytes(StandardCharsets.US_ASCII);
+
+    /** プール内の接続 */
+    private final List<Member> _members;
+    /** 振り分け開始位置（同数の場合に偏らないよう巡回させる） */
+    private final AtomicInteger _cursor = new AtomicInteger();
+    /** 正常性確認の間隔（ミリ秒、0の場合は定期確認しない） */
+    private volatile int _healthCheckInterval = DEFAULT_HEALTH_CHECK_INTERVAL;
+    /** 正常性確認用スケジューラ */
+    private ScheduledExecutorService _healthChecker;
+
+    /**
+     * コンストラクタ
+     * 同じ接続先に対する複数のクライアントを作成します。
+     *
+     * @param host 接続先のホスト名またはIPアドレス
+     * @param port 接続先のポート番号
+     * @param size 接続数
+     * @param isDebug デバッグモードを有効にする場合はtrue
+     * @throws IllegalArgumentException 接続数が1未満の場合
+     */
+    public ClientPool(String host, int port, int size, boolean isDebug) {
+        this(createClients(host, port, size, isDebug), isDebug);
+    }
+
+    /**
+     * コンストラクタ
+     * 作成済みのクライアントをプールにまとめます。
+     * 通信路やフレーム種別を個別に設定したい場合に使用します。
+     *
+     * @param clients プールにまとめるクライアント
+     * @param isDebug デバッグモードを有効にする場合はtrue
+     * @throws IllegalArgumentException クライアントが空の場合
+     */
+    public ClientPool(List<Client> clients, boolean isDebug) {
+        super(isDebug);
+        if (clients.isEmpty()) {
+            throw new IllegalArgumentException("接続数は1以上を指定してください");
+        }
+        List<Member> members = new ArrayList<>(clients.size());
+        for (Client client : clients) {
+            members.add(new Member(client));
+        }
+        this._members = Collections.unmodifiableList(members);
+    }
+
+    /**
+     * 同じ接続先に対するクライアントを作成します。
+     *
+     * @param host 接続先のホスト名またはIPアドレス
+     * @param port 接続先のポート番号
+     * @param size 接続数
+     * @param isDebug デバッグモードを有効にする場合はtrue
+     * @return クライアントのリスト
+     */
+    private static List<Client> createClients(String host, int port, int size, boolean isDebug) {
+        if (size < 1) {
+            throw new IllegalArgumentException("接続数は1以上を指定してください");
+        }
+        List<Client> clients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            clients.add(new Client(host, port, isDebug));
+        }
+        return clients;
+    }
+
+    /**
+     * 全ての接続を安全に確立します。
+     * 一部の接続に失敗した場合は、その接続を異常として扱い正常性確認で再接続を試みます。
+     *
+     * @return 1本も接続できなかったら true を返す
+     */
+    @Override
+    public synchronized boolean connect() {
+        boolean isAnyConnected = false;
+        for (Member member : _members) {
+            try {
+                member.client.unsafe_connect();
+                member.isHealthy = true;
+                isAnyConnected = true;
+            } catch (Exception e) {
+                e.printStackTrace();
+                member.client.disconnect();
+                member.isHealthy = false;
+            }
+        }
+        startHealthChecker();
+        return !isAnyConnected;
+    }
+
+    /**
+     * 全ての接続を例外処理なしで確立します。
+     * いずれかの接続に失敗した場合は、確立済みの接続も切断して例外を送出します。
+     *
+     * @throws Exception 接続時に発生する可能性のある例外
+     */
+    @Override
+    public synchronized void unsafe_connect() throws Exception {
+        try {
+            for (Member member : _members) {
+                member.client.unsafe_connect();
+                member.isHealthy = true;
+            }
+        } catch (Exception e) {
+            disconnect();
+            throw e;
+        }
+        startHealthChecker();
+    }
+
+    /**
+     * 全ての接続を切断し、正常性確認を停止します。
+     */
+    @Override
+    public synchronized void disconnect() {
+        if (_healthChecker != null) {
+            _healthChecker.shutdownNow();
+            _healthChecker = null;
+        }
+        for (Member member : _members) {
+            member.isHealthy = false;
+            member.client.disconnect();
+        }
+    }
+
+    /**
+     * 正常な接続が1本以上あるかを確認します。
+     *
+     * @return 正常な接続がある場合はtrue
+     */
+    @Override
+    public boolean isConnected() {
+        for (Member member : _members) {
+            if (member.isHealthy && member.client.isConnected()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 未完了の要求数が最も少ない接続で要求伝文を送信し、応答伝文を受信・解析します。
+     * 通信に失敗した接続は異常として振り分けから外します。
+     *
+     * @param requestPayload 送信する要求ペイロード
+     * @return 解析された応答ペイロード
+     * @throws RequestAbnormalException 送信に失敗した場合、または正常な接続がない場合
+     * @throws ResponseAbnormalException 応答の終了コードが異常の場合
+     */
+    @Override
+    public AbstractResponse sendRequest(AbstractRequest requestPayload) {
+        Member member = select();
+        try {
+            return member.client.sendRequest(requestPayload);
+        } catch (RequestAbnormalException e) {
+            member.isHealthy = false;
+            throw e;
+        }
+    }
+
+    /**
+     * 未完了の要求数が最も少ない接続で要求伝文を非同期に送信します。
+     *
+     * @param requestPayload 送信する要求ペイロード
+     * @return 解析された応答ペイロードで完了するフューチャー
+     */
+    @Override
+    public CompletableFuture<AbstractResponse> sendRequestAsync(AbstractRequest requestPayload) {
+        Member member;
+        try {
+            member = select();
+        } catch (RequestAbnormalException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return member.client.sendRequestAsync(requestPayload).whenComplete((response, e) -> {
+            Throwable cause = (e instanceof CompletionException) ? e.getCause() : e;
+            if (cause instanceof RequestAbnormalException) {
+                member.isHealthy = false;
+            }
+        });
+    }
+
+    /**
+     * 複数の要求伝文を接続間に振り分けて送信し、それぞれの応答伝文を受信・解析します。
+     * 全ての応答が揃ってから結果を返します。
+     *
+     * @param requestPayloads 送信する要求ペイロードのリスト
+     * @return 要求と同じ順序に並べた応答ペイロードのリスト
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException いずれかの応答の終了コードが異常の場合
+     */
+    @Override
+    public List<AbstractResponse> sendRequests(List<? extends AbstractRequest> requestPayloads) {
+        List<CompletableFuture<AbstractResponse>> futures = new ArrayList<>(requestPayloads.size());
+        for (AbstractRequest requestPayload : requestPayloads) {
+            futures.add(sendRequestAsync(requestPayload));
+        }
+
+        List<AbstractResponse> responses = new ArrayList<>(requestPayloads.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<AbstractResponse> future : futures) {
+            try {
+                responses.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = (e.getCause() instanceof RuntimeException)
+                        ? (RuntimeException)e.getCause()
+                        : new RequestAbnormalException("送信できませんでした");
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return responses;
+    }
+
+    /**
+     * 要求を送信する接続を選択します。
+     * 正常な接続のうち、未完了の要求数が最も少ない接続を返します。
+     *
+     * @return 選択された接続
+     * @throws RequestAbnormalException 正常な接続がない場合
+     */
+    private Member select() {
+        int size = _members.size();
+        int start = Math.floorMod(_cursor.getAndIncrement(), size);
+        Member selected = null;
+        int minOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Member member = _members.get((start + i) % size);
+            if (!member.isHealthy) {
+                continue;
+            }
+            int outstanding = member.client.getOutstandingCount();
+            if (outstanding < minOutstanding) {
+                selected = member;
+                minOutstanding = outstanding;
+            }
+        }
+        if (selected == null) {
+            throw new RequestAbnormalException("正常な接続がありません");
+        }
+        return selected;
+    }
+
+    /**
+     * 全ての接続の正常性を確認します。
+     * 切断されている接続は再接続を試み、要求を処理していない接続には折り返しテストを送信します。
+     * 正常性確認の間隔ごとに自動で呼び出されますが、任意のタイミングで呼び出すこともできます。
+     */
+    public void checkHealth() {
+        for (Member member : _members) {
+            Client client = member.client;
+            if (client.getConnectionState() == ConnectionStateEnum.RECONNECTING) {
+                // クライアント自身が再接続中
+                member.isHealthy = false;
+                continue;
+            }
+            if (!client.isConnected()) {
+                try {
+                    client.unsafe_connect();
+                } catch (Exception e) {
+                    client.disconnect();
+                    member.isHealthy = false;
+                    continue;
+                }
+            } else if (member.isHealthy && client.getOutstandingCount() > 0) {
+                // 要求を処理中の接続は、その応答で正常性を判断する
+                continue;
+            }
+            try {
+                EchoTestResponse response = (EchoTestResponse)client.sendRequest(new EchoTestRequest(null, HEALTH_CHECK_DATA));
+                member.isHealthy = Arrays.equals(HEALTH_CHECK_DATA, response.getReadData());
+            } catch (RuntimeException e) {
+                member.isHealthy = false;
+            }
+            if (!member.isHealthy) {
+                // 次回の確認で再接続する
+                client.disconnect();
+            }
+        }
+    }
+
+    /**
+     * 定期的な正常性確認を開始します。
+     */
+    private void startHealthChecker() {
+        if (_healthChecker != null || _healthCheckInterval <= 0) {
+            return;
+        }
+        _healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mcprotocol-pool-health");
+            t.setDaemon(true);
+            return t;
+        });
+        _healthChecker.scheduleWithFixedDelay(
+            this::checkHealth, _healthCheckInterval, _healthCheckInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 正常性確認の間隔を設定します。
+     * 接続前に設定してください。
+     *
+     * @param millis 正常性確認の間隔（ミリ秒、0の場合は定期確認しない）
+     */
+    public void setHealthCheckInterval(int millis) {
+        _healthCheckInterval = millis;
+    }
+
+    /**
+     * 正常性確認の間隔を取得します。
+     *
+     * @return 正常性確認の間隔（ミリ秒）
+     */
+    public int getHealthCheckInterval() {
+        return _healthCheckInterval;
+    }
+
+    /**
+     * 全ての接続のフレーム種別を設定します。
+     *
+     * @param frameType フレーム種別
+     */
+    public void setFrameType(FrameTypeEnum frameType) {
+        for (Member member : _members) {
+            member.client.setFrameType(frameType);
+        }
+    }
+
+    /**
+     * 全ての接続のパイプライン深さを設定します。
+     *
+     * @param pipelineDepth 応答待ち要求数の上限（1以上）
+     * @throws IllegalArgumentException 1未満が指定された場合
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        for (Member member : _members) {
+            member.client.setPipelineDepth(pipelineDepth);
+        }
+    }
+
+    /**
+     * プール内のクライアントを取得します。
+     *
+     * @return クライアントのリスト
+     */
+    public List<Client> getClients() {
+        List<Client> clients = new ArrayList<>(_members.size());
+        for (Member member : _members) {
+            clients.add(member.client);
+        }
+        return clients;
+    }
+
+    /**
+     * 正常な接続の数を取得します。
+     *
+     * @return 正常な接続の数
+     */
+    public int getHealthyCount() {
+        int count = 0;
+        for (Member member : _members) {
+            if (member.isHealthy) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * プール内の接続
+     */
+    private static class Member {
+        /** クライアント */
+        final Client client;
+        /** 振り分け対象とするかどうか */
+        volatile boolean isHealthy;
+
+        Member(Client client) {
+            this.client = client;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import dev.bocchi_megane.mcprotocol.lib.define.ConnectionStateEnum;
+
+/**
+ * 接続状態リスナーインターフェース
+ * クライアントの接続状態が変化したときに通知を受け取ります。
+ * 通知は状態を変化させたスレッド（再接続の場合はI/Oスレッド）から呼び出されるため、
+ * 時間のかかる処理や、同じクライアントへの同期的な要求は行わないでください。
+ */
+@FunctionalInterface
+public interface IConnectionStateListener {
+    /**
+     * 接続状態が変化したときに呼び出されます。
+     *
+     * @param client 状態が変化したクライアント
+     * @param state 変化後の接続状態
+     */
+    public void onConnectionStateChanged(Client client, ConnectionStateEnum state);
+}
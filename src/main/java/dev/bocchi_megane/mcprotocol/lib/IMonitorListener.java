@@ -0,0 +1,28 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+/**
+ * モニタリスナーインターフェース
+ * モニタ購読が周期的に読み出した値を受け取ります。
+ * 通知は購読のポーリングスレッドから呼び出されます。
+ */
+@FunctionalInterface
+public interface IMonitorListener {
+    /**
+     * 値を読み出したときに呼び出されます。
+     * 配列は次回の読出しで上書きされるため、保持する場合は複製してください。
+     *
+     * @param subscription 値を読み出したモニタ購読
+     * @param values ワードの値（符号拡張済み）、続いてダブルワードの値を並べた配列
+     */
+    public void onMonitorData(MonitorSubscription subscription, int[] values);
+
+    /**
+     * 読出しに失敗したときに呼び出されます。
+     * ポーリングは次の周期も継続されます。
+     *
+     * @param subscription 読出しに失敗したモニタ購読
+     * @param e 発生した例外
+     */
+    public default void onMonitorError(MonitorSubscription subscription, RuntimeException e) {
+    }
+}
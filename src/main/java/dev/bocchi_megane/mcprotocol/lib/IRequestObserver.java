@@ -0,0 +1,24 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
+
+/**
+ * 要求観測インターフェース
+ * クライアントが送信した要求に正常応答が返るたびに、フレームの大きさと応答時間の通知を受け取ります。
+ * 通知は応答を受信したI/Oスレッドから呼び出されるため、時間のかかる処理や、同じクライアントへの同期的な要求は行わないでください。
+ */
+@FunctionalInterface
+public interface IRequestObserver {
+    /**
+     * 要求に正常応答が返ったときに呼び出されます。
+     * 応答時間は要求を送信キューに投入してから応答フレームを受信するまでの時間のため、
+     * パイプライン送信中は送信待ちの時間も含みます。
+     *
+     * @param client 要求を送信したクライアント
+     * @param requestPayload 送信した要求ペイロード
+     * @param requestLength 要求フレームのバイト数
+     * @param responseLength 応答フレームのバイト数
+     * @param elapsedNanos 応答時間（ナノ秒）
+     */
+    public void onRequestCompleted(Client client, AbstractRequest requestPayload, int requestLength, int responseLength, long elapsedNanos);
+}
@@ -0,0 +1,66 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+
+/**
+ * ラベル指定キャッシュクラス
+ * ラベル名から、要求伝文用に変換済みのラベル指定を引くキャッシュです。
+ * 周期的に同じラベルを読み書きする場合に、要求ごとのUTF-16LE変換を省きます。
+ * 複数のスレッドから同時に使用できます。
+ */
+public class LabelCache {
+    /** ラベル名ごとのラベル指定 */
+    private final Map<String, LabelSpec> _labels = new ConcurrentHashMap<>();
+
+    /**
+     * ラベル名に対応するラベル指定を取得します。
+     * 初めて指定されたラベル名は変換してキャッシュに登録します。
+     *
+     * @param name ラベル名
+     * @return ラベル指定
+     * @throws IllegalArgumentException ラベル名の長さが不正な場合
+     */
+    public LabelSpec get(String name) {
+        LabelSpec label = _labels.get(name);
+        if (label == null) {
+            label = _labels.computeIfAbsent(name, LabelSpec::new);
+        }
+        return label;
+    }
+
+    /**
+     * 複数のラベル名に対応するラベル指定を取得します。
+     *
+     * @param names ラベル名のリスト
+     * @return ラベル名と同じ順序に並べたラベル指定のリスト
+     * @throws IllegalArgumentException ラベル名の長さが不正な場合
+     */
+    public List<LabelSpec> get(List<String> names) {
+        List<LabelSpec> labels = new ArrayList<>(names.size());
+        for (String name : names) {
+            labels.add(get(name));
+        }
+        return labels;
+    }
+
+    /**
+     * キャッシュに登録されているラベル数を取得します。
+     *
+     * @return ラベル数
+     */
+    public int size() {
+        return _labels.size();
+    }
+
+    /**
+     * キャッシュを空にします。
+     */
+    public void clear() {
+        _labels.clear();
+    }
+}
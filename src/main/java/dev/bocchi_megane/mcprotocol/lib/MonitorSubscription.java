@@ -0,0 +1,206 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import dev.bocchi_megane.mcprotocol.lib.define.ConnectionStateEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.payload.MonitorReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MonitorRegisterRequest;
+
+/**
+ * モニタ購読クラス
+ * 固定のデバイスの組をモニタ登録（0801）し、以降はデバイス指定を含まないモニタ要求（0802）で周期的に読み出します。
+ * 同じデバイスの組をランダム読出しで繰り返し読む場合に比べ、毎回の要求にデバイスの一覧を載せずに済みます。
+ *
+ * <p>モニタ登録は接続ごとにPLC側で保持されるため、再接続を検知すると次回の読出しの前に自動で登録し直します。
+ * PLCが登録を失っていた場合（異常応答）も、1度だけ登録し直して読出しを再試行します。
+ * 1つの接続で保持できる登録は1つだけのため、同じクライアントで複数の購読を同時に使用しないでください。
+ *
+ * <p>読み出した値は購読ごとに1つだけ確保した配列に格納され、読出しのたびに上書きされます。
+ */
+public class MonitorSubscription implements AutoCloseable {
+    /** 購読に使用するクライアント */
+    private final Client _client;
+    /** モニタ登録要求 */
+    private final MonitorRegisterRequest _registerRequest;
+    /** モニタ要求（毎回同じものを送信する） */
+    private final MonitorReadRequest _readRequest;
+    /** 読出し結果の格納先 */
+    private final int[] _buffer;
+    /** 再接続を検知するリスナー */
+    private final IConnectionStateListener _stateListener;
+    /** 現在の接続で登録済みかどうか */
+    private volatile boolean _isRegistered = false;
+    /** ポーリング用のスケジューラ */
+    private ScheduledExecutorService _scheduler;
+    /** 実行中のポーリング */
+    private ScheduledFuture<?> _pollTask;
+
+    /**
+     * コンストラクタ
+     * この時点ではPLCへの登録は行わず、最初の読出しの前に登録します。
+     *
+     * @param client 購読に使用するクライアント
+     * @param words ワード単位で読み出すデバイス仕様のリスト
+     * @param dwords ダブルワード単位で読み出すデバイス仕様のリスト
+     * @throws IllegalArgumentException アクセス点数が0、または上限を超える場合
+     */
+    public MonitorSubscription(Client client, List<DeviceSpec> words, List<DeviceSpec> dwords) {
+        this._client = client;
+        this._registerRequest = new MonitorRegisterRequest(words, dwords);
+        this._buffer = new int[words.size() + dwords.size()];
+        this._readRequest = new MonitorReadRequest(_registerRequest, _buffer);
+        this._stateListener = (c, state) -> {
+            if (state == ConnectionStateEnum.CONNECTED) {
+                _isRegistered = false;
+            }
+        };
+        client.addConnectionStateListener(_stateListener);
+    }
+
+    /**
+     * デバイスの組をPLCにモニタ登録します。
+     * 通常は読出し時に自動で登録されるため、明示的に呼び出す必要はありません。
+     *
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException 応答の終了コードが異常の場合
+     */
+    public synchronized void register() {
+        _isRegistered = false;
+        _client.sendRequest(_registerRequest);
+        _isRegistered = true;
+    }
+
+    /**
+     * 登録済みのデバイスの値を1回読み出します。
+     * 未登録の場合や再接続後は、先にモニタ登録を行います。
+     *
+     * @return ワードの値（符号拡張済み）、続いてダブルワードの値を並べた配列（購読ごとに共有され、次回の読出しで上書きされる）
+     * @throws RequestAbnormalException 送信に失敗した場合
+     * @throws ResponseAbnormalException 登録し直しても応答の終了コードが異常の場合
+     */
+    public synchronized int[] poll() {
+        boolean isFreshlyRegistered = false;
+        if (!_isRegistered) {
+            register();
+            isFreshlyRegistered = true;
+        }
+        try {
+            _client.sendRequest(_readRequest);
+        } catch (ResponseAbnormalException e) {
+            if (isFreshlyRegistered) {
+                throw e;
+            }
+            // PLC側の登録が失われている可能性があるため、登録し直して1度だけ再試行する
+            register();
+            _client.sendRequest(_readRequest);
+        }
+        return _buffer;
+    }
+
+    /**
+     * 一定周期でのポーリングを開始します。
+     * 読出しのたびにリスナーへ値を通知し、失敗しても次の周期で読出しを続けます。
+     *
+     * @param periodMillis ポーリング周期（ミリ秒）
+     * @param listener 値を受け取るリスナー
+     * @throws IllegalArgumentException 周期が1未満の場合
+     * @throws IllegalStateException 既にポーリング中の場合
+     */
+    public synchronized void start(long periodMillis, IMonitorListener listener) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("ポーリング周期は1ミリ秒以上で指定してください: " + periodMillis);
+        }
+        if (_pollTask != null) {
+            throw new IllegalStateException("既にポーリング中です");
+        }
+        if (_scheduler == null) {
+            _scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "mcprotocol-monitor");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        _pollTask = _scheduler.scheduleAtFixedRate(() -> {
+            int[] values;
+            try {
+                values = poll();
+            } catch (RuntimeException e) {
+                listener.onMonitorError(this, e);
+                return;
+            }
+            listener.onMonitorData(this, values);
+        }, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * ポーリングを停止します。
+     * 実行中の読出しは完了まで続きます。
+     */
+    public synchronized void stop() {
+        if (_pollTask != null) {
+            _pollTask.cancel(false);
+            _pollTask = null;
+        }
+    }
+
+    /**
+     * ポーリングが実行中かどうかを確認します。
+     *
+     * @return ポーリング中の場合はtrue
+     */
+    public synchronized boolean isRunning() {
+        return _pollTask != null;
+    }
+
+    /**
+     * 現在の接続でモニタ登録済みかどうかを確認します。
+     *
+     * @return 登録済みの場合はtrue
+     */
+    public boolean isRegistered() {
+        return _isRegistered;
+    }
+
+    /**
+     * 読出し結果の格納先を取得します。
+     *
+     * @return ワードの値、続いてダブルワードの値を並べた配列
+     */
+    public int[] getBuffer() {
+        return _buffer;
+    }
+
+    /**
+     * 購読しているデバイスを取得します。
+     *
+     * @return モニタ登録要求
+     */
+    public MonitorRegisterRequest getRegistration() {
+        return _registerRequest;
+    }
+
+    /**
+     * ポーリングを停止し、クライアントへのリスナー登録を解除します。
+     * クライアントの接続は切断しません。
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            stop();
+            scheduler = _scheduler;
+            _scheduler = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        _client.removeConnectionStateListener(_stateListener);
+    }
+}
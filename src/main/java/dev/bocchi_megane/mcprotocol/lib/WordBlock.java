@@ -0,0 +1,291 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * ワードブロッククラス
+ * 連続したワードデバイスの値を、受信したバイトデータのまま保持し、型を指定して読み書きするビューです。
+ * 位置はすべて先頭デバイスからのワード数で指定します。
+ * 32ビット・64ビットの値は下位ワードから順に、文字列は1ワードに2文字（下位バイトが先）で格納されているものとして扱います。
+ * 読込み結果は受信データをコピーせずに参照するため、このオブジェクトを書き換えると受信データも書き換わります。
+ */
+public class WordBlock {
+
+    /** 先頭デバイス */
+    private final DeviceSpec _deviceSpec;
+    /** ワードデータ（1ワードに2バイト、リトルエンディアン） */
+    private final byte[] _bytes;
+
+    /**
+     * 書込み用の空のワードブロックを作成するコンストラクタ
+     *
+     * @param deviceSpec 先頭デバイス
+     * @param wordCount ワード数
+     * @throws IllegalArgumentException ワード数が負の場合
+     */
+    public WordBlock(DeviceSpec deviceSpec, int wordCount) {
+        if (wordCount < 0) {
+            throw new IllegalArgumentException("ワード数が不正です: " + wordCount);
+        }
+        this._deviceSpec = deviceSpec;
+        this._bytes = new byte[wordCount * 2];
+    }
+
+    /**
+     * バイトデータを参照するワードブロックを作成するコンストラクタ
+     * バイト配列はコピーせずにそのまま参照します。
+     *
+     * @param deviceSpec 先頭デバイス
+     * @param bytes ワードデータ（1ワードに2バイト、リトルエンディアン）
+     * @throws IllegalArgumentException バイト数が奇数の場合
+     */
+    public WordBlock(DeviceSpec deviceSpec, byte[] bytes) {
+        if (bytes.length % 2 != 0) {
+            throw new IllegalArgumentException("ワードデータのバイト数が奇数です: " + bytes.length);
+        }
+        this._deviceSpec = deviceSpec;
+        this._bytes = bytes;
+    }
+
+    /**
+     * 先頭デバイスを取得します。
+     *
+     * @return 先頭デバイス
+     */
+    public DeviceSpec getDeviceSpec() {
+        return _deviceSpec;
+    }
+
+    /**
+     * ワード数を取得します。
+     *
+     * @return ワード数
+     */
+    public int getWordCount() {
+        return _bytes.length / 2;
+    }
+
+    /**
+     * 保持しているバイトデータを取得します。
+     * コピーではないため、変更するとこのワードブロックの値も変わります。
+     *
+     * @return ワードデータ（1ワードに2バイト、リトルエンディアン）
+     */
+    public byte[] getBytes() {
+        return _bytes;
+    }
+
+    /**
+     * 1ワードの値を取得します。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @return 16ビット整数
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public short getShort(int offset) {
+        return Converter.getShort(_bytes, offset * 2);
+    }
+
+    /**
+     * 1ワード中の1ビットの値を取得します。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @param bit ワード中のビット位置（0～15、0が最下位ビット）
+     * @return ビットがONの場合はtrue
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public boolean getBit(int offset, int bit) {
+        return (getShort(offset) & (1 << Objects.checkIndex(bit, 16))) != 0;
+    }
+
+    /**
+     * 2ワードの値を32ビット整数として取得します。
+     *
+     * @param offset 先頭デバイスからのワード位置（下位ワード）
+     * @return 32ビット整数
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public int getInt(int offset) {
+        return Converter.getInt(_bytes, offset * 2);
+    }
+
+    /**
+     * 2ワードの値を単精度実数として取得します。
+     *
+     * @param offset 先頭デバイスからのワード位置（下位ワード）
+     * @return 単精度実数
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public float getFloat(int offset) {
+        return Converter.getFloat(_bytes, offset * 2);
+    }
+
+    /**
+     * 4ワードの値を倍精度実数として取得します。
+     *
+     * @param offset 先頭デバイスからのワード位置（最下位ワード）
+     * @return 倍精度実数
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public double getDouble(int offset) {
+        return Converter.getDouble(_bytes, offset * 2);
+    }
+
+    /**
+     * 1ワードの4桁のBCD値を整数として取得します。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @return 整数（0～9999）
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     * @throws IllegalArgumentException BCDとして不正な値の場合
+     */
+    public int getBcd(int offset) {
+        return Converter.fromBcdToInt(getShort(offset));
+    }
+
+    /**
+     * ASCII文字列を取得します。
+     * 最初のNUL文字の手前までを文字列とします。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @param length 最大文字数（バイト数）
+     * @return 文字列
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public String getString(int offset, int length) {
+        int start = offset * 2;
+        if (offset < 0 || length < 0 || start + length > _bytes.length) {
+            throw new IndexOutOfBoundsException("範囲外の文字列です: offset=" + offset + ", length=" + length);
+        }
+        int end = start;
+        while (end < start + length && _bytes[end] != 0) {
+            end++;
+        }
+        return new String(_bytes, start, end - start, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 1ワードの値を設定します。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @param value 16ビット整数
+     * @return このワードブロック
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public WordBlock setShort(int offset, short value) {
+        Converter.putShort(_bytes, offset * 2, value);
+        return this;
+    }
+
+    /**
+     * 1ワード中の1ビットの値を設定します。同じワードの他のビットは変わりません。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @param bit ワード中のビット位置（0～15、0が最下位ビット）
+     * @param value ONにする場合はtrue
+     * @return このワードブロック
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public WordBlock setBit(int offset, int bit, boolean value) {
+        int mask = 1 << Objects.checkIndex(bit, 16);
+        short word = getShort(offset);
+        return setShort(offset, (short)(value ? word | mask : word & ~mask));
+    }
+
+    /**
+     * 32ビット整数を2ワードに設定します。
+     *
+     * @param offset 先頭デバイスからのワード位置（下位ワード）
+     * @param value 32ビット整数
+     * @return このワードブロック
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public WordBlock setInt(int offset, int value) {
+        Converter.putInt(_bytes, offset * 2, value);
+        return this;
+    }
+
+    /**
+     * 単精度実数を2ワードに設定します。
+     *
+     * @param offset 先頭デバイスからのワード位置（下位ワード）
+     * @param value 単精度実数
+     * @return このワードブロック
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public WordBlock setFloat(int offset, float value) {
+        Converter.putFloat(_bytes, offset * 2, value);
+        return this;
+    }
+
+    /**
+     * 倍精度実数を4ワードに設定します。
+     *
+     * @param offset 先頭デバイスからのワード位置（最下位ワード）
+     * @param value 倍精度実数
+     * @return このワードブロック
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public WordBlock setDouble(int offset, double value) {
+        Converter.putDouble(_bytes, offset * 2, value);
+        return this;
+    }
+
+    /**
+     * 整数を4桁のBCD値として1ワードに設定します。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @param value 整数（0～9999）
+     * @return このワードブロック
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     * @throws IllegalArgumentException 範囲外の値が指定された場合
+     */
+    public WordBlock setBcd(int offset, int value) {
+        return setShort(offset, Converter.fromIntToBcd(value));
+    }
+
+    /**
+     * ASCII文字列を設定します。
+     * 最大文字数に満たない部分はNUL文字で埋めます。
+     *
+     * @param offset 先頭デバイスからのワード位置
+     * @param length 最大文字数（バイト数）
+     * @param value 文字列（ASCII文字のみ）
+     * @return このワードブロック
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     * @throws IllegalArgumentException 文字列が最大文字数を超える場合、ASCII以外の文字を含む場合
+     */
+    public WordBlock setString(int offset, int length, String value) {
+        int start = offset * 2;
+        if (offset < 0 || length < 0 || start + length > _bytes.length) {
+            throw new IndexOutOfBoundsException("範囲外の文字列です: offset=" + offset + ", length=" + length);
+        }
+        if (value.length() > length) {
+            throw new IllegalArgumentException("文字列が最大文字数を超えています: " + value.length() + " > " + length);
+        }
+        // 途中まで書き込んだ状態で例外にならないよう、全ての文字を確認してから書き込む
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                throw new IllegalArgumentException("ASCII以外の文字が含まれています: " + value);
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            _bytes[start + i] = i < value.length() ? (byte)value.charAt(i) : 0;
+        }
+        return this;
+    }
+
+    /**
+     * ワードブロックを文字列形式で返します。
+     *
+     * @return 「先頭デバイス×ワード数」の形式の文字列
+     */
+    @Override
+    public String toString() {
+        return _deviceSpec + "x" + getWordCount();
+    }
+}
@@ -0,0 +1,217 @@
+package dev.bocchi_megane.mcprotocol.lib.capability;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+
+/**
+ * CPU能力クラス
+ * CPUの形名ごとに異なる、1回の要求の点数上限、対応するフレーム・サブコマンド、デバイスの範囲を保持する不変のクラスです。
+ * 点数上限はプロトコルの上限（{@link BlockReadRequest#MAX_WORD_POINTS} など）以下の値だけを指定できます。
+ * デバイスの範囲は、わかっているデバイスコードだけを保持します。
+ */
+public final class CpuCapability {
+    /** 形名がわからない場合に使用する、プロトコルの上限どおりの能力 */
+    public static final CpuCapability DEFAULT = new CpuCapability("",
+        BlockReadRequest.MAX_WORD_POINTS, BlockReadRequest.MAX_BIT_POINTS, RandomReadRequest.MAX_POINTS, false, false, Map.of());
+
+    /** CPU形名 */
+    private final String _typeName;
+    /** ワード単位の一括読書きの点数上限 */
+    private final int _maxWordPoints;
+    /** ビット単位の一括読書きの点数上限 */
+    private final int _maxBitPoints;
+    /** ランダム読出しの点数上限 */
+    private final int _maxRandomPoints;
+    /** 4Eフレームに対応しているかどうか */
+    private final boolean _is4ESupported;
+    /** iQ-Rシリーズ用のサブコマンドに対応しているかどうか */
+    private final boolean _isIqrSubcommandSupported;
+    /** デバイスコードごとのデバイス数 */
+    private final Map<DeviceCodeEnum, Integer> _deviceSizes;
+
+    /**
+     * コンストラクタ
+     *
+     * @param typeName CPU形名
+     * @param maxWordPoints ワード単位の一括読書きの点数上限
+     * @param maxBitPoints ビット単位の一括読書きの点数上限（64の倍数）
+     * @param maxRandomPoints ランダム読出しの点数上限
+     * @param is4ESupported 4Eフレームに対応している場合はtrue
+     * @param isIqrSubcommandSupported iQ-Rシリーズ用のサブコマンドに対応している場合はtrue
+     * @param deviceSizes デバイスコードごとのデバイス数（わかっているものだけ）
+     * @throws IllegalArgumentException 点数上限がプロトコルの上限を超える場合、1未満の場合、
+     *                                  ビット点数上限が64の倍数でない場合、デバイス数が負の場合
+     */
+    public CpuCapability(String typeName, int maxWordPoints, int maxBitPoints, int maxRandomPoints,
+            boolean is4ESupported, boolean isIqrSubcommandSupported, Map<DeviceCodeEnum, Integer> deviceSizes) {
+        checkLimit("ワード点数上限", maxWordPoints, BlockReadRequest.MAX_WORD_POINTS);
+        checkLimit("ビット点数上限", maxBitPoints, BlockReadRequest.MAX_BIT_POINTS);
+        checkLimit("ランダム読出し点数上限", maxRandomPoints, RandomReadRequest.MAX_POINTS);
+        if (maxBitPoints % 64 != 0) {
+            throw new IllegalArgumentException("ビット点数上限は64の倍数で指定してください: " + maxBitPoints);
+        }
+        Map<DeviceCodeEnum, Integer> sizes = new EnumMap<>(DeviceCodeEnum.class);
+        for (Map.Entry<DeviceCodeEnum, Integer> entry : deviceSizes.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("デバイス数が不正です: " + entry.getKey() + "=" + entry.getValue());
+            }
+            sizes.put(entry.getKey(), entry.getValue());
+        }
+        this._typeName = typeName;
+        this._maxWordPoints = maxWordPoints;
+        this._maxBitPoints = maxBitPoints;
+        this._maxRandomPoints = maxRandomPoints;
+        this._is4ESupported = is4ESupported;
+        this._isIqrSubcommandSupported = isIqrSubcommandSupported;
+        this._deviceSizes = Collections.unmodifiableMap(sizes);
+    }
+
+    /**
+     * 点数上限が範囲内か検査します。
+     *
+     * @param name 項目名
+     * @param value 点数上限
+     * @param max プロトコルの上限
+     * @throws IllegalArgumentException 範囲外の場合
+     */
+    private static void checkLimit(String name, int value, int max) {
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException(name + "は1～" + max + "で指定してください: " + value);
+        }
+    }
+
+    /**
+     * CPU形名を取得します。
+     *
+     * @return CPU形名（わからない場合は空文字列）
+     */
+    public String getTypeName() {
+        return _typeName;
+    }
+
+    /**
+     * ワード単位の一括読書きの点数上限を取得します。
+     * 複数ブロック一括読書きの合計点数の上限も兼ねます。
+     *
+     * @return 点数上限
+     */
+    public int getMaxWordPoints() {
+        return _maxWordPoints;
+    }
+
+    /**
+     * ビット単位の一括読書きの点数上限を取得します。
+     *
+     * @return 点数上限（64の倍数）
+     */
+    public int getMaxBitPoints() {
+        return _maxBitPoints;
+    }
+
+    /**
+     * ランダム読出しの点数上限を取得します。
+     *
+     * @return 点数上限（ワードアクセス点数とダブルワードアクセス点数の合計）
+     */
+    public int getMaxRandomPoints() {
+        return _maxRandomPoints;
+    }
+
+    /**
+     * 4Eフレームに対応しているかどうかを確認します。
+     *
+     * @return 対応している場合はtrue
+     */
+    public boolean is4ESupported() {
+        return _is4ESupported;
+    }
+
+    /**
+     * iQ-Rシリーズ用のサブコマンド（デバイス番号4バイト、デバイスコード2バイト）に対応しているかどうかを確認します。
+     *
+     * @return 対応している場合はtrue
+     */
+    public boolean isIqrSubcommandSupported() {
+        return _isIqrSubcommandSupported;
+    }
+
+    /**
+     * デバイスコードごとのデバイス数を取得します。
+     *
+     * @return デバイスコードからデバイス数への対応（変更不可）
+     */
+    public Map<DeviceCodeEnum, Integer> getDeviceSizes() {
+        return _deviceSizes;
+    }
+
+    /**
+     * デバイス数を取得します。
+     *
+     * @param deviceCode デバイスコード
+     * @return デバイス数、わからない場合は-1
+     */
+    public int getDeviceSize(DeviceCodeEnum deviceCode) {
+        return _deviceSizes.getOrDefault(deviceCode, -1);
+    }
+
+    /**
+     * CPU形名を置き換えた能力を作成します。
+     *
+     * @param typeName CPU形名
+     * @return 新しい能力
+     */
+    public CpuCapability withTypeName(String typeName) {
+        return new CpuCapability(typeName, _maxWordPoints, _maxBitPoints, _maxRandomPoints,
+            _is4ESupported, _isIqrSubcommandSupported, _deviceSizes);
+    }
+
+    /**
+     * デバイス数を追加した能力を作成します。
+     *
+     * @param deviceCode デバイスコード
+     * @param size デバイス数
+     * @return 新しい能力
+     * @throws IllegalArgumentException デバイス数が負の場合
+     */
+    public CpuCapability withDeviceSize(DeviceCodeEnum deviceCode, int size) {
+        Map<DeviceCodeEnum, Integer> sizes = new EnumMap<>(DeviceCodeEnum.class);
+        sizes.putAll(_deviceSizes);
+        sizes.put(deviceCode, size);
+        return new CpuCapability(_typeName, _maxWordPoints, _maxBitPoints, _maxRandomPoints,
+            _is4ESupported, _isIqrSubcommandSupported, sizes);
+    }
+
+    /**
+     * 先頭デバイスから指定数のデバイスが、わかっているデバイスの範囲内にあるか検査します。
+     * デバイス数がわからないデバイスコードは検査しません。
+     *
+     * @param deviceSpec 先頭デバイス
+     * @param deviceCount デバイス数（ビットデバイスは1点が1デバイス）
+     * @throws IllegalArgumentException 範囲外の場合
+     */
+    public void checkRange(DeviceSpec deviceSpec, int deviceCount) {
+        int size = getDeviceSize(deviceSpec.getDeviceCode());
+        if (size >= 0 && (long)deviceSpec.getDeviceNumber() + deviceCount > size) {
+            throw new IllegalArgumentException("デバイスの範囲外です（" + _typeName + "のデバイス数: " + size + "）: "
+                + deviceSpec + "から" + deviceCount + "点");
+        }
+    }
+
+    /**
+     * 能力を文字列形式で返します。
+     *
+     * @return 形名と点数上限
+     */
+    @Override
+    public String toString() {
+        return "CpuCapability[" + _typeName + ", word=" + _maxWordPoints + ", bit=" + _maxBitPoints
+            + ", random=" + _maxRandomPoints + ", 4E=" + _is4ESupported + ", iQ-R=" + _isIqrSubcommandSupported
+            + ", devices=" + _deviceSizes + "]";
+    }
+}
@@ -0,0 +1,278 @@
+package dev.bocchi_megane.mcprotocol.lib.capability;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.bocchi_megane.mcprotocol.lib.AbstractClient;
+import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+
+/**
+ * CPU能力レジストリクラス
+ * CPU形名（{@link AbstractClient#readPlcTypeName()} の値）から {@link CpuCapability} を引くための表です。
+ * <p>
+ * 登録された形名と完全に一致するものがあればそれを、なければシリーズごとの既知の値を形名の先頭で探し、
+ * どちらもなければ {@link CpuCapability#DEFAULT} を返します。
+ * デバイスの範囲は {@link #probe(AbstractClient, Collection)} で実機から1度だけ調べて登録し、
+ * {@link #save(Path)} でファイルに保存して次回以降は {@link #load(Path)} で読み込めます。
+ * </p>
+ * このクラスはスレッドセーフです。
+ */
+public class CpuCapabilityRegistry {
+    /** デバイスの範囲外を示す終了コード（Q/Lシリーズ、iQ-Rシリーズ） */
+    private static final Set<Short> RANGE_ERROR_CODES = Set.of((short)0xC056, (short)0x4031);
+    /** 形名の長さ（応答の形名部分の文字数） */
+    private static final int TYPE_NAME_LENGTH = 16;
+    /** シリーズごとの既知の能力（形名の先頭の文字列、長いものから順に探す） */
+    private static final Map<String, CpuCapability> SERIES;
+
+    static {
+        Map<String, CpuCapability> series = new LinkedHashMap<>();
+        // QnACPUは一括読書き480点、ランダム読出し96点
+        CpuCapability qna = new CpuCapability("", 480, 3584, 96, false, false, Map.of());
+        series.put("Q2A", qna);
+        series.put("Q3A", qna);
+        series.put("Q4A", qna);
+        series.put("FX5", new CpuCapability("", 960, 7168, 192, false, false, Map.of()));
+        series.put("Q", new CpuCapability("", 960, 7168, 192, true, false, Map.of()));
+        series.put("L", new CpuCapability("", 960, 7168, 192, true, false, Map.of()));
+        series.put("R", new CpuCapability("", 960, 7168, 192, true, true, Map.of()));
+        SERIES = series;
+    }
+
+    /** 形名ごとに登録された能力 */
+    private final Map<String, CpuCapability> _entries = new ConcurrentHashMap<>();
+
+    /**
+     * CPU形名を正規化します。
+     * 応答の形名部分（先頭16文字）を取り出し、前後の空白を取り除きます。
+     *
+     * @param typeName CPU形名（{@link AbstractClient#readPlcTypeName()} の値のままでよい）
+     * @return 正規化した形名
+     */
+    public static String normalize(String typeName) {
+        return typeName.substring(0, Math.min(typeName.length(), TYPE_NAME_LENGTH)).trim();
+    }
+
+    /**
+     * 能力を登録します。同じ形名の能力は置き換えられます。
+     *
+     * @param capability 能力（形名は正規化して登録）
+     * @return 登録した能力
+     */
+    public CpuCapability register(CpuCapability capability) {
+        String typeName = normalize(capability.getTypeName());
+        CpuCapability entry = typeName.equals(capability.getTypeName()) ? capability : capability.withTypeName(typeName);
+        _entries.put(typeName, entry);
+        return entry;
+    }
+
+    /**
+     * 形名が登録されているかどうかを確認します。
+     *
+     * @param typeName CPU形名
+     * @return 登録されている場合はtrue
+     */
+    public boolean contains(String typeName) {
+        return _entries.containsKey(normalize(typeName));
+    }
+
+    /**
+     * CPU形名から能力を引きます。
+     *
+     * @param typeName CPU形名（{@link AbstractClient#readPlcTypeName()} の値のままでよい）
+     * @return 登録された能力、シリーズの既知の能力、または {@link CpuCapability#DEFAULT}（いずれも形名を設定したもの）
+     */
+    public CpuCapability lookup(String typeName) {
+        String name = normalize(typeName);
+        CpuCapability capability = _entries.get(name);
+        if (capability != null) {
+            return capability;
+        }
+        for (Map.Entry<String, CpuCapability> entry : SERIES.entrySet()) {
+            if (name.startsWith(entry.getKey())) {
+                return entry.getValue().withTypeName(name);
+            }
+        }
+        return CpuCapability.DEFAULT.withTypeName(name);
+    }
+
+    /**
+     * 実機からCPU形名とデバイスの範囲を調べ、能力を登録します。
+     * デバイスの範囲は、1点の読込みが範囲外の終了コードで失敗するかどうかで二分探索するため、
+     * デバイスコードごとに20回程度の要求を送信します。
+     *
+     * @param client 調べるPLCに接続したクライアント
+     * @param deviceCodes 範囲を調べるデバイスコード
+     * @return 登録した能力
+     * @throws ResponseAbnormalException 範囲外以外の終了コードで読込みが失敗した場合
+     */
+    public CpuCapability probe(AbstractClient client, Collection<DeviceCodeEnum> deviceCodes) {
+        CpuCapability capability = lookup(client.readPlcTypeName());
+        for (DeviceCodeEnum deviceCode : deviceCodes) {
+            capability = capability.withDeviceSize(deviceCode, probeDeviceSize(client, deviceCode));
+        }
+        return register(capability);
+    }
+
+    /**
+     * デバイス数を二分探索で調べます。
+     * ビットデバイスは16点単位、ダブルワードデバイスは1点（{@link DeviceCodeEnum#getWordsPerPoint()} ワード）単位で調べます。
+     * 探索範囲の上限は、要求のデバイス指定形式で指定できるデバイス番号の最大値です。
+     *
+     * @param client クライアント
+     * @param deviceCode デバイスコード
+     * @return デバイス数
+     */
+    private static int probeDeviceSize(AbstractClient client, DeviceCodeEnum deviceCode) {
+        DataTypeEnum dataType = deviceCode.getDataType();
+        int unit = dataType == DataTypeEnum.BIT ? 16 : 1;
+        DeviceFormatEnum format = deviceFormatOf(client, deviceCode);
+        long maxNumber = format.getMaxDeviceNumber();
+        // 読める最大の単位位置を [low, high) で探す
+        long low = -1;
+        long high = maxNumber / unit + 1;
+        while (high - low > 1) {
+            long middle = (low + high) >>> 1;
+            if (isReadable(client, new DeviceSpec(deviceCode, (int)(middle * unit)), deviceCode.getWordsPerPoint(), format)) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return (int)Math.min((low + 1) * unit, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 探索に使うデバイス指定形式を決めます。
+     * クライアントのデバイス指定形式を使い、iQ-Rシリーズの形式でのみ指定できるデバイスはiQ-Rシリーズの形式とします。
+     *
+     * @param client クライアント
+     * @param deviceCode デバイスコード
+     * @return デバイス指定形式
+     */
+    private static DeviceFormatEnum deviceFormatOf(AbstractClient client, DeviceCodeEnum deviceCode) {
+        return deviceCode.isIqrOnly() ? DeviceFormatEnum.IQ_R : client.getDeviceFormat();
+    }
+
+    /**
+     * デバイスをワード単位で読み込めるかどうかを確認します。
+     *
+     * @param client クライアント
+     * @param deviceSpec デバイス
+     * @param points ワード点数
+     * @param format デバイス指定形式
+     * @return 読み込めた場合はtrue、範囲外の終了コードの場合はfalse
+     * @throws ResponseAbnormalException 範囲外以外の終了コードの場合
+     */
+    private static boolean isReadable(AbstractClient client, DeviceSpec deviceSpec, int points, DeviceFormatEnum format) {
+        try {
+            client.sendRequest(new BlockReadRequest(deviceSpec, (short)points, false, format));
+            return true;
+        } catch (ResponseAbnormalException e) {
+            if (RANGE_ERROR_CODES.contains(e.getFinishCode())) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 登録された能力をファイルに保存します。
+     * 形名ごとに「形名.項目=値」の形式のプロパティファイルとして書き出します。
+     *
+     * @param path 保存先のファイル
+     * @throws IOException 書込みに失敗した場合
+     */
+    public void save(Path path) throws IOException {
+        Map<String, String> properties = new TreeMap<>();
+        for (CpuCapability capability : _entries.values()) {
+            String prefix = capability.getTypeName() + ".";
+            properties.put(prefix + "maxWordPoints", Integer.toString(capability.getMaxWordPoints()));
+            properties.put(prefix + "maxBitPoints", Integer.toString(capability.getMaxBitPoints()));
+            properties.put(prefix + "maxRandomPoints", Integer.toString(capability.getMaxRandomPoints()));
+            properties.put(prefix + "frame4E", Boolean.toString(capability.is4ESupported()));
+            properties.put(prefix + "iqrSubcommand", Boolean.toString(capability.isIqrSubcommandSupported()));
+            for (Map.Entry<DeviceCodeEnum, Integer> entry : capability.getDeviceSizes().entrySet()) {
+                properties.put(prefix + "device." + entry.getKey().name(), Integer.toString(entry.getValue()));
+            }
+        }
+        Properties file = new Properties();
+        file.putAll(properties);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            file.store(writer, "MC protocol CPU capabilities");
+        }
+    }
+
+    /**
+     * ファイルから能力を読み込んで登録します。
+     * 同じ形名の能力は置き換えられます。
+     *
+     * @param path {@link #save(Path)} で保存したファイル
+     * @throws IOException 読込みに失敗した場合
+     * @throws IllegalArgumentException ファイルの内容が不正な場合
+     */
+    public void load(Path path) throws IOException {
+        Properties file = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            file.load(reader);
+        }
+        Map<String, Map<String, String>> groups = new TreeMap<>();
+        for (String key : file.stringPropertyNames()) {
+            int separator = key.contains(".device.") ? key.lastIndexOf(".device.") : key.lastIndexOf('.');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("CPU能力のキーが不正です: " + key);
+            }
+            groups.computeIfAbsent(key.substring(0, separator), k -> new TreeMap<>())
+                .put(key.substring(separator + 1), file.getProperty(key));
+        }
+        for (Map.Entry<String, Map<String, String>> group : groups.entrySet()) {
+            register(parse(group.getKey(), group.getValue()));
+        }
+    }
+
+    /**
+     * 1つの形名の項目から能力を作成します。
+     *
+     * @param typeName CPU形名
+     * @param values 項目名から値への対応
+     * @return 能力
+     * @throws IllegalArgumentException 項目が不足している場合、値が不正な場合
+     */
+    private static CpuCapability parse(String typeName, Map<String, String> values) {
+        Map<DeviceCodeEnum, Integer> deviceSizes = new EnumMap<>(DeviceCodeEnum.class);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getKey().startsWith("device.")) {
+                deviceSizes.put(DeviceCodeEnum.valueOf(entry.getKey().substring("device.".length())),
+                    Integer.parseInt(entry.getValue()));
+            }
+        }
+        try {
+            return new CpuCapability(typeName,
+                Integer.parseInt(values.get("maxWordPoints")),
+                Integer.parseInt(values.get("maxBitPoints")),
+                Integer.parseInt(values.get("maxRandomPoints")),
+                Boolean.parseBoolean(values.get("frame4E")),
+                Boolean.parseBoolean(values.get("iqrSubcommand")),
+                deviceSizes);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("CPU能力の値が不正です: " + typeName + " " + values, e);
+        }
+    }
+}
@@ -45,6 +45,34 @@ public enum CommandEnum {
      */
     MONITOR_READ    (new Bytes(0x0802, 2)),
 
+    // *** ラベルアクセス ***
+    /**
+     * 配列型ラベル一括読出し
+     */
+    ARRAY_LABEL_READ  (new Bytes(0x041A, 2)),
+    /**
+     * 配列型ラベル一括書込み
+     */
+    ARRAY_LABEL_WRITE (new Bytes(0x141A, 2)),
+    /**
+     * ラベルランダム読出し
+     */
+    LABEL_RANDOM_READ (new Bytes(0x041C, 2)),
+    /**
+     * ラベルランダム書込み
+     */
+    LABEL_RANDOM_WRITE(new Bytes(0x141B, 2)),
+
+    // *** インテリジェント機能ユニット ***
+    /**
+     * インテリジェント機能ユニットのバッファメモリ一括読出し
+     */
+    MODULE_BUFFER_READ (new Bytes(0x0613, 2)),
+    /**
+     * インテリジェント機能ユニットのバッファメモリ一括書込み
+     */
+    MODULE_BUFFER_WRITE(new Bytes(0x1613, 2)),
+
     // *** ユニット制御 ***
     /**
      * リモートRUN
@@ -0,0 +1,26 @@
+package dev.bocchi_megane.mcprotocol.lib.define;
+
+/**
+ * 接続状態列挙型
+ * クライアントとPLCとの接続状態を定義します。
+ */
+public enum ConnectionStateEnum {
+    /**
+     * 接続中
+     * 要求を送受信できる状態です。
+     */
+    CONNECTED,
+
+    /**
+     * 再接続中
+     * 通信路の切断を検出し、再接続を試みている状態です。
+     * この間に発行された要求は送信待ちとなり、再接続後に送信されます。
+     */
+    RECONNECTING,
+
+    /**
+     * 切断
+     * 未接続、切断済み、または再接続を諦めた状態です。
+     */
+    DISCONNECTED,
+}
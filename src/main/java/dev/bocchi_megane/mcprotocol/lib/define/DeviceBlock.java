@@ -0,0 +1,77 @@
+package dev.bocchi_megane.mcprotocol.lib.define;
+
+/**
+ * デバイスブロッククラス
+ * 先頭デバイスとワード点数で、連続したデバイス範囲（ブロック）を表します。
+ * ビットデバイスのブロックも16点を1ワードとしたワード点数で指定します。
+ */
+public class DeviceBlock {
+
+    /** 先頭デバイス */
+    private final DeviceSpec _deviceSpec;
+    /** ワード点数 */
+    private final int _points;
+
+    /**
+     * コンストラクタ
+     *
+     * @param deviceSpec 先頭デバイス
+     * @param points ワード点数（ビットデバイスは16点で1ワード）
+     * @throws IllegalArgumentException 点数が1未満の場合
+     */
+    public DeviceBlock(DeviceSpec deviceSpec, int points) {
+        if (points < 1) {
+            throw new IllegalArgumentException("ブロックの点数は1以上で指定してください: " + points);
+        }
+        this._deviceSpec = deviceSpec;
+        this._points = points;
+    }
+
+    /**
+     * 文字列で先頭デバイスを指定するコンストラクタ
+     *
+     * @param deviceSpecString 先頭デバイスの文字列（例："D1000", "M0"）
+     * @param points ワード点数（ビットデバイスは16点で1ワード）
+     * @throws IllegalArgumentException フォーマットが不正な場合、点数が1未満の場合
+     */
+    public DeviceBlock(String deviceSpecString, int points) {
+        this(new DeviceSpec(deviceSpecString), points);
+    }
+
+    /**
+     * 先頭デバイスを取得します。
+     *
+     * @return 先頭デバイス
+     */
+    public DeviceSpec getDeviceSpec() {
+        return _deviceSpec;
+    }
+
+    /**
+     * ワード点数を取得します。
+     *
+     * @return ワード点数
+     */
+    public int getPoints() {
+        return _points;
+    }
+
+    /**
+     * ビットデバイスのブロックかどうかを確認します。
+     *
+     * @return ビットデバイスの場合はtrue
+     */
+    public boolean isBitDevice() {
+        return _deviceSpec.getDeviceCode().getDataType() == DataTypeEnum.BIT;
+    }
+
+    /**
+     * ブロックを文字列形式で返します。
+     *
+     * @return 「先頭デバイス×点数」の形式の文字列
+     */
+    @Override
+    public String toString() {
+        return _deviceSpec + "x" + _points;
+    }
+}
@@ -366,6 +366,47 @@ public enum DeviceCodeEnum {
         return _dataType;
     }
 
+    /**
+     * ワード単位でアクセスする際の1点あたりのワード数を取得します。
+     * ロングタイマー・ロング積算タイマーの現在値は、現在値（下位、上位）、接点・コイル、予約の4ワードで1点です。
+     * ロングカウンターの現在値とロングインデックスレジスタは2ワード、それ以外は1ワードです。
+     * 
+     * @return 1点あたりのワード数
+     */
+    public int getWordsPerPoint() {
+        switch (this) {
+            case LongTimerCurrentValue:
+            case LongRetentiveTimerCurrentValue:
+                return 4;
+            default:
+                return _dataType == DataTypeEnum.DWORD ? 2 : 1;
+        }
+    }
+
+    /**
+     * iQ-Rシリーズのデバイス指定形式（サブコマンド0002H/0003H）でのみ指定できるデバイスかどうかを確認します。
+     * ロングタイマー、ロング積算タイマー、ロングカウンター、ロングインデックスレジスタが該当します。
+     * 
+     * @return iQ-Rシリーズの形式が必要な場合はtrue
+     */
+    public boolean isIqrOnly() {
+        switch (this) {
+            case LongTimerContact:
+            case LongTimerCoil:
+            case LongTimerCurrentValue:
+            case LongRetentiveTimerContact:
+            case LongRetentiveTimerCoil:
+            case LongRetentiveTimerCurrentValue:
+            case LongCounterContact:
+            case LongCounterCoil:
+            case LongCounterCurrentValue:
+            case LongIndexRegister:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     /**
      * デバイスコードのバイトデータを取得します。
      * 
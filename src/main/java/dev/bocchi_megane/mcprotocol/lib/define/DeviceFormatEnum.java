@@ -0,0 +1,97 @@
+package dev.bocchi_megane.mcprotocol.lib.define;
+
+/**
+ * デバイス指定形式列挙型
+ * 要求伝文中のデバイス指定（デバイス番号とデバイスコード）のバイト長と、それに対応するサブコマンドを定義します。
+ * MELSEC iQ-Rシリーズ用の形式では、3バイトに収まらないデバイス番号を指定できます。
+ */
+public enum DeviceFormatEnum {
+    /** MELSEC-Q/Lシリーズ用（デバイス番号3バイト、デバイスコード1バイト） */
+    Q(3, 1, SubCommandEnum.Q_WORD, SubCommandEnum.Q_BIT),
+    /** MELSEC iQ-Rシリーズ用（デバイス番号4バイト、デバイスコード2バイト） */
+    IQ_R(4, 2, SubCommandEnum.IQ_R_WORD, SubCommandEnum.IQ_R_BIT),
+    ;
+
+    /** デバイス番号のバイト長 */
+    private final int _deviceNumberLength;
+    /** デバイスコードのバイト長 */
+    private final int _deviceCodeLength;
+    /** ワード単位アクセスのサブコマンド */
+    private final SubCommandEnum _wordSubCommand;
+    /** ビット単位アクセスのサブコマンド */
+    private final SubCommandEnum _bitSubCommand;
+
+    /**
+     * コンストラクタ
+     *
+     * @param deviceNumberLength デバイス番号のバイト長
+     * @param deviceCodeLength デバイスコードのバイト長
+     * @param wordSubCommand ワード単位アクセスのサブコマンド
+     * @param bitSubCommand ビット単位アクセスのサブコマンド
+     */
+    DeviceFormatEnum(int deviceNumberLength, int deviceCodeLength, SubCommandEnum wordSubCommand, SubCommandEnum bitSubCommand) {
+        this._deviceNumberLength = deviceNumberLength;
+        this._deviceCodeLength = deviceCodeLength;
+        this._wordSubCommand = wordSubCommand;
+        this._bitSubCommand = bitSubCommand;
+    }
+
+    /**
+     * サブコマンドからデバイス指定形式を判定します。
+     *
+     * @param subCommand サブコマンド
+     * @return iQ-Rシリーズ用のサブコマンドの場合は {@link #IQ_R}、それ以外は {@link #Q}
+     */
+    public static DeviceFormatEnum build(SubCommandEnum subCommand) {
+        if (subCommand == SubCommandEnum.IQ_R_WORD || subCommand == SubCommandEnum.IQ_R_BIT) {
+            return IQ_R;
+        }
+        return Q;
+    }
+
+    /**
+     * デバイス番号のバイト長を取得します。
+     *
+     * @return デバイス番号のバイト長
+     */
+    public int getDeviceNumberLength() {
+        return _deviceNumberLength;
+    }
+
+    /**
+     * デバイスコードのバイト長を取得します。
+     *
+     * @return デバイスコードのバイト長
+     */
+    public int getDeviceCodeLength() {
+        return _deviceCodeLength;
+    }
+
+    /**
+     * デバイス指定の全体バイト長を取得します。
+     *
+     * @return デバイス番号長 + デバイスコード長
+     */
+    public int getLength() {
+        return _deviceNumberLength + _deviceCodeLength;
+    }
+
+    /**
+     * 指定できるデバイス番号の最大値を取得します。
+     *
+     * @return デバイス番号の最大値
+     */
+    public int getMaxDeviceNumber() {
+        return _deviceNumberLength >= 4 ? Integer.MAX_VALUE : (1 << (_deviceNumberLength * 8)) - 1;
+    }
+
+    /**
+     * アクセス単位に対応するサブコマンドを取得します。
+     *
+     * @param isBitDevice ビット単位アクセスの場合はtrue
+     * @return サブコマンド
+     */
+    public SubCommandEnum getSubCommand(boolean isBitDevice) {
+        return isBitDevice ? _bitSubCommand : _wordSubCommand;
+    }
+}
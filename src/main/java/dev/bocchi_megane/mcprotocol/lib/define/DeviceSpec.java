@@ -1,6 +1,7 @@
 package dev.bocchi_megane.mcprotocol.lib.define;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import dev.bocchi_megane.mcprotocol.lib.util.Converter;
 
@@ -63,22 +64,36 @@ public class DeviceSpec {
     /**
      * バイト配列からデバイス指定子を構築するコンストラクタ
      * 
-     * @param data デバイス指定のバイトデータ
+     * @param data デバイス指定のバイトデータ（MELSEC-Q/Lシリーズ用の形式）
      */
     public DeviceSpec(byte[] data) {
+        this(data, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * 形式を指定してバイト配列からデバイス指定子を構築するコンストラクタ
+     * 
+     * @param data デバイス指定のバイトデータ
+     * @param format デバイス指定形式
+     * @throws IllegalArgumentException 指定されたデバイスコードが存在しない場合
+     */
+    public DeviceSpec(byte[] data, DeviceFormatEnum format) {
         ByteBuffer buffer = ByteBuffer.wrap(data);
 
         // デバイス番号
-        int deviceNumberLength = DeviceCodeEnum.getDeviceNumberLength();
-        byte[] deviceNumberBytes = new byte[deviceNumberLength];
+        byte[] deviceNumberBytes = new byte[format.getDeviceNumberLength()];
         buffer.get(deviceNumberBytes);
         this.deviceNumber = Converter.fromBytesToInt(deviceNumberBytes);
 
-        // デバイスコード
-        int deviceCodeLength = DeviceCodeEnum.getDeviceCodeLength();
-        byte[] deviceCodeBytes = new byte[deviceCodeLength];
+        // デバイスコード（iQ-Rシリーズ用の形式では上位バイトが0）
+        byte[] deviceCodeBytes = new byte[format.getDeviceCodeLength()];
         buffer.get(deviceCodeBytes);
-        this.deviceCode = DeviceCodeEnum.build(deviceCodeBytes);
+        for (int i = DeviceCodeEnum.getDeviceCodeLength(); i < deviceCodeBytes.length; i++) {
+            if (deviceCodeBytes[i] != 0) {
+                throw new IllegalArgumentException("指定のデバイスコードは存在しません。");
+            }
+        }
+        this.deviceCode = DeviceCodeEnum.build(Arrays.copyOf(deviceCodeBytes, DeviceCodeEnum.getDeviceCodeLength()));
     }
     
     /**
@@ -103,13 +118,28 @@ public class DeviceSpec {
      * デバイス指定をバイト配列に変換します。
      * MC3Eプロトコル仕様に従った形式で変換されます。
      * 
-     * @return デバイス指定のバイト配列
+     * @return デバイス指定のバイト配列（MELSEC-Q/Lシリーズ用の形式）
+     * @throws IllegalArgumentException デバイス番号が形式の範囲外の場合
      */
     public byte[] toByteArray() {
-        byte[] deviceNumberBytes = Converter.fromIntToByteArray(deviceNumber, DeviceCodeEnum.getDeviceNumberLength());
+        return toByteArray(DeviceFormatEnum.Q);
+    }
+
+    /**
+     * 形式を指定してデバイス指定をバイト配列に変換します。
+     * 
+     * @param format デバイス指定形式
+     * @return デバイス指定のバイト配列
+     * @throws IllegalArgumentException デバイス番号が形式の範囲外の場合
+     */
+    public byte[] toByteArray(DeviceFormatEnum format) {
+        if (deviceNumber < 0 || deviceNumber > format.getMaxDeviceNumber()) {
+            throw new IllegalArgumentException("デバイス番号が範囲外です: " + this);
+        }
+        byte[] deviceNumberBytes = Converter.fromIntToByteArray(deviceNumber, format.getDeviceNumberLength());
         return Converter.concatByteArrays(
             deviceNumberBytes,               // 先頭デバイス番号
-            deviceCode.getBytes().getByteArray()  // デバイスコード
+            Arrays.copyOf(deviceCode.getBytes().getByteArray(), format.getDeviceCodeLength())  // デバイスコード
         );
     }
 
@@ -125,7 +155,45 @@ public class DeviceSpec {
         return deviceCode.getDeviceSymbol() + Integer.toString(deviceNumber, base);
     }
 
+    /**
+     * デバイスコードとデバイス番号が等しい場合に等価とみなします。
+     * 
+     * @param obj 比較対象
+     * @return 同じデバイスを指す場合はtrue
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DeviceSpec)) {
+            return false;
+        }
+        DeviceSpec other = (DeviceSpec)obj;
+        return deviceCode == other.deviceCode && deviceNumber == other.deviceNumber;
+    }
+
+    /**
+     * デバイスコードとデバイス番号からハッシュ値を計算します。
+     * 
+     * @return ハッシュ値
+     */
+    @Override
+    public int hashCode() {
+        return 31 * deviceCode.hashCode() + deviceNumber;
+    }
+
     public static int getByteArrayLength() {
         return DeviceCodeEnum.getDeviceNumberLength() + DeviceCodeEnum.getDeviceCodeLength();
     }
+
+    /**
+     * 形式を指定してデバイス指定のバイト長を取得します。
+     * 
+     * @param format デバイス指定形式
+     * @return デバイス番号長 + デバイスコード長
+     */
+    public static int getByteArrayLength(DeviceFormatEnum format) {
+        return format.getLength();
+    }
 }
@@ -0,0 +1,19 @@
+package dev.bocchi_megane.mcprotocol.lib.define;
+
+/**
+ * フレーム種別列挙型
+ * 通信に使用するMCプロトコルのフレーム形式を定義します。
+ */
+public enum FrameTypeEnum {
+    /**
+     * 3Eフレーム
+     * 要求と応答を1対1で順番に送受信します。
+     */
+    FRAME_3E,
+
+    /**
+     * 4Eフレーム
+     * シリアル番号で要求と応答を対応付けるため、複数の要求を続けて送信できます。
+     */
+    FRAME_4E,
+}
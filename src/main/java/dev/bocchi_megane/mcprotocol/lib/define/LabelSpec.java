@@ -0,0 +1,116 @@
+package dev.bocchi_megane.mcprotocol.lib.define;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ラベル指定クラス
+ * ラベルアクセスの要求伝文に並べるラベル名（文字数2バイト + UTF-16LEの名前）を、構築時に1度だけ変換して保持します。
+ * 同じラベルを繰り返し読み書きする場合は、このオブジェクトを使い回すことで名前の変換を省けます。
+ */
+public class LabelSpec {
+    /** ラベル名の最大文字数（文字数は2バイトで指定） */
+    public static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    /** ラベル名 */
+    private final String _name;
+    /** 要求伝文上のラベル指定（ラベル名文字数 + ラベル名） */
+    private final byte[] _bytes;
+
+    /**
+     * コンストラクタ
+     *
+     * @param name ラベル名（例："Sensor.Temperature", "Buffer[3]"）
+     * @throws IllegalArgumentException ラベル名が空の場合、長すぎる場合
+     */
+    public LabelSpec(String name) {
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("ラベル名の長さが不正です: " + name.length());
+        }
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_16LE);
+        this._name = name;
+        this._bytes = ByteBuffer.allocate(2 + encoded.length).order(ByteOrder.LITTLE_ENDIAN)
+            .putShort((short)name.length())
+            .put(encoded)
+            .array();
+    }
+
+    /**
+     * 要求伝文のバッファからラベル指定を読み取ります。
+     *
+     * @param buffer 要求データのバッファ（リトルエンディアン、ラベル名文字数の位置）
+     * @return ラベル指定
+     */
+    public static LabelSpec parse(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xffff;
+        byte[] encoded = new byte[length * 2];
+        buffer.get(encoded);
+        return new LabelSpec(new String(encoded, StandardCharsets.UTF_16LE));
+    }
+
+    /**
+     * ラベル名を取得します。
+     *
+     * @return ラベル名
+     */
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * ラベル指定をバイト配列で取得します。
+     * 構築時に変換した配列をそのまま返すため、変更しないでください。
+     *
+     * @return ラベル名文字数（2バイト）とUTF-16LEのラベル名
+     */
+    public byte[] toByteArray() {
+        return _bytes;
+    }
+
+    /**
+     * ラベル指定のバイト長を取得します。
+     *
+     * @return ラベル名文字数（2バイト） + ラベル名のバイト数
+     */
+    public int getByteArrayLength() {
+        return _bytes.length;
+    }
+
+    /**
+     * ラベル名が等しいかを判定します。
+     *
+     * @param obj 比較対象
+     * @return ラベル名が等しい場合はtrue
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LabelSpec)) {
+            return false;
+        }
+        return _name.equals(((LabelSpec)obj)._name);
+    }
+
+    /**
+     * ハッシュコードを返します。
+     *
+     * @return ラベル名のハッシュコード
+     */
+    @Override
+    public int hashCode() {
+        return _name.hashCode();
+    }
+
+    /**
+     * ラベル名を返します。
+     *
+     * @return ラベル名
+     */
+    @Override
+    public String toString() {
+        return _name;
+    }
+}
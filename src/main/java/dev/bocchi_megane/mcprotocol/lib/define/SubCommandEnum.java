@@ -14,9 +14,9 @@ public enum SubCommandEnum {
     Q_BIT (new Bytes(0x0001, 2)),
     
     /** MELSEC iQ-Rシリーズ ワードデバイス用 */
-    // IQ_R_WORD("0002"),
+    IQ_R_WORD(new Bytes(0x0002, 2)),
     /** MELSEC iQ-Rシリーズ ビットデバイス用 */
-    // IQ_R_BIT ("0003"),
+    IQ_R_BIT (new Bytes(0x0003, 2)),
 
     /** モニタ条件指定あり */
     MONITOR_CONDITION(new Bytes(0x0040, 2)),
@@ -4,14 +4,18 @@ import dev.bocchi_megane.mcprotocol.lib.util.Bytes;
 
 /**
  * サブヘッダ列挙型
- * MC3Eプロトコルのサブヘッダを定義します（sh080003ah p.42参照）。
- * 要求フレームと応答フレームの識別に使用されます。
+ * MCプロトコルのサブヘッダを定義します（sh080003ah p.42参照）。
+ * 要求フレームと応答フレーム、3Eフレームと4Eフレームの識別に使用されます。
  */
 public enum SubHeaderEnum {
     /** 要求フレーム用サブヘッダ */
     REQUEST (new Bytes(0x0050, 2)),
     /** 応答フレーム用サブヘッダ */
     RESPONSE(new Bytes(0x00D0, 2)),
+    /** 4E要求フレーム用サブヘッダ（シリアル番号付き） */
+    REQUEST_4E (new Bytes(0x0054, 2)),
+    /** 4E応答フレーム用サブヘッダ（シリアル番号付き） */
+    RESPONSE_4E(new Bytes(0x00D4, 2)),
     ;
 
     /** サブヘッダのバイトデータ */
@@ -54,6 +58,24 @@ public enum SubHeaderEnum {
         throw new IllegalArgumentException("サブヘッダが正しくありません。");
     }
 
+    /**
+     * 4Eフレームのサブヘッダかどうかを判定します。
+     * 
+     * @return 4Eフレームの場合はtrue、3Eフレームの場合はfalse
+     */
+    public boolean is4E() {
+        return this == REQUEST_4E || this == RESPONSE_4E;
+    }
+
+    /**
+     * 要求フレームのサブヘッダかどうかを判定します。
+     * 
+     * @return 要求フレームの場合はtrue、応答フレームの場合はfalse
+     */
+    public boolean isRequest() {
+        return this == REQUEST || this == REQUEST_4E;
+    }
+
     /**
      * サブヘッダのバイトデータを取得します。
      * 
@@ -7,12 +7,35 @@ package dev.bocchi_megane.mcprotocol.lib.exception;
  */
 public class ResponseAbnormalException extends RuntimeException {
 
+    /** 終了コード（終了コード以外の異常の場合は0） */
+    private final short _finishCode;
+
     /**
      * コンストラクタ
      * 
      * @param message 例外メッセージ
      */
     public ResponseAbnormalException(String message) {
+        this(message, (short)0);
+    }
+
+    /**
+     * 終了コードを指定するコンストラクタ
+     * 
+     * @param message 例外メッセージ
+     * @param finishCode 応答の終了コード
+     */
+    public ResponseAbnormalException(String message, short finishCode) {
         super(message);
+        this._finishCode = finishCode;
+    }
+
+    /**
+     * 応答の終了コードを取得します。
+     * 
+     * @return 終了コード（終了コード以外の異常の場合は0）
+     */
+    public short getFinishCode() {
+        return _finishCode;
     }
-}
\ No newline at end of file
+}
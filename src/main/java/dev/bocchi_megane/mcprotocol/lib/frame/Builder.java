@@ -51,4 +51,29 @@ public class Builder {
             payload
         );
     }
+
+    /**
+     * 4E形式の要求/応答フレームを生成します。
+     * サブヘッダの後ろにシリアル番号と固定値を付加してMC4Eプロトコルフレームを構築します。
+     * 
+     * @param request 送信するペイロード
+     * @param serialNumber シリアル番号（応答伝文にそのまま返される）
+     * @param monitorOrFinishCode 監視タイマー値（要求時）または終了コード（応答時）
+     * @return 構築されたフレームのバイト配列
+     */
+    public byte[] build4E(IPayload request, short serialNumber, short monitorOrFinishCode) {
+        // ペイロードの取得
+        byte[] payload = request.toByteArray();
+
+        // フレームの構築
+        return Converter.concatByteArrays(
+            SubHeaderEnum.REQUEST_4E.getBytes().getByteArray(),
+            Converter.fromIntToByteArray(serialNumber, 2),  // シリアル番号
+            new byte[] {0x00, 0x00},  // 固定値
+            accessRoute.toByteArray(),
+            Converter.fromIntToByteArray((short)(payload.length + 2), 2),  // データ長
+            Converter.fromIntToByteArray(monitorOrFinishCode, 2),  // 監視/終了コード
+            payload
+        );
+    }
 }
@@ -0,0 +1,92 @@
+package dev.bocchi_megane.mcprotocol.lib.frame;
+
+import java.util.HexFormat;
+
+import dev.bocchi_megane.mcprotocol.lib.define.AccessRoute;
+import dev.bocchi_megane.mcprotocol.lib.define.SubHeaderEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * MC4Eプロトコルフレームクラス
+ * 3Eフレームのサブヘッダの後ろにシリアル番号（2バイト）と固定値（2バイト）を持つフレームです。
+ * 要求伝文に付けたシリアル番号が応答伝文にそのまま返されるため、
+ * 複数の要求を続けて送信し、応答をシリアル番号で対応付けることができます。
+ */
+public class Frame4E extends Frame3E {
+    /** シリアル番号 */
+    public short _serialNumber;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public Frame4E() {}
+
+    /**
+     * パラメータ付きコンストラクタ
+     * 
+     * @param subHeader サブヘッダ情報（REQUEST_4E または RESPONSE_4E）
+     * @param serialNumber シリアル番号
+     * @param accessRoute アクセス経路設定
+     * @param monitorOrFinishCode 監視タイマ値または終了コード
+     * @param payloadByteArray ペイロードデータ
+     */
+    public Frame4E(
+        SubHeaderEnum subHeader,
+        short serialNumber,
+        AccessRoute accessRoute,
+        short monitorOrFinishCode,
+        byte[] payloadByteArray
+    ) {
+        super(subHeader, accessRoute, monitorOrFinishCode, payloadByteArray);
+        this._serialNumber = serialNumber;
+    }
+
+    /**
+     * フレームをバイト配列に変換します。
+     * MC4Eプロトコル仕様に従って各要素を結合してバイト配列を生成します。
+     * 
+     * @return フレーム全体のバイト配列
+     * @throws RuntimeException ペイロードデータがnullの場合
+     */
+    @Override
+    public byte[] toBytes() {
+        if (_payloadByteArray == null) {
+            throw new RuntimeException("Data is null.");
+        }
+        // 要求データ長 = 監視タイマー(2 byte) + 要求データ
+        short dataLength = (short)(2 + _payloadByteArray.length);
+
+        return Converter.concatByteArrays(
+            _subHeader.getBytes().getByteArray(),       // サブヘッダ
+            Converter.fromIntToByteArray(_serialNumber, 2),  // シリアル番号
+            new byte[] {0x00, 0x00},        // 固定値
+            _accessRoute.toByteArray(),     // アクセス経路
+            Converter.fromIntToByteArray(dataLength, 2),  // データ長
+            Converter.fromIntToByteArray(_monitorOrFinishCode, 2),  // 監視タイマ/終了コード
+            _payloadByteArray
+        );
+    }
+
+    /**
+     * フレーム情報を文字列形式で返します。
+     * デバッグ用途でフレームの内容を確認するために使用します。
+     * 
+     * @return フレーム情報の文字列表現
+     */
+    @Override
+    public String toString() {
+        // 要求データ長 = 監視タイマー(2 byte) + 要求データ
+        short dataLength = (short)(2 + _payloadByteArray.length);
+
+        return Converter.hereDoc(s->s.trim(), System.lineSeparator(),
+            "Frame4E {",
+            "- SubHeader: " + _subHeader,
+            "- SerialNumber: " + Short.toUnsignedInt(_serialNumber),
+            _accessRoute.toString(),
+            "- DataLength: " + dataLength,
+            "- MonitorOrFinishCode: " + _monitorOrFinishCode,
+            "- Payload: " + HexFormat.of().formatHex(_payloadByteArray),
+            "}"
+        );
+    }
+}
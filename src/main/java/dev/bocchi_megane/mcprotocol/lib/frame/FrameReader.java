@@ -0,0 +1,220 @@
+package dev.bocchi_megane.mcprotocol.lib.frame;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import dev.bocchi_megane.mcprotocol.lib.define.SubHeaderEnum;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+
+/**
+ * MC3E/4Eフレーム受信クラス
+ * 受信したバイト列を逐次的に蓄積し、データ長フィールドに従ってフレーム単位に切り出すクラスです。
+ * ヘッダ長はサブヘッダから判定するため、3Eフレームと4Eフレームのどちらも扱えます。
+ * TCPで分割されたフレームや、1回の受信に複数フレームが含まれる場合にも対応します。
+ * 受信バッファは再利用されるため、ポーリングのたびに配列を確保しません。
+ */
+public class FrameReader {
+    /** 3Eフレームのヘッダ長（サブヘッダ + アクセス経路 + データ長） */
+    public static final int HEADER_LENGTH_3E = 9;
+    /** 4Eフレームのヘッダ長（サブヘッダ + シリアル番号 + 固定値 + アクセス経路 + データ長） */
+    public static final int HEADER_LENGTH_4E = 13;
+    /** 受信バッファの初期サイズ */
+    public static final int DEFAULT_BUFFER_SIZE = 2048;
+
+    /** 受信バッファ */
+    private byte[] _buffer;
+    /** 未処理データの先頭位置 */
+    private int _start;
+    /** 未処理データの終端位置 */
+    private int _end;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public FrameReader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 受信バッファの初期サイズを指定するコンストラクタ
+     *
+     * @param initialBufferSize 受信バッファの初期サイズ
+     */
+    public FrameReader(int initialBufferSize) {
+        _buffer = new byte[Math.max(initialBufferSize, HEADER_LENGTH_3E)];
+    }
+
+    /**
+     * 受信したバイト列を蓄積します。
+     *
+     * @param bytes 受信データ
+     * @param offset 受信データの開始位置
+     * @param length 受信データのバイト数
+     */
+    public void feed(byte[] bytes, int offset, int length) {
+        ensureSpace(length);
+        System.arraycopy(bytes, offset, _buffer, _end, length);
+        _end += length;
+    }
+
+    /**
+     * 受信したバイト列を蓄積します。
+     *
+     * @param bytes 受信データ
+     */
+    public void feed(byte[] bytes) {
+        feed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * バイトバッファの残りデータを蓄積します。
+     * バッファの位置は読み取った分だけ進みます。
+     *
+     * @param src 受信データ
+     */
+    public void feed(ByteBuffer src) {
+        int length = src.remaining();
+        ensureSpace(length);
+        src.get(_buffer, _end, length);
+        _end += length;
+    }
+
+    /**
+     * 蓄積済みのデータから次のフレームを取り出します。
+     * フレーム全体が揃っていない場合は何も消費せずにnullを返します。
+     *
+     * @return 解析されたフレーム（未完成の場合はnull）
+     * @throws ResponseAbnormalException データ長フィールドが不正な場合
+     */
+    public Frame3E next() {
+        int frameLength = completeFrameLength();
+        if (frameLength < 0) {
+            return null;
+        }
+        Frame3E frame = Parser.parseFrame(_buffer, _start, frameLength);
+        _start += frameLength;
+        if (_start == _end) {
+            _start = 0;
+            _end = 0;
+        }
+        return frame;
+    }
+
+    /**
+     * 入力ストリームから1フレーム分を読み込みます。
+     * ヘッダを読み込んだ後、データ長フィールドが示すバイト数が揃うまで読込みを繰り返します。
+     * 余分に受信したデータは次回の呼び出しのために保持されます。
+     *
+     * @param in 入力ストリーム
+     * @return 解析されたフレーム
+     * @throws IOException 読込みに失敗した場合、またはフレームの途中でストリームが終了した場合
+     */
+    public Frame3E readFrame(InputStream in) throws IOException {
+        Frame3E frame;
+        while ((frame = next()) == null) {
+            ensureSpace(requiredLength() - (_end - _start));
+            int n = in.read(_buffer, _end, _buffer.length - _end);
+            if (n < 0) {
+                throw new EOFException("フレームの受信途中で接続が切断されました");
+            }
+            _end += n;
+        }
+        return frame;
+    }
+
+    /**
+     * 蓄積済みのデータを破棄します。
+     * 再接続時など、受信途中のデータを無効にする場合に使用します。
+     */
+    public void reset() {
+        _start = 0;
+        _end = 0;
+    }
+
+    /**
+     * 未処理のまま蓄積されているバイト数を取得します。
+     *
+     * @return 未処理のバイト数
+     */
+    public int available() {
+        return _end - _start;
+    }
+
+    /**
+     * 先頭のフレームを完成させるのに必要なバイト数を取得します。
+     * ヘッダが揃っていない場合はヘッダ長を返します。
+     *
+     * @return 先頭フレームの必要バイト数
+     */
+    private int requiredLength() {
+        if (_end - _start < 1) {
+            return HEADER_LENGTH_3E;
+        }
+        int headerLength = headerLength(_buffer[_start]);
+        if (_end - _start < headerLength) {
+            return headerLength;
+        }
+        int dataLength = (_buffer[_start + headerLength - 2] & 0xff)
+            | (_buffer[_start + headerLength - 1] & 0xff) << 8;
+        if (dataLength < 2) {
+            throw new ResponseAbnormalException("データ長が不正です: " + dataLength);
+        }
+        return headerLength + dataLength;
+    }
+
+    /**
+     * サブヘッダの先頭バイトからヘッダ長を判定します。
+     *
+     * @param subHeaderLowByte サブヘッダの先頭バイト
+     * @return ヘッダ長
+     */
+    private static int headerLength(byte subHeaderLowByte) {
+        if (subHeaderLowByte == SubHeaderEnum.REQUEST_4E.getBytes().getByteArray()[0]
+            || subHeaderLowByte == SubHeaderEnum.RESPONSE_4E.getBytes().getByteArray()[0]) {
+            return HEADER_LENGTH_4E;
+        }
+        return HEADER_LENGTH_3E;
+    }
+
+    /**
+     * 先頭のフレームが揃っていればそのバイト数を返します。
+     *
+     * @return フレームのバイト数（未完成の場合は-1）
+     */
+    private int completeFrameLength() {
+        int required = requiredLength();
+        if (_end - _start < required) {
+            return -1;
+        }
+        return required;
+    }
+
+    /**
+     * 受信バッファの末尾に指定バイト数の空きを確保します。
+     * 先頭の処理済み領域を詰めた上で、不足する場合はバッファを拡張します。
+     *
+     * @param length 必要な空きバイト数
+     */
+    private void ensureSpace(int length) {
+        if (_buffer.length - _end >= length && _end < _buffer.length) {
+            return;
+        }
+        int remaining = _end - _start;
+        if (_start > 0) {
+            System.arraycopy(_buffer, _start, _buffer, 0, remaining);
+            _start = 0;
+            _end = remaining;
+        }
+        if (_buffer.length - _end < length || _end == _buffer.length) {
+            int newSize = _buffer.length;
+            while (newSize - _end < length || newSize == _end) {
+                newSize *= 2;
+            }
+            byte[] newBuffer = new byte[newSize];
+            System.arraycopy(_buffer, 0, newBuffer, 0, _end);
+            _buffer = newBuffer;
+        }
+    }
+}
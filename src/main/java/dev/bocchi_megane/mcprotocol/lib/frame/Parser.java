@@ -11,6 +11,7 @@ import dev.bocchi_megane.mcprotocol.lib.util.Converter;
  * MC3Eフレーム解析クラス
  * 3Eフレームの解析を行うパーサークラスです（sh080003ah p.41参照）。
  * バイト配列からMC3Eフレーム構造を解析し、Frame3Eオブジェクトに変換します。
+ * サブヘッダが4Eフレームを示す場合はFrame4Eオブジェクトに変換します。
  */
 public class Parser {
 
@@ -23,20 +24,45 @@ public class Parser {
     /**
      * バイト配列をFrame3Eオブジェクトに解析します。
      * MC3Eプロトコル仕様に従ってフレーム要素を順次解析します。
+     * 4Eフレームの場合はFrame4Eオブジェクトを返します。
      *
      * @param bytes 解析対象のバイト配列
      * @return 解析されたFrame3Eオブジェクト
      */
     public static Frame3E parseFrame(byte[] bytes) {
-        // オブジェクト生成
-        Frame3E frame = new Frame3E();
+        return parseFrame(bytes, 0, bytes.length);
+    }
 
+    /**
+     * バイト配列の指定範囲をFrame3Eオブジェクトに解析します。
+     * 受信バッファを再利用する場合など、配列の一部にフレームが格納されている場合に使用します。
+     *
+     * @param bytes 解析対象のバイト配列
+     * @param offset フレームの開始位置
+     * @param length フレームのバイト数
+     * @return 解析されたFrame3Eオブジェクト
+     */
+    public static Frame3E parseFrame(byte[] bytes, int offset, int length) {
         // バッファに貯める
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
         buffer.order(ByteOrder.LITTLE_ENDIAN);
 
         // サブヘッダ
-        frame._subHeader = parseSubHeader(buffer);
+        SubHeaderEnum subHeader = parseSubHeader(buffer);
+
+        // オブジェクト生成
+        Frame3E frame;
+        if (subHeader.is4E()) {
+            Frame4E frame4E = new Frame4E();
+            // シリアル番号
+            frame4E._serialNumber = buffer.getShort();
+            // 固定値
+            buffer.getShort();
+            frame = frame4E;
+        } else {
+            frame = new Frame3E();
+        }
+        frame._subHeader = subHeader;
         // アクセス経路
         frame._accessRoute = parseAccessRoute(buffer);
         // データ長
@@ -44,7 +70,7 @@ public class Parser {
         // 監視タイマー/終了コード
         frame._monitorOrFinishCode = buffer.getShort();
         // データ
-        byte[] data = new byte[frame._uncheckedDataLength - 2];  // 終了コードは除く
+        byte[] data = new byte[Short.toUnsignedInt(frame._uncheckedDataLength) - 2];  // 終了コードは除く
         buffer.get(data);
         frame._payloadByteArray = data;
 
@@ -104,12 +130,27 @@ public class Parser {
         Frame3E frame = parseFrame(bytes);
 
         String monitorOrFinish;
-        if (frame._subHeader == SubHeaderEnum.REQUEST) {
+        if (frame._subHeader.isRequest()) {
             monitorOrFinish = "監視タイマ: " + Converter.fromBytesToHexString(Converter.fromIntToByteArray(frame._monitorOrFinishCode, 2));
-        } else if (frame._subHeader == SubHeaderEnum.RESPONSE) {
-            monitorOrFinish = "終了コード: " + Converter.fromBytesToHexString(Converter.fromIntToByteArray(frame._monitorOrFinishCode, 2));
         } else {
-            monitorOrFinish = "監視タイマ/終了コード: " + Converter.fromBytesToHexString(Converter.fromIntToByteArray(frame._monitorOrFinishCode, 2));
+            monitorOrFinish = "終了コード: " + Converter.fromBytesToHexString(Converter.fromIntToByteArray(frame._monitorOrFinishCode, 2));
+        }
+
+        if (frame instanceof Frame4E) {
+            System.out.println(
+                Converter.hereDoc(s->s, System.lineSeparator(),
+                    "Frame: " + HexFormat.of().formatHex(bytes),
+                    "       1   2   3   4         5   6   7",
+                    "       1: サブヘッダ: " + frame._subHeader,
+                    "       2: シリアル番号: " + Short.toUnsignedInt(((Frame4E)frame)._serialNumber),
+                    "       3: 固定値",
+                    "       4: アクセス経路",
+                    "       5: データ長 (6以降のバイト数）: " + frame._uncheckedDataLength + "",
+                    "       6: " + monitorOrFinish,
+                    "       7: その他のデータ"
+                )
+            );
+            return;
         }
 
         System.out.println(
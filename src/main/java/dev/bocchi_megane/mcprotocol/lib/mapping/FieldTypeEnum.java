@@ -0,0 +1,83 @@
+package dev.bocchi_megane.mcprotocol.lib.mapping;
+
+/**
+ * ワードブロック上のフィールドのデータ型を表す列挙型です。
+ * 各データ型が占めるワード数と、対応付けるJavaの型を定義します。
+ */
+public enum FieldTypeEnum {
+    /**
+     * 1ワード中の1ビット（{@link PlcField#bit()} で位置を指定）
+     * Javaの型: boolean
+     */
+    BIT(1, boolean.class),
+    /**
+     * 符号付き16ビット整数
+     * Javaの型: short
+     */
+    INT16(1, short.class),
+    /**
+     * 符号なし16ビット整数
+     * Javaの型: int
+     */
+    UINT16(1, int.class),
+    /**
+     * 符号付き32ビット整数（下位ワードが先）
+     * Javaの型: int
+     */
+    INT32(2, int.class),
+    /**
+     * 単精度実数（下位ワードが先）
+     * Javaの型: float
+     */
+    FLOAT32(2, float.class),
+    /**
+     * 倍精度実数（最下位ワードが先）
+     * Javaの型: double
+     */
+    FLOAT64(4, double.class),
+    /**
+     * 4桁のBCD値
+     * Javaの型: int
+     */
+    BCD16(1, int.class),
+    /**
+     * ASCII文字列（{@link PlcField#length()} で最大文字数を指定、1ワードに2文字）
+     * Javaの型: String
+     */
+    STRING(0, String.class);
+
+    /** 占めるワード数（文字列は最大文字数から求める） */
+    private final int _words;
+    /** 対応付けるJavaの型 */
+    private final Class<?> _javaType;
+
+    /**
+     * コンストラクタ
+     *
+     * @param words 占めるワード数
+     * @param javaType 対応付けるJavaの型
+     */
+    private FieldTypeEnum(int words, Class<?> javaType) {
+        this._words = words;
+        this._javaType = javaType;
+    }
+
+    /**
+     * フィールドが占めるワード数を取得します。
+     *
+     * @param length 文字列の最大文字数（文字列以外では無視されます）
+     * @return ワード数
+     */
+    public int getWords(int length) {
+        return this == STRING ? (length + 1) / 2 : _words;
+    }
+
+    /**
+     * 対応付けるJavaの型を取得します。
+     *
+     * @return Javaの型
+     */
+    public Class<?> getJavaType() {
+        return _javaType;
+    }
+}
@@ -0,0 +1,53 @@
+package dev.bocchi_megane.mcprotocol.lib.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ワードブロック上のフィールド位置を指定するアノテーション
+ * レコードの構成要素、またはクラスのフィールドに付けて、{@link StructMapper} で読み書きする位置とデータ型を指定します。
+ *
+ * <pre>
+ * record Recipe(
+ *     &#64;PlcField(offset = 0, type = FieldTypeEnum.INT32) int lotNumber,
+ *     &#64;PlcField(offset = 2, type = FieldTypeEnum.FLOAT32) float temperature,
+ *     &#64;PlcField(offset = 4, type = FieldTypeEnum.BIT, bit = 3) boolean isRunning,
+ *     &#64;PlcField(offset = 5, type = FieldTypeEnum.STRING, length = 8) String name
+ * ) {}
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.RECORD_COMPONENT, ElementType.FIELD})
+public @interface PlcField {
+    /**
+     * 先頭デバイスからのワード位置
+     *
+     * @return ワード位置
+     */
+    int offset();
+
+    /**
+     * データ型
+     *
+     * @return データ型
+     */
+    FieldTypeEnum type();
+
+    /**
+     * ワード中のビット位置（{@link FieldTypeEnum#BIT} のみ、0～15）
+     *
+     * @return ビット位置
+     */
+    int bit() default 0;
+
+    /**
+     * 最大文字数（{@link FieldTypeEnum#STRING} のみ）
+     *
+     * @return 最大文字数
+     */
+    int length() default 0;
+}
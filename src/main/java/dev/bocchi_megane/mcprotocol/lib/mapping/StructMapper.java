@@ -0,0 +1,416 @@
+package dev.bocchi_megane.mcprotocol.lib.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.WordBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+/**
+ * 構造体マッパークラス
+ * {@link PlcField} を付けたレコードまたはクラスと、ワードブロックの間で値を読み書きするクラスです。
+ * 型の解析とメソッドハンドルの組み立ては {@link #of(Class)} で1回だけ行い、
+ * 以降の読み書きでは組み立て済みのメソッドハンドルを呼び出すだけで、フィールドごとのリフレクションは行いません。
+ *
+ * <p>レコードはすべての構成要素に {@link PlcField} が必要で、標準コンストラクタで生成します。
+ * クラスは引数なしのコンストラクタで生成し、{@link PlcField} を付けたfinalでないフィールドに値を設定します。</p>
+ *
+ * @param <T> 対応付ける型
+ */
+public final class StructMapper<T> {
+    /** このクラス自身のルックアップ */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    /** 先頭位置とフィールド位置を加算するメソッドハンドル（int, int）int */
+    private static final MethodHandle ADD;
+    /** 読込み用のメソッドハンドル（WordBlock, int）の型 */
+    private static final MethodType DECODER_TYPE = MethodType.methodType(Object.class, WordBlock.class, int.class);
+    /** 書込み用のメソッドハンドル（WordBlock, int, Object）の型 */
+    private static final MethodType ENCODER_TYPE = MethodType.methodType(void.class, WordBlock.class, int.class, Object.class);
+
+    static {
+        try {
+            ADD = LOOKUP.findStatic(Integer.class, "sum", MethodType.methodType(int.class, int.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** 対応付ける型 */
+    private final Class<T> _type;
+    /** 1件分のワード数 */
+    private final int _wordCount;
+    /** ワードブロックと先頭位置から値を生成するメソッドハンドル（WordBlock, int）Object */
+    private final MethodHandle _decoder;
+    /** 値をワードブロックの先頭位置から書き込むメソッドハンドル（WordBlock, int, Object）void */
+    private final MethodHandle _encoder;
+
+    /**
+     * コンストラクタ
+     *
+     * @param type 対応付ける型
+     * @param wordCount 1件分のワード数
+     * @param decoder 組み立て済みの読込み用メソッドハンドル
+     * @param encoder 組み立て済みの書込み用メソッドハンドル
+     */
+    private StructMapper(Class<T> type, int wordCount, MethodHandle decoder, MethodHandle encoder) {
+        this._type = type;
+        this._wordCount = wordCount;
+        this._decoder = decoder;
+        this._encoder = encoder;
+    }
+
+    /**
+     * 型を解析してマッパーを作成します。
+     *
+     * @param <T> 対応付ける型
+     * @param type {@link PlcField} を付けたレコードまたはクラス
+     * @return マッパー
+     * @throws IllegalArgumentException アノテーションの指定が不正な場合、型にアクセスできない場合
+     */
+    public static <T> StructMapper<T> of(Class<T> type) {
+        return of(type, LOOKUP);
+    }
+
+    /**
+     * 指定したルックアップで型にアクセスして、マッパーを作成します。
+     * 別モジュールの型など、このライブラリから直接アクセスできない型に使用します。
+     *
+     * @param <T> 対応付ける型
+     * @param type {@link PlcField} を付けたレコードまたはクラス
+     * @param lookup 型のメンバーにアクセスできるルックアップ
+     * @return マッパー
+     * @throws IllegalArgumentException アノテーションの指定が不正な場合、型にアクセスできない場合
+     */
+    public static <T> StructMapper<T> of(Class<T> type, MethodHandles.Lookup lookup) {
+        try {
+            MethodHandles.Lookup privateLookup = MethodHandles.privateLookupIn(type, lookup);
+            return type.isRecord() ? ofRecord(type, privateLookup) : ofClass(type, privateLookup);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalArgumentException("型にアクセスできません: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * レコードを解析してマッパーを作成します。
+     */
+    private static <T> StructMapper<T> ofRecord(Class<T> type, MethodHandles.Lookup lookup)
+            throws IllegalAccessException, NoSuchMethodException {
+        RecordComponent[] components = type.getRecordComponents();
+        if (components.length == 0) {
+            throw new IllegalArgumentException("構成要素のないレコードは対応付けできません: " + type.getName());
+        }
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        MethodHandle[] readers = new MethodHandle[components.length];
+        int[] reorder = new int[components.length * 2];
+        MethodHandle encoder = MethodHandles.empty(ENCODER_TYPE);
+        int wordCount = 0;
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            PlcField field = component.getAnnotation(PlcField.class);
+            String name = type.getName() + "." + component.getName();
+            if (field == null) {
+                throw new IllegalArgumentException("PlcFieldが指定されていない構成要素があります: " + name);
+            }
+            wordCount = Math.max(wordCount, validate(name, field, component.getType()));
+            parameterTypes[i] = component.getType();
+            readers[i] = reader(field);
+            reorder[i * 2] = 0;
+            reorder[i * 2 + 1] = 1;
+            encoder = MethodHandles.foldArguments(encoder, encoder(field, lookup.unreflect(component.getAccessor())));
+        }
+
+        // 標準コンストラクタの各引数をワードブロックから読み出し、（WordBlock, int）の2引数にまとめる
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+        MethodHandle decoder = constructor;
+        for (int i = readers.length - 1; i >= 0; i--) {
+            decoder = MethodHandles.collectArguments(decoder, i, readers[i]);
+        }
+        decoder = MethodHandles.permuteArguments(decoder, MethodType.methodType(type, WordBlock.class, int.class), reorder);
+        return new StructMapper<>(type, wordCount, decoder.asType(DECODER_TYPE), encoder);
+    }
+
+    /**
+     * クラスを解析してマッパーを作成します。
+     */
+    private static <T> StructMapper<T> ofClass(Class<T> type, MethodHandles.Lookup lookup)
+            throws IllegalAccessException, NoSuchMethodException {
+        // 生成したインスタンスを受け取り、各フィールドを設定して返す（T, WordBlock, int）T
+        MethodHandle body = MethodHandles.dropArguments(MethodHandles.identity(type), 1, WordBlock.class, int.class);
+        MethodHandle encoder = MethodHandles.empty(ENCODER_TYPE);
+        int wordCount = 0;
+        int fieldCount = 0;
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field member : c.getDeclaredFields()) {
+                PlcField field = member.getAnnotation(PlcField.class);
+                if (field == null || Modifier.isStatic(member.getModifiers())) {
+                    continue;
+                }
+                String name = type.getName() + "." + member.getName();
+                if (Modifier.isFinal(member.getModifiers())) {
+                    throw new IllegalArgumentException("finalのフィールドには値を設定できません: " + name);
+                }
+                wordCount = Math.max(wordCount, validate(name, field, member.getType()));
+                MethodHandles.Lookup memberLookup = c == type ? lookup : MethodHandles.privateLookupIn(c, lookup);
+                MethodHandle assign = MethodHandles.collectArguments(memberLookup.unreflectSetter(member), 1, reader(field));
+                body = MethodHandles.foldArguments(body, assign.asType(
+                    MethodType.methodType(void.class, type, WordBlock.class, int.class)));
+                encoder = MethodHandles.foldArguments(encoder, encoder(field, memberLookup.unreflectGetter(member)));
+                fieldCount++;
+            }
+        }
+        if (fieldCount == 0) {
+            throw new IllegalArgumentException("PlcFieldが指定されたフィールドがありません: " + type.getName());
+        }
+
+        // 引数なしのコンストラクタで生成したインスタンスを先頭の引数に渡す
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        MethodHandle decoder = MethodHandles.foldArguments(body, constructor);
+        return new StructMapper<>(type, wordCount, decoder.asType(DECODER_TYPE), encoder);
+    }
+
+    /**
+     * アノテーションの指定を検証し、フィールドの終端位置を求めます。
+     *
+     * @param name エラーメッセージ用のフィールド名
+     * @param field アノテーション
+     * @param javaType フィールドのJavaの型
+     * @return フィールドの終端のワード位置（位置 + ワード数）
+     * @throws IllegalArgumentException 指定が不正な場合
+     */
+    private static int validate(String name, PlcField field, Class<?> javaType) {
+        FieldTypeEnum fieldType = field.type();
+        if (javaType != fieldType.getJavaType()) {
+            throw new IllegalArgumentException(fieldType + "には" + fieldType.getJavaType().getSimpleName()
+                + "型を使用してください: " + name + " (" + javaType.getSimpleName() + ")");
+        }
+        if (field.offset() < 0) {
+            throw new IllegalArgumentException("ワード位置が不正です: " + name + " (" + field.offset() + ")");
+        }
+        if (fieldType == FieldTypeEnum.BIT && (field.bit() < 0 || field.bit() > 15)) {
+            throw new IllegalArgumentException("ビット位置は0～15で指定してください: " + name + " (" + field.bit() + ")");
+        }
+        if (fieldType == FieldTypeEnum.STRING && field.length() <= 0) {
+            throw new IllegalArgumentException("文字列の最大文字数を指定してください: " + name);
+        }
+        return field.offset() + fieldType.getWords(field.length());
+    }
+
+    /**
+     * フィールドの値をワードブロックから読み出すメソッドハンドルを作成します。
+     *
+     * @param field アノテーション
+     * @return （WordBlock, int 先頭位置）フィールドの型 のメソッドハンドル
+     */
+    private static MethodHandle reader(PlcField field) throws IllegalAccessException, NoSuchMethodException {
+        MethodHandle handle;
+        switch (field.type()) {
+            case BIT:
+                handle = MethodHandles.insertArguments(findGetter("getBit", boolean.class, int.class), 2, field.bit());
+                break;
+            case INT16:
+                handle = findGetter("getShort", short.class);
+                break;
+            case UINT16:
+                handle = MethodHandles.filterReturnValue(findGetter("getShort", short.class),
+                    LOOKUP.findStatic(Short.class, "toUnsignedInt", MethodType.methodType(int.class, short.class)));
+                break;
+            case INT32:
+                handle = findGetter("getInt", int.class);
+                break;
+            case FLOAT32:
+                handle = findGetter("getFloat", float.class);
+                break;
+            case FLOAT64:
+                handle = findGetter("getDouble", double.class);
+                break;
+            case BCD16:
+                handle = findGetter("getBcd", int.class);
+                break;
+            case STRING:
+                handle = MethodHandles.insertArguments(findGetter("getString", String.class, int.class), 2, field.length());
+                break;
+            default:
+                throw new IllegalArgumentException("不明なデータ型です: " + field.type());
+        }
+        return MethodHandles.filterArguments(handle, 1, MethodHandles.insertArguments(ADD, 1, field.offset()));
+    }
+
+    /**
+     * フィールドの値をワードブロックへ書き込むメソッドハンドルを作成します。
+     *
+     * @param field アノテーション
+     * @param getter オブジェクトからフィールドの値を取り出すメソッドハンドル
+     * @return （WordBlock, int 先頭位置, Object）void のメソッドハンドル
+     */
+    private static MethodHandle encoder(PlcField field, MethodHandle getter) throws IllegalAccessException, NoSuchMethodException {
+        MethodHandle handle;
+        switch (field.type()) {
+            case BIT:
+                handle = MethodHandles.insertArguments(findSetter("setBit", int.class, boolean.class), 2, field.bit());
+                break;
+            case INT16:
+                handle = findSetter("setShort", short.class);
+                break;
+            case UINT16:
+                handle = MethodHandles.filterArguments(findSetter("setShort", short.class), 2,
+                    LOOKUP.findStatic(StructMapper.class, "toUnsignedShort", MethodType.methodType(short.class, int.class)));
+                break;
+            case INT32:
+                handle = findSetter("setInt", int.class);
+                break;
+            case FLOAT32:
+                handle = findSetter("setFloat", float.class);
+                break;
+            case FLOAT64:
+                handle = findSetter("setDouble", double.class);
+                break;
+            case BCD16:
+                handle = findSetter("setBcd", int.class);
+                break;
+            case STRING:
+                handle = MethodHandles.insertArguments(findSetter("setString", int.class, String.class), 2, field.length());
+                break;
+            default:
+                throw new IllegalArgumentException("不明なデータ型です: " + field.type());
+        }
+        handle = MethodHandles.dropReturn(handle);
+        handle = MethodHandles.filterArguments(handle, 1, MethodHandles.insertArguments(ADD, 1, field.offset()));
+        handle = MethodHandles.filterArguments(handle, 2, getter);
+        return handle.asType(ENCODER_TYPE);
+    }
+
+    /**
+     * WordBlockの読出しメソッド（第1引数がワード位置）のメソッドハンドルを取得します。
+     */
+    private static MethodHandle findGetter(String name, Class<?> returnType, Class<?>... extraTypes)
+            throws IllegalAccessException, NoSuchMethodException {
+        return LOOKUP.findVirtual(WordBlock.class, name, MethodType.methodType(returnType, int.class, extraTypes));
+    }
+
+    /**
+     * WordBlockの設定メソッド（第1引数がワード位置）のメソッドハンドルを取得します。
+     */
+    private static MethodHandle findSetter(String name, Class<?>... valueTypes)
+            throws IllegalAccessException, NoSuchMethodException {
+        return LOOKUP.findVirtual(WordBlock.class, name, MethodType.methodType(WordBlock.class, int.class, valueTypes));
+    }
+
+    /**
+     * 符号なし16ビット整数の値を1ワードの値に変換します。
+     *
+     * @param value 符号なし16ビット整数（0～65535）
+     * @return 1ワードの値
+     * @throws IllegalArgumentException 範囲外の値が指定された場合
+     */
+    private static short toUnsignedShort(int value) {
+        if (value < 0 || value > 0xFFFF) {
+            throw new IllegalArgumentException("符号なし16ビット整数の範囲外です: " + value);
+        }
+        return (short)value;
+    }
+
+    /**
+     * 対応付ける型を取得します。
+     *
+     * @return 対応付ける型
+     */
+    public Class<T> getType() {
+        return _type;
+    }
+
+    /**
+     * 1件分のワード数を取得します。
+     * 最も後ろにあるフィールドの終端までのワード数です。
+     *
+     * @return ワード数
+     */
+    public int getWordCount() {
+        return _wordCount;
+    }
+
+    /**
+     * ワードブロックの先頭から1件分の値を読み出します。
+     *
+     * @param block ワードブロック
+     * @return 読み出した値
+     * @throws IndexOutOfBoundsException ワードブロックが1件分に満たない場合
+     */
+    public T decode(WordBlock block) {
+        return decode(block, 0);
+    }
+
+    /**
+     * ワードブロックの指定位置から1件分の値を読み出します。
+     *
+     * @param block ワードブロック
+     * @param offset 読み出し開始のワード位置
+     * @return 読み出した値
+     * @throws IndexOutOfBoundsException ワードブロックの範囲外にかかる場合
+     */
+    public T decode(WordBlock block, int offset) {
+        try {
+            return _type.cast((Object)_decoder.invokeExact(block, offset));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("値の生成に失敗しました: " + _type.getName(), e);
+        }
+    }
+
+    /**
+     * ワードブロックの先頭から連続して並んだ値を読み出します。
+     *
+     * @param block ワードブロック
+     * @param count 件数
+     * @return 読み出した値のリスト
+     * @throws IndexOutOfBoundsException ワードブロックが件数分に満たない場合
+     */
+    public List<T> decodeAll(WordBlock block, int count) {
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(decode(block, i * _wordCount));
+        }
+        return result;
+    }
+
+    /**
+     * 値をワードブロックの指定位置へ書き込みます。
+     * フィールドの割り当てのない位置は変更しません。
+     *
+     * @param value 書き込む値
+     * @param block ワードブロック
+     * @param offset 書込み開始のワード位置
+     * @throws IndexOutOfBoundsException ワードブロックの範囲外にかかる場合
+     * @throws IllegalArgumentException 値がデータ型の範囲外の場合
+     */
+    public void encode(T value, WordBlock block, int offset) {
+        try {
+            _encoder.invokeExact(block, offset, (Object)value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("値の書込みに失敗しました: " + _type.getName(), e);
+        }
+    }
+
+    /**
+     * 値を書き込んだ1件分のワードブロックを作成します。
+     * フィールドの割り当てのない位置は0になります。
+     *
+     * @param deviceSpec 先頭デバイス
+     * @param value 書き込む値
+     * @return 作成したワードブロック
+     * @throws IllegalArgumentException 値がデータ型の範囲外の場合
+     */
+    public WordBlock encode(DeviceSpec deviceSpec, T value) {
+        WordBlock block = new WordBlock(deviceSpec, _wordCount);
+        encode(value, block, 0);
+        return block;
+    }
+}
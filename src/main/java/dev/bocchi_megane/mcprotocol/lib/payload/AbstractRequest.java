@@ -49,6 +49,16 @@ public abstract class AbstractRequest implements IPayload {
         return _subCommand;
     }
 
+    /**
+     * 同じ要求を再送しても結果が変わらないかを取得します。
+     * 応答を失った場合に再送してよい要求（読出しなど）はtrueを返すようにオーバーライドします。
+     *
+     * @return 再送してよい場合はtrue
+     */
+    public boolean isIdempotent() {
+        return false;
+    }
+
     /**
      * バイト列から解析してメンバ変数にセットします。
      * 監視タイマーより後ろのデータを渡して要求オブジェクトを復元します。
@@ -0,0 +1,198 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * 配列型ラベル一括読出し要求クラス
+ * MELSEC iQ-Rシリーズの配列型グローバルラベルを、先頭要素のラベル名と読み出すバイト数を指定して一括で読み出すクラスです。
+ * 読出しはワード単位（単位指定1、データ長はバイト数）で行います。
+ * 要求データは初回の変換後に保持するため、同じ要求オブジェクトを周期的に送信する場合は再変換されません。
+ */
+public class ArrayLabelReadRequest extends AbstractRequest {
+    /** 単位指定：ワード単位（データ長はバイト数） */
+    public static final int UNIT_WORD = 1;
+
+    /** 読出し対象のラベル（配列の先頭要素）のリスト */
+    protected List<LabelSpec> _labels;
+    /** ラベルごとの読出しバイト数 */
+    protected int[] _byteLengths;
+    /** 変換済みの要求データ（初回の変換時に保持） */
+    private byte[] _bytes;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public ArrayLabelReadRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param labels 読出し対象のラベル（配列の先頭要素、例："Buffer[0]"）のリスト
+     * @param byteLengths ラベルごとの読出しバイト数（ラベルと同じ順序、2の倍数）
+     * @throws IllegalArgumentException ラベル数とバイト数の数が一致しない場合、ラベル数が範囲外の場合、バイト数が不正な場合
+     */
+    public ArrayLabelReadRequest(List<LabelSpec> labels, int[] byteLengths) {
+        LabelRandomReadRequest.validateLabelCount(labels.size());
+        if (labels.size() != byteLengths.length) {
+            throw new IllegalArgumentException("ラベル数とバイト数の数が一致しません: " + labels.size() + " != " + byteLengths.length);
+        }
+        for (int byteLength : byteLengths) {
+            validateByteLength(byteLength);
+        }
+        this._labels = List.copyOf(labels);
+        this._byteLengths = byteLengths.clone();
+
+        this._command = CommandEnum.ARRAY_LABEL_READ;
+        this._subCommand = SubCommandEnum.Q_WORD;
+    }
+
+    /**
+     * ワード単位のデータ長として指定できるバイト数かを検証します。
+     *
+     * @param byteLength バイト数
+     * @throws IllegalArgumentException 2の倍数でない場合、範囲外の場合
+     */
+    static void validateByteLength(int byteLength) {
+        if (byteLength < 2 || byteLength > 0xFFFE || byteLength % 2 != 0) {
+            throw new IllegalArgumentException("データ長が不正です（2の倍数で2～65534）: " + byteLength);
+        }
+    }
+
+    /**
+     * 読出し対象のラベルのリストを取得します。
+     *
+     * @return ラベルのリスト
+     */
+    public List<LabelSpec> getLabels() {
+        return _labels;
+    }
+
+    /**
+     * ラベルごとの読出しバイト数を取得します。
+     *
+     * @return ラベルと同じ順序の読出しバイト数
+     */
+    public int[] getByteLengths() {
+        return _byteLengths.clone();
+    }
+
+    /**
+     * 応答データを解析してラベル読出し応答オブジェクトを生成します。
+     *
+     * @param response 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] response) {
+        return new LabelReadResponse(response, _labels.size());
+    }
+
+    /**
+     * ラベルの読出しはPLCの状態を変えないため再送できます。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     * 変換結果は保持され、2回目以降は同じ配列を返します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        byte[] bytes = _bytes;
+        if (bytes == null) {
+            int length = 8;
+            for (LabelSpec label : _labels) {
+                length += label.getByteArrayLength() + 4;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(_command.getBytes().getByteArray());
+            buffer.put(_subCommand.getBytes().getByteArray());
+            buffer.putShort((short)_labels.size());
+            buffer.putShort((short)0);
+            for (int i = 0; i < _labels.size(); i++) {
+                buffer.put(_labels.get(i).toByteArray());
+                buffer.put((byte)UNIT_WORD);
+                buffer.put((byte)0);
+                buffer.putShort((short)_byteLengths[i]);
+            }
+            bytes = buffer.array();
+            _bytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+
+        // 配列点数、省略指定点数（省略指定は使用しない）
+        int count = buffer.getShort() & 0xffff;
+        buffer.getShort();
+
+        // ラベル指定、単位指定、固定値、データ長
+        List<LabelSpec> labels = new ArrayList<>(count);
+        _byteLengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            labels.add(LabelSpec.parse(buffer));
+            buffer.get();
+            buffer.get();
+            _byteLengths[i] = buffer.getShort() & 0xffff;
+        }
+        _labels = List.copyOf(labels);
+        _bytes = null;
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3   4   5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: 配列点数: " + _labels.size(),
+            "                 4: 省略指定点数: 0",
+            "                 5: ラベル指定とデータ長: " + _labels
+        ));
+    }
+}
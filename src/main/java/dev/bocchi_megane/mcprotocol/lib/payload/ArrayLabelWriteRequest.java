@@ -0,0 +1,164 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * 配列型ラベル一括書込み要求クラス
+ * MELSEC iQ-Rシリーズの配列型グローバルラベルへ、先頭要素のラベル名を指定してワード単位で一括書込みするクラスです。
+ */
+public class ArrayLabelWriteRequest extends AbstractRequest {
+    /** 書込み対象のラベル（配列の先頭要素）のリスト */
+    protected List<LabelSpec> _labels;
+    /** ラベルごとの書込みデータ */
+    protected List<byte[]> _writeData;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public ArrayLabelWriteRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param labels 書込み対象のラベル（配列の先頭要素、例："Buffer[0]"）のリスト
+     * @param writeData ラベルごとの書込みデータ（ラベルと同じ順序、リトルエンディアン、2の倍数のバイト数）
+     * @throws IllegalArgumentException ラベル数とデータ数が一致しない場合、ラベル数が範囲外の場合、データ長が不正な場合
+     */
+    public ArrayLabelWriteRequest(List<LabelSpec> labels, List<byte[]> writeData) {
+        LabelRandomWriteRequest.validateWriteData(labels, writeData);
+        for (byte[] data : writeData) {
+            ArrayLabelReadRequest.validateByteLength(data.length);
+        }
+        this._labels = List.copyOf(labels);
+        this._writeData = List.copyOf(writeData);
+
+        this._command = CommandEnum.ARRAY_LABEL_WRITE;
+        this._subCommand = SubCommandEnum.Q_WORD;
+    }
+
+    /**
+     * 書込み対象のラベルのリストを取得します。
+     *
+     * @return ラベルのリスト
+     */
+    public List<LabelSpec> getLabels() {
+        return _labels;
+    }
+
+    /**
+     * ラベルごとの書込みデータを取得します。
+     *
+     * @return ラベルと同じ順序の書込みデータ
+     */
+    public List<byte[]> getWriteData() {
+        return _writeData;
+    }
+
+    /**
+     * 応答データを解析して書込み応答オブジェクトを生成します。
+     * 書込み要求の応答は通常、データを含まない正常終了応答です。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new NoneResponse(responseData);
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        int length = 8;
+        for (int i = 0; i < _labels.size(); i++) {
+            length += _labels.get(i).getByteArrayLength() + 4 + _writeData.get(i).length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(_command.getBytes().getByteArray());
+        buffer.put(_subCommand.getBytes().getByteArray());
+        buffer.putShort((short)_labels.size());
+        buffer.putShort((short)0);
+        for (int i = 0; i < _labels.size(); i++) {
+            buffer.put(_labels.get(i).toByteArray());
+            buffer.put((byte)ArrayLabelReadRequest.UNIT_WORD);
+            buffer.put((byte)0);
+            buffer.putShort((short)_writeData.get(i).length);
+            buffer.put(_writeData.get(i));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+
+        // 配列点数、省略指定点数（省略指定は使用しない）
+        int count = buffer.getShort() & 0xffff;
+        buffer.getShort();
+
+        // ラベル指定、単位指定、固定値、データ長、書込みデータ
+        List<LabelSpec> labels = new ArrayList<>(count);
+        List<byte[]> writeData = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            labels.add(LabelSpec.parse(buffer));
+            buffer.get();
+            buffer.get();
+            data = new byte[buffer.getShort() & 0xffff];
+            buffer.get(data);
+            writeData.add(data);
+        }
+        _labels = List.copyOf(labels);
+        _writeData = List.copyOf(writeData);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3   4   5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: 配列点数: " + _labels.size(),
+            "                 4: 省略指定点数: 0",
+            "                 5: ラベル指定と書込むデータ: " + _labels
+        ));
+    }
+}
@@ -3,10 +3,12 @@ package dev.bocchi_megane.mcprotocol.lib.payload;
 /**
  * ビット単位一括読込み応答クラス
  * ビットデバイスの一括読込み要求に対する応答を処理するクラスです。
- * 受信したバイトデータをboolean配列に変換して管理します。
+ * 受信したバイトデータは、boolean配列または64点ずつlongに詰めた配列として取り出せます。
  */
 public class BlockBitReadResponse extends AbstractResponse {
-    /** 読込まれたビットデータ配列 */
+    /** 受信したバイトデータ（1バイトに2点） */
+    private byte[] _responseData;
+    /** 読込まれたビットデータ配列（初回の取得時に展開） */
     private boolean[] _readData;
 
     /**
@@ -22,7 +24,7 @@ public class BlockBitReadResponse extends AbstractResponse {
 
     /**
      * 応答データを解析してメンバ変数にセットします。
-     * バイトデータの各ニブル（4ビット）をboolean値に変換します。
+     * バイトデータは取得時に変換するため、ここでは保持のみ行います。
      *
      * @param responseData 応答データ（終了コードより後ろ）
      * @param request 対応する要求オブジェクト
@@ -34,22 +36,48 @@ public class BlockBitReadResponse extends AbstractResponse {
             throw new IllegalArgumentException("ワードデバイスの読み込み要求に対しては、別のクラスを使ってください");
         }
 
-        _readData = new boolean[responseData.length * 2];
-        for (int i=0; i<responseData.length; i++) {
-            _readData[i*2 + 0] = (responseData[i] & 0xF0) != 0 ? true : false;
-            _readData[i*2 + 1] = (responseData[i] & 0x0F) != 0 ? true : false;
-        }
+        _responseData = responseData;
     }
 
     /**
      * 読込まれたデバイス値を取得します。
+     * バイトデータの各ニブル（4ビット）をboolean値に変換します。
      *
      * @return ビットデータのboolean配列
      */
     public boolean[] getReadData() {
+        if (_readData == null) {
+            boolean[] readData = new boolean[_responseData.length * 2];
+            for (int i=0; i<_responseData.length; i++) {
+                readData[i*2 + 0] = (_responseData[i] & 0xF0) != 0 ? true : false;
+                readData[i*2 + 1] = (_responseData[i] & 0x0F) != 0 ? true : false;
+            }
+            _readData = readData;
+        }
         return _readData;
     }
 
+    /**
+     * 読込まれたデバイス値を64点ずつlongに詰めた配列で取得します。
+     * boolean配列を経由せずにニブルから直接詰めるため、1点あたり1ビットで保持できます。
+     * 各longの最下位ビットが若番のデバイスに対応します。
+     *
+     * @return ビットデータを詰めたlong配列（長さは 点数 / 64 の切り上げ）
+     */
+    public long[] getPackedData() {
+        long[] packed = new long[(_responseData.length * 2 + 63) / 64];
+        for (int i=0; i<_responseData.length; i++) {
+            int bit = i * 2;
+            if ((_responseData[i] & 0xF0) != 0) {
+                packed[bit / 64] |= 1L << (bit % 64);
+            }
+            if ((_responseData[i] & 0x0F) != 0) {
+                packed[(bit + 1) / 64] |= 1L << ((bit + 1) % 64);
+            }
+        }
+        return packed;
+    }
+
     /**
      * ビットデータをバイト配列に変換します。
      * boolean配列の各ペアを1バイトに圧縮します。
@@ -58,10 +86,11 @@ public class BlockBitReadResponse extends AbstractResponse {
      */
     @Override
     public byte[] toBytes() {
-        byte[] retData = new byte[_readData.length / 2];
+        boolean[] readData = getReadData();
+        byte[] retData = new byte[readData.length / 2];
         for (int i=0; i<retData.length; i++) {
-            byte temp0 = (byte)(_readData[i*2 + 0] ? 0x1 : 0x0);
-            byte temp1 = (byte)(_readData[i*2 + 1] ? 0x1 : 0x0);
+            byte temp0 = (byte)(readData[i*2 + 0] ? 0x1 : 0x0);
+            byte temp1 = (byte)(readData[i*2 + 1] ? 0x1 : 0x0);
             retData[i] = (byte)(temp0 << 4 | temp1);
         }
         return retData;
@@ -5,7 +5,7 @@ import java.nio.ByteOrder;
 
 import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
 import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
-import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
 import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
 import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
 import dev.bocchi_megane.mcprotocol.lib.util.Converter;
@@ -16,12 +16,19 @@ import dev.bocchi_megane.mcprotocol.lib.util.Converter;
  * デバイス仕様と読込み点数を指定して、対応する応答を受信します。
  */
 public class BlockReadRequest extends AbstractRequest {
+    /** 1回の要求で読み書きできるワード点数の上限（MELSEC-Q/Lシリーズ） */
+    public static final int MAX_WORD_POINTS = 960;
+    /** 1回の要求で読み書きできるビット点数の上限（MELSEC-Q/Lシリーズ） */
+    public static final int MAX_BIT_POINTS = 7168;
+
     /** 読込み対象のデバイス仕様 */
     protected DeviceSpec _deviceSpec;
     /** 読込みデバイス点数 */
     protected short _devicePoint;
     /** ビットデバイスかどうかのフラグ */
     public boolean _isBitDevice;
+    /** デバイス指定形式 */
+    protected DeviceFormatEnum _deviceFormat;
 
     /**
      * バイト配列から要求オブジェクトを復元するコンストラクタ
@@ -40,10 +47,24 @@ public class BlockReadRequest extends AbstractRequest {
      * @param isBitDevice ビット単位読込みの場合はtrue、ワード単位読込みの場合はfalse
      */
     public BlockReadRequest(DeviceSpec deviceSpec, short devicePoint, boolean isBitDevice) {
+        this(deviceSpec, devicePoint, isBitDevice, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * デバイス指定形式を指定するコンストラクタ
+     * iQ-Rシリーズ用の形式を指定すると、サブコマンド0002H/0003Hと4バイトのデバイス番号で要求します。
+     *
+     * @param deviceSpec 読込み対象のデバイス仕様
+     * @param devicePoint 読込みデバイス点数
+     * @param isBitDevice ビット単位読込みの場合はtrue、ワード単位読込みの場合はfalse
+     * @param deviceFormat デバイス指定形式
+     */
+    public BlockReadRequest(DeviceSpec deviceSpec, short devicePoint, boolean isBitDevice, DeviceFormatEnum deviceFormat) {
 
         this._deviceSpec = deviceSpec;
         this._devicePoint = devicePoint;
         this._isBitDevice = isBitDevice;
+        this._deviceFormat = deviceFormat;
 
         _command = CommandEnum.BLOCK_READ;
         DataTypeEnum dataType = deviceSpec.getDeviceCode().getDataType();
@@ -62,11 +83,7 @@ public class BlockReadRequest extends AbstractRequest {
                 throw new IllegalArgumentException("不明なデータ型です: " + dataType);
         }
         
-        if (_isBitDevice) {
-            _subCommand = SubCommandEnum.Q_BIT;
-        } else {
-            _subCommand = SubCommandEnum.Q_WORD;
-        }
+        _subCommand = deviceFormat.getSubCommand(_isBitDevice);
     }
 
     /**
@@ -78,6 +95,24 @@ public class BlockReadRequest extends AbstractRequest {
         return _deviceSpec;
     }
 
+    /**
+     * デバイス点数を取得します。
+     *
+     * @return デバイス点数
+     */
+    public short getDevicePoint() {
+        return _devicePoint;
+    }
+
+    /**
+     * デバイス指定形式を取得します。
+     *
+     * @return デバイス指定形式
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
     /**
      * 応答データを解析して適切な応答オブジェクトを生成します。
      * ビットデバイスかワードデバイスかによって異なる応答クラスを返します。
@@ -94,6 +129,16 @@ public class BlockReadRequest extends AbstractRequest {
         }
     }
 
+    /**
+     * 一括読出しはPLCの状態を変えないため再送できます。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
     /**
      * 要求データをバイト配列に変換します。
      *
@@ -104,7 +149,7 @@ public class BlockReadRequest extends AbstractRequest {
         return Converter.concatByteArrays(
             _command.getBytes().getByteArray(),
             _subCommand.getBytes().getByteArray(),
-            _deviceSpec.toByteArray(),
+            _deviceSpec.toByteArray(_deviceFormat),
             Converter.fromIntToByteArray(_devicePoint, 2)
         );
     }
@@ -130,11 +175,13 @@ public class BlockReadRequest extends AbstractRequest {
         data = new byte[2];
         buffer.get(data);
         _subCommand = SubCommandEnum.build(data);
+        _deviceFormat = DeviceFormatEnum.build(_subCommand);
+        _isBitDevice = _subCommand == _deviceFormat.getSubCommand(true);
 
         // デバイス指定
-        data = new byte[DeviceCodeEnum.getLength()];
+        data = new byte[_deviceFormat.getLength()];
         buffer.get(data);
-        _deviceSpec = new DeviceSpec(data);
+        _deviceSpec = new DeviceSpec(data, _deviceFormat);
 
         // ポイント数
         data = new byte[2];
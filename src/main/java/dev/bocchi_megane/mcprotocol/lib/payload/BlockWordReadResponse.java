@@ -1,14 +1,20 @@
 package dev.bocchi_megane.mcprotocol.lib.payload;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
 import dev.bocchi_megane.mcprotocol.lib.util.Converter;
 
 /**
  * ワード単位一括読込み応答クラス
  * ワードデバイスの一括読込み要求に対する応答を処理するクラスです。
- * 受信したバイトデータをshort配列に変換して管理します。
+ * 受信したバイトデータは、short配列またはダブルワード（2ワード）ごとのint配列として取り出せます。
  */
 public class BlockWordReadResponse extends AbstractResponse {
-    /** 読込まれたワードデータ配列 */
+    /** 受信したバイトデータ（1ワードに2バイト） */
+    private byte[] _responseData;
+    /** 読込まれたワードデータ配列（初回の取得時に変換） */
     private short[] _readData;
 
     /**
@@ -24,7 +30,7 @@ public class BlockWordReadResponse extends AbstractResponse {
 
     /**
      * 応答データを解析してメンバ変数にセットします。
-     * バイトデータをshort配列に変換します。
+     * バイトデータは取得時に変換するため、ここでは保持のみ行います。
      *
      * @param responseData 応答データ（終了コードより後ろ）
      * @param request 対応する要求オブジェクト
@@ -35,7 +41,7 @@ public class BlockWordReadResponse extends AbstractResponse {
         if (((BlockReadRequest)request)._isBitDevice) {
             throw new IllegalArgumentException("ビットデバイスの読み込み要求に対しては、別のクラスを使ってください");
         }
-        _readData = Converter.fromBytesToShortArray(responseData);
+        _responseData = responseData;
     }
 
     /**
@@ -44,9 +50,54 @@ public class BlockWordReadResponse extends AbstractResponse {
      * @return ワードデータのshort配列
      */
     public short[] getReadData() {
+        if (_readData == null) {
+            _readData = Converter.fromBytesToShortArray(_responseData);
+        }
         return _readData;
     }
 
+    /**
+     * 受信したバイトデータを取得します。
+     * コピーではないため、変更するとこの応答の値も変わります。
+     *
+     * @return ワードデータのバイト配列（1ワードに2バイト、リトルエンディアン）
+     */
+    public byte[] getReadBytes() {
+        return _responseData;
+    }
+
+    /**
+     * 読込まれたデバイス値を、2ワード（下位、上位の順）ずつのダブルワード値として取得します。
+     * short配列を経由せずに受信データから直接変換します。
+     *
+     * @return ダブルワードデータのint配列（長さは ワード点数 / 2）
+     * @throws ResponseAbnormalException 応答データがダブルワード単位で割り切れない場合
+     */
+    public int[] getDwordData() {
+        return getDwordData(2);
+    }
+
+    /**
+     * 読込まれたデバイス値を、1点あたり指定ワード数ずつ区切り、各点の先頭2ワード（下位、上位の順）をダブルワード値として取得します。
+     * LTN、LSTNのように1点が現在値と接点・コイルなどの4ワードからなるデバイスの現在値を取り出すのに使います。
+     *
+     * @param wordsPerPoint 1点あたりのワード数（2以上）
+     * @return ダブルワードデータのint配列（長さは ワード点数 / 1点あたりのワード数）
+     * @throws ResponseAbnormalException 応答データが1点のワード数で割り切れない場合
+     */
+    public int[] getDwordData(int wordsPerPoint) {
+        int pointBytes = wordsPerPoint * 2;
+        if (_responseData.length % pointBytes != 0) {
+            throw new ResponseAbnormalException("1点のワード数で割り切れない応答データ長です: " + _responseData.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(_responseData).order(ByteOrder.LITTLE_ENDIAN);
+        int[] dwords = new int[_responseData.length / pointBytes];
+        for (int i = 0; i < dwords.length; i++) {
+            dwords[i] = buffer.getInt(i * pointBytes);
+        }
+        return dwords;
+    }
+
     /**
      * ワードデータをバイト配列に変換します。
      *
@@ -54,6 +105,6 @@ public class BlockWordReadResponse extends AbstractResponse {
      */
     @Override
     public byte[] toBytes() {
-        return Converter.fromShortArrayToBytes(_readData);
+        return Converter.fromShortArrayToBytes(getReadData());
     }
 }
@@ -4,7 +4,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
-import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
 import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
 import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
 import dev.bocchi_megane.mcprotocol.lib.util.Converter;
@@ -23,6 +23,8 @@ public class BlockWriteRequest extends AbstractRequest {
     protected short _devicePoint;
     /** ビットデバイスかどうかのフラグ */
     protected boolean _isBitDevice;
+    /** デバイス指定形式 */
+    protected DeviceFormatEnum _deviceFormat;
 
     /**
      * デバイス仕様を取得します。
@@ -51,6 +53,15 @@ public class BlockWriteRequest extends AbstractRequest {
         return _isBitDevice;
     }
 
+    /**
+     * デバイス指定形式を取得します。
+     * 
+     * @return デバイス指定形式
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
     /**
      * バイト配列から要求オブジェクトを復元するコンストラクタ
      * 
@@ -69,17 +80,28 @@ public class BlockWriteRequest extends AbstractRequest {
      * @param isBitDevice ビット単位書込みの場合はtrue、ワード単位書込みの場合はfalse
      */
     public BlockWriteRequest(DeviceSpec deviceSpec, short devicePoint, byte[] writeBytes, boolean isBitDevice) {
+        this(deviceSpec, devicePoint, writeBytes, isBitDevice, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * デバイス指定形式を指定するコンストラクタ
+     * iQ-Rシリーズ用の形式を指定すると、サブコマンド0002H/0003Hと4バイトのデバイス番号で要求します。
+     * 
+     * @param deviceSpec 書込み対象のデバイス仕様
+     * @param devicePoint 書込みデバイス点数
+     * @param writeBytes 書込みデータ
+     * @param isBitDevice ビット単位書込みの場合はtrue、ワード単位書込みの場合はfalse
+     * @param deviceFormat デバイス指定形式
+     */
+    public BlockWriteRequest(DeviceSpec deviceSpec, short devicePoint, byte[] writeBytes, boolean isBitDevice, DeviceFormatEnum deviceFormat) {
         this._deviceSpec = deviceSpec;
         this._devicePoint = devicePoint;
         this._writeBytes = writeBytes;
         this._isBitDevice = isBitDevice;
+        this._deviceFormat = deviceFormat;
 
         this._command = CommandEnum.BLOCK_WRITE;
-        if (_isBitDevice) {
-            _subCommand = SubCommandEnum.Q_BIT;
-        } else {
-            _subCommand = SubCommandEnum.Q_WORD;
-        }
+        _subCommand = deviceFormat.getSubCommand(_isBitDevice);
     }
 
     /**
@@ -113,7 +135,7 @@ public class BlockWriteRequest extends AbstractRequest {
         return Converter.concatByteArrays(
             _command.getBytes().getByteArray(),
             _subCommand.getBytes().getByteArray(),
-            _deviceSpec.toByteArray(),
+            _deviceSpec.toByteArray(_deviceFormat),
             Converter.fromIntToByteArray(_devicePoint, 2),
             _writeBytes
         );
@@ -140,11 +162,13 @@ public class BlockWriteRequest extends AbstractRequest {
         data = new byte[2];
         buffer.get(data);
         _subCommand = SubCommandEnum.build(data);
+        _deviceFormat = DeviceFormatEnum.build(_subCommand);
+        _isBitDevice = _subCommand == _deviceFormat.getSubCommand(true);
 
         // デバイス指定
-        data = new byte[DeviceCodeEnum.getLength()];
+        data = new byte[_deviceFormat.getLength()];
         buffer.get(data);
-        _deviceSpec = new DeviceSpec(data);
+        _deviceSpec = new DeviceSpec(data, _deviceFormat);
 
         // ポイント数
         data = new byte[2];
@@ -0,0 +1,187 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * バッファメモリ一括読出し要求クラス
+ * インテリジェント機能ユニット（A/D変換ユニットなど）のバッファメモリ（U□\G□）をワード単位で一括読出しするクラスです。
+ * 伝文上の先頭アドレスと点数はバイト単位のため、ワード単位の指定を2倍して送信します。
+ */
+public class BufferMemoryReadRequest extends AbstractRequest {
+    /** 1回の要求で読み書きできるワード点数の上限（1920バイト） */
+    public static final int MAX_WORD_POINTS = 960;
+    /** ユニット番号の上限 */
+    public static final int MAX_MODULE_NUMBER = 0xFFFF;
+
+    /** ユニット番号（先頭入出力番号を16で割った値） */
+    protected int _moduleNumber;
+    /** 先頭アドレス（ワード単位） */
+    protected int _address;
+    /** 読込みワード点数 */
+    protected int _wordPoint;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public BufferMemoryReadRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param moduleNumber ユニット番号（U□\G□のU□、先頭入出力番号を16で割った値）
+     * @param address 先頭アドレス（G□のバッファメモリアドレス、ワード単位）
+     * @param wordPoint 読込みワード点数
+     * @throws IllegalArgumentException ユニット番号・アドレス・点数が範囲外の場合
+     */
+    public BufferMemoryReadRequest(int moduleNumber, int address, int wordPoint) {
+        validate(moduleNumber, address, wordPoint);
+        this._moduleNumber = moduleNumber;
+        this._address = address;
+        this._wordPoint = wordPoint;
+
+        this._command = CommandEnum.MODULE_BUFFER_READ;
+        this._subCommand = SubCommandEnum.Q_WORD;
+    }
+
+    /**
+     * バッファメモリの指定が1回の要求で送信できる範囲かを検証します。
+     *
+     * @param moduleNumber ユニット番号
+     * @param address 先頭アドレス（ワード単位）
+     * @param wordPoint ワード点数
+     * @throws IllegalArgumentException ユニット番号・アドレス・点数が範囲外の場合
+     */
+    static void validate(int moduleNumber, int address, int wordPoint) {
+        if (moduleNumber < 0 || moduleNumber > MAX_MODULE_NUMBER) {
+            throw new IllegalArgumentException("ユニット番号が範囲外です: " + moduleNumber);
+        }
+        if (address < 0 || address > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("バッファメモリアドレスが範囲外です: " + address);
+        }
+        if (wordPoint < 1 || wordPoint > MAX_WORD_POINTS) {
+            throw new IllegalArgumentException("点数が範囲外です（1～" + MAX_WORD_POINTS + "）: " + wordPoint);
+        }
+    }
+
+    /**
+     * ユニット番号を取得します。
+     *
+     * @return ユニット番号
+     */
+    public int getModuleNumber() {
+        return _moduleNumber;
+    }
+
+    /**
+     * 先頭アドレスを取得します。
+     *
+     * @return 先頭アドレス（ワード単位）
+     */
+    public int getAddress() {
+        return _address;
+    }
+
+    /**
+     * 読込みワード点数を取得します。
+     *
+     * @return ワード点数
+     */
+    public int getWordPoint() {
+        return _wordPoint;
+    }
+
+    /**
+     * 応答データを解析してバッファメモリ読出し応答オブジェクトを生成します。
+     *
+     * @param response 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] response) {
+        return new BufferMemoryReadResponse(response, this);
+    }
+
+    /**
+     * バッファメモリの読出しはユニットの状態を変えないため再送できます。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        return Converter.concatByteArrays(
+            _command.getBytes().getByteArray(),
+            _subCommand.getBytes().getByteArray(),
+            Converter.fromIntToByteArray(_address * 2, 4),
+            Converter.fromIntToByteArray(_wordPoint * 2, 2),
+            Converter.fromIntToByteArray(_moduleNumber, 2)
+        );
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+
+        // 先頭アドレス（バイト単位）
+        _address = buffer.getInt() / 2;
+
+        // バイト数
+        _wordPoint = (buffer.getShort() & 0xffff) / 2;
+
+        // ユニット番号
+        _moduleNumber = buffer.getShort() & 0xffff;
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3       4   5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: 先頭アドレス: " + _address,
+            "                 4: バイト数: " + _wordPoint * 2,
+            "                 5: ユニット番号: " + _moduleNumber
+        ));
+    }
+}
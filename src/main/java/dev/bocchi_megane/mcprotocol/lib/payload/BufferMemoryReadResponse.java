@@ -0,0 +1,76 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * バッファメモリ一括読出し応答クラス
+ * バッファメモリ一括読出し要求に対する応答を処理するクラスです。
+ * 受信したバイトデータはそのまま保持し、short配列は初回の取得時に変換します。
+ */
+public class BufferMemoryReadResponse extends AbstractResponse {
+    /** 受信したバイトデータ（1ワードに2バイト） */
+    private byte[] _responseData;
+    /** 読込まれたワードデータ配列（初回の取得時に変換） */
+    private short[] _readData;
+
+    /**
+     * コンストラクタ
+     * 応答データを解析してバッファメモリ読出し応答オブジェクトを作成します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応する読出し要求オブジェクト
+     * @throws ResponseAbnormalException 応答データ長が要求した点数と一致しない場合
+     */
+    public BufferMemoryReadResponse(byte[] responseData, BufferMemoryReadRequest request) {
+        parse(responseData, request);
+    }
+
+    /**
+     * 応答データを解析してメンバ変数にセットします。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応する要求オブジェクト
+     * @throws ResponseAbnormalException 応答データ長が要求した点数と一致しない場合
+     */
+    @Override
+    protected void parse(byte[] responseData, AbstractRequest request) {
+        int expected = ((BufferMemoryReadRequest)request).getWordPoint() * 2;
+        if (responseData.length != expected) {
+            throw new ResponseAbnormalException("応答データ長が要求した点数と一致しません: " + responseData.length + " != " + expected);
+        }
+        _responseData = responseData;
+    }
+
+    /**
+     * 読込まれたバッファメモリの値を取得します。
+     *
+     * @return ワードデータのshort配列
+     */
+    public short[] getReadData() {
+        if (_readData == null) {
+            _readData = Converter.fromBytesToShortArray(_responseData);
+        }
+        return _readData;
+    }
+
+    /**
+     * 受信したバイトデータを取得します。
+     * コピーではないため、変更するとこの応答の値も変わります。
+     *
+     * @return ワードデータのバイト配列（1ワードに2バイト、リトルエンディアン）
+     */
+    public byte[] getReadBytes() {
+        return _responseData;
+    }
+
+    /**
+     * 応答データをバイト配列に変換します。
+     *
+     * @return 応答データのバイト配列
+     */
+    @Override
+    public byte[] toBytes() {
+        return _responseData;
+    }
+}
@@ -0,0 +1,162 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * バッファメモリ一括書込み要求クラス
+ * インテリジェント機能ユニットのバッファメモリ（U□\G□）へワード単位で一括書込みするクラスです。
+ * 伝文上の先頭アドレスと点数はバイト単位のため、ワード単位の指定を2倍して送信します。
+ */
+public class BufferMemoryWriteRequest extends AbstractRequest {
+    /** ユニット番号（先頭入出力番号を16で割った値） */
+    protected int _moduleNumber;
+    /** 先頭アドレス（ワード単位） */
+    protected int _address;
+    /** 書込みデータ（1ワードに2バイト、リトルエンディアン） */
+    protected byte[] _writeBytes;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public BufferMemoryWriteRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param moduleNumber ユニット番号（U□\G□のU□、先頭入出力番号を16で割った値）
+     * @param address 先頭アドレス（G□のバッファメモリアドレス、ワード単位）
+     * @param writeBytes 書込みデータ（1ワードに2バイト、リトルエンディアン）
+     * @throws IllegalArgumentException ユニット番号・アドレス・点数が範囲外の場合、データのバイト数が奇数の場合
+     */
+    public BufferMemoryWriteRequest(int moduleNumber, int address, byte[] writeBytes) {
+        if (writeBytes.length % 2 != 0) {
+            throw new IllegalArgumentException("書込みデータのバイト数が奇数です: " + writeBytes.length);
+        }
+        BufferMemoryReadRequest.validate(moduleNumber, address, writeBytes.length / 2);
+        this._moduleNumber = moduleNumber;
+        this._address = address;
+        this._writeBytes = writeBytes;
+
+        this._command = CommandEnum.MODULE_BUFFER_WRITE;
+        this._subCommand = SubCommandEnum.Q_WORD;
+    }
+
+    /**
+     * ユニット番号を取得します。
+     *
+     * @return ユニット番号
+     */
+    public int getModuleNumber() {
+        return _moduleNumber;
+    }
+
+    /**
+     * 先頭アドレスを取得します。
+     *
+     * @return 先頭アドレス（ワード単位）
+     */
+    public int getAddress() {
+        return _address;
+    }
+
+    /**
+     * 書込みデータのバイト配列を取得します。
+     *
+     * @return 書込みデータ
+     */
+    public byte[] getWriteBytes() {
+        return _writeBytes;
+    }
+
+    /**
+     * 応答データを解析して書込み応答オブジェクトを生成します。
+     * 書込み要求の応答は通常、データを含まない正常終了応答です。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new NoneResponse(responseData);
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        return Converter.concatByteArrays(
+            _command.getBytes().getByteArray(),
+            _subCommand.getBytes().getByteArray(),
+            Converter.fromIntToByteArray(_address * 2, 4),
+            Converter.fromIntToByteArray(_writeBytes.length, 2),
+            Converter.fromIntToByteArray(_moduleNumber, 2),
+            _writeBytes
+        );
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+
+        // 先頭アドレス（バイト単位）
+        _address = buffer.getInt() / 2;
+
+        // バイト数
+        int byteCount = buffer.getShort() & 0xffff;
+
+        // ユニット番号
+        _moduleNumber = buffer.getShort() & 0xffff;
+
+        // データ
+        _writeBytes = new byte[byteCount];
+        buffer.get(_writeBytes);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3       4   5   6",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: 先頭アドレス: " + _address,
+            "                 4: バイト数: " + _writeBytes.length,
+            "                 5: ユニット番号: " + _moduleNumber,
+            "                 6: 書込むデータ"
+        ));
+    }
+}
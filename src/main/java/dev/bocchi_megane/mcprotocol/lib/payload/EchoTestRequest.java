@@ -44,6 +44,16 @@ public class EchoTestRequest extends AbstractRequest {
         return new EchoTestResponse(responseData);
     }
 
+    /**
+     * 折り返しテストはPLCの状態を変えないため再送できます。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
     /**
      * 要求データをバイト配列に変換します。
      *
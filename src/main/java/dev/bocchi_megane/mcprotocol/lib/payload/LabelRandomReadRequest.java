@@ -0,0 +1,182 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * ラベルランダム読出し要求クラス
+ * MELSEC iQ-Rシリーズのグローバルラベルを、ラベル名を指定して1回の要求でまとめて読み出すクラスです。
+ * 要求データは初回の変換後に保持するため、同じ要求オブジェクトを周期的に送信する場合は再変換されません。
+ */
+public class LabelRandomReadRequest extends AbstractRequest {
+    /** 1回の要求で指定できるラベル数の上限（ラベル数は2バイトで指定） */
+    public static final int MAX_LABELS = 0xFFFF;
+
+    /** 読出し対象のラベルのリスト */
+    protected List<LabelSpec> _labels;
+    /** 変換済みの要求データ（初回の変換時に保持） */
+    private byte[] _bytes;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public LabelRandomReadRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param labels 読出し対象のラベルのリスト
+     * @throws IllegalArgumentException ラベルが指定されていない場合、ラベル数が上限を超える場合
+     */
+    public LabelRandomReadRequest(List<LabelSpec> labels) {
+        validateLabelCount(labels.size());
+        this._labels = List.copyOf(labels);
+
+        this._command = CommandEnum.LABEL_RANDOM_READ;
+        this._subCommand = SubCommandEnum.Q_WORD;
+    }
+
+    /**
+     * ラベル数が1回の要求で指定できる範囲かを検証します。
+     *
+     * @param count ラベル数
+     * @throws IllegalArgumentException ラベルが指定されていない場合、ラベル数が上限を超える場合
+     */
+    static void validateLabelCount(int count) {
+        if (count < 1 || count > MAX_LABELS) {
+            throw new IllegalArgumentException("ラベル数が範囲外です（1～" + MAX_LABELS + "）: " + count);
+        }
+    }
+
+    /**
+     * 要求データのバッファからラベル指定を指定数だけ読み取ります。
+     *
+     * @param buffer 要求データのバッファ（リトルエンディアン）
+     * @param count ラベル数
+     * @return ラベル指定のリスト
+     */
+    static List<LabelSpec> parseLabels(ByteBuffer buffer, int count) {
+        List<LabelSpec> labels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            labels.add(LabelSpec.parse(buffer));
+        }
+        return labels;
+    }
+
+    /**
+     * 読出し対象のラベルのリストを取得します。
+     *
+     * @return ラベルのリスト
+     */
+    public List<LabelSpec> getLabels() {
+        return _labels;
+    }
+
+    /**
+     * 応答データを解析してラベル読出し応答オブジェクトを生成します。
+     *
+     * @param response 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] response) {
+        return new LabelReadResponse(response, _labels.size());
+    }
+
+    /**
+     * ラベルの読出しはPLCの状態を変えないため再送できます。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     * 変換結果は保持され、2回目以降は同じ配列を返します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        byte[] bytes = _bytes;
+        if (bytes == null) {
+            int length = 8;
+            for (LabelSpec label : _labels) {
+                length += label.getByteArrayLength();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(_command.getBytes().getByteArray());
+            buffer.put(_subCommand.getBytes().getByteArray());
+            buffer.putShort((short)_labels.size());
+            buffer.putShort((short)0);
+            for (LabelSpec label : _labels) {
+                buffer.put(label.toByteArray());
+            }
+            bytes = buffer.array();
+            _bytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+
+        // ラベル点数、省略指定点数（省略指定は使用しない）
+        int count = buffer.getShort() & 0xffff;
+        buffer.getShort();
+
+        // ラベル指定
+        _labels = List.copyOf(parseLabels(buffer, count));
+        _bytes = null;
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3   4   5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: ラベル点数: " + _labels.size(),
+            "                 4: 省略指定点数: 0",
+            "                 5: ラベル指定: " + _labels
+        ));
+    }
+}
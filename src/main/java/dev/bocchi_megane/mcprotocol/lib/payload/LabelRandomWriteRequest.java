@@ -0,0 +1,177 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * ラベルランダム書込み要求クラス
+ * MELSEC iQ-Rシリーズのグローバルラベルへ、ラベル名と値を指定して1回の要求でまとめて書き込むクラスです。
+ * 値はラベルのデータ型のバイト列（リトルエンディアン）で指定します。
+ */
+public class LabelRandomWriteRequest extends AbstractRequest {
+    /** 書込み対象のラベルのリスト */
+    protected List<LabelSpec> _labels;
+    /** ラベルごとの書込みデータ */
+    protected List<byte[]> _writeData;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public LabelRandomWriteRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param labels 書込み対象のラベルのリスト
+     * @param writeData ラベルごとの書込みデータ（ラベルと同じ順序、リトルエンディアン）
+     * @throws IllegalArgumentException ラベル数とデータ数が一致しない場合、ラベル数が範囲外の場合、データ長が範囲外の場合
+     */
+    public LabelRandomWriteRequest(List<LabelSpec> labels, List<byte[]> writeData) {
+        validateWriteData(labels, writeData);
+        this._labels = List.copyOf(labels);
+        this._writeData = List.copyOf(writeData);
+
+        this._command = CommandEnum.LABEL_RANDOM_WRITE;
+        this._subCommand = SubCommandEnum.Q_WORD;
+    }
+
+    /**
+     * ラベルと書込みデータの組が1回の要求で送信できるかを検証します。
+     *
+     * @param labels ラベルのリスト
+     * @param writeData ラベルごとの書込みデータ
+     * @throws IllegalArgumentException ラベル数とデータ数が一致しない場合、ラベル数が範囲外の場合、データ長が範囲外の場合
+     */
+    static void validateWriteData(List<LabelSpec> labels, List<byte[]> writeData) {
+        LabelRandomReadRequest.validateLabelCount(labels.size());
+        if (labels.size() != writeData.size()) {
+            throw new IllegalArgumentException("ラベル数と書込みデータ数が一致しません: " + labels.size() + " != " + writeData.size());
+        }
+        for (byte[] data : writeData) {
+            if (data.length < 1 || data.length > 0xFFFF) {
+                throw new IllegalArgumentException("書込みデータ長が範囲外です: " + data.length);
+            }
+        }
+    }
+
+    /**
+     * 書込み対象のラベルのリストを取得します。
+     *
+     * @return ラベルのリスト
+     */
+    public List<LabelSpec> getLabels() {
+        return _labels;
+    }
+
+    /**
+     * ラベルごとの書込みデータを取得します。
+     *
+     * @return ラベルと同じ順序の書込みデータ
+     */
+    public List<byte[]> getWriteData() {
+        return _writeData;
+    }
+
+    /**
+     * 応答データを解析して書込み応答オブジェクトを生成します。
+     * 書込み要求の応答は通常、データを含まない正常終了応答です。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new NoneResponse(responseData);
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        int length = 8;
+        for (int i = 0; i < _labels.size(); i++) {
+            length += _labels.get(i).getByteArrayLength() + 2 + _writeData.get(i).length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(_command.getBytes().getByteArray());
+        buffer.put(_subCommand.getBytes().getByteArray());
+        buffer.putShort((short)_labels.size());
+        buffer.putShort((short)0);
+        for (int i = 0; i < _labels.size(); i++) {
+            buffer.put(_labels.get(i).toByteArray());
+            buffer.putShort((short)_writeData.get(i).length);
+            buffer.put(_writeData.get(i));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+
+        // ラベル点数、省略指定点数（省略指定は使用しない）
+        int count = buffer.getShort() & 0xffff;
+        buffer.getShort();
+
+        // ラベル指定と書込みデータ
+        List<LabelSpec> labels = new ArrayList<>(count);
+        List<byte[]> writeData = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            labels.add(LabelSpec.parse(buffer));
+            data = new byte[buffer.getShort() & 0xffff];
+            buffer.get(data);
+            writeData.add(data);
+        }
+        _labels = List.copyOf(labels);
+        _writeData = List.copyOf(writeData);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3   4   5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: ラベル点数: " + _labels.size(),
+            "                 4: 省略指定点数: 0",
+            "                 5: ラベル指定と書込むデータ: " + _labels
+        ));
+    }
+}
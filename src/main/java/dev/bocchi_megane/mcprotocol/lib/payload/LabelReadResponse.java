@@ -0,0 +1,97 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+
+/**
+ * ラベル読出し応答クラス
+ * ラベルランダム読出し要求と配列型ラベル一括読出し要求に対する応答を処理するクラスです。
+ * 応答にはラベルごとに、データ型ID（1バイト）、予備または単位指定（1バイト）、データ長（2バイト）、データが並びます。
+ */
+public class LabelReadResponse extends AbstractResponse {
+    /** 受信したバイトデータ */
+    private byte[] _responseData;
+    /** ラベルごとのデータ型ID */
+    private int[] _dataTypes;
+    /** ラベルごとの読み出されたデータ（リトルエンディアン） */
+    private List<byte[]> _readData;
+
+    /**
+     * コンストラクタ
+     * 応答データを解析してラベル読出し応答オブジェクトを作成します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param labelCount 要求したラベル数
+     * @throws ResponseAbnormalException 応答のラベル数・データ長が要求と一致しない場合
+     */
+    public LabelReadResponse(byte[] responseData, int labelCount) {
+        _dataTypes = new int[labelCount];
+        parse(responseData, null);
+    }
+
+    /**
+     * 応答データを解析してメンバ変数にセットします。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応する要求オブジェクト（使用されません）
+     * @throws ResponseAbnormalException 応答のラベル数・データ長が要求と一致しない場合
+     */
+    @Override
+    protected void parse(byte[] responseData, AbstractRequest request) {
+        ByteBuffer buffer = ByteBuffer.wrap(responseData).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int count = buffer.getShort() & 0xffff;
+            if (count != _dataTypes.length) {
+                throw new ResponseAbnormalException("応答のラベル数が要求と一致しません: " + count + " != " + _dataTypes.length);
+            }
+            List<byte[]> readData = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                _dataTypes[i] = buffer.get() & 0xff;
+                buffer.get();
+                byte[] data = new byte[buffer.getShort() & 0xffff];
+                buffer.get(data);
+                readData.add(data);
+            }
+            if (buffer.hasRemaining()) {
+                throw new ResponseAbnormalException("ラベル読出しの応答データ長が不正です: " + responseData.length);
+            }
+            _readData = readData;
+        } catch (BufferUnderflowException e) {
+            throw new ResponseAbnormalException("ラベル読出しの応答データ長が不正です: " + responseData.length);
+        }
+        _responseData = responseData;
+    }
+
+    /**
+     * ラベルごとのデータ型IDを取得します。
+     *
+     * @return 要求のラベル順に並んだデータ型ID
+     */
+    public int[] getDataTypes() {
+        return _dataTypes;
+    }
+
+    /**
+     * ラベルごとの読み出されたデータを取得します。
+     *
+     * @return 要求のラベル順に並んだデータ（リトルエンディアン）
+     */
+    public List<byte[]> getReadData() {
+        return _readData;
+    }
+
+    /**
+     * 応答データをバイト配列に変換します。
+     *
+     * @return 応答データのバイト配列
+     */
+    @Override
+    public byte[] toBytes() {
+        return _responseData;
+    }
+}
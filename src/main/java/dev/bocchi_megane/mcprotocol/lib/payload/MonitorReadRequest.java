@@ -0,0 +1,116 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * モニタ要求クラス
+ * モニタ登録したデバイスの値を読み出す要求を行うクラスです。
+ * 要求にはデバイスの指定を含まないため、登録済みのデバイス数によらずフレームは一定の小さなサイズになります。
+ * 応答は要求に渡した配列へ直接展開されるため、同じ要求を繰り返し送信しても読出し結果の配列は確保されません。
+ */
+public class MonitorReadRequest extends AbstractRequest {
+    /** 対応するモニタ登録要求 */
+    protected MonitorRegisterRequest _registration;
+    /** 読出し結果の格納先（ワード、ダブルワードの順） */
+    protected int[] _buffer;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     * 登録内容を持たないため、復元した要求では応答を解析できません。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public MonitorReadRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param registration 対応するモニタ登録要求
+     * @param buffer 読出し結果の格納先（ワード点数 + ダブルワード点数 以上の長さ）
+     * @throws IllegalArgumentException 格納先の長さが足りない場合
+     */
+    public MonitorReadRequest(MonitorRegisterRequest registration, int[] buffer) {
+        int points = registration.getWordDevices().size() + registration.getDwordDevices().size();
+        if (buffer.length < points) {
+            throw new IllegalArgumentException("格納先の長さが足りません: " + buffer.length + " < " + points);
+        }
+        this._registration = registration;
+        this._buffer = buffer;
+
+        this._command = CommandEnum.MONITOR_READ;
+        this._subCommand = SubCommandEnum.Q_WORD;
+    }
+
+    /**
+     * 対応するモニタ登録要求を取得します。
+     *
+     * @return モニタ登録要求
+     */
+    public MonitorRegisterRequest getRegistration() {
+        return _registration;
+    }
+
+    /**
+     * 応答データを格納先の配列に展開してモニタ応答オブジェクトを生成します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new MonitorReadResponse(responseData, this);
+    }
+
+    /**
+     * 登録済みデバイスの読出しなので再送しても結果は変わりません。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        return Converter.concatByteArrays(
+            _command.getBytes().getByteArray(),
+            _subCommand.getBytes().getByteArray()
+        );
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+
+/**
+ * モニタ応答クラス
+ * モニタ要求に対する応答を処理するクラスです。
+ * 応答データの並びはランダム読出しと同じで、値は要求が持つ格納先の配列へ直接展開されます。
+ */
+public class MonitorReadResponse extends AbstractResponse {
+    /** 読出し結果の格納先（ワード、ダブルワードの順） */
+    private int[] _readData;
+    /** ワード点数 */
+    private int _wordPoints;
+    /** ダブルワード点数 */
+    private int _dwordPoints;
+
+    /**
+     * コンストラクタ
+     * 応答データを解析して、要求の格納先の配列に値を展開します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応するモニタ要求オブジェクト
+     */
+    public MonitorReadResponse(byte[] responseData, MonitorReadRequest request) {
+        parse(responseData, request);
+    }
+
+    /**
+     * 応答データを解析して格納先の配列にセットします。
+     * ワードの値は符号拡張して格納されます。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応する要求オブジェクト
+     * @throws ResponseAbnormalException 応答データ長が登録済みの点数と一致しない場合
+     */
+    @Override
+    protected void parse(byte[] responseData, AbstractRequest request) {
+        MonitorReadRequest monitorRequest = (MonitorReadRequest)request;
+        _wordPoints = monitorRequest._registration.getWordDevices().size();
+        _dwordPoints = monitorRequest._registration.getDwordDevices().size();
+        if (responseData.length != _wordPoints * 2 + _dwordPoints * 4) {
+            throw new ResponseAbnormalException("モニタの応答データ長が不正です: " + responseData.length);
+        }
+
+        _readData = monitorRequest._buffer;
+        ByteBuffer buffer = ByteBuffer.wrap(responseData).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < _wordPoints; i++) {
+            _readData[i] = buffer.getShort();
+        }
+        for (int i = 0; i < _dwordPoints; i++) {
+            _readData[_wordPoints + i] = buffer.getInt();
+        }
+    }
+
+    /**
+     * 読み出された値を取得します。
+     * 返される配列は要求に渡した格納先そのものです。
+     *
+     * @return ワードの値（符号拡張済み）、続いてダブルワードの値を並べた配列
+     */
+    public int[] getReadData() {
+        return _readData;
+    }
+
+    /**
+     * 読み出された値をバイト配列に変換します。
+     *
+     * @return 変換されたバイト配列
+     */
+    @Override
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(_wordPoints * 2 + _dwordPoints * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < _wordPoints; i++) {
+            buffer.putShort((short)_readData[i]);
+        }
+        for (int i = 0; i < _dwordPoints; i++) {
+            buffer.putInt(_readData[_wordPoints + i]);
+        }
+        return buffer.array();
+    }
+}
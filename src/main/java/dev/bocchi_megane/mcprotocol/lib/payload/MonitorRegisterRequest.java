@@ -0,0 +1,65 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * モニタ登録要求クラス
+ * モニタ実行時に読み出すデバイスを、ワード単位とダブルワード単位でPLCに登録するクラスです。
+ * デバイスの指定方法はランダム読出しと同じで、登録は接続ごとに1つだけ保持されます。
+ */
+public class MonitorRegisterRequest extends RandomReadRequest {
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public MonitorRegisterRequest(byte[] request) {
+        super(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param wordDevices ワード単位で登録するデバイス仕様のリスト
+     * @param dwordDevices ダブルワード単位で登録するデバイス仕様のリスト
+     * @throws IllegalArgumentException アクセス点数が0、または上限を超える場合
+     */
+    public MonitorRegisterRequest(List<DeviceSpec> wordDevices, List<DeviceSpec> dwordDevices) {
+        super(wordDevices, dwordDevices);
+        this._command = CommandEnum.MONITOR_REGISTER;
+    }
+
+    /**
+     * 応答データを解析して登録応答オブジェクトを生成します。
+     * 登録要求の応答は通常、データを含まない正常終了応答です。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new NoneResponse(responseData);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3 4 5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: ワードアクセス点数: " + _wordDevices.size(),
+            "                 4: ダブルワードアクセス点数: " + _dwordDevices.size(),
+            "                 5: 登録するデバイス: " + _wordDevices + " " + _dwordDevices
+        ));
+    }
+}
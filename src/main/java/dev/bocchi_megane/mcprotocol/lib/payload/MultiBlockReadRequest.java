@@ -0,0 +1,275 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * 複数ブロック一括読出し要求クラス
+ * 離れた位置にある複数の連続範囲（ブロック）を、1回の要求でまとめてワード単位で読み出すクラスです。
+ * ワードデバイスのブロックとビットデバイスのブロック（16点で1ワード）を混在して指定できます。
+ * ブロック数は、MELSEC-Q/Lシリーズ用の形式では {@link #MAX_BLOCKS}、iQ-Rシリーズ用の形式では {@link #MAX_BLOCKS_IQ_R} までです。
+ */
+public class MultiBlockReadRequest extends AbstractRequest {
+    /** 1回の要求で指定できるブロック数の上限（ワードブロック数 + ビットブロック数） */
+    public static final int MAX_BLOCKS = 120;
+    /** iQ-Rシリーズ用の形式で1回の要求に指定できるブロック数の上限（ワードブロック数 + ビットブロック数） */
+    public static final int MAX_BLOCKS_IQ_R = 60;
+    /** 1回の要求で指定できるワード点数の合計の上限 */
+    public static final int MAX_POINTS = 960;
+
+    /** ワードデバイスのブロックのリスト */
+    protected List<DeviceBlock> _wordBlocks;
+    /** ビットデバイスのブロックのリスト */
+    protected List<DeviceBlock> _bitBlocks;
+    /** デバイス指定形式 */
+    protected DeviceFormatEnum _deviceFormat;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public MultiBlockReadRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位）
+     * @throws IllegalArgumentException ブロック数・点数が0または上限を超える場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    public MultiBlockReadRequest(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks) {
+        this(wordBlocks, bitBlocks, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * デバイス指定形式を指定するコンストラクタ
+     * iQ-Rシリーズ用の形式を指定すると、サブコマンド0002Hと6バイトのデバイス指定で要求します。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位）
+     * @param deviceFormat デバイス指定形式
+     * @throws IllegalArgumentException ブロック数・点数が0または指定形式の上限を超える場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    public MultiBlockReadRequest(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, DeviceFormatEnum deviceFormat) {
+        validateBlocks(wordBlocks, bitBlocks, deviceFormat);
+        this._wordBlocks = List.copyOf(wordBlocks);
+        this._bitBlocks = List.copyOf(bitBlocks);
+        this._deviceFormat = deviceFormat;
+
+        this._command = CommandEnum.MULTI_BLOCK_READ;
+        this._subCommand = deviceFormat.getSubCommand(false);
+    }
+
+    /**
+     * デバイス指定形式に応じたブロック数の上限を取得します。
+     *
+     * @param deviceFormat デバイス指定形式
+     * @return 1回の要求で指定できるブロック数の上限
+     */
+    public static int getMaxBlocks(DeviceFormatEnum deviceFormat) {
+        return deviceFormat == DeviceFormatEnum.IQ_R ? MAX_BLOCKS_IQ_R : MAX_BLOCKS;
+    }
+
+    /**
+     * ブロックの指定が要求の制約を満たすか検査します。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト
+     * @param deviceFormat デバイス指定形式
+     * @throws IllegalArgumentException ブロック数・点数が0または上限を超える場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    static void validateBlocks(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, DeviceFormatEnum deviceFormat) {
+        int blocks = wordBlocks.size() + bitBlocks.size();
+        int maxBlocks = getMaxBlocks(deviceFormat);
+        if (blocks < 1 || blocks > maxBlocks) {
+            throw new IllegalArgumentException("ブロック数は1～" + maxBlocks + "で指定してください: " + blocks);
+        }
+        int points = 0;
+        for (DeviceBlock block : wordBlocks) {
+            if (block.isBitDevice()) {
+                throw new IllegalArgumentException("ワードブロックにビットデバイスが指定されています: " + block);
+            }
+            points += block.getPoints();
+        }
+        for (DeviceBlock block : bitBlocks) {
+            if (!block.isBitDevice()) {
+                throw new IllegalArgumentException("ビットブロックにビットデバイス以外が指定されています: " + block);
+            }
+            points += block.getPoints();
+        }
+        if (points > MAX_POINTS) {
+            throw new IllegalArgumentException("合計点数は" + MAX_POINTS + "点以下で指定してください: " + points);
+        }
+    }
+
+    /**
+     * ワードデバイスのブロックのリストを取得します。
+     *
+     * @return ワードブロックのリスト
+     */
+    public List<DeviceBlock> getWordBlocks() {
+        return _wordBlocks;
+    }
+
+    /**
+     * ビットデバイスのブロックのリストを取得します。
+     *
+     * @return ビットブロックのリスト
+     */
+    public List<DeviceBlock> getBitBlocks() {
+        return _bitBlocks;
+    }
+
+    /**
+     * デバイス指定形式を取得します。
+     *
+     * @return デバイス指定形式
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
+    /**
+     * 全ブロックの合計ワード点数を取得します。
+     *
+     * @return 合計ワード点数
+     */
+    public int getTotalPoints() {
+        int points = 0;
+        for (DeviceBlock block : _wordBlocks) {
+            points += block.getPoints();
+        }
+        for (DeviceBlock block : _bitBlocks) {
+            points += block.getPoints();
+        }
+        return points;
+    }
+
+    /**
+     * 応答データを解析して複数ブロック一括読出し応答オブジェクトを生成します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new MultiBlockReadResponse(responseData, this);
+    }
+
+    /**
+     * 読出し要求なので再送しても結果は変わりません。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        int blockLength = DeviceSpec.getByteArrayLength(_deviceFormat) + 2;
+        ByteBuffer buffer = ByteBuffer.allocate(6 + (_wordBlocks.size() + _bitBlocks.size()) * blockLength)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(_command.getBytes().getByteArray());
+        buffer.put(_subCommand.getBytes().getByteArray());
+        buffer.put((byte)_wordBlocks.size());
+        buffer.put((byte)_bitBlocks.size());
+        for (DeviceBlock block : _wordBlocks) {
+            buffer.put(block.getDeviceSpec().toByteArray(_deviceFormat));
+            buffer.putShort((short)block.getPoints());
+        }
+        for (DeviceBlock block : _bitBlocks) {
+            buffer.put(block.getDeviceSpec().toByteArray(_deviceFormat));
+            buffer.putShort((short)block.getPoints());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+        _deviceFormat = DeviceFormatEnum.build(_subCommand);
+
+        // ブロック数
+        int wordBlocks = buffer.get() & 0xff;
+        int bitBlocks = buffer.get() & 0xff;
+
+        // ブロック指定
+        _wordBlocks = parseBlocks(buffer, wordBlocks, _deviceFormat);
+        _bitBlocks = parseBlocks(buffer, bitBlocks, _deviceFormat);
+    }
+
+    /**
+     * バッファから指定個数のブロック指定を読み出します。
+     *
+     * @param buffer 要求データのバッファ
+     * @param count ブロックの個数
+     * @param format デバイス指定形式
+     * @return ブロックのリスト
+     */
+    static List<DeviceBlock> parseBlocks(ByteBuffer buffer, int count, DeviceFormatEnum format) {
+        List<DeviceBlock> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] data = new byte[DeviceSpec.getByteArrayLength(format)];
+            buffer.get(data);
+            blocks.add(new DeviceBlock(new DeviceSpec(data, format), buffer.getShort() & 0xffff));
+        }
+        return List.copyOf(blocks);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3 4 5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: ワードデバイスブロック数: " + _wordBlocks.size(),
+            "                 4: ビットデバイスブロック数: " + _bitBlocks.size(),
+            "                 5: ブロック指定: " + _wordBlocks + " " + _bitBlocks
+        ));
+    }
+}
@@ -0,0 +1,108 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * 複数ブロック一括読出し応答クラス
+ * 複数ブロック一括読出し要求に対する応答を処理するクラスです。
+ * 全ブロックの値を1つのshort配列に保持し、各ブロックはその配列の一部を参照するビューとして取り出します。
+ */
+public class MultiBlockReadResponse extends AbstractResponse {
+    /** 全ブロックの値（ワードブロック、ビットブロックの順に連結） */
+    private short[] _readData;
+    /** 各ブロックの先頭位置（末尾に全体の長さを持つ） */
+    private int[] _offsets;
+
+    /**
+     * コンストラクタ
+     * 応答データを解析して複数ブロック一括読出し応答オブジェクトを作成します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応する複数ブロック一括読出し要求オブジェクト
+     */
+    public MultiBlockReadResponse(byte[] responseData, MultiBlockReadRequest request) {
+        parse(responseData, request);
+    }
+
+    /**
+     * 応答データを解析してメンバ変数にセットします。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応する要求オブジェクト
+     * @throws ResponseAbnormalException 応答データ長が要求の合計点数と一致しない場合
+     */
+    @Override
+    protected void parse(byte[] responseData, AbstractRequest request) {
+        MultiBlockReadRequest multiBlockRequest = (MultiBlockReadRequest)request;
+        if (responseData.length != multiBlockRequest.getTotalPoints() * 2) {
+            throw new ResponseAbnormalException("複数ブロック一括読出しの応答データ長が不正です: " + responseData.length);
+        }
+        _readData = Converter.fromBytesToShortArray(responseData);
+
+        List<DeviceBlock> blocks = new ArrayList<>(multiBlockRequest.getWordBlocks());
+        blocks.addAll(multiBlockRequest.getBitBlocks());
+        _offsets = new int[blocks.size() + 1];
+        for (int i = 0; i < blocks.size(); i++) {
+            _offsets[i + 1] = _offsets[i] + blocks.get(i).getPoints();
+        }
+    }
+
+    /**
+     * 全ブロックの値を連結した配列を取得します。
+     * ワードブロック、ビットブロックの順に、要求で指定した順序で並びます。
+     *
+     * @return 全ブロックの値
+     */
+    public short[] getReadData() {
+        return _readData;
+    }
+
+    /**
+     * ブロック数を取得します。
+     *
+     * @return ワードブロック数 + ビットブロック数
+     */
+    public int getBlockCount() {
+        return _offsets.length - 1;
+    }
+
+    /**
+     * 指定したブロックの値を取得します。
+     * 返されるバッファは {@link #getReadData()} の配列を共有するビューで、位置0がブロックの先頭です。
+     *
+     * @param index ブロックの番号（ワードブロック、ビットブロックの順）
+     * @return ブロックの値のビュー
+     */
+    public ShortBuffer getBlock(int index) {
+        return ShortBuffer.wrap(_readData, _offsets[index], _offsets[index + 1] - _offsets[index]).slice();
+    }
+
+    /**
+     * 全ブロックの値を、ブロックごとのビューのリストとして取得します。
+     *
+     * @return ブロックの値のビューのリスト（ワードブロック、ビットブロックの順）
+     */
+    public List<ShortBuffer> getBlocks() {
+        List<ShortBuffer> blocks = new ArrayList<>(getBlockCount());
+        for (int i = 0; i < getBlockCount(); i++) {
+            blocks.add(getBlock(i));
+        }
+        return blocks;
+    }
+
+    /**
+     * 全ブロックの値をバイト配列に変換します。
+     *
+     * @return 変換されたバイト配列
+     */
+    @Override
+    public byte[] toBytes() {
+        return Converter.fromShortArrayToBytes(_readData);
+    }
+}
@@ -0,0 +1,329 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * 複数ブロック一括書込み要求クラス
+ * 離れた位置にある複数の連続範囲（ブロック）へ、1回の要求でまとめてワード単位で書き込むクラスです。
+ * ビットデバイスのブロックは16点を1ワードに詰めた値で書き込みます。
+ * 書込みデータは全ブロック分を、ワードブロック、ビットブロックの順に連結した1つの配列で指定します。
+ * iQ-Rシリーズ用の形式では、ブロック数の上限は {@link MultiBlockReadRequest#MAX_BLOCKS_IQ_R} です。
+ */
+public class MultiBlockWriteRequest extends AbstractRequest {
+    /** 1回の要求で指定できるブロック数の上限（ワードブロック数 + ビットブロック数） */
+    public static final int MAX_BLOCKS = 120;
+    /** 1回の要求の点数の上限（ブロック数 × 4 + 合計ワード点数 の値） */
+    public static final int MAX_WEIGHT = 960;
+    /** 1ブロックあたりに加算される点数 */
+    private static final int BLOCK_WEIGHT = 4;
+
+    /** ワードデバイスのブロックのリスト */
+    protected List<DeviceBlock> _wordBlocks;
+    /** ビットデバイスのブロックのリスト */
+    protected List<DeviceBlock> _bitBlocks;
+    /** 全ブロックの書込みデータ（ワードブロック、ビットブロックの順に連結） */
+    protected short[] _writeData;
+    /** デバイス指定形式 */
+    protected DeviceFormatEnum _deviceFormat;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public MultiBlockWriteRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位）
+     * @param writeData 全ブロックの書込みデータ（ワードブロック、ビットブロックの順に連結）
+     * @throws IllegalArgumentException データ長がブロックの合計点数と一致しない場合、ブロック数・点数が上限を超える場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    public MultiBlockWriteRequest(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, short[] writeData) {
+        this(wordBlocks, bitBlocks, writeData, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * デバイス指定形式を指定するコンストラクタ
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位）
+     * @param writeData 全ブロックの書込みデータ（ワードブロック、ビットブロックの順に連結）
+     * @param deviceFormat デバイス指定形式
+     * @throws IllegalArgumentException データ長がブロックの合計点数と一致しない場合、ブロック数・点数が指定形式の上限を超える場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    public MultiBlockWriteRequest(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, short[] writeData,
+                                  DeviceFormatEnum deviceFormat) {
+        MultiBlockReadRequest.validateBlocks(wordBlocks, bitBlocks, deviceFormat);
+        int points = totalPoints(wordBlocks) + totalPoints(bitBlocks);
+        if (writeData.length != points) {
+            throw new IllegalArgumentException("書込みデータ数がブロックの合計点数と一致しません: " + writeData.length + " != " + points);
+        }
+        int weight = (wordBlocks.size() + bitBlocks.size()) * BLOCK_WEIGHT + points;
+        if (weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("書込み点数が範囲外です（ブロック数×4＋合計点数 ≦ " + MAX_WEIGHT + "）: " + weight);
+        }
+        this._wordBlocks = List.copyOf(wordBlocks);
+        this._bitBlocks = List.copyOf(bitBlocks);
+        this._writeData = writeData;
+        this._deviceFormat = deviceFormat;
+
+        this._command = CommandEnum.MULTI_BLOCK_WRITE;
+        this._subCommand = deviceFormat.getSubCommand(false);
+    }
+
+    /**
+     * 1回の要求に収まらないブロック指定を、制約を満たす複数の要求に分割します。
+     * ブロックは指定順に詰め込まれ、要求の残りに収まらないブロックは途中で分割されます。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位）
+     * @param writeData 全ブロックの書込みデータ（ワードブロック、ビットブロックの順に連結）
+     * @return 書込み要求のリスト（ブロックの指定順）
+     * @throws IllegalArgumentException データ長がブロックの合計点数と一致しない場合、ブロックが指定されていない場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     */
+    public static List<MultiBlockWriteRequest> split(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, short[] writeData) {
+        return split(wordBlocks, bitBlocks, writeData, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * 1回の要求に収まらないブロック指定を、指定形式の制約を満たす複数の要求に分割します。
+     *
+     * @param wordBlocks ワードデバイスのブロックのリスト
+     * @param bitBlocks ビットデバイスのブロックのリスト（点数はワード単位）
+     * @param writeData 全ブロックの書込みデータ（ワードブロック、ビットブロックの順に連結）
+     * @param deviceFormat デバイス指定形式
+     * @return 書込み要求のリスト（ブロックの指定順）
+     * @throws IllegalArgumentException データ長がブロックの合計点数と一致しない場合、ブロックが指定されていない場合、
+     *                                  ブロックのデバイス種別が不正な場合
+     * @see #split(List, List, short[])
+     */
+    public static List<MultiBlockWriteRequest> split(List<DeviceBlock> wordBlocks, List<DeviceBlock> bitBlocks, short[] writeData,
+                                                     DeviceFormatEnum deviceFormat) {
+        int points = totalPoints(wordBlocks) + totalPoints(bitBlocks);
+        if (writeData.length != points) {
+            throw new IllegalArgumentException("書込みデータ数がブロックの合計点数と一致しません: " + writeData.length + " != " + points);
+        }
+        if (wordBlocks.isEmpty() && bitBlocks.isEmpty()) {
+            throw new IllegalArgumentException("ブロックが指定されていません");
+        }
+
+        int maxBlocks = MultiBlockReadRequest.getMaxBlocks(deviceFormat);
+        List<MultiBlockWriteRequest> requests = new ArrayList<>();
+        List<DeviceBlock> frameWords = new ArrayList<>();
+        List<DeviceBlock> frameBits = new ArrayList<>();
+        int frameStart = 0;
+        int frameWeight = 0;
+        int index = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            boolean isBit = pass == 1;
+            for (DeviceBlock block : isBit ? bitBlocks : wordBlocks) {
+                int done = 0;
+                while (done < block.getPoints()) {
+                    int room = MAX_WEIGHT - frameWeight - BLOCK_WEIGHT;
+                    if (room < 1 || frameWords.size() + frameBits.size() == maxBlocks) {
+                        requests.add(new MultiBlockWriteRequest(frameWords, frameBits,
+                            Arrays.copyOfRange(writeData, frameStart, index), deviceFormat));
+                        frameWords.clear();
+                        frameBits.clear();
+                        frameStart = index;
+                        frameWeight = 0;
+                        continue;
+                    }
+                    int take = Math.min(room, block.getPoints() - done);
+                    DeviceSpec head = block.getDeviceSpec();
+                    DeviceSpec start = new DeviceSpec(head.getDeviceCode(), head.getDeviceNumber() + done * (isBit ? 16 : 1));
+                    (isBit ? frameBits : frameWords).add(new DeviceBlock(start, take));
+                    frameWeight += BLOCK_WEIGHT + take;
+                    done += take;
+                    index += take;
+                }
+            }
+        }
+        requests.add(new MultiBlockWriteRequest(frameWords, frameBits, Arrays.copyOfRange(writeData, frameStart, index), deviceFormat));
+        return requests;
+    }
+
+    /**
+     * ブロックの合計ワード点数を計算します。
+     *
+     * @param blocks ブロックのリスト
+     * @return 合計ワード点数
+     */
+    private static int totalPoints(List<DeviceBlock> blocks) {
+        int points = 0;
+        for (DeviceBlock block : blocks) {
+            points += block.getPoints();
+        }
+        return points;
+    }
+
+    /**
+     * ワードデバイスのブロックのリストを取得します。
+     *
+     * @return ワードブロックのリスト
+     */
+    public List<DeviceBlock> getWordBlocks() {
+        return _wordBlocks;
+    }
+
+    /**
+     * ビットデバイスのブロックのリストを取得します。
+     *
+     * @return ビットブロックのリスト
+     */
+    public List<DeviceBlock> getBitBlocks() {
+        return _bitBlocks;
+    }
+
+    /**
+     * デバイス指定形式を取得します。
+     *
+     * @return デバイス指定形式
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
+    /**
+     * 全ブロックの書込みデータを取得します。
+     *
+     * @return ワードブロック、ビットブロックの順に連結した書込みデータ
+     */
+    public short[] getWriteData() {
+        return _writeData;
+    }
+
+    /**
+     * 応答データを解析して書込み応答オブジェクトを生成します。
+     * 書込み要求の応答は通常、データを含まない正常終了応答です。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new NoneResponse(responseData);
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        int blockLength = DeviceSpec.getByteArrayLength(_deviceFormat) + 2;
+        ByteBuffer buffer = ByteBuffer.allocate(
+            6 + (_wordBlocks.size() + _bitBlocks.size()) * blockLength + _writeData.length * 2
+        ).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(_command.getBytes().getByteArray());
+        buffer.put(_subCommand.getBytes().getByteArray());
+        buffer.put((byte)_wordBlocks.size());
+        buffer.put((byte)_bitBlocks.size());
+        int index = 0;
+        for (DeviceBlock block : _wordBlocks) {
+            index = putBlock(buffer, block, index);
+        }
+        for (DeviceBlock block : _bitBlocks) {
+            index = putBlock(buffer, block, index);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * ブロック指定と書込みデータをバッファに書き込みます。
+     *
+     * @param buffer 書込み先のバッファ
+     * @param block ブロック
+     * @param index 書込みデータ中のブロックの先頭位置
+     * @return 次のブロックの先頭位置
+     */
+    private int putBlock(ByteBuffer buffer, DeviceBlock block, int index) {
+        buffer.put(block.getDeviceSpec().toByteArray(_deviceFormat));
+        buffer.putShort((short)block.getPoints());
+        for (int i = 0; i < block.getPoints(); i++) {
+            buffer.putShort(_writeData[index++]);
+        }
+        return index;
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+        _deviceFormat = DeviceFormatEnum.build(_subCommand);
+
+        // ブロック数
+        int wordBlockCount = buffer.get() & 0xff;
+        int bitBlockCount = buffer.get() & 0xff;
+
+        // ブロック指定と書込みデータ
+        short[] values = new short[buffer.remaining() / 2];
+        int index = 0;
+        List<DeviceBlock> wordBlocks = new ArrayList<>(wordBlockCount);
+        List<DeviceBlock> bitBlocks = new ArrayList<>(bitBlockCount);
+        for (int i = 0; i < wordBlockCount + bitBlockCount; i++) {
+            DeviceBlock block = MultiBlockReadRequest.parseBlocks(buffer, 1, _deviceFormat).get(0);
+            for (int j = 0; j < block.getPoints(); j++) {
+                values[index++] = buffer.getShort();
+            }
+            (i < wordBlockCount ? wordBlocks : bitBlocks).add(block);
+        }
+        _wordBlocks = List.copyOf(wordBlocks);
+        _bitBlocks = List.copyOf(bitBlocks);
+        _writeData = Arrays.copyOf(values, index);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3 4 5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: ワードデバイスブロック数: " + _wordBlocks.size(),
+            "                 4: ビットデバイスブロック数: " + _bitBlocks.size(),
+            "                 5: ブロック指定と書込むデータ: " + _wordBlocks + " " + _bitBlocks
+        ));
+    }
+}
@@ -33,6 +33,16 @@ public class PlcTypeNameRequest extends AbstractRequest {
         return new PlcTypeNameResponse(response, this);
     }
 
+    /**
+     * 形名読出しはPLCの状態を変えないため再送できます。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
     /**
      * 要求データをバイト配列に変換します。
      *
@@ -0,0 +1,224 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * ランダム読出し要求クラス
+ * 連続していない複数のデバイスを、ワード単位とダブルワード単位で1回の要求にまとめて読み出すクラスです。
+ * ワードアクセス点数とダブルワードアクセス点数の合計は、MELSEC-Q/Lシリーズ用の形式では {@link #MAX_POINTS} 点、
+ * iQ-Rシリーズ用の形式では {@link #MAX_POINTS_IQ_R} 点までです。
+ */
+public class RandomReadRequest extends AbstractRequest {
+    /** 1回の要求で指定できるアクセス点数の上限（ワード点数 + ダブルワード点数） */
+    public static final int MAX_POINTS = 192;
+    /** iQ-Rシリーズ用の形式で1回の要求に指定できるアクセス点数の上限（ワード点数 + ダブルワード点数） */
+    public static final int MAX_POINTS_IQ_R = 96;
+
+    /** ワード単位で読み出すデバイス仕様のリスト */
+    protected List<DeviceSpec> _wordDevices;
+    /** ダブルワード単位で読み出すデバイス仕様のリスト */
+    protected List<DeviceSpec> _dwordDevices;
+    /** デバイス指定形式 */
+    protected DeviceFormatEnum _deviceFormat;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public RandomReadRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * パラメータ指定コンストラクタ
+     *
+     * @param wordDevices ワード単位で読み出すデバイス仕様のリスト
+     * @param dwordDevices ダブルワード単位で読み出すデバイス仕様のリスト
+     * @throws IllegalArgumentException アクセス点数が0、または上限を超える場合
+     */
+    public RandomReadRequest(List<DeviceSpec> wordDevices, List<DeviceSpec> dwordDevices) {
+        this(wordDevices, dwordDevices, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * デバイス指定形式を指定するコンストラクタ
+     * iQ-Rシリーズ用の形式を指定すると、サブコマンド0002Hと6バイトのデバイス指定で要求します。
+     *
+     * @param wordDevices ワード単位で読み出すデバイス仕様のリスト
+     * @param dwordDevices ダブルワード単位で読み出すデバイス仕様のリスト
+     * @param deviceFormat デバイス指定形式
+     * @throws IllegalArgumentException アクセス点数が0、または指定形式の上限を超える場合
+     */
+    public RandomReadRequest(List<DeviceSpec> wordDevices, List<DeviceSpec> dwordDevices, DeviceFormatEnum deviceFormat) {
+        int points = wordDevices.size() + dwordDevices.size();
+        int maxPoints = getMaxPoints(deviceFormat);
+        if (points < 1 || points > maxPoints) {
+            throw new IllegalArgumentException("アクセス点数は1～" + maxPoints + "点で指定してください: " + points);
+        }
+        this._wordDevices = List.copyOf(wordDevices);
+        this._dwordDevices = List.copyOf(dwordDevices);
+        this._deviceFormat = deviceFormat;
+
+        this._command = CommandEnum.RANDOM_READ;
+        this._subCommand = deviceFormat.getSubCommand(false);
+    }
+
+    /**
+     * デバイス指定形式に応じたアクセス点数の上限を取得します。
+     *
+     * @param deviceFormat デバイス指定形式
+     * @return 1回の要求で指定できるアクセス点数の上限
+     */
+    public static int getMaxPoints(DeviceFormatEnum deviceFormat) {
+        return deviceFormat == DeviceFormatEnum.IQ_R ? MAX_POINTS_IQ_R : MAX_POINTS;
+    }
+
+    /**
+     * ワード単位で読み出すデバイス仕様のリストを取得します。
+     *
+     * @return ワードアクセスのデバイス仕様リスト
+     */
+    public List<DeviceSpec> getWordDevices() {
+        return _wordDevices;
+    }
+
+    /**
+     * ダブルワード単位で読み出すデバイス仕様のリストを取得します。
+     *
+     * @return ダブルワードアクセスのデバイス仕様リスト
+     */
+    public List<DeviceSpec> getDwordDevices() {
+        return _dwordDevices;
+    }
+
+    /**
+     * デバイス指定形式を取得します。
+     *
+     * @return デバイス指定形式
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
+    /**
+     * 応答データを解析してランダム読出し応答オブジェクトを生成します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new RandomReadResponse(responseData, this);
+    }
+
+    /**
+     * 読出し要求なので再送しても結果は変わりません。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        int deviceLength = DeviceSpec.getByteArrayLength(_deviceFormat);
+        ByteBuffer buffer = ByteBuffer.allocate(
+            6 + (_wordDevices.size() + _dwordDevices.size()) * deviceLength
+        );
+        buffer.put(_command.getBytes().getByteArray());
+        buffer.put(_subCommand.getBytes().getByteArray());
+        buffer.put((byte)_wordDevices.size());
+        buffer.put((byte)_dwordDevices.size());
+        for (DeviceSpec deviceSpec : _wordDevices) {
+            buffer.put(deviceSpec.toByteArray(_deviceFormat));
+        }
+        for (DeviceSpec deviceSpec : _dwordDevices) {
+            buffer.put(deviceSpec.toByteArray(_deviceFormat));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+        _deviceFormat = DeviceFormatEnum.build(_subCommand);
+
+        // アクセス点数
+        int wordPoints = buffer.get() & 0xff;
+        int dwordPoints = buffer.get() & 0xff;
+
+        // デバイス指定
+        _wordDevices = parseDevices(buffer, wordPoints, _deviceFormat);
+        _dwordDevices = parseDevices(buffer, dwordPoints, _deviceFormat);
+    }
+
+    /**
+     * バッファから指定個数のデバイス指定を読み出します。
+     *
+     * @param buffer 要求データのバッファ
+     * @param count デバイス指定の個数
+     * @param format デバイス指定形式
+     * @return デバイス仕様のリスト
+     */
+    private static List<DeviceSpec> parseDevices(ByteBuffer buffer, int count, DeviceFormatEnum format) {
+        List<DeviceSpec> devices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] data = new byte[DeviceSpec.getByteArrayLength(format)];
+            buffer.get(data);
+            devices.add(new DeviceSpec(data, format));
+        }
+        return List.copyOf(devices);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3 4 5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: ワードアクセス点数: " + _wordDevices.size(),
+            "                 4: ダブルワードアクセス点数: " + _dwordDevices.size(),
+            "                 5: デバイス指定: " + _wordDevices + " " + _dwordDevices
+        ));
+    }
+}
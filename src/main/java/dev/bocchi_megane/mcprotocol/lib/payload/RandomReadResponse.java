@@ -0,0 +1,107 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+
+/**
+ * ランダム読出し応答クラス
+ * ランダム読出し要求に対する応答を処理するクラスです。
+ * 応答にはワードアクセス分の値（各2バイト）に続いて、ダブルワードアクセス分の値（各4バイト）が並びます。
+ */
+public class RandomReadResponse extends AbstractResponse {
+    /** ワードアクセスで読み出された値 */
+    private short[] _wordData;
+    /** ダブルワードアクセスで読み出された値 */
+    private int[] _dwordData;
+
+    /**
+     * コンストラクタ
+     * 応答データを解析してランダム読出し応答オブジェクトを作成します。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応するランダム読出し要求オブジェクト
+     */
+    public RandomReadResponse(byte[] responseData, RandomReadRequest request) {
+        parse(responseData, request);
+    }
+
+    /**
+     * 応答データを解析してメンバ変数にセットします。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @param request 対応する要求オブジェクト
+     * @throws ResponseAbnormalException 応答データ長が要求のアクセス点数と一致しない場合
+     */
+    @Override
+    protected void parse(byte[] responseData, AbstractRequest request) {
+        RandomReadRequest randomReadRequest = (RandomReadRequest)request;
+        int wordPoints = randomReadRequest.getWordDevices().size();
+        int dwordPoints = randomReadRequest.getDwordDevices().size();
+        if (responseData.length != wordPoints * 2 + dwordPoints * 4) {
+            throw new ResponseAbnormalException("ランダム読出しの応答データ長が不正です: " + responseData.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(responseData).order(ByteOrder.LITTLE_ENDIAN);
+        _wordData = new short[wordPoints];
+        for (int i = 0; i < wordPoints; i++) {
+            _wordData[i] = buffer.getShort();
+        }
+        _dwordData = new int[dwordPoints];
+        for (int i = 0; i < dwordPoints; i++) {
+            _dwordData[i] = buffer.getInt();
+        }
+    }
+
+    /**
+     * ワードアクセスで読み出された値を取得します。
+     *
+     * @return 要求のワードデバイス順に並んだ値
+     */
+    public short[] getWordData() {
+        return _wordData;
+    }
+
+    /**
+     * ダブルワードアクセスで読み出された値を取得します。
+     *
+     * @return 要求のダブルワードデバイス順に並んだ値
+     */
+    public int[] getDwordData() {
+        return _dwordData;
+    }
+
+    /**
+     * 読み出された値を1つの配列にまとめて取得します。
+     * 先頭にワードアクセスの値（符号拡張済み）、続いてダブルワードアクセスの値が並びます。
+     *
+     * @return ワード点数 + ダブルワード点数の長さの配列
+     */
+    public int[] getReadData() {
+        int[] result = new int[_wordData.length + _dwordData.length];
+        for (int i = 0; i < _wordData.length; i++) {
+            result[i] = _wordData[i];
+        }
+        System.arraycopy(_dwordData, 0, result, _wordData.length, _dwordData.length);
+        return result;
+    }
+
+    /**
+     * 読み出された値をバイト配列に変換します。
+     *
+     * @return 変換されたバイト配列
+     */
+    @Override
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(_wordData.length * 2 + _dwordData.length * 4)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        for (short value : _wordData) {
+            buffer.putShort(value);
+        }
+        for (int value : _dwordData) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,371 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * ランダム書込み要求クラス
+ * 連続していない複数のデバイスへ、1回の要求でまとめて値を書き込むクラスです。
+ * ワード単位（ワード点とダブルワード点を混在可）とビット単位（デバイスごとにON/OFF）のどちらかを指定します。
+ * iQ-Rシリーズ用の形式では、指定できる点数の上限が半分になります。
+ */
+public class RandomWriteRequest extends AbstractRequest {
+    /** ワード単位書込みで指定できる点数の上限（ワード点数 × 12 + ダブルワード点数 × 14 の値） */
+    public static final int MAX_WORD_WEIGHT = 1920;
+    /** ビット単位書込みで指定できる点数の上限 */
+    public static final int MAX_BIT_POINTS = 188;
+    /** iQ-Rシリーズ用の形式のワード単位書込みで指定できる点数の上限（ワード点数 × 12 + ダブルワード点数 × 14 の値） */
+    public static final int MAX_WORD_WEIGHT_IQ_R = 960;
+    /** iQ-Rシリーズ用の形式のビット単位書込みで指定できる点数の上限 */
+    public static final int MAX_BIT_POINTS_IQ_R = 94;
+
+    /** ビットのON値 */
+    private static final byte BIT_ON = 0x01;
+    /** ビットのOFF値 */
+    private static final byte BIT_OFF = 0x00;
+
+    /** ワード単位で書き込むデバイス仕様のリスト */
+    protected List<DeviceSpec> _wordDevices = List.of();
+    /** ワード単位で書き込む値 */
+    protected short[] _wordValues = new short[0];
+    /** ダブルワード単位で書き込むデバイス仕様のリスト */
+    protected List<DeviceSpec> _dwordDevices = List.of();
+    /** ダブルワード単位で書き込む値 */
+    protected int[] _dwordValues = new int[0];
+    /** ビット単位で書き込むデバイス仕様のリスト */
+    protected List<DeviceSpec> _bitDevices = List.of();
+    /** ビット単位で書き込む値 */
+    protected boolean[] _bitValues = new boolean[0];
+    /** ビット単位書込みかどうかのフラグ */
+    protected boolean _isBitDevice;
+    /** デバイス指定形式 */
+    protected DeviceFormatEnum _deviceFormat = DeviceFormatEnum.Q;
+
+    /**
+     * バイト配列から要求オブジェクトを復元するコンストラクタ
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    public RandomWriteRequest(byte[] request) {
+        this.parse(request);
+    }
+
+    /**
+     * ワード単位のランダム書込み要求を作成するコンストラクタ
+     *
+     * @param wordDevices ワード単位で書き込むデバイス仕様のリスト
+     * @param wordValues ワード単位で書き込む値（wordDevices と同じ順序）
+     * @param dwordDevices ダブルワード単位で書き込むデバイス仕様のリスト
+     * @param dwordValues ダブルワード単位で書き込む値（dwordDevices と同じ順序）
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または上限を超える場合
+     */
+    public RandomWriteRequest(List<DeviceSpec> wordDevices, short[] wordValues,
+                              List<DeviceSpec> dwordDevices, int[] dwordValues) {
+        this(wordDevices, wordValues, dwordDevices, dwordValues, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * デバイス指定形式を指定して、ワード単位のランダム書込み要求を作成するコンストラクタ
+     *
+     * @param wordDevices ワード単位で書き込むデバイス仕様のリスト
+     * @param wordValues ワード単位で書き込む値（wordDevices と同じ順序）
+     * @param dwordDevices ダブルワード単位で書き込むデバイス仕様のリスト
+     * @param dwordValues ダブルワード単位で書き込む値（dwordDevices と同じ順序）
+     * @param deviceFormat デバイス指定形式
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または指定形式の上限を超える場合
+     */
+    public RandomWriteRequest(List<DeviceSpec> wordDevices, short[] wordValues,
+                              List<DeviceSpec> dwordDevices, int[] dwordValues, DeviceFormatEnum deviceFormat) {
+        if (wordDevices.size() != wordValues.length || dwordDevices.size() != dwordValues.length) {
+            throw new IllegalArgumentException("デバイス数と書込む値の数が一致しません");
+        }
+        int weight = wordDevices.size() * 12 + dwordDevices.size() * 14;
+        int maxWeight = deviceFormat == DeviceFormatEnum.IQ_R ? MAX_WORD_WEIGHT_IQ_R : MAX_WORD_WEIGHT;
+        if (weight == 0 || weight > maxWeight) {
+            throw new IllegalArgumentException("書込み点数が範囲外です（ワード点数×12＋ダブルワード点数×14 ≦ "
+                + maxWeight + "）: " + weight);
+        }
+        this._wordDevices = List.copyOf(wordDevices);
+        this._wordValues = wordValues.clone();
+        this._dwordDevices = List.copyOf(dwordDevices);
+        this._dwordValues = dwordValues.clone();
+        this._isBitDevice = false;
+        this._deviceFormat = deviceFormat;
+
+        this._command = CommandEnum.RANDOM_WRITE;
+        this._subCommand = deviceFormat.getSubCommand(false);
+    }
+
+    /**
+     * ビット単位のランダム書込み要求を作成するコンストラクタ
+     *
+     * @param bitDevices 書き込むビットデバイス仕様のリスト
+     * @param bitValues 書き込む値（trueでON、bitDevices と同じ順序）
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または上限を超える場合、
+     *                                  ビットデバイス以外が指定された場合
+     */
+    public RandomWriteRequest(List<DeviceSpec> bitDevices, boolean[] bitValues) {
+        this(bitDevices, bitValues, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * デバイス指定形式を指定して、ビット単位のランダム書込み要求を作成するコンストラクタ
+     *
+     * @param bitDevices 書き込むビットデバイス仕様のリスト
+     * @param bitValues 書き込む値（trueでON、bitDevices と同じ順序）
+     * @param deviceFormat デバイス指定形式
+     * @throws IllegalArgumentException デバイス数と値の数が一致しない場合、点数が0または指定形式の上限を超える場合、
+     *                                  ビットデバイス以外が指定された場合
+     */
+    public RandomWriteRequest(List<DeviceSpec> bitDevices, boolean[] bitValues, DeviceFormatEnum deviceFormat) {
+        if (bitDevices.size() != bitValues.length) {
+            throw new IllegalArgumentException("デバイス数と書込む値の数が一致しません");
+        }
+        int maxPoints = deviceFormat == DeviceFormatEnum.IQ_R ? MAX_BIT_POINTS_IQ_R : MAX_BIT_POINTS;
+        if (bitDevices.isEmpty() || bitDevices.size() > maxPoints) {
+            throw new IllegalArgumentException("ビットアクセス点数は1～" + maxPoints + "点で指定してください: " + bitDevices.size());
+        }
+        for (DeviceSpec deviceSpec : bitDevices) {
+            if (deviceSpec.getDeviceCode().getDataType() != DataTypeEnum.BIT) {
+                throw new IllegalArgumentException("ビットデバイス以外は対応していません: " + deviceSpec);
+            }
+        }
+        this._bitDevices = List.copyOf(bitDevices);
+        this._bitValues = bitValues.clone();
+        this._isBitDevice = true;
+        this._deviceFormat = deviceFormat;
+
+        this._command = CommandEnum.RANDOM_WRITE;
+        this._subCommand = deviceFormat.getSubCommand(true);
+    }
+
+    /**
+     * ビット単位書込みかどうかを確認します。
+     *
+     * @return ビット単位の場合はtrue、ワード単位の場合はfalse
+     */
+    public boolean isBitDevice() {
+        return _isBitDevice;
+    }
+
+    /**
+     * デバイス指定形式を取得します。
+     *
+     * @return デバイス指定形式
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
+    /**
+     * ワード単位で書き込むデバイス仕様のリストを取得します。
+     *
+     * @return ワードアクセスのデバイス仕様リスト
+     */
+    public List<DeviceSpec> getWordDevices() {
+        return _wordDevices;
+    }
+
+    /**
+     * ワード単位で書き込む値を取得します。
+     *
+     * @return ワードアクセスの値
+     */
+    public short[] getWordValues() {
+        return _wordValues;
+    }
+
+    /**
+     * ダブルワード単位で書き込むデバイス仕様のリストを取得します。
+     *
+     * @return ダブルワードアクセスのデバイス仕様リスト
+     */
+    public List<DeviceSpec> getDwordDevices() {
+        return _dwordDevices;
+    }
+
+    /**
+     * ダブルワード単位で書き込む値を取得します。
+     *
+     * @return ダブルワードアクセスの値
+     */
+    public int[] getDwordValues() {
+        return _dwordValues;
+    }
+
+    /**
+     * ビット単位で書き込むデバイス仕様のリストを取得します。
+     *
+     * @return ビットアクセスのデバイス仕様リスト
+     */
+    public List<DeviceSpec> getBitDevices() {
+        return _bitDevices;
+    }
+
+    /**
+     * ビット単位で書き込む値を取得します。
+     *
+     * @return ビットアクセスの値
+     */
+    public boolean[] getBitValues() {
+        return _bitValues;
+    }
+
+    /**
+     * 応答データを解析して書込み応答オブジェクトを生成します。
+     * 書込み要求の応答は通常、データを含まない正常終了応答です。
+     *
+     * @param responseData 応答データ（終了コードより後ろ）
+     * @return 解析された応答オブジェクト
+     */
+    @Override
+    public AbstractResponse parseResponse(byte[] responseData) {
+        return new NoneResponse(responseData);
+    }
+
+    /**
+     * 要求データをバイト配列に変換します。
+     *
+     * @return 要求データのバイト配列（監視タイマーより後ろ）
+     */
+    @Override
+    public byte[] toByteArray() {
+        int deviceLength = DeviceSpec.getByteArrayLength(_deviceFormat);
+        ByteBuffer buffer;
+        if (_isBitDevice) {
+            buffer = ByteBuffer.allocate(5 + _bitDevices.size() * (deviceLength + 1));
+        } else {
+            buffer = ByteBuffer.allocate(6
+                + _wordDevices.size() * (deviceLength + 2)
+                + _dwordDevices.size() * (deviceLength + 4));
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(_command.getBytes().getByteArray());
+        buffer.put(_subCommand.getBytes().getByteArray());
+
+        if (_isBitDevice) {
+            buffer.put((byte)_bitDevices.size());
+            for (int i = 0; i < _bitDevices.size(); i++) {
+                buffer.put(_bitDevices.get(i).toByteArray(_deviceFormat));
+                buffer.put(_bitValues[i] ? BIT_ON : BIT_OFF);
+            }
+        } else {
+            buffer.put((byte)_wordDevices.size());
+            buffer.put((byte)_dwordDevices.size());
+            for (int i = 0; i < _wordDevices.size(); i++) {
+                buffer.put(_wordDevices.get(i).toByteArray(_deviceFormat));
+                buffer.putShort(_wordValues[i]);
+            }
+            for (int i = 0; i < _dwordDevices.size(); i++) {
+                buffer.put(_dwordDevices.get(i).toByteArray(_deviceFormat));
+                buffer.putInt(_dwordValues[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * バイト配列から要求データを解析してメンバ変数にセットします。
+     *
+     * @param request 要求データ（監視タイマーより後ろ）
+     */
+    @Override
+    public void parse(byte[] request) {
+        // バッファ
+        ByteBuffer buffer = ByteBuffer.wrap(request);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] data;
+
+        // コマンド
+        data = new byte[2];
+        buffer.get(data);
+        _command = CommandEnum.build(data);
+
+        // サブコマンド
+        data = new byte[2];
+        buffer.get(data);
+        _subCommand = SubCommandEnum.build(data);
+        _deviceFormat = DeviceFormatEnum.build(_subCommand);
+        _isBitDevice = _subCommand == _deviceFormat.getSubCommand(true);
+
+        if (_isBitDevice) {
+            int bitPoints = buffer.get() & 0xff;
+            List<DeviceSpec> devices = new ArrayList<>(bitPoints);
+            _bitValues = new boolean[bitPoints];
+            for (int i = 0; i < bitPoints; i++) {
+                devices.add(parseDevice(buffer, _deviceFormat));
+                _bitValues[i] = buffer.get() != BIT_OFF;
+            }
+            _bitDevices = List.copyOf(devices);
+            return;
+        }
+
+        int wordPoints = buffer.get() & 0xff;
+        int dwordPoints = buffer.get() & 0xff;
+        List<DeviceSpec> devices = new ArrayList<>(wordPoints);
+        _wordValues = new short[wordPoints];
+        for (int i = 0; i < wordPoints; i++) {
+            devices.add(parseDevice(buffer, _deviceFormat));
+            _wordValues[i] = buffer.getShort();
+        }
+        _wordDevices = List.copyOf(devices);
+
+        devices = new ArrayList<>(dwordPoints);
+        _dwordValues = new int[dwordPoints];
+        for (int i = 0; i < dwordPoints; i++) {
+            devices.add(parseDevice(buffer, _deviceFormat));
+            _dwordValues[i] = buffer.getInt();
+        }
+        _dwordDevices = List.copyOf(devices);
+    }
+
+    /**
+     * バッファからデバイス指定を1つ読み出します。
+     *
+     * @param buffer 要求データのバッファ
+     * @param format デバイス指定形式
+     * @return デバイス仕様
+     */
+    private static DeviceSpec parseDevice(ByteBuffer buffer, DeviceFormatEnum format) {
+        byte[] data = new byte[DeviceSpec.getByteArrayLength(format)];
+        buffer.get(data);
+        return new DeviceSpec(data, format);
+    }
+
+    /**
+     * リクエストの詳細情報をコンソールに表示します。
+     * デバッグ用途で要求内容を確認するために使用します。
+     */
+    @Override
+    public void printInfo() {
+        if (_isBitDevice) {
+            System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+                "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+                "                 1   2   3 4",
+                "                 1: コマンド: " + _command.toString(),
+                "                 2: サブコマンド: " + _subCommand.toString(),
+                "                 3: ビットアクセス点数: " + _bitDevices.size(),
+                "                 4: デバイス指定とON/OFF: " + _bitDevices
+            ));
+            return;
+        }
+        System.out.println(Converter.hereDoc(s->s, System.lineSeparator(),
+            "Request payload: " + Converter.fromBytesToHexStringBigEndian(toByteArray()),
+            "                 1   2   3 4 5",
+            "                 1: コマンド: " + _command.toString(),
+            "                 2: サブコマンド: " + _subCommand.toString(),
+            "                 3: ワードアクセス点数: " + _wordDevices.size(),
+            "                 4: ダブルワードアクセス点数: " + _dwordDevices.size(),
+            "                 5: デバイス指定と書込むデータ: " + _wordDevices + " " + _dwordDevices
+        ));
+    }
+}
@@ -0,0 +1,234 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import dev.bocchi_megane.mcprotocol.lib.Client;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+/**
+ * 適応型読出し計画クラス
+ * 固定のデバイスの組を繰り返し読み出す用途で、接続の実測の応答時間に合わせて読出し計画を作り直します。
+ * <p>
+ * クライアントに {@link LatencyModel} を登録し、その接続の全ての通信から応答時間と転送バイト数の関係を学習します。
+ * {@link #replan()} はギャップのしきい値の候補ごとに計画を作成し、モデルで見積もった実行時間が最も短いものを選びます。
+ * 現在の計画より {@link #SWITCH_MARGIN} 以上短くなる場合だけ、計画を入れ替えます。
+ * </p>
+ * 計画の入替えは参照の差し替えだけで行うため、読出し中のスレッドを止めません。
+ * 実行中の読出しは取得した時点の計画で完了し、次の読出しから新しい計画を使用します。
+ * どの計画でもデバイスの並び順は同じため、{@link ReadResult#get(int)} の位置は入替えの前後で変わりません。
+ */
+public class AdaptivePlanner implements AutoCloseable {
+    /** 計画を入れ替えるのに必要な、見積り時間の短縮率 */
+    public static final double SWITCH_MARGIN = 0.05;
+    /** 試すギャップのしきい値の候補（ワード数） */
+    private static final int[] CANDIDATE_THRESHOLDS = {
+        0, 1, 2, 3, 4, 6, 8, 12, 16, 24, 32, 48, 64, 96, 128, 192, 256, 384, 512, 768, 960
+    };
+
+    /** 読出しに使用するクライアント */
+    private final Client _client;
+    /** 読み出すデバイスの組 */
+    private final List<DeviceSpec> _devices;
+    /** 応答時間モデル */
+    private final LatencyModel _model;
+    /** 現在の計画 */
+    private final AtomicReference<ReadPlan> _plan;
+    /** 計画の作り直し用のスケジューラ */
+    private ScheduledExecutorService _scheduler;
+    /** 実行中の周期的な作り直し */
+    private ScheduledFuture<?> _replanTask;
+
+    /**
+     * コンストラクタ
+     * 最初の計画は既定のしきい値で作成します。
+     *
+     * @param client 読出しに使用するクライアント
+     * @param devices 読み出すデバイスの組
+     * @throws IllegalArgumentException デバイスが指定されていない場合
+     */
+    public AdaptivePlanner(Client client, Collection<DeviceSpec> devices) {
+        this(client, devices, new LatencyModel());
+    }
+
+    /**
+     * 応答時間モデルを指定するコンストラクタ
+     * 同じ接続を使う複数の計画で、1つのモデルを共有できます。
+     *
+     * @param client 読出しに使用するクライアント
+     * @param devices 読み出すデバイスの組
+     * @param model 応答時間モデル（クライアントに登録されます）
+     * @throws IllegalArgumentException デバイスが指定されていない場合
+     */
+    public AdaptivePlanner(Client client, Collection<DeviceSpec> devices, LatencyModel model) {
+        ReadPlan plan = new ReadPlanner(ReadPlanner.DEFAULT_GAP_THRESHOLD, client.getCpuCapability(), client.getDeviceFormat()).plan(devices);
+        this._client = client;
+        this._devices = plan.getDevices();
+        this._model = model;
+        this._plan = new AtomicReference<>(plan);
+        client.addRequestObserver(model);
+    }
+
+    /**
+     * 現在の計画を取得します。
+     *
+     * @return 読出し計画
+     */
+    public ReadPlan getPlan() {
+        return _plan.get();
+    }
+
+    /**
+     * 応答時間モデルを取得します。
+     *
+     * @return 応答時間モデル
+     */
+    public LatencyModel getLatencyModel() {
+        return _model;
+    }
+
+    /**
+     * 現在の計画でデバイスの組を読み出します。
+     *
+     * @return 読出し結果
+     * @see Client#readPlan(ReadPlan)
+     */
+    public ReadResult read() {
+        return _client.readPlan(_plan.get());
+    }
+
+    /**
+     * 現在の計画でデバイスの組を非同期に読み出します。
+     *
+     * @return 読出し結果で完了するフューチャー
+     * @see Client#readPlanAsync(ReadPlan)
+     */
+    public CompletableFuture<ReadResult> readAsync() {
+        return _client.readPlanAsync(_plan.get());
+    }
+
+    /**
+     * 応答時間モデルに基づいて計画を作り直し、十分に速くなる場合は入れ替えます。
+     * 標本が足りない場合は何もしません。
+     *
+     * @return 計画を入れ替えた場合はtrue
+     */
+    public synchronized boolean replan() {
+        if (!_model.isReady()) {
+            return false;
+        }
+        ReadPlan current = _plan.get();
+        double currentCost = _model.estimateNanos(current);
+        ReadPlan best = current;
+        double bestCost = currentCost;
+        for (int threshold : CANDIDATE_THRESHOLDS) {
+            if (threshold == current.getGapThreshold()) {
+                continue;
+            }
+            ReadPlan candidate = new ReadPlanner(threshold, _client.getCpuCapability(), _client.getDeviceFormat()).plan(_devices);
+            double cost = _model.estimateNanos(candidate);
+            if (cost < bestCost) {
+                best = candidate;
+                bestCost = cost;
+            }
+        }
+        if (best == current || bestCost > currentCost * (1 - SWITCH_MARGIN)) {
+            return false;
+        }
+        _plan.set(best);
+        return true;
+    }
+
+    /**
+     * 一定周期での計画の作り直しを開始します。
+     * 作り直しは専用のスレッドで行い、読出しを止めません。
+     * 作り直しの結果を受け取らないため、失敗は次の周期での再試行だけになります。
+     * 失敗を知る必要がある場合は {@link #start(long, IReplanListener)} を使用してください。
+     *
+     * @param periodMillis 作り直しの周期（ミリ秒）
+     * @throws IllegalArgumentException 周期が1未満の場合
+     * @throws IllegalStateException 既に開始している場合
+     */
+    public void start(long periodMillis) {
+        start(periodMillis, (planner, plan) -> {});
+    }
+
+    /**
+     * 一定周期での計画の作り直しを開始し、結果をリスナーに通知します。
+     * 作り直しは専用のスレッドで行い、読出しを止めません。
+     *
+     * @param periodMillis 作り直しの周期（ミリ秒）
+     * @param listener 作り直しの結果を受け取るリスナー
+     * @throws IllegalArgumentException 周期が1未満の場合
+     * @throws IllegalStateException 既に開始している場合
+     */
+    public synchronized void start(long periodMillis, IReplanListener listener) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("作り直しの周期は1ミリ秒以上で指定してください: " + periodMillis);
+        }
+        if (_replanTask != null) {
+            throw new IllegalStateException("既に開始しています");
+        }
+        if (_scheduler == null) {
+            _scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "mcprotocol-planner");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        _replanTask = _scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                if (!replan()) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                listener.onReplanError(this, e);
+                return;
+            }
+            listener.onReplanned(this, _plan.get());
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 周期的な作り直しを停止します。
+     */
+    public synchronized void stop() {
+        if (_replanTask != null) {
+            _replanTask.cancel(false);
+            _replanTask = null;
+        }
+    }
+
+    /**
+     * 周期的な作り直しが実行中かどうかを確認します。
+     *
+     * @return 実行中の場合はtrue
+     */
+    public synchronized boolean isRunning() {
+        return _replanTask != null;
+    }
+
+    /**
+     * 周期的な作り直しを停止し、クライアントへの応答時間モデルの登録を解除します。
+     * クライアントの接続は切断しません。
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            stop();
+            scheduler = _scheduler;
+            _scheduler = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        _client.removeRequestObserver(_model);
+    }
+}
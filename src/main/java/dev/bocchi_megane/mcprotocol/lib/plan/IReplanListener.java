@@ -0,0 +1,27 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+/**
+ * 計画の作り直しリスナーインターフェース
+ * {@link AdaptivePlanner} の周期的な作り直しの結果を受け取ります。
+ * 通知は作り直し用のスレッドから呼び出されます。
+ */
+@FunctionalInterface
+public interface IReplanListener {
+    /**
+     * 計画を入れ替えたときに呼び出されます。
+     *
+     * @param planner 計画を入れ替えた適応型読出し計画
+     * @param plan 入替え後の計画
+     */
+    public void onReplanned(AdaptivePlanner planner, ReadPlan plan);
+
+    /**
+     * 作り直しに失敗したときに呼び出されます。
+     * 作り直しは次の周期も継続されます。
+     *
+     * @param planner 作り直しに失敗した適応型読出し計画
+     * @param e 発生した例外
+     */
+    public default void onReplanError(AdaptivePlanner planner, RuntimeException e) {
+    }
+}
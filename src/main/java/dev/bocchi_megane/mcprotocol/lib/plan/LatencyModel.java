@@ -0,0 +1,196 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import dev.bocchi_megane.mcprotocol.lib.Client;
+import dev.bocchi_megane.mcprotocol.lib.IRequestObserver;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
+
+/**
+ * 応答時間モデルクラス
+ * 接続ごとの応答時間を、1フレームあたりの固定時間と、転送バイト数（要求フレームと応答フレームの合計）に比例する時間の和で近似します。
+ * {@link Client#addRequestObserver(IRequestObserver)} で登録すると、実際の通信から標本を集めて最小二乗法で係数を求めます。
+ * 古い標本ほど重みを小さくするため、PLCの負荷などで応答時間が変わっても追従します。
+ * <p>
+ * 係数を求めるには、大きさの異なるフレームの標本が {@link #MIN_SAMPLES} 件以上必要です。
+ * </p>
+ * このクラスはスレッドセーフです。
+ */
+public class LatencyModel implements IRequestObserver {
+    /** 減衰率の既定値（標本ごとに過去の標本の重みに掛ける値） */
+    public static final double DEFAULT_DECAY = 0.99;
+    /** 係数を求めるのに必要な標本数 */
+    public static final int MIN_SAMPLES = 16;
+
+    /** 減衰率 */
+    private final double _decay;
+    /** 重みの合計 */
+    private double _sumW;
+    /** 転送バイト数の重み付き合計 */
+    private double _sumX;
+    /** 応答時間の重み付き合計 */
+    private double _sumY;
+    /** 転送バイト数の2乗の重み付き合計 */
+    private double _sumXX;
+    /** 転送バイト数と応答時間の積の重み付き合計 */
+    private double _sumXY;
+    /** 標本数 */
+    private long _sampleCount;
+
+    /**
+     * 既定の減衰率を使用するコンストラクタ
+     */
+    public LatencyModel() {
+        this(DEFAULT_DECAY);
+    }
+
+    /**
+     * 減衰率を指定するコンストラクタ
+     *
+     * @param decay 減衰率（0より大きく1以下、1の場合は全標本を同じ重みで扱う）
+     * @throws IllegalArgumentException 範囲外の減衰率が指定された場合
+     */
+    public LatencyModel(double decay) {
+        if (!(decay > 0 && decay <= 1)) {
+            throw new IllegalArgumentException("減衰率は0より大きく1以下で指定してください: " + decay);
+        }
+        this._decay = decay;
+    }
+
+    /**
+     * 要求の応答時間を標本として追加します。
+     *
+     * @param client 要求を送信したクライアント
+     * @param requestPayload 送信した要求ペイロード
+     * @param requestLength 要求フレームのバイト数
+     * @param responseLength 応答フレームのバイト数
+     * @param elapsedNanos 応答時間（ナノ秒）
+     */
+    @Override
+    public void onRequestCompleted(Client client, AbstractRequest requestPayload, int requestLength, int responseLength, long elapsedNanos) {
+        addSample(requestLength + responseLength, elapsedNanos);
+    }
+
+    /**
+     * 標本を追加します。
+     *
+     * @param bytes 転送バイト数（要求フレームと応答フレームの合計）
+     * @param elapsedNanos 応答時間（ナノ秒）
+     */
+    public synchronized void addSample(int bytes, long elapsedNanos) {
+        double x = bytes;
+        double y = elapsedNanos;
+        _sumW = _sumW * _decay + 1;
+        _sumX = _sumX * _decay + x;
+        _sumY = _sumY * _decay + y;
+        _sumXX = _sumXX * _decay + x * x;
+        _sumXY = _sumXY * _decay + x * y;
+        _sampleCount++;
+    }
+
+    /**
+     * 追加された標本数を取得します。
+     *
+     * @return 標本数
+     */
+    public synchronized long getSampleCount() {
+        return _sampleCount;
+    }
+
+    /**
+     * 係数を求められるだけの標本が集まったかどうかを確認します。
+     *
+     * @return 標本が {@link #MIN_SAMPLES} 件以上あり、転送バイト数にばらつきがある場合はtrue
+     */
+    public synchronized boolean isReady() {
+        return _sampleCount >= MIN_SAMPLES && variance() > 0;
+    }
+
+    /**
+     * 1フレームあたりの固定時間を取得します。
+     *
+     * @return 固定時間（ナノ秒）
+     * @throws IllegalStateException 標本が足りない場合
+     */
+    public synchronized double getFixedNanos() {
+        return fit()[0];
+    }
+
+    /**
+     * 転送1バイトあたりの時間を取得します。
+     *
+     * @return 1バイトあたりの時間（ナノ秒）
+     * @throws IllegalStateException 標本が足りない場合
+     */
+    public synchronized double getNanosPerByte() {
+        return fit()[1];
+    }
+
+    /**
+     * 1フレームの応答時間を見積もります。
+     *
+     * @param bytes 転送バイト数（要求フレームと応答フレームの合計）
+     * @return 応答時間の見積り（ナノ秒）
+     * @throws IllegalStateException 標本が足りない場合
+     */
+    public synchronized double estimateNanos(long bytes) {
+        double[] coefficients = fit();
+        return coefficients[0] + coefficients[1] * bytes;
+    }
+
+    /**
+     * 読出し計画を1回実行する時間を、フレームを1つずつ送受信するものとして見積もります。
+     *
+     * @param plan 読出し計画
+     * @return 実行時間の見積り（ナノ秒）
+     * @throws IllegalStateException 標本が足りない場合
+     */
+    public synchronized double estimateNanos(ReadPlan plan) {
+        double[] coefficients = fit();
+        return coefficients[0] * plan.getFrameCount()
+            + coefficients[1] * (plan.getRequestBytes() + plan.getResponseBytes());
+    }
+
+    /**
+     * 転送バイト数の重み付き分散に比例する値を計算します。
+     *
+     * @return 分散に比例する値（ばらつきがない場合は0以下）
+     */
+    private double variance() {
+        double denominator = _sumW * _sumXX - _sumX * _sumX;
+        // 全標本が同じ大きさの場合、丸め誤差で正の値になることがあるため相対的に判定する
+        return denominator > 1e-9 * _sumW * _sumXX ? denominator : 0;
+    }
+
+    /**
+     * 最小二乗法で係数を求めます。
+     * 傾きが負になった場合は0とし、固定時間を平均の応答時間とします。
+     *
+     * @return 固定時間、1バイトあたりの時間の配列
+     * @throws IllegalStateException 標本が足りない場合
+     */
+    private double[] fit() {
+        if (!isReady()) {
+            throw new IllegalStateException("応答時間の標本が足りません: " + _sampleCount);
+        }
+        double slope = (_sumW * _sumXY - _sumX * _sumY) / variance();
+        if (slope < 0) {
+            return new double[] {_sumY / _sumW, 0};
+        }
+        double intercept = (_sumY - slope * _sumX) / _sumW;
+        return new double[] {Math.max(intercept, 0), slope};
+    }
+
+    /**
+     * モデルを文字列形式で返します。
+     *
+     * @return 係数と標本数
+     */
+    @Override
+    public synchronized String toString() {
+        if (!isReady()) {
+            return "LatencyModel[samples=" + _sampleCount + "]";
+        }
+        double[] coefficients = fit();
+        return String.format("LatencyModel[fixed=%.0fns, perByte=%.2fns, samples=%d]",
+            coefficients[0], coefficients[1], _sampleCount);
+    }
+}
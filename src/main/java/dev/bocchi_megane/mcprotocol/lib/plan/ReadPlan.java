@@ -0,0 +1,231 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import java.util.List;
+import java.util.Map;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockWordReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadResponse;
+
+/**
+ * 読出し計画クラス
+ * {@link ReadPlanner} が作成した、デバイスの組を読み出すための要求の並びと、
+ * 各応答からデバイスの値を取り出す位置を保持する不変のクラスです。
+ * 同じ計画を何度でも実行でき、複数のスレッドから同時に使用できます。
+ */
+public final class ReadPlan {
+    /** 3Eフレームのヘッダ部のバイト数（要求は監視タイマーまで、応答は終了コードまで） */
+    public static final int FRAME_OVERHEAD = 11;
+    /** 値の取り出し方: ワード値 */
+    static final int WORD = -1;
+    /** 値の取り出し方: ダブルワード値 */
+    static final int DWORD = -2;
+
+    /** 読み出すデバイスのリスト（重複なし、指定順） */
+    private final List<DeviceSpec> _devices;
+    /** デバイスから値の位置への対応 */
+    private final Map<DeviceSpec, Integer> _indexes;
+    /** 送信する要求のリスト */
+    private final List<AbstractRequest> _requests;
+    /** 要求ごとの、応答中の読出し位置 */
+    private final int[][] _sources;
+    /** 要求ごとの、値を格納する位置 */
+    private final int[][] _targets;
+    /** 要求ごとの、値の取り出し方（ビット位置、{@link #WORD}、{@link #DWORD}） */
+    private final int[][] _kinds;
+    /** 計画に使ったギャップのしきい値 */
+    private final int _gapThreshold;
+    /** 要求の合計バイト数（3Eフレーム換算） */
+    private final long _requestBytes;
+    /** 応答の合計バイト数（3Eフレーム換算） */
+    private final long _responseBytes;
+
+    /**
+     * コンストラクタ
+     * 配列は {@link ReadPlanner} が作成したものをそのまま保持します。
+     *
+     * @param devices 読み出すデバイスのリスト
+     * @param indexes デバイスから値の位置への対応
+     * @param requests 送信する要求のリスト
+     * @param sources 要求ごとの、応答中の読出し位置
+     * @param targets 要求ごとの、値を格納する位置
+     * @param kinds 要求ごとの、値の取り出し方
+     * @param gapThreshold 計画に使ったギャップのしきい値
+     * @param responseBytes 応答の合計データ長（ヘッダを除く）
+     */
+    ReadPlan(List<DeviceSpec> devices, Map<DeviceSpec, Integer> indexes, List<AbstractRequest> requests,
+            int[][] sources, int[][] targets, int[][] kinds, int gapThreshold, long responseBytes) {
+        this._devices = List.copyOf(devices);
+        this._indexes = Map.copyOf(indexes);
+        this._requests = List.copyOf(requests);
+        this._sources = sources;
+        this._targets = targets;
+        this._kinds = kinds;
+        this._gapThreshold = gapThreshold;
+        long requestBytes = 0;
+        for (AbstractRequest request : requests) {
+            requestBytes += FRAME_OVERHEAD + request.toByteArray().length;
+        }
+        this._requestBytes = requestBytes;
+        this._responseBytes = responseBytes + (long)FRAME_OVERHEAD * requests.size();
+    }
+
+    /**
+     * 読み出すデバイスのリストを取得します。
+     *
+     * @return 重複を除いたデバイスのリスト（指定順）
+     */
+    public List<DeviceSpec> getDevices() {
+        return _devices;
+    }
+
+    /**
+     * デバイスの値の位置を取得します。
+     *
+     * @param deviceSpec デバイス
+     * @return {@link #getDevices()} 中の位置、計画に含まれない場合は-1
+     */
+    public int indexOf(DeviceSpec deviceSpec) {
+        return _indexes.getOrDefault(deviceSpec, -1);
+    }
+
+    /**
+     * 送信する要求のリストを取得します。
+     *
+     * @return 要求のリスト（変更不可）
+     */
+    public List<AbstractRequest> getRequests() {
+        return _requests;
+    }
+
+    /**
+     * 計画に使ったギャップのしきい値を取得します。
+     *
+     * @return ギャップのしきい値（ワード数）
+     */
+    public int getGapThreshold() {
+        return _gapThreshold;
+    }
+
+    /**
+     * 1回の実行で送信するフレーム数を取得します。
+     *
+     * @return フレーム数
+     */
+    public int getFrameCount() {
+        return _requests.size();
+    }
+
+    /**
+     * 1回の実行で送信する要求の合計バイト数（3Eフレーム換算）を取得します。
+     *
+     * @return 要求の合計バイト数
+     */
+    public long getRequestBytes() {
+        return _requestBytes;
+    }
+
+    /**
+     * 1回の実行で受信する応答の合計バイト数（3Eフレーム換算）を取得します。
+     *
+     * @return 応答の合計バイト数
+     */
+    public long getResponseBytes() {
+        return _responseBytes;
+    }
+
+    /**
+     * デバイスごとに1回ずつ一括読込みした場合のフレーム数を取得します。
+     *
+     * @return フレーム数
+     */
+    public int getPerTagFrameCount() {
+        return _devices.size();
+    }
+
+    /**
+     * デバイスごとに1回ずつ一括読込みした場合の要求の合計バイト数（3Eフレーム換算）を取得します。
+     *
+     * @return 要求の合計バイト数
+     */
+    public long getPerTagRequestBytes() {
+        // コマンド、サブコマンド、デバイス、点数
+        return (long)(FRAME_OVERHEAD + 2 + 2 + DeviceSpec.getByteArrayLength() + 2) * _devices.size();
+    }
+
+    /**
+     * デバイスごとに1回ずつ一括読込みした場合の応答の合計バイト数（3Eフレーム換算）を取得します。
+     * ビットデバイスは1点のビット単位、ダブルワードデバイスは2ワードの読込みとします。
+     *
+     * @return 応答の合計バイト数
+     */
+    public long getPerTagResponseBytes() {
+        long bytes = 0;
+        for (DeviceSpec device : _devices) {
+            DataTypeEnum dataType = device.getDeviceCode().getDataType();
+            bytes += FRAME_OVERHEAD + (dataType == DataTypeEnum.BIT ? 1 : dataType == DataTypeEnum.DWORD ? 4 : 2);
+        }
+        return bytes;
+    }
+
+    /**
+     * 各要求の応答からデバイスの値を取り出します。
+     *
+     * @param responses {@link #getRequests()} と同じ順序に並んだ応答のリスト
+     * @return 読出し結果
+     * @throws ResponseAbnormalException 応答の数または種類が計画と一致しない場合
+     */
+    public ReadResult collect(List<AbstractResponse> responses) {
+        if (responses.size() != _requests.size()) {
+            throw new ResponseAbnormalException("応答の数が計画と一致しません: " + responses.size() + " != " + _requests.size());
+        }
+        int[] values = new int[_devices.size()];
+        for (int k = 0; k < _requests.size(); k++) {
+            AbstractResponse response = responses.get(k);
+            short[] words;
+            int[] dwords = null;
+            if (response instanceof BlockWordReadResponse) {
+                words = ((BlockWordReadResponse)response).getReadData();
+            } else if (response instanceof MultiBlockReadResponse) {
+                words = ((MultiBlockReadResponse)response).getReadData();
+            } else if (response instanceof RandomReadResponse) {
+                words = ((RandomReadResponse)response).getWordData();
+                dwords = ((RandomReadResponse)response).getDwordData();
+            } else {
+                throw new ResponseAbnormalException("計画にない応答です: " + response.getClass().getSimpleName());
+            }
+            int[] sources = _sources[k];
+            int[] targets = _targets[k];
+            int[] kinds = _kinds[k];
+            for (int i = 0; i < sources.length; i++) {
+                int kind = kinds[i];
+                if (kind == WORD) {
+                    values[targets[i]] = words[sources[i]];
+                } else if (kind == DWORD) {
+                    values[targets[i]] = dwords[sources[i]];
+                } else {
+                    values[targets[i]] = (words[sources[i]] >> kind) & 1;
+                }
+            }
+        }
+        return new ReadResult(this, values);
+    }
+
+    /**
+     * 計画の概要を文字列形式で返します。
+     *
+     * @return フレーム数とバイト数、デバイスごとの読込みとの比較
+     */
+    @Override
+    public String toString() {
+        return "ReadPlan[devices=" + _devices.size()
+            + ", frames=" + getFrameCount() + " (per-tag " + getPerTagFrameCount() + ")"
+            + ", request=" + _requestBytes + "B (per-tag " + getPerTagRequestBytes() + "B)"
+            + ", response=" + _responseBytes + "B (per-tag " + getPerTagResponseBytes() + "B)]";
+    }
+}
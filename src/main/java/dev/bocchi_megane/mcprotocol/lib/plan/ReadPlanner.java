@@ -0,0 +1,454 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import dev.bocchi_megane.mcprotocol.lib.capability.CpuCapability;
+import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+
+/**
+ * 読出し計画作成クラス
+ * 読み出したいデバイスの組から、できるだけ少ないフレームで読み出すための {@link ReadPlan} を作成します。
+ * <p>
+ * デバイスはデバイスコードごとにワード単位（ビットデバイスは16点で1ワード）にまとめられ、
+ * 間の未使用ワード数がしきい値以下の近いワードは1つの連続範囲に結合されます。
+ * 連続範囲は一括読出しまたは複数ブロック一括読出しで、孤立したワードとダブルワードデバイスはランダム読出しで読み出します。
+ * 孤立したワードを複数ブロック一括読出しの1点のブロックとした方がフレーム数が少なくなる場合は、そちらを選びます。
+ * </p>
+ * <p>
+ * 要求は指定したデバイス指定形式で作成します。iQ-Rシリーズの形式でのみ指定できるデバイスを含む要求は、
+ * 指定した形式によらずiQ-Rシリーズの形式で作成します。
+ * iQ-Rシリーズの形式の要求が作成されうる場合、ランダム読出しの点数と複数ブロック一括読出しのブロック数は、
+ * iQ-Rシリーズの形式の上限に収めます。
+ * </p>
+ * このクラスは状態を持たないため、複数のスレッドから同時に使用できます。
+ */
+public class ReadPlanner {
+    /**
+     * ギャップのしきい値の既定値（ワード数）
+     * 複数ブロック一括読出しのブロックを1つ増やすと要求が6バイト増えるため、3ワードまでの隙間は読み飛ばさずに結合します。
+     */
+    public static final int DEFAULT_GAP_THRESHOLD = 3;
+
+    /** 結合してよい未使用ワード数 */
+    private final int _gapThreshold;
+    /** 点数上限を決めるCPUの能力 */
+    private final CpuCapability _cpuCapability;
+    /** 要求のデバイス指定形式 */
+    private final DeviceFormatEnum _deviceFormat;
+
+    /**
+     * 既定のしきい値を使用するコンストラクタ
+     */
+    public ReadPlanner() {
+        this(DEFAULT_GAP_THRESHOLD);
+    }
+
+    /**
+     * ギャップのしきい値を指定するコンストラクタ
+     *
+     * @param gapThreshold 1つの連続範囲に結合してよい未使用ワード数
+     * @throws IllegalArgumentException しきい値が負の場合
+     */
+    public ReadPlanner(int gapThreshold) {
+        this(gapThreshold, CpuCapability.DEFAULT);
+    }
+
+    /**
+     * ギャップのしきい値とCPUの能力を指定するコンストラクタ
+     * 1フレームの点数は、CPUの能力の点数上限以内に収めます。
+     *
+     * @param gapThreshold 1つの連続範囲に結合してよい未使用ワード数
+     * @param cpuCapability 接続先のCPUの能力
+     * @throws IllegalArgumentException しきい値が負の場合
+     */
+    public ReadPlanner(int gapThreshold, CpuCapability cpuCapability) {
+        this(gapThreshold, cpuCapability, DeviceFormatEnum.Q);
+    }
+
+    /**
+     * ギャップのしきい値、CPUの能力とデバイス指定形式を指定するコンストラクタ
+     * 接続先に合わせて、クライアントのデバイス指定形式を指定します。
+     *
+     * @param gapThreshold 1つの連続範囲に結合してよい未使用ワード数
+     * @param cpuCapability 接続先のCPUの能力
+     * @param deviceFormat 要求のデバイス指定形式
+     * @throws IllegalArgumentException しきい値が負の場合
+     */
+    public ReadPlanner(int gapThreshold, CpuCapability cpuCapability, DeviceFormatEnum deviceFormat) {
+        if (gapThreshold < 0) {
+            throw new IllegalArgumentException("ギャップのしきい値が不正です: " + gapThreshold);
+        }
+        this._gapThreshold = gapThreshold;
+        this._cpuCapability = cpuCapability;
+        this._deviceFormat = deviceFormat;
+    }
+
+    /**
+     * ギャップのしきい値を取得します。
+     *
+     * @return 結合してよい未使用ワード数
+     */
+    public int getGapThreshold() {
+        return _gapThreshold;
+    }
+
+    /**
+     * CPUの能力を取得します。
+     *
+     * @return 点数上限を決めるCPUの能力
+     */
+    public CpuCapability getCpuCapability() {
+        return _cpuCapability;
+    }
+
+    /**
+     * デバイス指定形式を取得します。
+     *
+     * @return 要求のデバイス指定形式
+     */
+    public DeviceFormatEnum getDeviceFormat() {
+        return _deviceFormat;
+    }
+
+    /**
+     * デバイスの組を読み出す計画を作成します。
+     * 重複したデバイスは1つにまとめられます。
+     *
+     * @param devices 読み出すデバイスの組
+     * @return 読出し計画
+     * @throws IllegalArgumentException デバイスが指定されていない場合
+     */
+    public ReadPlan plan(Collection<DeviceSpec> devices) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("デバイスが指定されていません");
+        }
+
+        // 重複を除き、デバイスコードごとにワード単位でまとめる
+        Map<DeviceSpec, Integer> indexes = new LinkedHashMap<>();
+        Map<DeviceCodeEnum, TreeMap<Integer, List<int[]>>> groups = new EnumMap<>(DeviceCodeEnum.class);
+        List<Member> dwords = new ArrayList<>();
+        boolean hasIqrOnly = false;
+        for (DeviceSpec device : devices) {
+            if (indexes.containsKey(device)) {
+                continue;
+            }
+            int index = indexes.size();
+            indexes.put(device, index);
+            DeviceCodeEnum code = device.getDeviceCode();
+            hasIqrOnly |= code.isIqrOnly();
+            DataTypeEnum dataType = code.getDataType();
+            if (dataType == DataTypeEnum.DWORD) {
+                dwords.add(new Member(device, index, ReadPlan.DWORD));
+                continue;
+            }
+            int number = device.getDeviceNumber();
+            int word = dataType == DataTypeEnum.BIT ? number / 16 : number;
+            int kind = dataType == DataTypeEnum.BIT ? number % 16 : ReadPlan.WORD;
+            groups.computeIfAbsent(code, c -> new TreeMap<>())
+                .computeIfAbsent(word, w -> new ArrayList<>())
+                .add(new int[] {index, kind});
+        }
+
+        // 近いワードを連続範囲に結合する
+        DeviceFormatEnum limitFormat = formatOf(hasIqrOnly);
+        int maxWordPoints = _cpuCapability.getMaxWordPoints();
+        int maxRandomPoints = Math.min(_cpuCapability.getMaxRandomPoints(), RandomReadRequest.getMaxPoints(limitFormat));
+        int maxBlocks = MultiBlockReadRequest.getMaxBlocks(limitFormat);
+        List<Range> ranges = new ArrayList<>();
+        for (Map.Entry<DeviceCodeEnum, TreeMap<Integer, List<int[]>>> group : groups.entrySet()) {
+            Range range = null;
+            for (Map.Entry<Integer, List<int[]>> entry : group.getValue().entrySet()) {
+                int word = entry.getKey();
+                if (range == null
+                        || word - range.end() - 1 > _gapThreshold
+                        || word - range._start + 1 > maxWordPoints) {
+                    range = new Range(group.getKey(), word);
+                    ranges.add(range);
+                }
+                range._length = word - range._start + 1;
+                for (int[] member : entry.getValue()) {
+                    range._members.add(new int[] {word - range._start, member[0], member[1]});
+                }
+            }
+        }
+
+        // 孤立したワードをランダム読出しにする案と、1点のブロックにする案のフレーム数を比べる
+        List<Range> blocks = new ArrayList<>();
+        List<Range> singles = new ArrayList<>();
+        for (Range range : ranges) {
+            (range._length == 1 ? singles : blocks).add(range);
+        }
+        List<List<Range>> packedBlocks = pack(blocks, maxWordPoints, maxBlocks);
+        List<List<Range>> packedAll = pack(ranges, maxWordPoints, maxBlocks);
+        int randomFrames = frames(singles.size() + dwords.size(), maxRandomPoints);
+        if (packedAll.size() + frames(dwords.size(), maxRandomPoints) < packedBlocks.size() + randomFrames) {
+            packedBlocks = packedAll;
+            singles = List.of();
+        }
+
+        // 要求と値の取り出し位置を作成する
+        List<AbstractRequest> requests = new ArrayList<>();
+        List<int[][]> extractions = new ArrayList<>();
+        long responseBytes = 0;
+        for (List<Range> frame : packedBlocks) {
+            Extraction extraction = new Extraction();
+            List<DeviceBlock> wordBlocks = new ArrayList<>();
+            List<DeviceBlock> bitBlocks = new ArrayList<>();
+            int points = 0;
+            boolean isIqrOnly = false;
+            for (Range range : frame) {
+                isIqrOnly |= range._code.isIqrOnly();
+                (range.isBit() ? bitBlocks : wordBlocks).add(new DeviceBlock(range.startDevice(), range._length));
+                for (int[] member : range._members) {
+                    extraction.add(points + member[0], member[1], member[2]);
+                }
+                points += range._length;
+            }
+            DeviceFormatEnum format = formatOf(isIqrOnly);
+            if (frame.size() == 1) {
+                Range range = frame.get(0);
+                requests.add(new BlockReadRequest(range.startDevice(), (short)range._length, false, format));
+            } else {
+                requests.add(new MultiBlockReadRequest(wordBlocks, bitBlocks, format));
+            }
+            extractions.add(extraction.toArrays());
+            responseBytes += points * 2L;
+        }
+        int randomIndex = 0;
+        int randomTotal = singles.size() + dwords.size();
+        while (randomIndex < randomTotal) {
+            int end = Math.min(randomIndex + maxRandomPoints, randomTotal);
+            Extraction extraction = new Extraction();
+            List<DeviceSpec> wordDevices = new ArrayList<>();
+            List<DeviceSpec> dwordDevices = new ArrayList<>();
+            boolean isIqrOnly = false;
+            for (int i = randomIndex; i < end; i++) {
+                if (i < singles.size()) {
+                    Range range = singles.get(i);
+                    isIqrOnly |= range._code.isIqrOnly();
+                    for (int[] member : range._members) {
+                        extraction.add(wordDevices.size(), member[1], member[2]);
+                    }
+                    wordDevices.add(range.startDevice());
+                } else {
+                    Member member = dwords.get(i - singles.size());
+                    isIqrOnly |= member._device.getDeviceCode().isIqrOnly();
+                    extraction.add(dwordDevices.size(), member._index, member._kind);
+                    dwordDevices.add(member._device);
+                }
+            }
+            requests.add(new RandomReadRequest(wordDevices, dwordDevices, formatOf(isIqrOnly)));
+            extractions.add(extraction.toArrays());
+            responseBytes += wordDevices.size() * 2L + dwordDevices.size() * 4L;
+            randomIndex = end;
+        }
+
+        int[][] sources = new int[requests.size()][];
+        int[][] targets = new int[requests.size()][];
+        int[][] kinds = new int[requests.size()][];
+        for (int k = 0; k < requests.size(); k++) {
+            sources[k] = extractions.get(k)[0];
+            targets[k] = extractions.get(k)[1];
+            kinds[k] = extractions.get(k)[2];
+        }
+        return new ReadPlan(new ArrayList<>(indexes.keySet()), indexes, requests,
+            sources, targets, kinds, _gapThreshold, responseBytes);
+    }
+
+    /**
+     * 要求のデバイス指定形式を決めます。
+     *
+     * @param isIqrOnly iQ-Rシリーズの形式でのみ指定できるデバイスを含む場合はtrue
+     * @return デバイス指定形式
+     */
+    private DeviceFormatEnum formatOf(boolean isIqrOnly) {
+        return isIqrOnly ? DeviceFormatEnum.IQ_R : _deviceFormat;
+    }
+
+    /**
+     * ランダム読出しの点数からフレーム数を計算します。
+     *
+     * @param points 点数
+     * @param maxPoints 1フレームの点数上限
+     * @return フレーム数
+     */
+    private static int frames(int points, int maxPoints) {
+        return (points + maxPoints - 1) / maxPoints;
+    }
+
+    /**
+     * 連続範囲を、複数ブロック一括読出しの制約を満たすフレームに詰め込みます。
+     * 長い範囲から順に、収まる最初のフレームへ入れます（First Fit Decreasing）。
+     *
+     * @param ranges 連続範囲のリスト
+     * @param maxPoints 1フレームの合計点数の上限
+     * @param maxBlocks 1フレームのブロック数の上限
+     * @return フレームごとの連続範囲のリスト
+     */
+    private static List<List<Range>> pack(List<Range> ranges, int maxPoints, int maxBlocks) {
+        Range[] sorted = ranges.toArray(new Range[0]);
+        Arrays.sort(sorted, Comparator.comparingInt((Range range) -> range._length).reversed());
+        List<List<Range>> frames = new ArrayList<>();
+        List<Integer> points = new ArrayList<>();
+        for (Range range : sorted) {
+            int target = -1;
+            for (int i = 0; i < frames.size(); i++) {
+                if (frames.get(i).size() < maxBlocks
+                        && points.get(i) + range._length <= maxPoints) {
+                    target = i;
+                    break;
+                }
+            }
+            if (target < 0) {
+                frames.add(new ArrayList<>());
+                points.add(0);
+                target = frames.size() - 1;
+            }
+            frames.get(target).add(range);
+            points.set(target, points.get(target) + range._length);
+        }
+        // 応答はワードブロック、ビットブロックの順に並ぶため、その順に並べ替える
+        for (List<Range> frame : frames) {
+            frame.sort(Comparator.comparing(Range::isBit));
+        }
+        return frames;
+    }
+
+    /**
+     * ワード単位の連続範囲
+     */
+    private static class Range {
+        /** デバイスコード */
+        private final DeviceCodeEnum _code;
+        /** 先頭ワード位置 */
+        private final int _start;
+        /** ワード数 */
+        private int _length;
+        /** 含まれるデバイス（範囲内のワード位置、値の位置、取り出し方） */
+        private final List<int[]> _members = new ArrayList<>();
+
+        /**
+         * コンストラクタ
+         *
+         * @param code デバイスコード
+         * @param start 先頭ワード位置
+         */
+        Range(DeviceCodeEnum code, int start) {
+            this._code = code;
+            this._start = start;
+            this._length = 1;
+        }
+
+        /**
+         * 最終ワード位置を取得します。
+         *
+         * @return 最終ワード位置
+         */
+        int end() {
+            return _start + _length - 1;
+        }
+
+        /**
+         * ビットデバイスの範囲かどうかを確認します。
+         *
+         * @return ビットデバイスの場合はtrue
+         */
+        boolean isBit() {
+            return _code.getDataType() == DataTypeEnum.BIT;
+        }
+
+        /**
+         * 先頭デバイスを取得します。
+         *
+         * @return 先頭デバイス（ビットデバイスは先頭ワードの先頭ビット）
+         */
+        DeviceSpec startDevice() {
+            return new DeviceSpec(_code, isBit() ? _start * 16 : _start);
+        }
+    }
+
+    /**
+     * ダブルワードデバイス
+     */
+    private static class Member {
+        /** デバイス */
+        private final DeviceSpec _device;
+        /** 値の位置 */
+        private final int _index;
+        /** 取り出し方 */
+        private final int _kind;
+
+        /**
+         * コンストラクタ
+         *
+         * @param device デバイス
+         * @param index 値の位置
+         * @param kind 取り出し方
+         */
+        Member(DeviceSpec device, int index, int kind) {
+            this._device = device;
+            this._index = index;
+            this._kind = kind;
+        }
+    }
+
+    /**
+     * 1つの要求についての値の取り出し位置
+     */
+    private static class Extraction {
+        /** 応答中の読出し位置 */
+        private int[] _sources = new int[8];
+        /** 値を格納する位置 */
+        private int[] _targets = new int[8];
+        /** 取り出し方 */
+        private int[] _kinds = new int[8];
+        /** 件数 */
+        private int _size;
+
+        /**
+         * 取り出し位置を追加します。
+         *
+         * @param source 応答中の読出し位置
+         * @param target 値を格納する位置
+         * @param kind 取り出し方
+         */
+        void add(int source, int target, int kind) {
+            if (_size == _sources.length) {
+                _sources = Arrays.copyOf(_sources, _size * 2);
+                _targets = Arrays.copyOf(_targets, _size * 2);
+                _kinds = Arrays.copyOf(_kinds, _size * 2);
+            }
+            _sources[_size] = source;
+            _targets[_size] = target;
+            _kinds[_size] = kind;
+            _size++;
+        }
+
+        /**
+         * 取り出し位置を配列にします。
+         *
+         * @return 読出し位置、格納位置、取り出し方の配列
+         */
+        int[][] toArrays() {
+            return new int[][] {
+                Arrays.copyOf(_sources, _size), Arrays.copyOf(_targets, _size), Arrays.copyOf(_kinds, _size)
+            };
+        }
+    }
+}
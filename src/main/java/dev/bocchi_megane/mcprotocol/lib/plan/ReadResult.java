@@ -0,0 +1,81 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+/**
+ * 読出し結果クラス
+ * {@link ReadPlan} を1回実行して得たデバイスの値を保持します。
+ * ワードデバイスは符号拡張した値、ビットデバイスは0または1、ダブルワードデバイスは32ビットの値です。
+ */
+public final class ReadResult {
+    /** 実行した計画 */
+    private final ReadPlan _plan;
+    /** デバイスの値（計画のデバイスの順） */
+    private final int[] _values;
+
+    /**
+     * コンストラクタ
+     *
+     * @param plan 実行した計画
+     * @param values デバイスの値（計画のデバイスの順）
+     */
+    ReadResult(ReadPlan plan, int[] values) {
+        this._plan = plan;
+        this._values = values;
+    }
+
+    /**
+     * 実行した計画を取得します。
+     *
+     * @return 計画
+     */
+    public ReadPlan getPlan() {
+        return _plan;
+    }
+
+    /**
+     * 値の数を取得します。
+     *
+     * @return 計画のデバイス数
+     */
+    public int size() {
+        return _values.length;
+    }
+
+    /**
+     * 位置を指定して値を取得します。
+     *
+     * @param index {@link ReadPlan#getDevices()} 中の位置
+     * @return デバイスの値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public int get(int index) {
+        return _values[index];
+    }
+
+    /**
+     * デバイスの値を取得します。
+     *
+     * @param deviceSpec デバイス
+     * @return デバイスの値
+     * @throws IllegalArgumentException 計画に含まれないデバイスが指定された場合
+     */
+    public int get(DeviceSpec deviceSpec) {
+        int index = _plan.indexOf(deviceSpec);
+        if (index < 0) {
+            throw new IllegalArgumentException("計画に含まれないデバイスです: " + deviceSpec);
+        }
+        return _values[index];
+    }
+
+    /**
+     * デバイスの値が0以外かどうかを取得します。
+     *
+     * @param deviceSpec デバイス
+     * @return 値が0以外の場合はtrue
+     * @throws IllegalArgumentException 計画に含まれないデバイスが指定された場合
+     */
+    public boolean getBoolean(DeviceSpec deviceSpec) {
+        return get(deviceSpec) != 0;
+    }
+}
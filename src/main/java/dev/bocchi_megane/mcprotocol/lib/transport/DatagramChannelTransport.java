@@ -0,0 +1,255 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+import dev.bocchi_megane.mcprotocol.lib.define.SubHeaderEnum;
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame3E;
+import dev.bocchi_megane.mcprotocol.lib.frame.FrameReader;
+import dev.bocchi_megane.mcprotocol.lib.frame.Parser;
+
+/**
+ * UDPトランスポートクラス
+ * DatagramChannel でPLCと通信します。要求フレームは1つのデータグラムとして送信し、
+ * 応答は1データグラムを1フレームとして受信します。
+ * 接続の確立・切断の手順がなく、1フレームの喪失が後続のフレームを止めることもありません。
+ * UDPでは応答が失われることがあるため、受信がタイムアウトした読出し要求は再送回数まで再送されます。
+ * 応答と要求の対応付けは4Eフレームのシリアル番号で行うため、UDPでは4Eフレームの使用を推奨します。
+ * 3Eフレームの要求を送信する際は、それまでに届いている古い応答を読み捨てます。
+ */
+public class DatagramChannelTransport implements ITransport {
+    /** 受信バッファの既定サイズ（MCプロトコルの最大フレーム長を十分に上回る） */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    /** 既定の再送回数 */
+    public static final int DEFAULT_RETRANSMIT_COUNT = 2;
+
+    /** 接続先ホスト名またはIPアドレス */
+    private String _host;
+    /** 接続先ポート番号 */
+    private int _port;
+    /** タイムアウト時間（ミリ秒、0の場合は無制限） */
+    private int _timeout = 1000;
+    /** タイムアウト時の再送回数 */
+    private int _retransmitCount = DEFAULT_RETRANSMIT_COUNT;
+
+    /** データグラムチャネル */
+    private DatagramChannel _channel;
+    /** 待機用セレクタ */
+    private Selector _selector;
+    /** 送信バッファ（ダイレクトバッファ） */
+    private final ByteBuffer _sendBuffer;
+    /** 受信バッファ（Parserへ配列のまま渡せるようヒープ上に確保） */
+    private final ByteBuffer _receiveBuffer;
+
+    /**
+     * コンストラクタ
+     *
+     * @param host 接続先のホスト名またはIPアドレス
+     * @param port 接続先のポート番号
+     */
+    public DatagramChannelTransport(String host, int port) {
+        this._host = host;
+        this._port = port;
+        this._sendBuffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+        this._receiveBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * データグラムチャネルを開き、接続先を固定します。
+     * UDPには接続手順がないため、接続先以外からのデータグラムを受け取らないようにするだけです。
+     *
+     * @throws IOException チャネルを開けなかった場合
+     */
+    @Override
+    public void connect() throws IOException {
+        _channel = DatagramChannel.open();
+        try {
+            _channel.configureBlocking(false);
+            _channel.connect(new InetSocketAddress(_host, _port));
+            _selector = Selector.open();
+            _channel.register(_selector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * セレクタとデータグラムチャネルをクローズします。
+     */
+    @Override
+    public void close() {
+        if(_selector != null) try { _selector.close(); } catch(Exception e){ e.printStackTrace(); }
+        if(_channel != null) try { _channel.close(); } catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * 現在の接続状態を確認します。
+     *
+     * @return チャネルが開いている場合はtrue
+     */
+    @Override
+    public boolean isConnected() {
+        return _channel != null && _channel.isOpen() && _channel.isConnected();
+    }
+
+    /**
+     * フレームを1つのデータグラムとして送信します。
+     * 3Eフレームの場合は、シリアル番号で区別できない古い応答を先に読み捨てます。
+     *
+     * @param frameBytes 送信するフレーム全体のバイト配列
+     * @throws IOException 送信に失敗した場合
+     */
+    @Override
+    public void send(byte[] frameBytes) throws IOException {
+        if (frameBytes[0] == SubHeaderEnum.REQUEST.getBytes().getByteArray()[0]) {
+            discardPending();
+        }
+        ByteBuffer src;
+        if (frameBytes.length <= _sendBuffer.capacity()) {
+            _sendBuffer.clear();
+            _sendBuffer.put(frameBytes).flip();
+            src = _sendBuffer;
+        } else {
+            src = ByteBuffer.wrap(frameBytes);
+        }
+        _channel.write(src);
+    }
+
+    /**
+     * フレームを1つ受信します。
+     * データ長に満たないデータグラムなど、フレームとして解析できないものは読み捨てます。
+     *
+     * @return 受信したフレーム
+     * @throws SocketTimeoutException タイムアウトした場合
+     * @throws IOException 受信に失敗した場合
+     */
+    @Override
+    public Frame3E receive() throws IOException {
+        long deadline = (_timeout == 0) ? 0 : System.nanoTime() + _timeout * 1_000_000L;
+        while (true) {
+            _receiveBuffer.clear();
+            if (_channel.read(_receiveBuffer) <= 0) {
+                await(deadline);
+                continue;
+            }
+            int length = _receiveBuffer.position();
+            if (length < FrameReader.HEADER_LENGTH_3E + 2) {
+                continue;
+            }
+            try {
+                return Parser.parseFrame(_receiveBuffer.array(), 0, length);
+            } catch (RuntimeException e) {
+                // データ長に満たないデータグラムなど、解析できないものは読み捨てる
+            }
+        }
+    }
+
+    /**
+     * 受信済みのデータグラムを全て読み捨てます。
+     *
+     * @throws IOException 受信に失敗した場合
+     */
+    private void discardPending() throws IOException {
+        do {
+            _receiveBuffer.clear();
+        } while (_channel.read(_receiveBuffer) > 0);
+    }
+
+    /**
+     * データグラムが届くまでセレクタで待機します。
+     *
+     * @param deadline 待機期限（System.nanoTime() 基準、0の場合は無制限）
+     * @throws SocketTimeoutException 期限を過ぎた場合
+     * @throws IOException 待機に失敗した場合
+     */
+    private void await(long deadline) throws IOException {
+        long timeoutMillis = 0;
+        if (deadline != 0) {
+            timeoutMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (timeoutMillis <= 0) {
+                throw new SocketTimeoutException("タイムアウトしました");
+            }
+        }
+        _selector.select(timeoutMillis);
+        _selector.selectedKeys().clear();
+    }
+
+    /**
+     * 受信タイムアウト時間を設定します。
+     *
+     * @param timeoutMillis タイムアウト時間（ミリ秒、0の場合は無制限）
+     */
+    @Override
+    public void setTimeout(int timeoutMillis) {
+        _timeout = timeoutMillis;
+    }
+
+    /**
+     * 受信タイムアウト時間を取得します。
+     *
+     * @return タイムアウト時間（ミリ秒）
+     */
+    @Override
+    public int getTimeout() {
+        return _timeout;
+    }
+
+    /**
+     * 受信がタイムアウトした読出し要求の再送回数を設定します。
+     *
+     * @param retransmitCount 再送回数（0の場合は再送しない）
+     * @throws IllegalArgumentException 負の値が指定された場合
+     */
+    public void setRetransmitCount(int retransmitCount) {
+        if (retransmitCount < 0) {
+            throw new IllegalArgumentException("再送回数は0以上を指定してください");
+        }
+        _retransmitCount = retransmitCount;
+    }
+
+    /**
+     * 受信がタイムアウトした読出し要求の再送回数を取得します。
+     *
+     * @return 再送回数
+     */
+    @Override
+    public int getRetransmitCount() {
+        return _retransmitCount;
+    }
+
+    /**
+     * データグラム型の通信路かどうかを確認します。
+     *
+     * @return 常にtrue
+     */
+    @Override
+    public boolean isDatagram() {
+        return true;
+    }
+
+    /**
+     * 接続先ホスト名またはIPアドレスを取得します。
+     *
+     * @return 接続先ホスト名またはIPアドレス
+     */
+    @Override
+    public String getHost() {
+        return _host;
+    }
+
+    /**
+     * 接続先ポート番号を取得します。
+     *
+     * @return 接続先ポート番号
+     */
+    @Override
+    public int getPort() {
+        return _port;
+    }
+}
@@ -0,0 +1,99 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.io.IOException;
+
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame3E;
+
+/**
+ * トランスポートインターフェース
+ * PLCとの間でMCプロトコルのフレームを送受信する通信路を抽象化します。
+ * Clientはこのインターフェースを通してフレームを送信し、応答フレームを受信します。
+ */
+public interface ITransport {
+    /**
+     * 接続を確立します。
+     *
+     * @throws IOException 接続に失敗した場合
+     */
+    public void connect() throws IOException;
+
+    /**
+     * 接続を切断します。
+     * 切断時に発生した例外は呼び出し元へ送出しません。
+     */
+    public void close();
+
+    /**
+     * 現在の接続状態を確認します。
+     *
+     * @return 接続中の場合はtrue、切断中の場合はfalse
+     */
+    public boolean isConnected();
+
+    /**
+     * フレームを送信します。
+     *
+     * @param frameBytes 送信するフレーム全体のバイト配列
+     * @throws IOException 送信に失敗した場合
+     */
+    public void send(byte[] frameBytes) throws IOException;
+
+    /**
+     * フレームを1つ受信します。
+     * フレーム全体が揃うまで、タイムアウト時間を上限として待機します。
+     *
+     * @return 受信したフレーム
+     * @throws java.net.SocketTimeoutException タイムアウトした場合
+     * @throws IOException 受信に失敗した場合
+     */
+    public Frame3E receive() throws IOException;
+
+    /**
+     * 受信タイムアウト時間を設定します。
+     *
+     * @param timeoutMillis タイムアウト時間（ミリ秒）
+     */
+    public void setTimeout(int timeoutMillis);
+
+    /**
+     * 受信タイムアウト時間を取得します。
+     *
+     * @return タイムアウト時間（ミリ秒）
+     */
+    public int getTimeout();
+
+    /**
+     * 受信がタイムアウトした再送可能な要求を再送する回数を取得します。
+     * 信頼性のない通信路（UDPなど）で、応答を失った読出し要求を回復するために使用します。
+     *
+     * @return 再送回数（再送しない場合は0）
+     */
+    public default int getRetransmitCount() {
+        return 0;
+    }
+
+    /**
+     * データグラム型の通信路かどうかを確認します。
+     * データグラム型の通信路では1回の受信で1フレームを受け取るため、遅れて届いた応答が後続の受信に混ざっても
+     * フレームの区切りは崩れません。ストリーム型（TCPなど）の通信路ではfalseを返します。
+     *
+     * @return データグラム型の場合はtrue
+     */
+    public default boolean isDatagram() {
+        return false;
+    }
+
+    /**
+     * 接続先ホスト名またはIPアドレスを取得します。
+     *
+     * @return 接続先ホスト名またはIPアドレス
+     */
+    public String getHost();
+
+    /**
+     * 接続先ポート番号を取得します。
+     *
+     * @return 接続先ポート番号
+     */
+    public int getPort();
+}
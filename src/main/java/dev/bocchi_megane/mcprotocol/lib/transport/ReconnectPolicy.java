@@ -0,0 +1,123 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 再接続ポリシークラス
+ * 通信路の切断を検出したときの再接続の待ち時間と試行回数を定義します。
+ * 待ち時間は試行ごとに指数的に延び、上限で頭打ちになります。
+ * 多数のクライアントが同時に再接続してPLCに集中しないよう、待ち時間にはランダムな揺らぎを加えます。
+ */
+public class ReconnectPolicy {
+    /** 既定のポリシー（50ミリ秒から倍々に延ばし、最大5秒、揺らぎ50%、無制限に試行） */
+    public static final ReconnectPolicy DEFAULT = new ReconnectPolicy(50, 5000, 2.0, 0.5, 0);
+
+    /** 初回の待ち時間（ミリ秒） */
+    private final long _initialDelayMillis;
+    /** 待ち時間の上限（ミリ秒） */
+    private final long _maxDelayMillis;
+    /** 試行ごとの待ち時間の倍率 */
+    private final double _multiplier;
+    /** 待ち時間の揺らぎの割合（0.0～1.0） */
+    private final double _jitter;
+    /** 最大試行回数（0の場合は無制限） */
+    private final int _maxAttempts;
+
+    /**
+     * コンストラクタ
+     *
+     * @param initialDelayMillis 初回の待ち時間（ミリ秒）
+     * @param maxDelayMillis 待ち時間の上限（ミリ秒）
+     * @param multiplier 試行ごとの待ち時間の倍率（1.0以上）
+     * @param jitter 待ち時間の揺らぎの割合（0.0～1.0、待ち時間はこの割合まで短くなります）
+     * @param maxAttempts 最大試行回数（0の場合は無制限）
+     * @throws IllegalArgumentException 範囲外の値が指定された場合
+     */
+    public ReconnectPolicy(long initialDelayMillis, long maxDelayMillis, double multiplier, double jitter, int maxAttempts) {
+        if (initialDelayMillis < 0 || maxDelayMillis < initialDelayMillis) {
+            throw new IllegalArgumentException("待ち時間の指定が間違っています");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("倍率は1.0以上を指定してください");
+        }
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new IllegalArgumentException("揺らぎの割合は0.0～1.0を指定してください");
+        }
+        if (maxAttempts < 0) {
+            throw new IllegalArgumentException("最大試行回数は0以上を指定してください");
+        }
+        this._initialDelayMillis = initialDelayMillis;
+        this._maxDelayMillis = maxDelayMillis;
+        this._multiplier = multiplier;
+        this._jitter = jitter;
+        this._maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 指定した試行の前の待ち時間を求めます。
+     * 指数的に延ばした待ち時間から、揺らぎの割合までのランダムな時間を差し引きます。
+     *
+     * @param attempt 試行番号（0始まり）
+     * @return 待ち時間（ミリ秒）
+     */
+    public long getDelayMillis(int attempt) {
+        double base = Math.min(_maxDelayMillis, _initialDelayMillis * Math.pow(_multiplier, attempt));
+        double jitter = base * _jitter * ThreadLocalRandom.current().nextDouble();
+        return (long)(base - jitter);
+    }
+
+    /**
+     * 指定した試行を行ってよいかを判定します。
+     *
+     * @param attempt 試行番号（0始まり）
+     * @return 試行してよい場合はtrue
+     */
+    public boolean canAttempt(int attempt) {
+        return _maxAttempts == 0 || attempt < _maxAttempts;
+    }
+
+    /**
+     * 初回の待ち時間を取得します。
+     *
+     * @return 初回の待ち時間（ミリ秒）
+     */
+    public long getInitialDelayMillis() {
+        return _initialDelayMillis;
+    }
+
+    /**
+     * 待ち時間の上限を取得します。
+     *
+     * @return 待ち時間の上限（ミリ秒）
+     */
+    public long getMaxDelayMillis() {
+        return _maxDelayMillis;
+    }
+
+    /**
+     * 試行ごとの待ち時間の倍率を取得します。
+     *
+     * @return 倍率
+     */
+    public double getMultiplier() {
+        return _multiplier;
+    }
+
+    /**
+     * 待ち時間の揺らぎの割合を取得します。
+     *
+     * @return 揺らぎの割合
+     */
+    public double getJitter() {
+        return _jitter;
+    }
+
+    /**
+     * 最大試行回数を取得します。
+     *
+     * @return 最大試行回数（0の場合は無制限）
+     */
+    public int getMaxAttempts() {
+        return _maxAttempts;
+    }
+}
@@ -0,0 +1,484 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import dev.bocchi_megane.mcprotocol.lib.define.ConnectionStateEnum;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame3E;
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame4E;
+
+/**
+ * 要求送出クラス
+ * 複数のスレッドから投入された要求フレームをロックフリーのキューに蓄え、
+ * 通信路を専有する1本のI/Oスレッドが順に送信して応答フレームを受信します。
+ * 通信路への書込み・読込みはI/Oスレッドだけが行うため、フレームが混ざることはありません。
+ * フレームの構築と応答の解析は呼び出し元のスレッドで行う前提で、このクラスはバイト列とフレームだけを扱います。
+ * 4Eフレームの要求はパイプライン深さを上限として応答を待たずに続けて送信し、シリアル番号で応答と対応付けます。
+ * 受信がタイムアウトした場合、再送可能な要求は通信路の再送回数まで同じフレームを再送します。
+ * ストリーム型の通信路で3Eフレームの受信がタイムアウトした場合は、遅れて届く応答を後続の要求の応答と取り違えないよう、
+ * 接続し直してから次の要求を送信します。
+ * 再接続ポリシーが設定されている場合、通信路の切断を検出すると待ち時間を延ばしながら再接続を試み、
+ * 応答待ちだった再送可能な要求を再接続後に送り直します。再接続中に投入された要求は再接続後に送信されます。
+ * 再接続ポリシーがない場合は、切断を検出すると切断状態を通知して停止し、未完了の要求を全て異常完了させます。
+ * <p>
+ * 制限事項: I/Oスレッドは接続ごとに1本起動し、複数の接続で共有しません。
+ * {@link dev.bocchi_megane.mcprotocol.lib.ClientPool} で多数の接続を開くと、接続数と同じ数のスレッドが受信待ちになります。
+ * </p>
+ */
+public class RequestDispatcher {
+    /** 再接続ポリシーがない場合に受信を同期させるためのポリシー（直ちに1度だけ接続し直す） */
+    private static final ReconnectPolicy RESYNC_POLICY = new ReconnectPolicy(0, 0, 1.0, 0.0, 1);
+
+    /** 通信路 */
+    private final ITransport _transport;
+    /** 送信待ちの要求（複数生産者・単一消費者） */
+    private final ConcurrentLinkedQueue<PendingRequest> _queue = new ConcurrentLinkedQueue<>();
+    /** I/Oスレッド */
+    private final Thread _thread;
+    /** 動作中かどうか */
+    private volatile boolean _isRunning = true;
+    /** 同時に応答待ちにできる4E要求数の上限 */
+    private volatile int _pipelineDepth;
+    /** 投入されてから完了していない要求数 */
+    private final AtomicInteger _outstandingCount = new AtomicInteger();
+    /** 再接続ポリシー（nullの場合は再接続しない） */
+    private volatile ReconnectPolicy _reconnectPolicy;
+    /** 接続状態の変化の通知先 */
+    private final Consumer<ConnectionStateEnum> _stateListener;
+
+    /** 応答待ちの要求（シリアル番号 → 要求、送信順、I/Oスレッドのみが操作） */
+    private final Map<Short, PendingRequest> _inFlight = new LinkedHashMap<>();
+    /** 再接続後に送り直す要求（I/Oスレッドのみが操作） */
+    private final ArrayDeque<PendingRequest> _replay = new ArrayDeque<>();
+
+    /**
+     * コンストラクタ
+     * 再接続を行わない要求送出器を作成し、I/Oスレッドを起動します。
+     *
+     * @param transport 接続済みの通信路
+     * @param pipelineDepth 同時に応答待ちにできる4E要求数の上限
+     */
+    public RequestDispatcher(ITransport transport, int pipelineDepth) {
+        this(transport, pipelineDepth, null, state -> { });
+    }
+
+    /**
+     * コンストラクタ
+     * I/Oスレッドを起動します。
+     *
+     * @param transport 接続済みの通信路
+     * @param pipelineDepth 同時に応答待ちにできる4E要求数の上限
+     * @param reconnectPolicy 再接続ポリシー（nullの場合は再接続しない）
+     * @param stateListener 再接続に伴う接続状態の変化の通知先（I/Oスレッドから呼び出されます）
+     */
+    public RequestDispatcher(ITransport transport, int pipelineDepth, ReconnectPolicy reconnectPolicy,
+            Consumer<ConnectionStateEnum> stateListener) {
+        this._transport = transport;
+        this._pipelineDepth = pipelineDepth;
+        this._reconnectPolicy = reconnectPolicy;
+        this._stateListener = stateListener;
+        this._thread = new Thread(this::run, "mcprotocol-io-" + transport.getHost() + ":" + transport.getPort());
+        this._thread.setDaemon(true);
+        this._thread.start();
+    }
+
+    /**
+     * 要求フレームを送信キューに投入します。
+     * 呼び出し元はブロックされず、応答フレームを受信するとフューチャーが完了します。
+     *
+     * @param frameBytes 送信する要求フレームのバイト配列
+     * @param serialNumber 4Eフレームのシリアル番号
+     * @param is4E 4Eフレームの場合はtrue
+     * @param isIdempotent タイムアウト時に再送してよい場合はtrue
+     * @return 応答フレームで完了するフューチャー
+     */
+    public CompletableFuture<Frame3E> submit(byte[] frameBytes, short serialNumber, boolean is4E, boolean isIdempotent) {
+        PendingRequest request = new PendingRequest(frameBytes, serialNumber, is4E, isIdempotent);
+        if (!_isRunning) {
+            request.future.completeExceptionally(new RequestAbnormalException("接続されていません"));
+            return request.future;
+        }
+        _outstandingCount.incrementAndGet();
+        request.future.whenComplete((frame, e) -> _outstandingCount.decrementAndGet());
+        _queue.offer(request);
+        LockSupport.unpark(_thread);
+        // 停止処理と競合した場合に取り残さない
+        if (!_isRunning) {
+            failQueued();
+        }
+        return request.future;
+    }
+
+    /**
+     * I/Oスレッドを停止します。
+     * 送信待ち・応答待ちの要求は RequestAbnormalException で異常完了します。
+     * I/Oスレッドが受信待ちで止まっている場合に備え、呼び出し元は続けて通信路をクローズしてください。
+     */
+    public void stop() {
+        _isRunning = false;
+        LockSupport.unpark(_thread);
+        failQueued();
+    }
+
+    /**
+     * I/Oスレッドの終了を待機します。
+     *
+     * @param millis 最大待機時間（ミリ秒）
+     */
+    public void awaitTermination(long millis) {
+        if (Thread.currentThread() == _thread) {
+            return;
+        }
+        try {
+            _thread.join(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 投入されてから完了していない要求数を取得します。
+     * 送信待ちと応答待ちの両方を含みます。
+     *
+     * @return 未完了の要求数
+     */
+    public int getOutstandingCount() {
+        return _outstandingCount.get();
+    }
+
+    /**
+     * 同時に応答待ちにできる4E要求数の上限を設定します。
+     *
+     * @param pipelineDepth 応答待ち要求数の上限
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        _pipelineDepth = pipelineDepth;
+    }
+
+    /**
+     * 再接続ポリシーを設定します。
+     *
+     * @param reconnectPolicy 再接続ポリシー（nullの場合は再接続しない）
+     */
+    public void setReconnectPolicy(ReconnectPolicy reconnectPolicy) {
+        _reconnectPolicy = reconnectPolicy;
+    }
+
+    /**
+     * 動作中かどうかを取得します。
+     * 再接続を諦めた場合、再接続ポリシーなしで切断を検出した場合、停止した場合はfalseになります。
+     *
+     * @return 動作中の場合はtrue
+     */
+    public boolean isRunning() {
+        return _isRunning;
+    }
+
+    /**
+     * I/Oスレッドの処理
+     * キューから要求を取り出して送信し、応答を受信してフューチャーを完了させます。
+     */
+    private void run() {
+        while (_isRunning) {
+            PendingRequest next = peekNext();
+            if (next == null && _inFlight.isEmpty()) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                if (next != null && !next.is4E) {
+                    // 3Eフレームは応答待ちの4E要求を片付けてから1件ずつ送受信する
+                    if (_inFlight.isEmpty()) {
+                        pollNext();
+                        exchange3E(next);
+                    } else {
+                        receive4E();
+                    }
+                    continue;
+                }
+                // 上限まで続けて送信
+                while (next != null && next.is4E && _inFlight.size() < _pipelineDepth) {
+                    pollNext();
+                    // 送信に失敗した場合も異常完了させるため、先に応答待ちへ登録する
+                    _inFlight.put(next.serialNumber, next);
+                    _transport.send(next.frameBytes);
+                    next = peekNext();
+                }
+                receive4E();
+            } catch (SocketTimeoutException e) {
+                boolean isOutOfSync = !_transport.isDatagram() && has3EInFlight();
+                try {
+                    retransmitInFlight();
+                } catch (IOException | RuntimeException e2) {
+                    recover();
+                    continue;
+                }
+                if (isOutOfSync) {
+                    resynchronize();
+                }
+            } catch (IOException | RuntimeException e) {
+                recover();
+            }
+        }
+        failInFlight("接続が切断されました");
+        failReplay();
+        failQueued();
+    }
+
+    /**
+     * 次に送信する要求を参照します。再接続後に送り直す要求を優先します。
+     *
+     * @return 次に送信する要求（ない場合はnull）
+     */
+    private PendingRequest peekNext() {
+        return _replay.isEmpty() ? _queue.peek() : _replay.peek();
+    }
+
+    /**
+     * 次に送信する要求を取り出します。再接続後に送り直す要求を優先します。
+     *
+     * @return 次に送信する要求（ない場合はnull）
+     */
+    private PendingRequest pollNext() {
+        return _replay.isEmpty() ? _queue.poll() : _replay.poll();
+    }
+
+    /**
+     * 3Eフレームの要求を1件送信し、応答を受信します。
+     * 受信がタイムアウトした場合、再送可能な要求は再送回数まで再送します。
+     *
+     * @param request 要求
+     * @throws IOException 送受信に失敗した場合、または再送できずにタイムアウトした場合
+     */
+    private void exchange3E(PendingRequest request) throws IOException {
+        _inFlight.put(request.serialNumber, request);
+        _transport.send(request.frameBytes);
+        while (true) {
+            try {
+                Frame3E frame = _transport.receive();
+                _inFlight.remove(request.serialNumber);
+                request.future.complete(frame);
+                return;
+            } catch (SocketTimeoutException e) {
+                if (!canRetransmit(request)) {
+                    throw e;
+                }
+                request.retransmitCount++;
+                _transport.send(request.frameBytes);
+            }
+        }
+    }
+
+    /**
+     * 通信路の異常から回復します。
+     * 再接続ポリシーがない場合は応答待ちの要求を異常完了させ、切断状態を通知して停止します。
+     * 送信待ち・送り直し待ちの要求はI/Oスレッドの終了時に異常完了します。
+     * 再接続ポリシーがある場合は、再送可能な要求を送り直し用に残し、それ以外を異常完了させてから再接続します。
+     * 書込みなどの要求は、PLCで実行済みかどうかが分からないため送り直しません。
+     */
+    private void recover() {
+        ReconnectPolicy policy = _reconnectPolicy;
+        if (policy == null || !_isRunning) {
+            failInFlight("送信できませんでした");
+            if (_isRunning) {
+                _isRunning = false;
+                _transport.close();
+                _stateListener.accept(ConnectionStateEnum.DISCONNECTED);
+            }
+            return;
+        }
+        for (PendingRequest request : _inFlight.values()) {
+            if (request.isIdempotent) {
+                _replay.add(request);
+            } else {
+                request.future.completeExceptionally(new RequestAbnormalException("送信できませんでした"));
+            }
+        }
+        _inFlight.clear();
+        if (!reconnect(policy)) {
+            _isRunning = false;
+        }
+    }
+
+    /**
+     * 3Eフレームの受信がタイムアウトした後、接続し直して受信を同期させます。
+     * 3Eフレームの応答には要求と対応付ける番号がないため、ストリーム型の通信路では遅れて届いた応答が
+     * 次の要求の応答として読まれてしまいます。接続し直すことで、遅れて届く応答を捨てます。
+     * 再接続ポリシーがない場合は直ちに1度だけ接続し直し、失敗した場合は停止します。
+     */
+    private void resynchronize() {
+        ReconnectPolicy policy = _reconnectPolicy;
+        if (!reconnect(policy == null ? RESYNC_POLICY : policy)) {
+            _isRunning = false;
+        }
+    }
+
+    /**
+     * 応答待ちの3Eフレームの要求があるかどうかを確認します。
+     *
+     * @return 応答待ちの3Eフレームの要求がある場合はtrue
+     */
+    private boolean has3EInFlight() {
+        for (PendingRequest request : _inFlight.values()) {
+            if (!request.is4E) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 再接続ポリシーに従って再接続を試みます。
+     *
+     * @param policy 再接続ポリシー
+     * @return 再接続できた場合はtrue
+     */
+    private boolean reconnect(ReconnectPolicy policy) {
+        _stateListener.accept(ConnectionStateEnum.RECONNECTING);
+        _transport.close();
+        for (int attempt = 0; _isRunning && policy.canAttempt(attempt); attempt++) {
+            // 要求の投入による unpark で早く起きないよう、期限まで待機を繰り返す
+            long deadline = System.nanoTime() + policy.getDelayMillis(attempt) * 1_000_000L;
+            long remaining;
+            while (_isRunning && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (!_isRunning) {
+                break;
+            }
+            try {
+                _transport.connect();
+                _stateListener.accept(ConnectionStateEnum.CONNECTED);
+                return true;
+            } catch (IOException e) {
+                // 次の試行まで待つ
+            }
+        }
+        if (_isRunning) {
+            _stateListener.accept(ConnectionStateEnum.DISCONNECTED);
+        }
+        return false;
+    }
+
+    /**
+     * 4Eフレームの応答を1件受信し、シリアル番号が一致する要求を完了させます。
+     * 対応する要求がない応答（以前にタイムアウトした要求の応答など）は読み捨てます。
+     *
+     * @throws IOException 受信に失敗した場合
+     */
+    private void receive4E() throws IOException {
+        if (_inFlight.isEmpty()) {
+            return;
+        }
+        Frame3E frame = _transport.receive();
+        if (!(frame instanceof Frame4E)) {
+            return;
+        }
+        PendingRequest request = _inFlight.remove(((Frame4E)frame)._serialNumber);
+        if (request != null) {
+            request.future.complete(frame);
+        }
+    }
+
+    /**
+     * 受信がタイムアウトした応答待ちの要求を再送します。
+     * 再送できない要求（書込みなど）と再送回数を使い切った要求はタイムアウトとして異常完了させます。
+     * 遅れて届いた元の要求の応答も、再送した要求の応答も同じシリアル番号で対応付けられ、後から届いた方は読み捨てられます。
+     *
+     * @throws IOException 再送に失敗した場合
+     */
+    private void retransmitInFlight() throws IOException {
+        Iterator<PendingRequest> iterator = _inFlight.values().iterator();
+        while (iterator.hasNext()) {
+            PendingRequest request = iterator.next();
+            if (canRetransmit(request)) {
+                request.retransmitCount++;
+                _transport.send(request.frameBytes);
+            } else {
+                iterator.remove();
+                request.future.completeExceptionally(new RequestAbnormalException("タイムアウトしました"));
+            }
+        }
+    }
+
+    /**
+     * 要求を再送してよいかを判定します。
+     * ストリーム型の通信路の3Eフレームは、元の要求と再送の応答が両方届くと後続の受信がずれるため再送しません。
+     *
+     * @param request 要求
+     * @return 再送可能な要求で、再送回数が残っている場合はtrue
+     */
+    private boolean canRetransmit(PendingRequest request) {
+        if (!request.is4E && !_transport.isDatagram()) {
+            return false;
+        }
+        return request.isIdempotent && request.retransmitCount < _transport.getRetransmitCount();
+    }
+
+    /**
+     * 応答待ちの要求を全て異常完了させます。
+     *
+     * @param message 例外メッセージ
+     */
+    private void failInFlight(String message) {
+        for (PendingRequest request : _inFlight.values()) {
+            request.future.completeExceptionally(new RequestAbnormalException(message));
+        }
+        _inFlight.clear();
+    }
+
+    /**
+     * 送り直し待ちの要求を全て異常完了させます。
+     */
+    private void failReplay() {
+        PendingRequest request;
+        while ((request = _replay.poll()) != null) {
+            request.future.completeExceptionally(new RequestAbnormalException("接続が切断されました"));
+        }
+    }
+
+    /**
+     * 送信待ちの要求を全て異常完了させます。
+     */
+    private void failQueued() {
+        PendingRequest request;
+        while ((request = _queue.poll()) != null) {
+            request.future.completeExceptionally(new RequestAbnormalException("接続が切断されました"));
+        }
+    }
+
+    /**
+     * 送信待ち・応答待ちの要求
+     */
+    private static class PendingRequest {
+        /** 要求フレームのバイト配列 */
+        final byte[] frameBytes;
+        /** シリアル番号（4Eフレーム用） */
+        final short serialNumber;
+        /** 4Eフレームかどうか */
+        final boolean is4E;
+        /** タイムアウト時に再送してよいかどうか */
+        final boolean isIdempotent;
+        /** 再送した回数（I/Oスレッドのみが操作） */
+        int retransmitCount;
+        /** 応答フレームで完了するフューチャー */
+        final CompletableFuture<Frame3E> future = new CompletableFuture<>();
+
+        PendingRequest(byte[] frameBytes, short serialNumber, boolean is4E, boolean isIdempotent) {
+            this.frameBytes = frameBytes;
+            this.serialNumber = serialNumber;
+            this.is4E = is4E;
+            this.isIdempotent = isIdempotent;
+        }
+    }
+}
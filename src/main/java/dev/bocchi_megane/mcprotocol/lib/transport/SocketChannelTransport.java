@@ -0,0 +1,246 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame3E;
+import dev.bocchi_megane.mcprotocol.lib.frame.FrameReader;
+
+/**
+ * NIOソケットチャネルトランスポートクラス
+ * ノンブロッキングの SocketChannel と Selector でPLCと通信します。
+ * 送受信には再利用するダイレクトバッファを使用し、フレームは1回のチャネル書込みで送信されます。
+ * <p>
+ * 制限事項: セレクタは接続ごとに1つ開き、このチャネルだけを待ち受けます。複数の接続を1つのセレクタで多重化しません。
+ * また、受信したバイト列はダイレクトバッファから {@link FrameReader} のヒープ上の配列へ1回複製してからフレームに切り出します。
+ * </p>
+ */
+public class SocketChannelTransport implements ITransport {
+    /** 送受信バッファの既定サイズ */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /** 接続先ホスト名またはIPアドレス */
+    private String _host;
+    /** 接続先ポート番号 */
+    private int _port;
+    /** タイムアウト時間（ミリ秒、0の場合は無制限） */
+    private int _timeout = 1000;
+
+    /** ソケットチャネル */
+    private SocketChannel _channel;
+    /** 待機用セレクタ */
+    private Selector _selector;
+    /** セレクションキー */
+    private SelectionKey _key;
+    /** 送信バッファ（ダイレクトバッファ） */
+    private final ByteBuffer _sendBuffer;
+    /** 受信バッファ（ダイレクトバッファ） */
+    private final ByteBuffer _receiveBuffer;
+    /** 受信フレーム読込み器 */
+    private final FrameReader _frameReader;
+
+    /**
+     * コンストラクタ
+     *
+     * @param host 接続先のホスト名またはIPアドレス
+     * @param port 接続先のポート番号
+     */
+    public SocketChannelTransport(String host, int port) {
+        this(host, port, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 送受信バッファサイズを指定するコンストラクタ
+     *
+     * @param host 接続先のホスト名またはIPアドレス
+     * @param port 接続先のポート番号
+     * @param bufferSize 送受信バッファのサイズ
+     */
+    public SocketChannelTransport(String host, int port, int bufferSize) {
+        this._host = host;
+        this._port = port;
+        this._sendBuffer = ByteBuffer.allocateDirect(bufferSize);
+        this._receiveBuffer = ByteBuffer.allocateDirect(bufferSize);
+        this._frameReader = new FrameReader(bufferSize);
+    }
+
+    /**
+     * ソケットチャネルをノンブロッキングモードで開き、接続を確立します。
+     *
+     * @throws IOException 接続に失敗した場合、またはタイムアウトした場合
+     */
+    @Override
+    public void connect() throws IOException {
+        _channel = SocketChannel.open();
+        try {
+            _channel.configureBlocking(false);
+            _channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            _selector = Selector.open();
+            _key = _channel.register(_selector, SelectionKey.OP_CONNECT);
+
+            long deadline = deadline();
+            if (!_channel.connect(new InetSocketAddress(_host, _port))) {
+                while (!_channel.finishConnect()) {
+                    await(SelectionKey.OP_CONNECT, deadline);
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        _frameReader.reset();
+    }
+
+    /**
+     * セレクタとソケットチャネルをクローズします。
+     */
+    @Override
+    public void close() {
+        if(_selector != null) try { _selector.close(); } catch(Exception e){ e.printStackTrace(); }
+        if(_channel != null) try { _channel.close(); } catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * 現在の接続状態を確認します。
+     *
+     * @return 接続中の場合はtrue、切断中の場合はfalse
+     */
+    @Override
+    public boolean isConnected() {
+        return _channel != null && _channel.isOpen() && _channel.isConnected();
+    }
+
+    /**
+     * フレームを送信します。
+     * 送信バッファに収まるフレームはダイレクトバッファへ詰めてから書き込みます。
+     *
+     * @param frameBytes 送信するフレーム全体のバイト配列
+     * @throws IOException 送信に失敗した場合、またはタイムアウトした場合
+     */
+    @Override
+    public void send(byte[] frameBytes) throws IOException {
+        ByteBuffer src;
+        if (frameBytes.length <= _sendBuffer.capacity()) {
+            _sendBuffer.clear();
+            _sendBuffer.put(frameBytes).flip();
+            src = _sendBuffer;
+        } else {
+            src = ByteBuffer.wrap(frameBytes);
+        }
+
+        long deadline = deadline();
+        while (src.hasRemaining()) {
+            if (_channel.write(src) == 0) {
+                await(SelectionKey.OP_WRITE, deadline);
+            }
+        }
+    }
+
+    /**
+     * フレームを1つ受信します。
+     * 受信バッファに読み込んだデータをフレーム読込み器へ渡し、フレームが揃うまで待機します。
+     *
+     * @return 受信したフレーム
+     * @throws SocketTimeoutException タイムアウトした場合
+     * @throws IOException 受信に失敗した場合
+     */
+    @Override
+    public Frame3E receive() throws IOException {
+        long deadline = deadline();
+        Frame3E frame;
+        while ((frame = _frameReader.next()) == null) {
+            _receiveBuffer.clear();
+            int n = _channel.read(_receiveBuffer);
+            if (n < 0) {
+                throw new EOFException("フレームの受信途中で接続が切断されました");
+            }
+            if (n == 0) {
+                await(SelectionKey.OP_READ, deadline);
+                continue;
+            }
+            _receiveBuffer.flip();
+            _frameReader.feed(_receiveBuffer);
+        }
+        return frame;
+    }
+
+    /**
+     * 指定した操作が可能になるまでセレクタで待機します。
+     *
+     * @param ops 待機する操作（SelectionKey.OP_*）
+     * @param deadline 待機期限（System.nanoTime() 基準、0の場合は無制限）
+     * @throws SocketTimeoutException 期限を過ぎた場合
+     * @throws IOException 待機に失敗した場合
+     */
+    private void await(int ops, long deadline) throws IOException {
+        _key.interestOps(ops);
+        long timeoutMillis = 0;
+        if (deadline != 0) {
+            timeoutMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (timeoutMillis <= 0) {
+                throw new SocketTimeoutException("タイムアウトしました");
+            }
+        }
+        _selector.select(timeoutMillis);
+        _selector.selectedKeys().clear();
+    }
+
+    /**
+     * 現在時刻とタイムアウト時間から待機期限を求めます。
+     *
+     * @return 待機期限（System.nanoTime() 基準、タイムアウト無制限の場合は0）
+     */
+    private long deadline() {
+        if (_timeout == 0) {
+            return 0;
+        }
+        return System.nanoTime() + _timeout * 1_000_000L;
+    }
+
+    /**
+     * 受信タイムアウト時間を設定します。
+     *
+     * @param timeoutMillis タイムアウト時間（ミリ秒、0の場合は無制限）
+     */
+    @Override
+    public void setTimeout(int timeoutMillis) {
+        _timeout = timeoutMillis;
+    }
+
+    /**
+     * 受信タイムアウト時間を取得します。
+     *
+     * @return タイムアウト時間（ミリ秒）
+     */
+    @Override
+    public int getTimeout() {
+        return _timeout;
+    }
+
+    /**
+     * 接続先ホスト名またはIPアドレスを取得します。
+     *
+     * @return 接続先ホスト名またはIPアドレス
+     */
+    @Override
+    public String getHost() {
+        return _host;
+    }
+
+    /**
+     * 接続先ポート番号を取得します。
+     *
+     * @return 接続先ポート番号
+     */
+    @Override
+    public int getPort() {
+        return _port;
+    }
+}
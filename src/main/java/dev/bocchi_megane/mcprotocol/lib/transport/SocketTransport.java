@@ -0,0 +1,175 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame3E;
+import dev.bocchi_megane.mcprotocol.lib.frame.FrameReader;
+
+/**
+ * TCPソケットトランスポートクラス
+ * java.net.Socket によるブロッキングI/OでPLCと通信します。
+ */
+public class SocketTransport implements ITransport {
+    /** 接続先ホスト名またはIPアドレス */
+    private String _host;
+    /** 接続先ポート番号 */
+    private int _port;
+    /** 受信タイムアウト時間（ミリ秒） */
+    private int _timeout = 1000;
+
+    /** TCPソケット */
+    private Socket _so;
+    /** 出力ストリーム */
+    private OutputStream _out;
+    /** 入力ストリーム */
+    private BufferedInputStream _in;
+    /** 受信フレーム読込み器（受信バッファを再利用する） */
+    private FrameReader _frameReader;
+
+    /**
+     * コンストラクタ
+     *
+     * @param host 接続先のホスト名またはIPアドレス
+     * @param port 接続先のポート番号
+     */
+    public SocketTransport(String host, int port) {
+        this._host = host;
+        this._port = port;
+        this._frameReader = new FrameReader();
+    }
+
+    /**
+     * TCPソケットを作成し、タイムアウトを設定して入出力ストリームを初期化します。
+     *
+     * @throws IOException ソケット接続、ストリーム初期化に失敗した場合
+     */
+    @Override
+    public void connect() throws IOException {
+        _so = new Socket(_host, _port);
+        _so.setSoTimeout(_timeout);  // タイムアウト時間
+        _in = new BufferedInputStream(_so.getInputStream());
+        _out = _so.getOutputStream();
+        _frameReader.reset();
+    }
+
+    /**
+     * 開いているストリームとソケットをクローズします。
+     */
+    @Override
+    public void close() {
+        if(_out != null) try { _out.close(); } catch(Exception e){ e.printStackTrace(); }
+        if(_in != null) try { _in.close(); } catch(Exception e){ e.printStackTrace(); }
+        if(_so != null) try { _so.close(); } catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * 現在の接続状態を確認します。
+     *
+     * @return 接続中の場合はtrue、切断中の場合はfalse
+     */
+    @Override
+    public boolean isConnected() {
+        if (_so == null) {
+            return false;
+        }
+        return _so.isConnected() && ! _so.isClosed();
+    }
+
+    /**
+     * フレームを送信します。
+     *
+     * @param frameBytes 送信するフレーム全体のバイト配列
+     * @throws IOException 送信に失敗した場合
+     */
+    @Override
+    public void send(byte[] frameBytes) throws IOException {
+        _out.write(frameBytes);
+        _out.flush();
+    }
+
+    /**
+     * フレームを1つ受信します。
+     * データ長分を受信しきるまで読み込みます。
+     *
+     * @return 受信したフレーム
+     * @throws IOException 受信に失敗した場合、またはタイムアウトした場合
+     */
+    @Override
+    public Frame3E receive() throws IOException {
+        return _frameReader.readFrame(_in);
+    }
+
+    /**
+     * 受信タイムアウト時間を設定します。
+     * 接続中の場合は即座にソケットへ反映されます。
+     *
+     * @param timeoutMillis タイムアウト時間（ミリ秒）
+     */
+    @Override
+    public void setTimeout(int timeoutMillis) {
+        _timeout = timeoutMillis;
+        if (_so != null) {
+            try { _so.setSoTimeout(timeoutMillis); } catch(Exception e){ e.printStackTrace(); }
+        }
+    }
+
+    /**
+     * 受信タイムアウト時間を取得します。
+     *
+     * @return タイムアウト時間（ミリ秒）
+     */
+    @Override
+    public int getTimeout() {
+        return _timeout;
+    }
+
+    /**
+     * 接続先ホスト名またはIPアドレスを取得します。
+     *
+     * @return 接続先ホスト名またはIPアドレス
+     */
+    @Override
+    public String getHost() {
+        return _host;
+    }
+
+    /**
+     * 接続先ポート番号を取得します。
+     *
+     * @return 接続先ポート番号
+     */
+    @Override
+    public int getPort() {
+        return _port;
+    }
+
+    /**
+     * 現在のTCPソケットを取得します。
+     *
+     * @return TCPソケット（未接続の場合はnull）
+     */
+    public Socket getSocket() {
+        return _so;
+    }
+
+    /**
+     * 現在の出力ストリームを取得します。
+     *
+     * @return 出力ストリーム（未接続の場合はnull）
+     */
+    public OutputStream getOutput() {
+        return _out;
+    }
+
+    /**
+     * 現在の入力ストリームを取得します。
+     *
+     * @return 入力ストリーム（未接続の場合はnull）
+     */
+    public BufferedInputStream getInput() {
+        return _in;
+    }
+}
@@ -1,5 +1,7 @@
 package dev.bocchi_megane.mcprotocol.lib.util;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
@@ -9,6 +11,14 @@ import java.util.function.Function;
  * 各種型変換を行うユーティリティクラスです。
  */
 public class Converter {
+    /** byte配列をリトルエンディアンのshortとして参照するビュー */
+    private static final VarHandle SHORT_VIEW = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    /** byte配列をリトルエンディアンのintとして参照するビュー */
+    private static final VarHandle INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    /** byte配列をリトルエンディアンのfloatとして参照するビュー */
+    private static final VarHandle FLOAT_VIEW = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    /** byte配列をリトルエンディアンのdoubleとして参照するビュー */
+    private static final VarHandle DOUBLE_VIEW = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
 
     /**
      * 複数のbyte配列を連結します。
@@ -138,6 +148,206 @@ public class Converter {
         return buffer.array();
     }
 
+    /**
+     * int配列を、各値を2ワード（下位、上位の順、リトルエンディアン）としてbyte配列に変換します。
+     * @param values int配列
+     * @return 変換されたbyte配列
+     */
+    public static byte[] fromIntArrayToBytes(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * byte配列の指定位置からshort値（リトルエンディアン）を読み出します。
+     * @param bytes byte配列
+     * @param index 読み出し位置（バイト単位）
+     * @return 読み出した値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static short getShort(byte[] bytes, int index) {
+        return (short)SHORT_VIEW.get(bytes, index);
+    }
+
+    /**
+     * byte配列の指定位置からint値（リトルエンディアン、下位ワードが先）を読み出します。
+     * @param bytes byte配列
+     * @param index 読み出し位置（バイト単位）
+     * @return 読み出した値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static int getInt(byte[] bytes, int index) {
+        return (int)INT_VIEW.get(bytes, index);
+    }
+
+    /**
+     * byte配列の指定位置から単精度実数（リトルエンディアン、下位ワードが先）を読み出します。
+     * @param bytes byte配列
+     * @param index 読み出し位置（バイト単位）
+     * @return 読み出した値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static float getFloat(byte[] bytes, int index) {
+        return (float)FLOAT_VIEW.get(bytes, index);
+    }
+
+    /**
+     * byte配列の指定位置から倍精度実数（リトルエンディアン、下位ワードが先）を読み出します。
+     * @param bytes byte配列
+     * @param index 読み出し位置（バイト単位）
+     * @return 読み出した値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static double getDouble(byte[] bytes, int index) {
+        return (double)DOUBLE_VIEW.get(bytes, index);
+    }
+
+    /**
+     * byte配列の指定位置へshort値をリトルエンディアンで書き込みます。
+     * @param bytes byte配列
+     * @param index 書込み位置（バイト単位）
+     * @param value 書き込む値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static void putShort(byte[] bytes, int index, short value) {
+        SHORT_VIEW.set(bytes, index, value);
+    }
+
+    /**
+     * byte配列の指定位置へint値をリトルエンディアン（下位ワードが先）で書き込みます。
+     * @param bytes byte配列
+     * @param index 書込み位置（バイト単位）
+     * @param value 書き込む値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static void putInt(byte[] bytes, int index, int value) {
+        INT_VIEW.set(bytes, index, value);
+    }
+
+    /**
+     * byte配列の指定位置へ単精度実数をリトルエンディアン（下位ワードが先）で書き込みます。
+     * @param bytes byte配列
+     * @param index 書込み位置（バイト単位）
+     * @param value 書き込む値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static void putFloat(byte[] bytes, int index, float value) {
+        FLOAT_VIEW.set(bytes, index, value);
+    }
+
+    /**
+     * byte配列の指定位置へ倍精度実数をリトルエンディアン（下位ワードが先）で書き込みます。
+     * @param bytes byte配列
+     * @param index 書込み位置（バイト単位）
+     * @param value 書き込む値
+     * @throws IndexOutOfBoundsException 範囲外の位置が指定された場合
+     */
+    public static void putDouble(byte[] bytes, int index, double value) {
+        DOUBLE_VIEW.set(bytes, index, value);
+    }
+
+    /**
+     * 4桁のBCD値（1ワード）を整数に変換します。
+     * @param bcd BCD値（各4ビットが10進数の1桁、上位が大きい桁）
+     * @return 変換された整数（0～9999）
+     * @throws IllegalArgumentException 10進数の桁として不正な値を含む場合
+     */
+    public static int fromBcdToInt(short bcd) {
+        int result = 0;
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            int digit = (bcd >> shift) & 0x0F;
+            if (digit > 9) {
+                throw new IllegalArgumentException("Invalid BCD: " + String.format("%04X", bcd & 0xFFFF));
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /**
+     * 整数を4桁のBCD値（1ワード）に変換します。
+     * @param value 変換する整数（0～9999）
+     * @return BCD値（各4ビットが10進数の1桁、上位が大きい桁）
+     * @throws IllegalArgumentException 範囲外の値が指定された場合
+     */
+    public static short fromIntToBcd(int value) {
+        if (value < 0 || value > 9999) {
+            throw new IllegalArgumentException("Invalid BCD value: " + value);
+        }
+        int bcd = 0;
+        for (int shift = 0; shift <= 12; shift += 4) {
+            bcd |= (value % 10) << shift;
+            value /= 10;
+        }
+        return (short)bcd;
+    }
+
+    /**
+     * ビット値の配列を16点ずつワードに詰めたshort配列に変換します。
+     * 各ワードの最下位ビットが若番のデバイスに対応し、端数は0で埋められます。
+     * @param bits ビット値の配列
+     * @return 変換されたshort配列（長さは bits.length / 16 の切り上げ）
+     */
+    public static short[] fromBooleanArrayToWords(boolean[] bits) {
+        short[] words = new short[(bits.length + 15) / 16];
+        for (int i = 0; i < bits.length; i++) {
+            if (bits[i]) {
+                words[i / 16] |= (short)(1 << (i % 16));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 16点ずつワードに詰められたshort配列をビット値の配列に変換します。
+     * @param words ワード配列（最下位ビットが若番のデバイス）
+     * @param points 取り出すビット点数
+     * @return ビット値の配列
+     * @throws IllegalArgumentException 点数がワード数に収まらない場合
+     */
+    public static boolean[] fromWordsToBooleanArray(short[] words, int points) {
+        if (points < 0 || points > words.length * 16) {
+            throw new IllegalArgumentException("Invalid points: " + points);
+        }
+        boolean[] bits = new boolean[points];
+        for (int i = 0; i < points; i++) {
+            bits[i] = (words[i / 16] & (1 << (i % 16))) != 0;
+        }
+        return bits;
+    }
+
+    /**
+     * 16点ずつワードに詰められたshort配列を、64点ずつlongに詰めた配列に変換します。
+     * ビット位置はワード内と同じく、最下位ビットが若番のデバイスに対応します。
+     * @param words ワード配列（最下位ビットが若番のデバイス）
+     * @return 変換されたlong配列（長さは words.length / 4 の切り上げ）
+     */
+    public static long[] fromWordsToLongArray(short[] words) {
+        long[] packed = new long[(words.length + 3) / 4];
+        for (int i = 0; i < words.length; i++) {
+            packed[i / 4] |= (words[i] & 0xFFFFL) << (16 * (i % 4));
+        }
+        return packed;
+    }
+
+    /**
+     * 64点ずつlongに詰められた配列を、16点ずつワードに詰めたshort配列に変換します。
+     * 配列の範囲外のワードは0で埋められます。
+     * @param packed long配列（最下位ビットが若番のデバイス）
+     * @param wordCount 取り出すワード数
+     * @return 変換されたshort配列
+     */
+    public static short[] fromLongArrayToWords(long[] packed, int wordCount) {
+        short[] words = new short[wordCount];
+        for (int i = 0; i < wordCount && i / 4 < packed.length; i++) {
+            words[i] = (short)(packed[i / 4] >>> (16 * (i % 4)));
+        }
+        return words;
+    }
+
     /**
      * byte配列を2進数文字列に変換します。
      * @param bytes 変換するbyte配列
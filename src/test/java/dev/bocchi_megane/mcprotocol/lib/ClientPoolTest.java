@@ -0,0 +1,135 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockWordReadResponse;
+
+class ClientPoolTest {
+
+    private MockPlcServer _server;
+    private ClientPool _pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        _server = new MockPlcServer();
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        for (int i = 0; i < memory.length; i++) {
+            memory[i] = (short)i;
+        }
+        _pool = new ClientPool(_server.getHost(), _server.getPort(), 4, false);
+        _pool.setHealthCheckInterval(0);
+        _pool.unsafe_connect();
+        // 疑似PLCの受付スレッドが全接続を登録するまで待つ
+        for (int i = 0; i < 100 && _server.getConnectionCount() < 4; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        _pool.disconnect();
+        _server.close();
+    }
+
+    @Test
+    @DisplayName("指定した数の接続を開き、Clientと同じAPIで読み書きできる")
+    void testSameApi() {
+        assertEquals(4, _server.getConnectionCount());
+        assertTrue(_pool.isConnected());
+
+        _pool.writeBlockWord(new DeviceSpec("D200"), new short[] {-1, -2});
+        assertArrayEquals(new short[] {-1, -2}, _pool.readBlockWord(new DeviceSpec("D200"), (short)2));
+        assertEquals(MockPlcServer.PLC_TYPE_NAME, _pool.readPlcTypeName().substring(0, 16));
+        assertThrows(ResponseAbnormalException.class, () -> _pool.readBlockWord(new DeviceSpec("D65535"), (short)2));
+        assertEquals(4, _pool.getHealthyCount());
+    }
+
+    @Test
+    @DisplayName("要求は未完了数の少ない接続に振り分けられ、接続数分だけ並行に処理される")
+    void testLeastOutstandingRouting() throws Exception {
+        long requestCount = _server.getRequestCount();
+        _server.holdResponses();
+
+        List<CompletableFuture<short[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(_pool.readBlockWordAsync(new DeviceSpec(DeviceCodeEnum.DataRegister, i * 10), (short)1));
+        }
+        for (Client client : _pool.getClients()) {
+            assertEquals(1, client.getOutstandingCount());
+        }
+
+        // 応答を保留している間に全接続の要求が疑似PLCへ届いている
+        assertTrue(_server.awaitRequestCount(requestCount + 4), "接続間で並行に処理されていません");
+        for (CompletableFuture<short[]> future : futures) {
+            assertFalse(future.isDone());
+        }
+        _server.releaseResponses();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i * 10, futures.get(i).get()[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("sendRequests の応答は要求順に並ぶ")
+    void testSendRequests() {
+        List<BlockReadRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(new BlockReadRequest(new DeviceSpec(DeviceCodeEnum.DataRegister, i * 960), (short)960, false));
+        }
+
+        List<AbstractResponse> responses = _pool.sendRequests(requests);
+
+        for (int i = 0; i < 20; i++) {
+            short[] data = ((BlockWordReadResponse)responses.get(i)).getReadData();
+            assertEquals((short)(i * 960), data[0]);
+            assertEquals((short)(i * 960 + 959), data[959]);
+        }
+    }
+
+    @Test
+    @DisplayName("切断された接続は正常性確認で振り分けから外れ、再接続される")
+    void testHealthCheck() {
+        _server.dropConnections();
+
+        _pool.checkHealth();
+        assertEquals(0, _pool.getHealthyCount());
+        assertThrows(RequestAbnormalException.class, () -> _pool.readBlockWord(new DeviceSpec("D0"), (short)1));
+
+        _pool.checkHealth();
+        assertEquals(4, _pool.getHealthyCount());
+        assertArrayEquals(new short[] {5}, _pool.readBlockWord(new DeviceSpec("D5"), (short)1));
+    }
+
+    @Test
+    @DisplayName("通信に失敗した接続を外して残りの接続で処理を続ける")
+    void testFailedMemberIsSkipped() {
+        Client broken = _pool.getClients().get(0);
+        broken.disconnect();
+
+        for (int i = 0; i < 8; i++) {
+            try {
+                _pool.readBlockWord(new DeviceSpec("D1"), (short)1);
+            } catch (RequestAbnormalException e) {
+                // 切断済みの接続に振り分けられた1回だけ失敗する
+            }
+        }
+        assertEquals(3, _pool.getHealthyCount());
+        assertArrayEquals(new short[] {1}, _pool.readBlockWord(new DeviceSpec("D1"), (short)1));
+    }
+}
@@ -0,0 +1,856 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.ConnectionStateEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.FrameTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.mapping.FieldTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.mapping.PlcField;
+import dev.bocchi_megane.mcprotocol.lib.mapping.StructMapper;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockWordReadResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.plan.ReadPlan;
+import dev.bocchi_megane.mcprotocol.lib.plan.ReadPlanner;
+import dev.bocchi_megane.mcprotocol.lib.plan.ReadResult;
+import dev.bocchi_megane.mcprotocol.lib.transport.ReconnectPolicy;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+class ClientTest {
+
+    private MockPlcServer _server;
+    private Client _client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        _server = new MockPlcServer();
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        for (int i = 0; i < memory.length; i++) {
+            memory[i] = (short)i;
+        }
+        _client = new Client(_server.getHost(), _server.getPort(), false);
+        _client.unsafe_connect();
+        // 疑似PLCの受付スレッドが接続を登録するまで待つ
+        for (int i = 0; i < 100 && _server.getConnectionCount() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        _client.disconnect();
+        _server.close();
+    }
+
+    @Test
+    @DisplayName("4Eフレームで単一要求を送受信できる")
+    void testSendRequest4E() {
+        _client.setFrameType(FrameTypeEnum.FRAME_4E);
+
+        assertArrayEquals(new short[] {100, 101}, _client.readBlockWord(new DeviceSpec("D100"), (short)2));
+        assertEquals(MockPlcServer.PLC_TYPE_NAME, _client.readPlcTypeName().substring(0, 16));
+    }
+
+    @Test
+    @DisplayName("4Eフレームのパイプライン送信で応答が要求順に並ぶ")
+    void testSendRequestsPipelined() {
+        _client.setFrameType(FrameTypeEnum.FRAME_4E);
+        _client.setPipelineDepth(8);
+        _client.getTransport().setTimeout(5000);
+        _server.setResponseDelay(20);
+
+        List<BlockReadRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            requests.add(new BlockReadRequest(new DeviceSpec(DeviceCodeEnum.DataRegister, i * 10), (short)10, false));
+        }
+
+        List<AbstractResponse> responses = _client.sendRequests(requests);
+
+        // 逐次送信なら疑似PLCで応答待ちになる要求は常に1件
+        int maxPendingCount = _server.getMaxPendingCount();
+        assertTrue(maxPendingCount > 1, "パイプライン送信になっていません: " + maxPendingCount);
+        assertTrue(maxPendingCount <= 8, "パイプライン深さを超えて送信しています: " + maxPendingCount);
+
+        assertEquals(32, responses.size());
+        for (int i = 0; i < 32; i++) {
+            short[] data = ((BlockWordReadResponse)responses.get(i)).getReadData();
+            assertEquals(i * 10, data[0]);
+            assertEquals(i * 10 + 9, data[9]);
+        }
+    }
+
+    @Test
+    @DisplayName("3Eフレームでは sendRequests が逐次送信になる")
+    void testSendRequests3E() {
+        List<BlockReadRequest> requests = List.of(
+            new BlockReadRequest(new DeviceSpec("D0"), (short)1, false),
+            new BlockReadRequest(new DeviceSpec("D5"), (short)1, false)
+        );
+
+        List<AbstractResponse> responses = _client.sendRequests(requests);
+
+        assertEquals(0, ((BlockWordReadResponse)responses.get(0)).getReadData()[0]);
+        assertEquals(5, ((BlockWordReadResponse)responses.get(1)).getReadData()[0]);
+    }
+
+    @Test
+    @DisplayName("パイプライン中の異常応答は全応答の受信後に例外となり、接続は継続して使える")
+    void testSendRequestsAbnormal() {
+        _client.setFrameType(FrameTypeEnum.FRAME_4E);
+        List<BlockReadRequest> requests = List.of(
+            new BlockReadRequest(new DeviceSpec("D0"), (short)1, false),
+            new BlockReadRequest(new DeviceSpec("D0"), (short)961, false),
+            new BlockReadRequest(new DeviceSpec("D7"), (short)1, false)
+        );
+
+        assertThrows(ResponseAbnormalException.class, () -> _client.sendRequests(requests));
+        assertArrayEquals(new short[] {3}, _client.readBlockWord(new DeviceSpec("D3"), (short)1));
+    }
+
+    @Test
+    @DisplayName("非同期読込みは呼び出し元を待たせずに応答で完了する")
+    void testReadBlockWordAsync() throws Exception {
+        long requestCount = _server.getRequestCount();
+        _server.holdResponses();
+
+        CompletableFuture<short[]> future = _client.readBlockWordAsync(new DeviceSpec("D20"), (short)3);
+
+        // 疑似PLCが応答を保留している間に呼び出し元へ戻っている
+        assertTrue(_server.awaitRequestCount(requestCount + 1));
+        assertFalse(future.isDone());
+        _server.releaseResponses();
+        assertArrayEquals(new short[] {20, 21, 22}, future.get());
+    }
+
+    @Test
+    @DisplayName("複数のPLCへの非同期要求を同時に発行できる")
+    void testAsyncToMultiplePlcs() throws Exception {
+        try (MockPlcServer other = new MockPlcServer()) {
+            other.memory(DeviceCodeEnum.DataRegister)[0] = 1234;
+            Client otherClient = new Client(other.getHost(), other.getPort(), false);
+            otherClient.unsafe_connect();
+            long requestCount = _server.getRequestCount();
+            long otherRequestCount = other.getRequestCount();
+            _server.holdResponses();
+            other.holdResponses();
+
+            CompletableFuture<short[]> first = _client.readBlockWordAsync(new DeviceSpec("D1"), (short)1);
+            CompletableFuture<short[]> second = otherClient.readBlockWordAsync(new DeviceSpec("D0"), (short)1);
+
+            // 1つ目の応答を待たずに2つ目のPLCへ要求が届いている
+            assertTrue(_server.awaitRequestCount(requestCount + 1));
+            assertTrue(other.awaitRequestCount(otherRequestCount + 1), "要求が逐次に処理されています");
+            assertFalse(first.isDone());
+            assertFalse(second.isDone());
+            _server.releaseResponses();
+            other.releaseResponses();
+
+            assertEquals(1, first.get()[0]);
+            assertEquals(1234, second.get()[0]);
+            otherClient.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("非同期書込みと読込みが発行順に処理される")
+    void testAsyncWriteThenRead() throws Exception {
+        _client.writeBlockWordAsync(new DeviceSpec("D500"), new short[] {7, 8});
+        _client.writeBlockBitAsync(new DeviceSpec("M3"), new boolean[] {true, false, true});
+        CompletableFuture<short[]> words = _client.readBlockWordAsync(new DeviceSpec("D500"), (short)2);
+        CompletableFuture<boolean[]> bits = _client.readBlockBitAsync(new DeviceSpec("M3"), (short)4);
+
+        assertArrayEquals(new short[] {7, 8}, words.get());
+        assertArrayEquals(new boolean[] {true, false, true, false}, bits.get());
+        assertEquals(MockPlcServer.PLC_TYPE_NAME, _client.readPlcTypeNameAsync().get().substring(0, 16));
+    }
+
+    @Test
+    @DisplayName("異常応答は非同期要求のフューチャーを異常完了させる")
+    void testAsyncAbnormal() {
+        CompletableFuture<short[]> future = _client.readBlockWordAsync(new DeviceSpec("D65535"), (short)2);
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(ResponseAbnormalException.class, e.getCause());
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("64スレッドから同時に呼び出してもフレームが混ざらない")
+    void testConcurrentCallers(FrameTypeEnum frameType) throws Exception {
+        final int threads = 64;
+        final int iterations = 50;
+        _client.setFrameType(frameType);
+        _client.getTransport().setTimeout(10000);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            results.add(pool.submit(() -> {
+                start.await();
+                DeviceSpec own = new DeviceSpec(DeviceCodeEnum.DataRegister, 10000 + id * 16);
+                for (int i = 0; i < iterations; i++) {
+                    // スレッドごとに異なる点数・内容で読み書きし、他スレッドの応答が紛れ込めば検出できるようにする
+                    short[] written = new short[1 + id % 8];
+                    for (int k = 0; k < written.length; k++) {
+                        written[k] = (short)(id * 1000 + i * 10 + k);
+                    }
+                    _client.writeBlockWord(own, written);
+                    assertArrayEquals(written, _client.readBlockWord(own, (short)written.length));
+
+                    int offset = id * 100 + i;
+                    short[] fixed = _client.readBlockWord(new DeviceSpec(DeviceCodeEnum.DataRegister, offset), (short)(2 + id % 5));
+                    for (int k = 0; k < fixed.length; k++) {
+                        assertEquals((short)(offset + k), fixed[k]);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(threads * iterations * 3L, _server.getRequestCount());
+        // 並行呼び出し後も同じ接続をそのまま使える
+        assertEquals(MockPlcServer.PLC_TYPE_NAME, _client.readPlcTypeName().substring(0, 16));
+    }
+
+    @Test
+    @DisplayName("ランダム読出しでワードとダブルワードを1回の要求で読み出す")
+    void testReadRandom() throws Exception {
+        _server.memory(DeviceCodeEnum.InternalRelay)[6] = (short)0x8001;
+        long before = _server.getRequestCount();
+
+        int[] values = _client.readRandom(
+            List.of(new DeviceSpec("D5"), new DeviceSpec("M96"), new DeviceSpec("D3")),
+            List.of(new DeviceSpec("D200"))
+        );
+
+        assertArrayEquals(new int[] {5, (short)0x8001, 3, 201 << 16 | 200}, values);
+        assertEquals(1, _server.getRequestCount() - before);
+        assertArrayEquals(new int[] {10}, _client.readRandomAsync(List.of(new DeviceSpec("D10")), List.of()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("ランダム書込みで離れたワード・ダブルワード・ビットを1回の要求で書き込む")
+    void testWriteRandom() throws Exception {
+        long before = _server.getRequestCount();
+
+        _client.writeRandomWords(
+            List.of(new DeviceSpec("D10"), new DeviceSpec("D500")), new short[] {-1, 1234},
+            List.of(new DeviceSpec("D1000")), new int[] {0x12345678}
+        );
+        _client.writeRandomBits(
+            List.of(new DeviceSpec("M3"), new DeviceSpec("Y1F"), new DeviceSpec("M4")), new boolean[] {true, true, false}
+        );
+
+        assertEquals(2, _server.getRequestCount() - before);
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        assertEquals(-1, memory[10]);
+        assertEquals(1234, memory[500]);
+        assertEquals(0x5678, memory[1000]);
+        assertEquals(0x1234, memory[1001]);
+        assertTrue(_server.getBit(DeviceCodeEnum.InternalRelay, 3));
+        assertFalse(_server.getBit(DeviceCodeEnum.InternalRelay, 4));
+        assertTrue(_server.getBit(DeviceCodeEnum.Output, 0x1F));
+
+        _client.writeRandomBitsAsync(List.of(new DeviceSpec("M3")), new boolean[] {false}).get(5, TimeUnit.SECONDS);
+        assertFalse(_server.getBit(DeviceCodeEnum.InternalRelay, 3));
+    }
+
+    @Test
+    @DisplayName("ランダム・複数ブロックの読書きは設定したデバイス指定形式で要求し、iQ-Rシリーズ専用のデバイスはiQ-Rシリーズの形式にする")
+    void testRandomAndMultiBlockDeviceFormat() throws Exception {
+        // Qシリーズの形式の設定でも、ロングインデックスレジスタはiQ-Rシリーズの形式で要求する
+        _client.writeRandomWords(List.of(), new short[0], List.of(new DeviceSpec("LZ1")), new int[] {0x12345678});
+        assertArrayEquals(new int[] {0x12345678}, _client.readRandom(List.of(), List.of(new DeviceSpec("LZ1"))));
+        assertArrayEquals(new int[] {0x12345678},
+            _client.readRandomAsync(List.of(), List.of(new DeviceSpec("LZ1"))).get(5, TimeUnit.SECONDS));
+        assertEquals(0x5678, _client.readMultiBlock(
+            List.of(new DeviceBlock(new DeviceSpec("LZ1"), 2)), List.of()).get(0).get(0));
+
+        _client.setDeviceFormat(DeviceFormatEnum.IQ_R);
+        assertArrayEquals(new int[] {5}, _client.readRandom(List.of(new DeviceSpec("D5")), List.of()));
+        List<DeviceSpec> words = new ArrayList<>();
+        for (int i = 0; i <= RandomReadRequest.MAX_POINTS_IQ_R; i++) {
+            words.add(new DeviceSpec(DeviceCodeEnum.DataRegister, i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> _client.readRandom(words, List.of()));
+
+        // iQ-Rシリーズの形式では60ブロックごとに分割する
+        List<DeviceBlock> blocks = new ArrayList<>();
+        for (int i = 0; i <= MultiBlockReadRequest.MAX_BLOCKS_IQ_R; i++) {
+            blocks.add(new DeviceBlock(new DeviceSpec(DeviceCodeEnum.DataRegister, 3000 + i * 2), 1));
+        }
+        long before = _server.getRequestCount();
+        _client.writeMultiBlock(blocks, List.of(), new short[blocks.size()]);
+        assertEquals(2, _server.getRequestCount() - before);
+        assertEquals(0, _server.memory(DeviceCodeEnum.DataRegister)[3000 + MultiBlockReadRequest.MAX_BLOCKS_IQ_R * 2]);
+    }
+
+    @Test
+    @DisplayName("複数ブロック一括読出しで各ブロックを1つの配列のビューとして受け取る")
+    void testReadMultiBlock() throws Exception {
+        _server.memory(DeviceCodeEnum.InternalRelay)[1] = (short)0xABCD;
+        long before = _server.getRequestCount();
+
+        List<ShortBuffer> blocks = _client.readMultiBlock(
+            List.of(new DeviceBlock("D1000", 100), new DeviceBlock("D5", 2)),
+            List.of(new DeviceBlock("M0", 16))
+        );
+
+        assertEquals(1, _server.getRequestCount() - before);
+        assertEquals(3, blocks.size());
+        assertEquals(100, blocks.get(0).remaining());
+        assertEquals(1000, blocks.get(0).get(0));
+        assertEquals(1099, blocks.get(0).get(99));
+        assertEquals(6, blocks.get(1).get(1));
+        assertEquals((short)0xABCD, blocks.get(2).get(1));
+        // 全ブロックが1つの配列を共有している
+        assertSame(blocks.get(0).array(), blocks.get(2).array());
+        assertEquals(102, blocks.get(2).arrayOffset());
+
+        List<ShortBuffer> async = _client.readMultiBlockAsync(List.of(new DeviceBlock("D7", 1)), List.of()).get(5, TimeUnit.SECONDS);
+        assertEquals(7, async.get(0).get(0));
+    }
+
+    @Test
+    @DisplayName("複数ブロック一括書込みでワードブロックとビットブロックを1回の要求で書き込む")
+    void testWriteMultiBlock() throws Exception {
+        boolean[] bits = new boolean[32];
+        bits[1] = true;
+        bits[31] = true;
+        short[] bitWords = Converter.fromBooleanArrayToWords(bits);
+        long before = _server.getRequestCount();
+
+        _client.writeMultiBlock(
+            List.of(new DeviceBlock("D2000", 3), new DeviceBlock("D10", 1)),
+            List.of(new DeviceBlock("M32", 2)),
+            new short[] {7, 8, 9, -1, bitWords[0], bitWords[1]}
+        );
+
+        assertEquals(1, _server.getRequestCount() - before);
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        assertEquals(7, memory[2000]);
+        assertEquals(9, memory[2002]);
+        assertEquals(-1, memory[10]);
+        assertTrue(_server.getBit(DeviceCodeEnum.InternalRelay, 33));
+        assertFalse(_server.getBit(DeviceCodeEnum.InternalRelay, 34));
+        assertTrue(_server.getBit(DeviceCodeEnum.InternalRelay, 63));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("1回の要求に収まらない複数ブロック一括書込みは分割して送信する")
+    void testWriteMultiBlockSplit(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        short[] data = new short[2000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short)(30000 + i);
+        }
+        long before = _server.getRequestCount();
+
+        _client.writeMultiBlockAsync(
+            List.of(new DeviceBlock("D10000", 1500), new DeviceBlock("D20000", 500)), List.of(), data
+        ).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, _server.getRequestCount() - before);
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        for (int i = 0; i < 1500; i++) {
+            assertEquals(data[i], memory[10000 + i]);
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(data[1500 + i], memory[20000 + i]);
+        }
+    }
+
+    @Test
+    @DisplayName("切断すると応答待ちの要求は異常完了する")
+    void testDisconnectFailsPending() {
+        _server.setSilent(true);
+        _client.getTransport().setTimeout(0);
+        CompletableFuture<short[]> future = _client.readBlockWordAsync(new DeviceSpec("D0"), (short)1);
+
+        _client.disconnect();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestAbnormalException.class, e.getCause());
+        assertThrows(RequestAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D0"), (short)1));
+    }
+
+    @Test
+    @DisplayName("3Eフレームの受信がタイムアウトすると接続し直し、遅れた応答を次の要求の応答と取り違えない")
+    void testTimeout3EResynchronizes() {
+        List<ConnectionStateEnum> states = Collections.synchronizedList(new ArrayList<>());
+        _client.addConnectionStateListener((client, state) -> states.add(state));
+        _client.getTransport().setTimeout(200);
+        _server.holdResponses();
+
+        assertThrows(RequestAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D1"), (short)1));
+        // タイムアウトした要求の応答が遅れて届く
+        _server.releaseResponses();
+
+        assertArrayEquals(new short[] {5}, _client.readBlockWord(new DeviceSpec("D5"), (short)1));
+        assertEquals(List.of(ConnectionStateEnum.RECONNECTING, ConnectionStateEnum.CONNECTED), states);
+        assertEquals(ConnectionStateEnum.CONNECTED, _client.getConnectionState());
+    }
+
+    @Test
+    @DisplayName("再接続ポリシーがない場合は切断を検出すると切断状態になり、送信待ちの要求も異常完了する")
+    void testDisconnectWithoutReconnectPolicy() throws Exception {
+        List<ConnectionStateEnum> states = Collections.synchronizedList(new ArrayList<>());
+        _client.addConnectionStateListener((client, state) -> states.add(state));
+        _client.getTransport().setTimeout(5000);
+        long requestCount = _server.getRequestCount();
+        _server.holdResponses();
+        CompletableFuture<short[]> inFlight = _client.readBlockWordAsync(new DeviceSpec("D1"), (short)1);
+        assertTrue(_server.awaitRequestCount(requestCount + 1));
+        // 3Eフレームは1件ずつ送受信するため、後続の要求は送信待ちのまま残る
+        CompletableFuture<short[]> queued = _client.readBlockWordAsync(new DeviceSpec("D2"), (short)1);
+
+        _server.dropConnections();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> inFlight.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestAbnormalException.class, e.getCause());
+        e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestAbnormalException.class, e.getCause());
+        assertEquals(List.of(ConnectionStateEnum.DISCONNECTED), states);
+        assertEquals(ConnectionStateEnum.DISCONNECTED, _client.getConnectionState());
+        assertThrows(RequestAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D0"), (short)1));
+    }
+
+    @Test
+    @DisplayName("切断を検出すると自動で再接続し、読出しを送り直す")
+    void testAutoReconnectReplaysRead() {
+        List<ConnectionStateEnum> states = Collections.synchronizedList(new ArrayList<>());
+        _client.addConnectionStateListener((client, state) -> states.add(state));
+        _client.setReconnectPolicy(new ReconnectPolicy(5, 100, 2.0, 0.5, 0));
+        assertEquals(ConnectionStateEnum.CONNECTED, _client.getConnectionState());
+
+        _server.dropConnections();
+
+        assertArrayEquals(new short[] {42}, _client.readBlockWord(new DeviceSpec("D42"), (short)1));
+        assertEquals(List.of(ConnectionStateEnum.RECONNECTING, ConnectionStateEnum.CONNECTED), states);
+        assertEquals(ConnectionStateEnum.CONNECTED, _client.getConnectionState());
+    }
+
+    @Test
+    @DisplayName("切断時に応答待ちだった書込みは送り直さずに異常完了し、再接続後の要求は成功する")
+    void testAutoReconnectFailsWrite() throws Exception {
+        _client.setReconnectPolicy(new ReconnectPolicy(5, 100, 2.0, 0.5, 0));
+        _server.setSilent(true);
+        _client.getTransport().setTimeout(5000);
+        CompletableFuture<Void> write = _client.writeBlockWordAsync(new DeviceSpec("D7"), new short[] {1});
+        CompletableFuture<short[]> read = _client.readBlockWordAsync(new DeviceSpec("D8"), (short)1);
+        // 書込みがI/Oスレッドで送信されるまで待つ
+        for (int i = 0; i < 100 && _server.getRequestCount() < 1; i++) {
+            Thread.sleep(10);
+        }
+
+        _server.setSilent(false);
+        _server.dropConnections();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> write.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestAbnormalException.class, e.getCause());
+        assertArrayEquals(new short[] {8}, read.get(5, TimeUnit.SECONDS));
+        _client.writeBlockWord(new DeviceSpec("D7"), new short[] {70});
+        assertEquals(70, _server.memory(DeviceCodeEnum.DataRegister)[7]);
+    }
+
+    @Test
+    @DisplayName("再接続の試行回数を使い切ると切断状態になる")
+    void testAutoReconnectGivesUp() throws Exception {
+        List<ConnectionStateEnum> states = Collections.synchronizedList(new ArrayList<>());
+        _client.addConnectionStateListener((client, state) -> states.add(state));
+        _client.setReconnectPolicy(new ReconnectPolicy(5, 10, 2.0, 0.0, 3));
+
+        _server.close();
+
+        assertThrows(RequestAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D0"), (short)1));
+        assertEquals(ConnectionStateEnum.DISCONNECTED, _client.getConnectionState());
+        assertEquals(List.of(ConnectionStateEnum.RECONNECTING, ConnectionStateEnum.DISCONNECTED), states);
+        assertThrows(RequestAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D0"), (short)1));
+    }
+
+    @Test
+    @DisplayName("再接続ポリシーがなければ切断後の要求は異常終了する")
+    void testNoReconnectPolicy() {
+        _server.dropConnections();
+
+        assertThrows(RequestAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D0"), (short)1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("上限を超えるワード一括読書きは分割して1つの配列にまとめる")
+    void testLargeBlockWord(FrameTypeEnum frameType) {
+        _client.setFrameType(frameType);
+        DeviceSpec head = new DeviceSpec(DeviceCodeEnum.FileRegisterSerialNumberAccessMethod, 0);
+        short[] written = new short[32768];
+        for (int i = 0; i < written.length; i++) {
+            written[i] = (short)(i * 7 + 3);
+        }
+
+        long before = _server.getRequestCount();
+        _client.writeBlockWord(head, written);
+        assertEquals(35, _server.getRequestCount() - before);
+
+        before = _server.getRequestCount();
+        assertArrayEquals(written, _client.readBlockWord(head, written.length));
+        assertEquals(35, _server.getRequestCount() - before);
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("上限を超えるビット一括読書きは分割して1つの配列にまとめる")
+    void testLargeBlockBit(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        DeviceSpec head = new DeviceSpec(DeviceCodeEnum.InternalRelay, 3);
+        // 分割の境界で奇数点の応答が詰め物を含まないよう、端数が奇数になる点数にする
+        boolean[] written = new boolean[7168 * 2 + 5];
+        for (int i = 0; i < written.length; i++) {
+            written[i] = i % 3 == 0 || i % 7 == 0;
+        }
+
+        _client.writeBlockBit(head, written);
+        assertArrayEquals(written, _client.readBlockBit(head, written.length));
+        assertArrayEquals(written, _client.readBlockBitAsync(head, written.length).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("上限を超えるワード一括読込みを非同期に実行できる")
+    void testLargeBlockWordAsync() throws Exception {
+        DeviceSpec head = new DeviceSpec("D100");
+
+        short[] data = _client.readBlockWordAsync(head, 2000).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2000, data.length);
+        for (int i = 0; i < data.length; i++) {
+            assertEquals((short)(100 + i), data[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("負の読込み点数は例外になる")
+    void testNegativeBlockPoints() {
+        assertThrows(IllegalArgumentException.class, () -> _client.readBlockWord(new DeviceSpec("D0"), -1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("ビットデバイスをワード単位で読み書きし、パック形式で取得できる")
+    void testReadWriteBits(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        DeviceSpec head = new DeviceSpec("M16");
+        // 1回の要求の上限（960ワード）を超える点数で、分割時のデバイス番号の進み方も確認する
+        int points = 960 * 16 + 32;
+        BitSet written = new BitSet();
+        for (int i = 0; i < points; i++) {
+            if (i % 3 == 0 || i % 7 == 0) {
+                written.set(i);
+            }
+        }
+
+        _client.writeBits(head, written, points);
+        for (int i = 0; i < points; i++) {
+            assertEquals(written.get(i), _server.getBit(DeviceCodeEnum.InternalRelay, 16 + i), "M" + (16 + i));
+        }
+        assertEquals(written, _client.readBits(head, points));
+        assertEquals(written.get(0, 21), _client.readBitsAsync(head, 21).get(5, TimeUnit.SECONDS));
+        assertEquals(written, _client.readBlockBitPacked(head, points));
+        assertEquals(written.get(0, 7171), _client.readBlockBitPackedAsync(head, 7171).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("ワード単位のビットアクセスは16の倍数でない指定を拒否する")
+    void testReadWriteBitsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> _client.readBits(new DeviceSpec("M1"), 16));
+        assertThrows(IllegalArgumentException.class, () -> _client.readBits(new DeviceSpec("D0"), 16));
+        assertThrows(IllegalArgumentException.class, () -> _client.writeBits(new DeviceSpec("M0"), new BitSet(), 15));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("ダブルワードデバイスをint値で読み書きできる")
+    void testReadWriteDword(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        DeviceSpec head = new DeviceSpec(DeviceCodeEnum.LongCounterCurrentValue, 10);
+        // 1回の要求の上限（480点）を超える点数で、分割時のデバイス番号の進み方も確認する
+        int[] written = new int[1000];
+        for (int i = 0; i < written.length; i++) {
+            written[i] = i * 100003 - 50000000;
+        }
+
+        _client.writeBlockDword(head, written);
+        short[] memory = _server.memory(DeviceCodeEnum.LongCounterCurrentValue);
+        assertEquals((short)written[0], memory[20]);
+        assertEquals((short)(written[0] >> 16), memory[21]);
+        assertEquals((short)written[999], memory[20 + 999 * 2]);
+
+        assertArrayEquals(written, _client.readBlockDword(head, written.length));
+        assertArrayEquals(Arrays.copyOf(written, 3), _client.readBlockDwordAsync(head, 3).get(5, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> _client.readBlockDword(new DeviceSpec("D0"), 1));
+        assertThrows(IllegalArgumentException.class, () -> _client.writeBlockDword(new DeviceSpec("D0"), new int[] {1}));
+    }
+
+    @Test
+    @DisplayName("ロングタイマーの現在値は1点4ワードの先頭2ワードをiQ-Rシリーズの形式で読み込む")
+    void testReadLongTimerDword() throws Exception {
+        // 疑似PLCはQシリーズの形式で指定されたロングタイマーを受け付けない
+        assertEquals(DeviceFormatEnum.Q, _client.getDeviceFormat());
+        short[] memory = _server.memory(DeviceCodeEnum.LongTimerCurrentValue);
+        // 1回の要求の上限（240点）を超える点数で、分割時のデバイス番号の進み方も確認する
+        int[] expected = new int[300];
+        for (int i = 0; i < expected.length; i++) {
+            int offset = (5 + i) * 4;
+            expected[i] = i * 100003 - 50000000;
+            memory[offset] = (short)expected[i];
+            memory[offset + 1] = (short)(expected[i] >> 16);
+            // 接点・コイル
+            memory[offset + 2] = 0x0003;
+        }
+        DeviceSpec head = new DeviceSpec(DeviceCodeEnum.LongTimerCurrentValue, 5);
+
+        assertArrayEquals(expected, _client.readBlockDword(head, expected.length));
+        assertArrayEquals(Arrays.copyOf(expected, 2), _client.readBlockDwordAsync(head, 2).get(5, TimeUnit.SECONDS));
+        assertArrayEquals(new short[] {(short)expected[0], (short)(expected[0] >> 16), 3, 0},
+            _client.readBlockWord(head, (short)4));
+        assertThrows(IllegalArgumentException.class, () -> _client.writeBlockDword(head, new int[] {1}));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("ワードブロックで型を指定して読み書きできる")
+    void testReadWriteWordBlock(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        WordBlock written = new WordBlock(new DeviceSpec("D5000"), 2000)
+            .setInt(0, 123456789)
+            .setFloat(2, 3.25f)
+            .setDouble(959, -1e10)
+            .setBcd(1500, 4321)
+            .setString(1990, 10, "LOT-42");
+
+        _client.writeWordBlock(written);
+        assertEquals((short)123456789, _server.memory(DeviceCodeEnum.DataRegister)[5000]);
+
+        WordBlock read = _client.readWordBlock(new DeviceSpec("D5000"), 2000);
+        assertArrayEquals(written.getBytes(), read.getBytes());
+        assertEquals(123456789, read.getInt(0));
+        assertEquals(3.25f, read.getFloat(2));
+        assertEquals(-1e10, read.getDouble(959));
+        assertEquals(4321, read.getBcd(1500));
+        assertEquals("LOT-42", read.getString(1990, 10));
+
+        _client.writeWordBlockAsync(new WordBlock(new DeviceSpec("D5002"), 2).setFloat(0, 7.5f)).get(5, TimeUnit.SECONDS);
+        assertEquals(7.5f, _client.readWordBlockAsync(new DeviceSpec("D5002"), 2).get(5, TimeUnit.SECONDS).getFloat(0));
+    }
+
+    record Product(
+        @PlcField(offset = 0, type = FieldTypeEnum.INT32) int serial,
+        @PlcField(offset = 2, type = FieldTypeEnum.FLOAT32) float weight,
+        @PlcField(offset = 4, type = FieldTypeEnum.STRING, length = 6) String name
+    ) {}
+
+    @Test
+    @DisplayName("アノテーションで対応付けたレコードを読み書きできる")
+    void testReadWriteStruct() {
+        StructMapper<Product> mapper = StructMapper.of(Product.class);
+        Product product = new Product(1001, 2.5f, "BOLT");
+
+        _client.writeStruct(new DeviceSpec("D3000"), mapper, product);
+        _client.writeStruct(new DeviceSpec("D3007"), mapper, new Product(1002, 3.5f, "NUT"));
+
+        assertEquals(product, _client.readStruct(new DeviceSpec("D3000"), mapper));
+        assertEquals(List.of(product, new Product(1002, 3.5f, "NUT")), _client.readStructs(new DeviceSpec("D3000"), mapper, 2));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("読出し計画でワード・ビット・ダブルワードデバイスをまとめて読み出せる")
+    void testReadPlan(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        _server.memory(DeviceCodeEnum.InternalRelay)[2] = (short)0x8001;
+        _client.writeBlockDword(new DeviceSpec(DeviceCodeEnum.LongIndexRegister, 3), new int[] {-123456789});
+        List<DeviceSpec> devices = List.of(
+            new DeviceSpec("D100"), new DeviceSpec("D102"), new DeviceSpec("D5000"),
+            new DeviceSpec("M32"), new DeviceSpec("M47"), new DeviceSpec("M33"),
+            new DeviceSpec("LZ3"), new DeviceSpec("D9000"), new DeviceSpec("D9001"));
+        ReadPlan plan = new ReadPlanner().plan(devices);
+
+        // 同じ計画を繰り返し実行できる
+        for (int i = 0; i < 2; i++) {
+            ReadResult result = i == 0 ? _client.readPlan(plan) : _client.readPlanAsync(plan).get(5, TimeUnit.SECONDS);
+            assertEquals(100, result.get(new DeviceSpec("D100")));
+            assertEquals(102, result.get(new DeviceSpec("D102")));
+            assertEquals(5000, result.get(new DeviceSpec("D5000")));
+            assertEquals(9001, result.get(new DeviceSpec("D9001")));
+            assertTrue(result.getBoolean(new DeviceSpec("M32")));
+            assertTrue(result.getBoolean(new DeviceSpec("M47")));
+            assertFalse(result.getBoolean(new DeviceSpec("M33")));
+            assertEquals(-123456789, result.get(new DeviceSpec("LZ3")));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("要求観測者に正常応答のフレーム長と応答時間が通知される")
+    void testRequestObserver(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        List<long[]> samples = Collections.synchronizedList(new ArrayList<>());
+        IRequestObserver observer = (client, request, requestLength, responseLength, elapsedNanos) ->
+            samples.add(new long[] {requestLength, responseLength, elapsedNanos});
+        _client.addRequestObserver(observer);
+
+        _client.readBlockWord(new DeviceSpec("D0"), 10);
+        assertThrows(ResponseAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D65535"), 2));
+        _client.readBlockWordAsync(new DeviceSpec("D0"), 1).get(5, TimeUnit.SECONDS);
+        _client.removeRequestObserver(observer);
+        _client.readBlockWord(new DeviceSpec("D0"), 1);
+
+        // 異常応答と登録解除後の要求は通知されない（通知はI/Oスレッドから届くため待ち合わせる）
+        long deadline = System.currentTimeMillis() + 5000;
+        while (samples.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        int extra = frameType == FrameTypeEnum.FRAME_4E ? 4 : 0;
+        assertEquals(2, samples.size());
+        assertEquals(21 + extra, samples.get(0)[0]);
+        assertEquals(11 + 20 + extra, samples.get(0)[1]);
+        assertTrue(samples.get(0)[2] > 0);
+        assertEquals(11 + 2 + extra, samples.get(1)[1]);
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("上限を超えるバッファメモリの読書きは分割して1つの配列にまとめる")
+    void testBufferMemory(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        short[] written = new short[10000];
+        for (int i = 0; i < written.length; i++) {
+            written[i] = (short)(i * 13 + 5);
+        }
+
+        long before = _server.getRequestCount();
+        _client.writeBufferMemory(3, 100, written);
+        assertEquals(11, _server.getRequestCount() - before);
+        assertEquals(written[0], _server.getBufferMemory(3)[100]);
+        assertEquals(written[9999], _server.getBufferMemory(3)[10099]);
+        assertEquals(0, _server.getBufferMemory(4)[100]);
+
+        before = _server.getRequestCount();
+        assertArrayEquals(written, _client.readBufferMemory(3, 100, written.length));
+        assertEquals(11, _server.getRequestCount() - before);
+        assertArrayEquals(written, _client.readBufferMemoryAsync(3, 100, written.length).get(5, TimeUnit.SECONDS));
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + written.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(4);
+        _client.readBufferMemory(3, 100, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.position(4);
+        short[] streamed = new short[written.length];
+        buffer.asShortBuffer().get(streamed);
+        assertArrayEquals(written, streamed);
+
+        _client.writeBufferMemoryAsync(3, 0, new short[] {7, 8}).get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new short[] {7, 8}, _client.readBufferMemory(3, 0, 2));
+
+        assertThrows(ResponseAbnormalException.class, () -> _client.readBufferMemory(3, MockPlcServer.DEVICE_WORDS - 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> _client.readBufferMemory(3, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> _client.readBufferMemory(3, 0, ByteBuffer.allocate(3)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("ラベル名を指定してグローバルラベルを読み書きできる")
+    void testLabels(FrameTypeEnum frameType) throws Exception {
+        _client.setFrameType(frameType);
+        _server.defineLabel("Speed", 2, new DeviceSpec("D10"), 2);
+        _server.defineLabel("Counter", 7, new DeviceSpec("D20"), 4);
+        _server.defineLabel("Buffer[0]", 2, new DeviceSpec("D100"), 20);
+
+        _client.writeLabels(List.of("Speed", "Counter"), List.of(new byte[] {0x34, 0x12}, new byte[] {0x78, 0x56, 0x34, 0x12}));
+        assertEquals(0x1234, _client.readBlockWord(new DeviceSpec("D10"), 1)[0]);
+        assertArrayEquals(new short[] {0x5678, 0x1234}, _client.readBlockWord(new DeviceSpec("D20"), 2));
+
+        List<byte[]> values = _client.readLabels(List.of("Counter", "Speed"));
+        assertArrayEquals(new byte[] {0x78, 0x56, 0x34, 0x12}, values.get(0));
+        assertArrayEquals(new byte[] {0x34, 0x12}, values.get(1));
+        assertArrayEquals(new byte[] {0x34, 0x12}, _client.readLabelsAsync(List.of("Speed")).get(5, TimeUnit.SECONDS).get(0));
+        assertEquals(2, _client.getLabelCache().size());
+
+        short[] words = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        _client.writeArrayLabel("Buffer[0]", words);
+        assertArrayEquals(words, _client.readBlockWord(new DeviceSpec("D100"), 10));
+        assertArrayEquals(new short[] {1, 2, 3}, _client.readArrayLabel("Buffer[0]", 3));
+        _client.writeArrayLabelAsync("Buffer[0]", new short[] {11, 12}).get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new short[] {11, 12, 3}, _client.readArrayLabelAsync("Buffer[0]", 3).get(5, TimeUnit.SECONDS));
+        _client.writeLabelsAsync(List.of("Speed"), List.of(new byte[] {1, 0})).get(5, TimeUnit.SECONDS);
+        assertEquals(1, _client.readBlockWord(new DeviceSpec("D10"), 1)[0]);
+
+        ResponseAbnormalException e = assertThrows(ResponseAbnormalException.class, () -> _client.readLabels(List.of("Unknown")));
+        assertEquals(MockPlcServer.ERROR_LABEL, e.getFinishCode());
+        assertThrows(ResponseAbnormalException.class, () -> _client.readArrayLabel("Buffer[0]", 11));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameTypeEnum.class)
+    @DisplayName("iQ-Rシリーズ用のデバイス指定形式で一括読書きできる")
+    void testIqrDeviceFormat(FrameTypeEnum frameType) {
+        _client.setFrameType(frameType);
+        _client.setDeviceFormat(DeviceFormatEnum.IQ_R);
+        assertEquals(DeviceFormatEnum.IQ_R, _client.getDeviceFormat());
+
+        short[] words = new short[1000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = (short)(i * 5 + 1);
+        }
+        _client.writeBlockWord(new DeviceSpec("D100"), words);
+        assertArrayEquals(words, _client.readBlockWord(new DeviceSpec("D100"), words.length));
+
+        boolean[] bits = {true, false, true, true, false, true};
+        _client.writeBlockBit(new DeviceSpec("M5"), bits);
+        assertArrayEquals(bits, _client.readBlockBit(new DeviceSpec("M5"), bits.length));
+
+        // 3バイトに収まらないデバイス番号は、Q形式では送信前に、iQ-R形式ではPLCで範囲外になる
+        DeviceSpec far = new DeviceSpec(DeviceCodeEnum.DataRegister, 0x1000000);
+        assertThrows(ResponseAbnormalException.class, () -> _client.readBlockWord(far, 1));
+        _client.setDeviceFormat(DeviceFormatEnum.Q);
+        long before = _server.getRequestCount();
+        assertThrows(IllegalArgumentException.class, () -> _client.readBlockWord(far, 1));
+        assertEquals(0, _server.getRequestCount() - before);
+    }
+}
@@ -0,0 +1,110 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.FrameTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+import dev.bocchi_megane.mcprotocol.lib.payload.LabelRandomReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+
+/**
+ * ラベルアクセスのベンチマーク
+ * ループバック上の疑似PLCに対して、同じワードデバイスの組を、デバイス指定のランダム読出しで読む場合と、
+ * 同じデバイスに割り付けたラベルをラベルランダム読出しで読む場合の応答時間と要求サイズを比較します。
+ * ラベル読出しは、ラベル指定キャッシュを使う場合、毎回ラベル名を変換する場合、組み立て済みの要求を使い回す場合を計測します。
+ * テストとしては実行されません。
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes dev.bocchi_megane.mcprotocol.lib.LabelBenchmark [回数]
+ * </pre>
+ */
+public class LabelBenchmark {
+    /** ウォームアップの回数 */
+    private static final int WARMUP = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        try (MockPlcServer server = new MockPlcServer()) {
+            System.out.printf("%-14s %-5s %6s %10s %10s %10s %10s%n",
+                "method", "frame", "points", "req[byte]", "p50[us]", "p99[us]", "max[us]");
+            for (FrameTypeEnum frameType : FrameTypeEnum.values()) {
+                for (int points : new int[] {8, 64, 192}) {
+                    run(server, frameType, points, iterations);
+                }
+            }
+        }
+    }
+
+    /**
+     * 1条件分を計測して表示します。
+     * ラベルは連続しない番号のワードデバイスに1つずつ割り付けます。
+     */
+    private static void run(MockPlcServer server, FrameTypeEnum frameType, int points, int iterations) throws Exception {
+        List<DeviceSpec> words = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<LabelSpec> labels = new ArrayList<>();
+        for (int i = 0; i < points; i++) {
+            DeviceSpec spec = new DeviceSpec(DeviceCodeEnum.DataRegister, i * 37);
+            String name = "Line1.Station" + i + ".Speed";
+            server.defineLabel(name, 2, spec, 2);
+            words.add(spec);
+            names.add(name);
+            labels.add(new LabelSpec(name));
+        }
+
+        Client client = new Client(server.getHost(), server.getPort(), false);
+        client.setFrameType(frameType);
+        client.unsafe_connect();
+        try {
+            LabelRandomReadRequest prepared = new LabelRandomReadRequest(labels);
+            long[] device = measure(iterations, () -> client.readRandom(words, List.of()));
+            long[] cached = measure(iterations, () -> client.readLabels(names));
+            long[] uncached = measure(iterations, () -> {
+                client.getLabelCache().clear();
+                client.readLabels(names);
+            });
+            long[] reused = measure(iterations, () -> client.sendRequest(prepared));
+
+            String frame = frameType == FrameTypeEnum.FRAME_4E ? "4E" : "3E";
+            int deviceBytes = new RandomReadRequest(words, List.of()).toByteArray().length;
+            int labelBytes = prepared.toByteArray().length;
+            print("RANDOM_READ", frame, points, deviceBytes, device);
+            print("LABEL_CACHED", frame, points, labelBytes, cached);
+            print("LABEL_ENCODE", frame, points, labelBytes, uncached);
+            print("LABEL_REUSED", frame, points, labelBytes, reused);
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    /**
+     * 指定回数の往復時間を計測します。
+     */
+    private static long[] measure(int iterations, Runnable action) {
+        for (int i = 0; i < WARMUP; i++) {
+            action.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    /**
+     * 計測結果を1行表示します。
+     */
+    private static void print(String method, String frame, int points, int requestBytes, long[] samples) {
+        System.out.printf("%-14s %-5s %6d %10d %10.1f %10.1f %10.1f%n",
+            method, frame, points, requestBytes,
+            samples[samples.length / 2] / 1e3, samples[samples.length * 99 / 100] / 1e3, samples[samples.length - 1] / 1e3);
+    }
+}
@@ -0,0 +1,29 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+
+class LabelCacheTest {
+
+    @Test
+    @DisplayName("同じラベル名には変換済みの同じラベル指定を返す")
+    void testGet() {
+        LabelCache cache = new LabelCache();
+        LabelSpec first = cache.get("Sensor.Temperature");
+
+        assertSame(first, cache.get("Sensor.Temperature"));
+        List<LabelSpec> labels = cache.get(List.of("Sensor.Temperature", "Sensor.Pressure"));
+        assertSame(first, labels.get(0));
+        assertEquals("Sensor.Pressure", labels.get(1).getName());
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(first, cache.get("Sensor.Temperature"));
+    }
+}
@@ -0,0 +1,934 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.bocchi_megane.mcprotocol.lib.define.AccessRoute;
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DataTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubHeaderEnum;
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame3E;
+import dev.bocchi_megane.mcprotocol.lib.frame.Frame4E;
+import dev.bocchi_megane.mcprotocol.lib.frame.FrameReader;
+import dev.bocchi_megane.mcprotocol.lib.payload.ArrayLabelReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.ArrayLabelWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BufferMemoryReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BufferMemoryWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.LabelRandomReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.LabelRandomWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MonitorRegisterRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomWriteRequest;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+/**
+ * テスト用の疑似PLCサーバー
+ * ループバック上でMCプロトコル（3E/4Eフレーム）の要求をTCPとUDPで受け付け、メモリ上のデバイスを読み書きします。
+ */
+public class MockPlcServer implements AutoCloseable {
+    /** 1デバイスあたりのワード数 */
+    public static final int DEVICE_WORDS = 0x10000;
+    /** PLC形名の応答（16文字） */
+    public static final String PLC_TYPE_NAME = "Q03UDVCPU       ";
+    /** 点数超過時の終了コード */
+    public static final short ERROR_POINTS = (short)0xC051;
+    /** デバイス範囲外指定時の終了コード */
+    public static final short ERROR_RANGE = (short)0xC056;
+    /** 未対応コマンドの終了コード */
+    public static final short ERROR_COMMAND = (short)0xC059;
+    /** モニタ未登録時の終了コード */
+    public static final short ERROR_NOT_REGISTERED = (short)0xC05B;
+    /** 未定義のラベル指定時の終了コード */
+    public static final short ERROR_LABEL = (short)0x40C0;
+
+    /** ワードメモリ（ビットデバイスは16点を1ワードに格納） */
+    private final Map<DeviceCodeEnum, short[]> _memory = new EnumMap<>(DeviceCodeEnum.class);
+    /** インテリジェント機能ユニットのバッファメモリ（ユニット番号ごと、DEVICE_WORDS ワード） */
+    private final Map<Integer, short[]> _bufferMemory = new ConcurrentHashMap<>();
+    /** ラベル名ごとの割付け先 */
+    private final Map<String, LabelBinding> _labels = new ConcurrentHashMap<>();
+    /** 待受けソケット */
+    private final ServerSocket _serverSocket;
+    /** UDPソケット */
+    private final DatagramSocket _datagramSocket;
+    /** UDPの応答送信用スケジューラ */
+    private final ScheduledExecutorService _datagramWriter;
+    /** 読み捨てるUDP応答の残り数 */
+    private final AtomicInteger _datagramDropCount = new AtomicInteger();
+    /** 接続中のソケット */
+    private final List<Socket> _sockets = new CopyOnWriteArrayList<>();
+    /** 接続ごとのモニタ登録（要求は接続ごとのスレッドで処理するため、スレッドをキーに保持する） */
+    private final Map<Thread, RandomReadRequest> _monitorRegistrations = new ConcurrentHashMap<>();
+    /** 受信した要求数 */
+    private final AtomicLong _requestCount = new AtomicLong();
+    /** 応答遅延（ミリ秒） */
+    private volatile int _responseDelay = 0;
+    /** 応答を返さないかどうか */
+    private volatile boolean _isSilent = false;
+    /** 受信して応答を未送信の要求数 */
+    private final AtomicInteger _pendingCount = new AtomicInteger();
+    /** 受信して応答を未送信の要求数の最大値 */
+    private final AtomicInteger _maxPendingCount = new AtomicInteger();
+    /** 応答の送信を保留するゲート（保留しない場合はnull） */
+    private volatile CountDownLatch _responseGate = null;
+
+    /**
+     * ループバックの空きポートで待受けを開始します。
+     *
+     * @throws IOException 待受けに失敗した場合
+     */
+    public MockPlcServer() throws IOException {
+        for (DeviceCodeEnum code : DeviceCodeEnum.values()) {
+            _memory.put(code, new short[DEVICE_WORDS]);
+        }
+        _serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "mock-plc-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        _datagramSocket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        _datagramWriter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mock-plc-udp-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        Thread receiver = new Thread(this::datagramLoop, "mock-plc-udp");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    /**
+     * UDPの待受けポート番号を取得します。
+     *
+     * @return ポート番号
+     */
+    public int getUdpPort() {
+        return _datagramSocket.getLocalPort();
+    }
+
+    /**
+     * 次のUDP応答を指定数だけ送信せずに捨てます（要求は実行されます）。
+     *
+     * @param count 捨てる応答数
+     */
+    public void dropDatagramResponses(int count) {
+        _datagramDropCount.set(count);
+    }
+
+    /**
+     * 待受けポート番号を取得します。
+     *
+     * @return ポート番号
+     */
+    public int getPort() {
+        return _serverSocket.getLocalPort();
+    }
+
+    /**
+     * 待受けホスト名を取得します。
+     *
+     * @return ホスト名
+     */
+    public String getHost() {
+        return _serverSocket.getInetAddress().getHostAddress();
+    }
+
+    /**
+     * 受信した要求数を取得します。
+     *
+     * @return 要求数
+     */
+    public long getRequestCount() {
+        return _requestCount.get();
+    }
+
+    /**
+     * 受信して応答を未送信の要求数の最大値を取得します（TCPのみ）。
+     * 応答を待たずに続けて送信された要求があれば2以上になります。
+     *
+     * @return 未送信の応答数の最大値
+     */
+    public int getMaxPendingCount() {
+        return _maxPendingCount.get();
+    }
+
+    /**
+     * 接続中のソケット数を取得します。
+     *
+     * @return 接続数
+     */
+    public int getConnectionCount() {
+        return _sockets.size();
+    }
+
+    /**
+     * 応答遅延を設定します。
+     *
+     * @param millis 遅延時間（ミリ秒）
+     */
+    public void setResponseDelay(int millis) {
+        _responseDelay = millis;
+    }
+
+    /**
+     * 応答を返さないようにします。
+     *
+     * @param isSilent 応答を返さない場合はtrue
+     */
+    public void setSilent(boolean isSilent) {
+        _isSilent = isSilent;
+    }
+
+    /**
+     * 以降の応答の送信を {@link #releaseResponses()} まで保留します（要求の受信と実行は継続します）。
+     */
+    public void holdResponses() {
+        _responseGate = new CountDownLatch(1);
+    }
+
+    /**
+     * 保留中の応答を送信し、以降の応答の保留を解除します。
+     */
+    public void releaseResponses() {
+        CountDownLatch gate = _responseGate;
+        _responseGate = null;
+        if (gate != null) {
+            gate.countDown();
+        }
+    }
+
+    /**
+     * 受信した要求数が指定数に達するまで待ちます。
+     *
+     * @param count 要求数
+     * @return 指定数に達した場合はtrue、5秒以内に達しなかった場合はfalse
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public boolean awaitRequestCount(long count) throws InterruptedException {
+        for (int i = 0; i < 500 && _requestCount.get() < count; i++) {
+            Thread.sleep(10);
+        }
+        return _requestCount.get() >= count;
+    }
+
+    /**
+     * 指定デバイスのワードメモリを取得します。
+     *
+     * @param code デバイスコード
+     * @return ワードメモリ
+     */
+    public short[] memory(DeviceCodeEnum code) {
+        return _memory.get(code);
+    }
+
+    /**
+     * 全ての接続のモニタ登録を破棄します（PLCのリセットを模擬します）。
+     */
+    public void clearMonitorRegistrations() {
+        _monitorRegistrations.clear();
+    }
+
+    /**
+     * 接続中のソケットを全て切断します（待受けは継続します）。
+     */
+    public void dropConnections() {
+        for (Socket so : _sockets) {
+            try { so.close(); } catch (IOException e) { }
+        }
+        _sockets.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        releaseResponses();
+        dropConnections();
+        _serverSocket.close();
+        _datagramSocket.close();
+        _datagramWriter.shutdownNow();
+    }
+
+    /**
+     * 応答の保留が解除されるまで待ちます。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    private void awaitResponseGate() throws InterruptedException {
+        CountDownLatch gate = _responseGate;
+        if (gate != null) {
+            gate.await();
+        }
+    }
+
+    /**
+     * UDPの要求を受信して1データグラムずつ処理します。
+     */
+    private void datagramLoop() {
+        byte[] buffer = new byte[8192];
+        while (!_datagramSocket.isClosed()) {
+            try {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                _datagramSocket.receive(packet);
+                FrameReader reader = new FrameReader();
+                reader.feed(packet.getData(), packet.getOffset(), packet.getLength());
+                Frame3E request = reader.next();
+                if (request == null) {
+                    continue;
+                }
+                _requestCount.incrementAndGet();
+                byte[] response = handle(request);
+                if (_isSilent || _datagramDropCount.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                    continue;
+                }
+                DatagramPacket reply = new DatagramPacket(response, response.length, packet.getSocketAddress());
+                _datagramWriter.schedule(() -> {
+                    try {
+                        awaitResponseGate();
+                        _datagramSocket.send(reply);
+                    } catch (IOException | InterruptedException e) {
+                        // 終了
+                    }
+                }, _responseDelay, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                if (_datagramSocket.isClosed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 接続を受け付けて接続ごとにスレッドを起動します。
+     */
+    private void acceptLoop() {
+        while (!_serverSocket.isClosed()) {
+            try {
+                Socket so = _serverSocket.accept();
+                so.setTcpNoDelay(true);
+                _sockets.add(so);
+                Thread worker = new Thread(() -> serve(so), "mock-plc-conn");
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 1接続分の要求を処理します。
+     *
+     * @param so 接続ソケット
+     */
+    private void serve(Socket so) {
+        FrameReader reader = new FrameReader();
+        // 応答遅延は通信路の遅延として扱い、後続の要求の受付は止めない
+        ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mock-plc-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        try (InputStream in = so.getInputStream(); OutputStream out = so.getOutputStream()) {
+            while (true) {
+                Frame3E request = reader.readFrame(in);
+                _requestCount.incrementAndGet();
+                byte[] response = handle(request);
+                if (_isSilent) {
+                    continue;
+                }
+                int pending = _pendingCount.incrementAndGet();
+                _maxPendingCount.accumulateAndGet(pending, Math::max);
+                writer.schedule(() -> {
+                    try {
+                        awaitResponseGate();
+                        // 応答を受け取ったクライアントが次の要求を送る前に数え終える
+                        _pendingCount.decrementAndGet();
+                        out.write(response);
+                        out.flush();
+                    } catch (IOException | InterruptedException e) {
+                        // 切断
+                    }
+                }, _responseDelay, TimeUnit.MILLISECONDS);
+            }
+        } catch (Exception e) {
+            // 切断
+        } finally {
+            writer.shutdownNow();
+            _sockets.remove(so);
+            _monitorRegistrations.remove(Thread.currentThread());
+        }
+    }
+
+    /**
+     * 要求フレームを処理して応答フレームを生成します。
+     *
+     * @param request 要求フレーム
+     * @return 応答フレームのバイト配列
+     */
+    public byte[] handle(Frame3E request) {
+        short finishCode = 0;
+        byte[] data;
+        try {
+            data = execute(request._payloadByteArray);
+        } catch (MockErrorException e) {
+            // 異常応答: エラー情報（アクセス経路 + コマンド + サブコマンド）
+            finishCode = e.finishCode;
+            data = Converter.concatByteArrays(
+                AccessRoute.DEFAULT.toByteArray(),
+                Arrays.copyOfRange(request._payloadByteArray, 0, 4)
+            );
+        }
+        return buildResponse(request, finishCode, data);
+    }
+
+    /**
+     * 応答フレームを生成します。
+     *
+     * @param request 要求フレーム
+     * @param finishCode 終了コード
+     * @param data 応答データ
+     * @return 応答フレームのバイト配列
+     */
+    protected byte[] buildResponse(Frame3E request, short finishCode, byte[] data) {
+        if (request instanceof Frame4E) {
+            short serialNumber = ((Frame4E)request)._serialNumber;
+            return new Frame4E(SubHeaderEnum.RESPONSE_4E, serialNumber, AccessRoute.DEFAULT, finishCode, data).toBytes();
+        }
+        return new Frame3E(SubHeaderEnum.RESPONSE, AccessRoute.DEFAULT, finishCode, data).toBytes();
+    }
+
+    /**
+     * 要求データを実行して応答データを返します。
+     *
+     * @param payload 要求データ（監視タイマーより後ろ）
+     * @return 応答データ（終了コードより後ろ）
+     * @throws MockErrorException 異常終了させる場合
+     */
+    protected byte[] execute(byte[] payload) {
+        CommandEnum command = CommandEnum.build(new byte[] {payload[0], payload[1]});
+        switch (command) {
+            case BLOCK_READ:
+                return blockRead(new BlockReadRequest(payload));
+            case BLOCK_WRITE:
+                blockWrite(new BlockWriteRequest(payload));
+                return new byte[0];
+            case RANDOM_READ:
+                return randomRead(new RandomReadRequest(payload));
+            case MULTI_BLOCK_READ:
+                return multiBlockRead(new MultiBlockReadRequest(payload));
+            case MULTI_BLOCK_WRITE:
+                multiBlockWrite(new MultiBlockWriteRequest(payload));
+                return new byte[0];
+            case MONITOR_REGISTER:
+                _monitorRegistrations.put(Thread.currentThread(), new MonitorRegisterRequest(payload));
+                return new byte[0];
+            case MONITOR_READ:
+                RandomReadRequest registration = _monitorRegistrations.get(Thread.currentThread());
+                if (registration == null) {
+                    throw new MockErrorException(ERROR_NOT_REGISTERED);
+                }
+                return randomRead(registration);
+            case RANDOM_WRITE:
+                randomWrite(new RandomWriteRequest(payload));
+                return new byte[0];
+            case LABEL_RANDOM_READ:
+                return labelRandomRead(new LabelRandomReadRequest(payload));
+            case LABEL_RANDOM_WRITE:
+                labelRandomWrite(new LabelRandomWriteRequest(payload));
+                return new byte[0];
+            case ARRAY_LABEL_READ:
+                return arrayLabelRead(new ArrayLabelReadRequest(payload));
+            case ARRAY_LABEL_WRITE:
+                arrayLabelWrite(new ArrayLabelWriteRequest(payload));
+                return new byte[0];
+            case MODULE_BUFFER_READ:
+                return bufferMemoryRead(new BufferMemoryReadRequest(payload));
+            case MODULE_BUFFER_WRITE:
+                bufferMemoryWrite(new BufferMemoryWriteRequest(payload));
+                return new byte[0];
+            case CPU_TYPE_READ:
+                return Converter.concatByteArrays(PLC_TYPE_NAME.getBytes(), new byte[] {0x41, 0x03});
+            case ECHO_TEST:
+                return Arrays.copyOfRange(payload, 4, payload.length);
+            case REMOTE_RUN:
+            case REMOTE_STOP:
+                return new byte[0];
+            default:
+                throw new MockErrorException(ERROR_COMMAND);
+        }
+    }
+
+    /**
+     * 一括読出しを実行します。
+     *
+     * @param request 一括読出し要求
+     * @return 応答データ
+     */
+    private byte[] blockRead(BlockReadRequest request) {
+        int points = request.getDevicePoint();
+        DeviceSpec spec = request.getDeviceSpec();
+        checkDeviceFormat(spec, request.getDeviceFormat());
+        if (request._isBitDevice) {
+            if (points > 7168) {
+                throw new MockErrorException(ERROR_POINTS);
+            }
+            byte[] data = new byte[(points + 1) / 2];
+            for (int i = 0; i < points; i++) {
+                if (getBit(spec.getDeviceCode(), spec.getDeviceNumber() + i)) {
+                    data[i / 2] |= (i % 2 == 0) ? 0x10 : 0x01;
+                }
+            }
+            return data;
+        }
+        if (points > 960) {
+            throw new MockErrorException(ERROR_POINTS);
+        }
+        if (wordIndex(spec) + points > DEVICE_WORDS) {
+            throw new MockErrorException(ERROR_RANGE);
+        }
+        short[] words = new short[points];
+        System.arraycopy(wordsOf(spec), wordIndex(spec), words, 0, points);
+        return Converter.fromShortArrayToBytes(words);
+    }
+
+    /**
+     * ランダム読出しを実行します。
+     * ダブルワードアクセスは指定デバイスから連続する2ワード（下位、上位の順）を読み出します。
+     *
+     * @param request ランダム読出し要求
+     * @return 応答データ
+     */
+    private byte[] randomRead(RandomReadRequest request) {
+        List<DeviceSpec> words = request.getWordDevices();
+        List<DeviceSpec> dwords = request.getDwordDevices();
+        short[] data = new short[words.size() + dwords.size() * 2];
+        int index = 0;
+        for (DeviceSpec spec : words) {
+            checkDeviceFormat(spec, request.getDeviceFormat());
+            data[index++] = wordsOf(spec)[wordIndex(spec)];
+        }
+        for (DeviceSpec spec : dwords) {
+            checkDeviceFormat(spec, request.getDeviceFormat());
+            int offset = wordIndex(spec);
+            data[index++] = wordsOf(spec)[offset];
+            data[index++] = wordsOf(spec)[offset + 1];
+        }
+        return Converter.fromShortArrayToBytes(data);
+    }
+
+    /**
+     * 複数ブロック一括読出しを実行します。
+     *
+     * @param request 複数ブロック一括読出し要求
+     * @return 応答データ
+     */
+    private byte[] multiBlockRead(MultiBlockReadRequest request) {
+        if (request.getTotalPoints() > 960) {
+            throw new MockErrorException(ERROR_POINTS);
+        }
+        List<DeviceBlock> blocks = new ArrayList<>(request.getWordBlocks());
+        blocks.addAll(request.getBitBlocks());
+        short[] data = new short[request.getTotalPoints()];
+        int index = 0;
+        for (DeviceBlock block : blocks) {
+            DeviceSpec spec = block.getDeviceSpec();
+            checkDeviceFormat(spec, request.getDeviceFormat());
+            System.arraycopy(wordsOf(spec), wordIndex(spec), data, index, block.getPoints());
+            index += block.getPoints();
+        }
+        return Converter.fromShortArrayToBytes(data);
+    }
+
+    /**
+     * 複数ブロック一括書込みを実行します。
+     *
+     * @param request 複数ブロック一括書込み要求
+     */
+    private void multiBlockWrite(MultiBlockWriteRequest request) {
+        List<DeviceBlock> blocks = new ArrayList<>(request.getWordBlocks());
+        blocks.addAll(request.getBitBlocks());
+        if (blocks.size() * 4 + request.getWriteData().length > 960) {
+            throw new MockErrorException(ERROR_POINTS);
+        }
+        int index = 0;
+        for (DeviceBlock block : blocks) {
+            DeviceSpec spec = block.getDeviceSpec();
+            checkDeviceFormat(spec, request.getDeviceFormat());
+            System.arraycopy(request.getWriteData(), index, wordsOf(spec), wordIndex(spec), block.getPoints());
+            index += block.getPoints();
+        }
+    }
+
+    /**
+     * ランダム書込みを実行します。
+     * ダブルワードアクセスは指定デバイスから連続する2ワード（下位、上位の順）に書き込みます。
+     *
+     * @param request ランダム書込み要求
+     */
+    private void randomWrite(RandomWriteRequest request) {
+        if (request.isBitDevice()) {
+            List<DeviceSpec> bits = request.getBitDevices();
+            for (int i = 0; i < bits.size(); i++) {
+                setBit(bits.get(i).getDeviceCode(), bits.get(i).getDeviceNumber(), request.getBitValues()[i]);
+            }
+            return;
+        }
+        List<DeviceSpec> words = request.getWordDevices();
+        for (int i = 0; i < words.size(); i++) {
+            DeviceSpec spec = words.get(i);
+            checkDeviceFormat(spec, request.getDeviceFormat());
+            wordsOf(spec)[wordIndex(spec)] = request.getWordValues()[i];
+        }
+        List<DeviceSpec> dwords = request.getDwordDevices();
+        for (int i = 0; i < dwords.size(); i++) {
+            DeviceSpec spec = dwords.get(i);
+            checkDeviceFormat(spec, request.getDeviceFormat());
+            int offset = wordIndex(spec);
+            wordsOf(spec)[offset] = (short)request.getDwordValues()[i];
+            wordsOf(spec)[offset + 1] = (short)(request.getDwordValues()[i] >>> 16);
+        }
+    }
+
+    /**
+     * 一括書込みを実行します。
+     *
+     * @param request 一括書込み要求
+     */
+    private void blockWrite(BlockWriteRequest request) {
+        DeviceSpec spec = request.getDeviceSpec();
+        checkDeviceFormat(spec, request.getDeviceFormat());
+        byte[] data = request.getWriteBytes();
+        int points = request.getDevicePoint();
+        if (request.isBitDevice()) {
+            if (points > 7168) {
+                throw new MockErrorException(ERROR_POINTS);
+            }
+            for (int i = 0; i < points; i++) {
+                int nibble = (i % 2 == 0) ? (data[i / 2] >> 4) & 0x0F : data[i / 2] & 0x0F;
+                setBit(spec.getDeviceCode(), spec.getDeviceNumber() + i, nibble != 0);
+            }
+            return;
+        }
+        if (points > 960) {
+            throw new MockErrorException(ERROR_POINTS);
+        }
+        short[] words = Converter.fromBytesToShortArray(data);
+        System.arraycopy(words, 0, wordsOf(spec), wordIndex(spec), points);
+    }
+
+    /**
+     * グローバルラベルを定義し、ワードデバイスの範囲に割り付けます。
+     * ラベルの読み書きは割付け先のデバイスの値を読み書きします。
+     *
+     * @param name ラベル名
+     * @param dataType 応答で返すデータ型ID
+     * @param device 割付け先の先頭デバイス（ワード単位でアクセスできるデバイス）
+     * @param byteLength ラベルのデータ長（バイト数、配列型ラベルは配列全体）
+     */
+    public void defineLabel(String name, int dataType, DeviceSpec device, int byteLength) {
+        _labels.put(name, new LabelBinding(dataType, device, byteLength));
+    }
+
+    /**
+     * ラベルランダム読出しを実行します。
+     *
+     * @param request ラベルランダム読出し要求
+     * @return 応答データ
+     */
+    private byte[] labelRandomRead(LabelRandomReadRequest request) {
+        List<byte[]> entries = new ArrayList<>();
+        for (LabelSpec label : request.getLabels()) {
+            LabelBinding binding = bindingOf(label, 0);
+            entries.add(labelEntry(binding.dataType, 0, readLabelBytes(binding, binding.byteLength)));
+        }
+        return labelResponse(entries);
+    }
+
+    /**
+     * ラベルランダム書込みを実行します。
+     *
+     * @param request ラベルランダム書込み要求
+     */
+    private void labelRandomWrite(LabelRandomWriteRequest request) {
+        for (int i = 0; i < request.getLabels().size(); i++) {
+            byte[] data = request.getWriteData().get(i);
+            LabelBinding binding = bindingOf(request.getLabels().get(i), 0);
+            if (data.length != binding.byteLength) {
+                throw new MockErrorException(ERROR_RANGE);
+            }
+            writeLabelBytes(binding, data);
+        }
+    }
+
+    /**
+     * 配列型ラベル一括読出しを実行します。
+     *
+     * @param request 配列型ラベル一括読出し要求
+     * @return 応答データ
+     */
+    private byte[] arrayLabelRead(ArrayLabelReadRequest request) {
+        List<byte[]> entries = new ArrayList<>();
+        int[] byteLengths = request.getByteLengths();
+        for (int i = 0; i < byteLengths.length; i++) {
+            LabelBinding binding = bindingOf(request.getLabels().get(i), byteLengths[i]);
+            entries.add(labelEntry(binding.dataType, ArrayLabelReadRequest.UNIT_WORD, readLabelBytes(binding, byteLengths[i])));
+        }
+        return labelResponse(entries);
+    }
+
+    /**
+     * 配列型ラベル一括書込みを実行します。
+     *
+     * @param request 配列型ラベル一括書込み要求
+     */
+    private void arrayLabelWrite(ArrayLabelWriteRequest request) {
+        for (int i = 0; i < request.getLabels().size(); i++) {
+            byte[] data = request.getWriteData().get(i);
+            writeLabelBytes(bindingOf(request.getLabels().get(i), data.length), data);
+        }
+    }
+
+    /**
+     * ラベルの割付け先を取得します。
+     *
+     * @param label ラベル指定
+     * @param byteLength アクセスするバイト数（割付け範囲を超える場合は異常とする）
+     * @return 割付け先
+     * @throws MockErrorException 未定義のラベルの場合、割付け範囲を超える場合
+     */
+    private LabelBinding bindingOf(LabelSpec label, int byteLength) {
+        LabelBinding binding = _labels.get(label.getName());
+        if (binding == null) {
+            throw new MockErrorException(ERROR_LABEL);
+        }
+        if (byteLength > binding.byteLength) {
+            throw new MockErrorException(ERROR_RANGE);
+        }
+        return binding;
+    }
+
+    /**
+     * ラベルの割付け先のデバイスからバイト列を読み出します。
+     *
+     * @param binding 割付け先
+     * @param byteLength 読み出すバイト数
+     * @return 読み出したバイト列
+     */
+    private byte[] readLabelBytes(LabelBinding binding, int byteLength) {
+        short[] words = new short[(byteLength + 1) / 2];
+        System.arraycopy(wordsOf(binding.device), wordIndex(binding.device), words, 0, words.length);
+        return Arrays.copyOf(Converter.fromShortArrayToBytes(words), byteLength);
+    }
+
+    /**
+     * ラベルの割付け先のデバイスへバイト列を書き込みます（奇数バイトの場合、最後のワードの上位バイトは0）。
+     *
+     * @param binding 割付け先
+     * @param data 書き込むバイト列
+     */
+    private void writeLabelBytes(LabelBinding binding, byte[] data) {
+        short[] words = Converter.fromBytesToShortArray(Arrays.copyOf(data, (data.length + 1) / 2 * 2));
+        System.arraycopy(words, 0, wordsOf(binding.device), wordIndex(binding.device), words.length);
+    }
+
+    /**
+     * ラベル読出し応答の1ラベル分のデータを組み立てます。
+     *
+     * @param dataType データ型ID
+     * @param unit 単位指定（ランダム読出しでは予備の0）
+     * @param data 読み出したバイト列
+     * @return データ型ID、単位指定、データ長、データを並べたバイト列
+     */
+    private static byte[] labelEntry(int dataType, int unit, byte[] data) {
+        return Converter.concatByteArrays(
+            new byte[] {(byte)dataType, (byte)unit},
+            Converter.fromIntToByteArray(data.length, 2),
+            data
+        );
+    }
+
+    /**
+     * ラベル読出し応答のデータを組み立てます。
+     *
+     * @param entries ラベルごとのデータ
+     * @return ラベル数に続いてラベルごとのデータを並べたバイト列
+     */
+    private static byte[] labelResponse(List<byte[]> entries) {
+        byte[][] parts = new byte[entries.size() + 1][];
+        parts[0] = Converter.fromIntToByteArray(entries.size(), 2);
+        for (int i = 0; i < entries.size(); i++) {
+            parts[i + 1] = entries.get(i);
+        }
+        return Converter.concatByteArrays(parts);
+    }
+
+    /**
+     * ラベルの割付け先
+     *
+     * @param dataType データ型ID
+     * @param device 割付け先の先頭デバイス
+     * @param byteLength ラベルのデータ長（バイト数）
+     */
+    private record LabelBinding(int dataType, DeviceSpec device, int byteLength) {
+    }
+
+    /**
+     * バッファメモリ一括読出しを実行します。
+     *
+     * @param request バッファメモリ一括読出し要求
+     * @return 応答データ
+     */
+    private byte[] bufferMemoryRead(BufferMemoryReadRequest request) {
+        int points = request.getWordPoint();
+        if (points > BufferMemoryReadRequest.MAX_WORD_POINTS) {
+            throw new MockErrorException(ERROR_POINTS);
+        }
+        if (request.getAddress() + points > DEVICE_WORDS) {
+            throw new MockErrorException(ERROR_RANGE);
+        }
+        short[] words = new short[points];
+        System.arraycopy(getBufferMemory(request.getModuleNumber()), request.getAddress(), words, 0, points);
+        return Converter.fromShortArrayToBytes(words);
+    }
+
+    /**
+     * バッファメモリ一括書込みを実行します。
+     *
+     * @param request バッファメモリ一括書込み要求
+     */
+    private void bufferMemoryWrite(BufferMemoryWriteRequest request) {
+        short[] words = Converter.fromBytesToShortArray(request.getWriteBytes());
+        if (words.length > BufferMemoryReadRequest.MAX_WORD_POINTS) {
+            throw new MockErrorException(ERROR_POINTS);
+        }
+        if (request.getAddress() + words.length > DEVICE_WORDS) {
+            throw new MockErrorException(ERROR_RANGE);
+        }
+        System.arraycopy(words, 0, getBufferMemory(request.getModuleNumber()), request.getAddress(), words.length);
+    }
+
+    /**
+     * インテリジェント機能ユニットのバッファメモリを取得します（初回の参照時に確保）。
+     *
+     * @param moduleNumber ユニット番号
+     * @return バッファメモリ（DEVICE_WORDS ワード）
+     */
+    public short[] getBufferMemory(int moduleNumber) {
+        return _bufferMemory.computeIfAbsent(moduleNumber, k -> new short[DEVICE_WORDS]);
+    }
+
+    /**
+     * デバイスのワードメモリを取得します。
+     *
+     * @param spec デバイス指定
+     * @return ワードメモリ
+     */
+    protected short[] wordsOf(DeviceSpec spec) {
+        return _memory.get(spec.getDeviceCode());
+    }
+
+    /**
+     * ワード単位アクセス時のデバイス番号の除数を取得します（ビットデバイスは16点で1ワード）。
+     *
+     * @param spec デバイス指定
+     * @return 除数
+     */
+    protected int wordDivisor(DeviceSpec spec) {
+        return spec.getDeviceCode().getDataType() == DataTypeEnum.BIT ? 16 : 1;
+    }
+
+    /**
+     * ワード単位アクセス時の先頭デバイスのワード位置を取得します
+     * （ダブルワードデバイスは1点で {@link DeviceCodeEnum#getWordsPerPoint()} ワード）。
+     * iQ-Rシリーズの形式で指定された大きなデバイス番号で計算があふれないよう、範囲外の位置は {@link #DEVICE_WORDS} とします。
+     *
+     * @param spec デバイス指定
+     * @return ワードメモリ上の位置
+     */
+    protected int wordIndex(DeviceSpec spec) {
+        if (spec.getDeviceCode().getDataType() == DataTypeEnum.DWORD) {
+            return (int)Math.min((long)spec.getDeviceNumber() * spec.getDeviceCode().getWordsPerPoint(), DEVICE_WORDS);
+        }
+        return spec.getDeviceNumber() / wordDivisor(spec);
+    }
+
+    /**
+     * iQ-Rシリーズの形式でのみ指定できるデバイスが、Qシリーズの形式で指定されていないことを確認します。
+     *
+     * @param spec デバイス指定
+     * @param format 要求のデバイス指定形式
+     */
+    private static void checkDeviceFormat(DeviceSpec spec, DeviceFormatEnum format) {
+        if (format == DeviceFormatEnum.Q && spec.getDeviceCode().isIqrOnly()) {
+            throw new MockErrorException(ERROR_COMMAND);
+        }
+    }
+
+    /**
+     * ビットデバイスの値を取得します。
+     *
+     * @param code デバイスコード
+     * @param number デバイス番号
+     * @return ビット値
+     */
+    public boolean getBit(DeviceCodeEnum code, int number) {
+        return (_memory.get(code)[number / 16] & (1 << (number % 16))) != 0;
+    }
+
+    /**
+     * ビットデバイスの値を設定します。
+     *
+     * @param code デバイスコード
+     * @param number デバイス番号
+     * @param value ビット値
+     */
+    public void setBit(DeviceCodeEnum code, int number, boolean value) {
+        short[] words = _memory.get(code);
+        if (value) {
+            words[number / 16] |= (short)(1 << (number % 16));
+        } else {
+            words[number / 16] &= (short)~(1 << (number % 16));
+        }
+    }
+
+    /**
+     * 異常応答を返すための例外
+     */
+    protected static class MockErrorException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        /** 終了コード */
+        final short finishCode;
+
+        MockErrorException(short finishCode) {
+            this.finishCode = finishCode;
+        }
+    }
+}
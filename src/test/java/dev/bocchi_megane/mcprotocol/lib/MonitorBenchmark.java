@@ -0,0 +1,95 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.FrameTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.payload.MonitorReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MonitorRegisterRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+
+/**
+ * モニタ購読のベンチマーク
+ * ループバック上の疑似PLCに対して、同じデバイスの組をランダム読出しで繰り返し読む場合と、
+ * モニタ登録後にモニタ要求で読む場合の応答時間と要求サイズを比較します。テストとしては実行されません。
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes dev.bocchi_megane.mcprotocol.lib.MonitorBenchmark [回数]
+ * </pre>
+ */
+public class MonitorBenchmark {
+    /** ウォームアップの回数 */
+    private static final int WARMUP = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        try (MockPlcServer server = new MockPlcServer()) {
+            System.out.printf("%-12s %-5s %6s %10s %10s %10s %10s%n",
+                "method", "frame", "points", "req[byte]", "p50[us]", "p99[us]", "max[us]");
+            for (FrameTypeEnum frameType : FrameTypeEnum.values()) {
+                for (int points : new int[] {8, 64, 192}) {
+                    run(server, frameType, points, iterations);
+                }
+            }
+        }
+    }
+
+    /**
+     * 1条件分を計測して表示します。
+     * 半分をワード、半分をダブルワードとし、デバイスは連続しない番号に散らします。
+     */
+    private static void run(MockPlcServer server, FrameTypeEnum frameType, int points, int iterations) throws Exception {
+        List<DeviceSpec> words = new ArrayList<>();
+        List<DeviceSpec> dwords = new ArrayList<>();
+        for (int i = 0; i < points; i++) {
+            DeviceSpec spec = new DeviceSpec(DeviceCodeEnum.DataRegister, i * 37);
+            (i % 2 == 0 ? words : dwords).add(spec);
+        }
+
+        Client client = new Client(server.getHost(), server.getPort(), false);
+        client.setFrameType(frameType);
+        client.unsafe_connect();
+        try (MonitorSubscription subscription = new MonitorSubscription(client, words, dwords)) {
+            long[] random = measure(iterations, () -> client.readRandom(words, dwords));
+            long[] monitor = measure(iterations, subscription::poll);
+
+            String frame = frameType == FrameTypeEnum.FRAME_4E ? "4E" : "3E";
+            int randomBytes = new RandomReadRequest(words, dwords).toByteArray().length;
+            int monitorBytes = new MonitorReadRequest(new MonitorRegisterRequest(words, dwords), new int[points]).toByteArray().length;
+            print("RANDOM_READ", frame, points, randomBytes, random);
+            print("MONITOR", frame, points, monitorBytes, monitor);
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    /**
+     * 指定回数の往復時間を計測します。
+     */
+    private static long[] measure(int iterations, Runnable action) {
+        for (int i = 0; i < WARMUP; i++) {
+            action.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    /**
+     * 計測結果を1行表示します。
+     */
+    private static void print(String method, String frame, int points, int requestBytes, long[] samples) {
+        System.out.printf("%-12s %-5s %6d %10d %10.1f %10.1f %10.1f%n",
+            method, frame, points, requestBytes,
+            samples[samples.length / 2] / 1e3, samples[samples.length * 99 / 100] / 1e3, samples[samples.length - 1] / 1e3);
+    }
+}
@@ -0,0 +1,105 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.transport.ReconnectPolicy;
+
+class MonitorSubscriptionTest {
+
+    private MockPlcServer _server;
+    private Client _client;
+    private MonitorSubscription _subscription;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        _server = new MockPlcServer();
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        for (int i = 0; i < memory.length; i++) {
+            memory[i] = (short)i;
+        }
+        _client = new Client(_server.getHost(), _server.getPort(), false);
+        _client.unsafe_connect();
+        _subscription = new MonitorSubscription(_client,
+            List.of(new DeviceSpec("D10"), new DeviceSpec("D20")),
+            List.of(new DeviceSpec("D100")));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        _subscription.close();
+        _client.disconnect();
+        _server.close();
+    }
+
+    @Test
+    @DisplayName("初回の読出しで登録し、以降はモニタ要求だけを送る")
+    void testPoll() {
+        long before = _server.getRequestCount();
+
+        int[] first = _subscription.poll();
+        assertArrayEquals(new int[] {10, 20, 101 << 16 | 100}, first);
+        assertTrue(_subscription.isRegistered());
+        assertEquals(2, _server.getRequestCount() - before);
+
+        _server.memory(DeviceCodeEnum.DataRegister)[20] = -5;
+        int[] second = _subscription.poll();
+        assertEquals(-5, second[1]);
+        assertEquals(3, _server.getRequestCount() - before);
+        // 読出し結果は同じ配列に上書きされる
+        assertSame(first, second);
+        assertSame(_subscription.getBuffer(), second);
+    }
+
+    @Test
+    @DisplayName("再接続後は自動で登録し直してから読み出す")
+    void testReRegisterAfterReconnect() {
+        _client.setReconnectPolicy(new ReconnectPolicy(5, 100, 2.0, 0.5, 0));
+        _subscription.poll();
+
+        _server.dropConnections();
+        // 切断の検知と再接続を促す
+        assertArrayEquals(new short[] {1}, _client.readBlockWord(new DeviceSpec("D1"), (short)1));
+
+        assertFalse(_subscription.isRegistered());
+        assertArrayEquals(new int[] {10, 20, 101 << 16 | 100}, _subscription.poll());
+        assertTrue(_subscription.isRegistered());
+    }
+
+    @Test
+    @DisplayName("PLCが登録を失っていた場合は登録し直して再試行する")
+    void testReRegisterAfterLostRegistration() {
+        _subscription.poll();
+        _server.clearMonitorRegistrations();
+
+        assertArrayEquals(new int[] {10, 20, 101 << 16 | 100}, _subscription.poll());
+    }
+
+    @Test
+    @DisplayName("周期ポーリングでリスナーに値が通知され、停止できる")
+    void testStart() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        AtomicInteger last = new AtomicInteger();
+        _subscription.start(5, (subscription, values) -> {
+            last.set(values[0]);
+            latch.countDown();
+        });
+        assertTrue(_subscription.isRunning());
+        assertThrows(IllegalStateException.class, () -> _subscription.start(5, (s, v) -> {}));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(10, last.get());
+        _subscription.stop();
+        assertFalse(_subscription.isRunning());
+    }
+}
@@ -0,0 +1,64 @@
+package dev.bocchi_megane.mcprotocol.lib;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+class WordBlockTest {
+
+    @Test
+    @DisplayName("受信データを型を指定して読み出せる")
+    void testGetters() {
+        byte[] bytes = {
+            0x34, 0x12,                                         // D0: 0x1234
+            (byte)0xFE, (byte)0xFF, (byte)0xFF, (byte)0xFF,     // D1-D2: -2
+            0x00, 0x00, (byte)0xC0, 0x3F,                       // D3-D4: 1.5f
+            0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x04, (byte)0xC0, // D5-D8: -2.5
+            0x34, 0x12,                                         // D9: BCD 1234
+            'A', 'B', 'C', 0x00                                 // D10-D11: "ABC"
+        };
+        WordBlock block = new WordBlock(new DeviceSpec("D0"), bytes);
+
+        assertEquals(12, block.getWordCount());
+        assertEquals((short)0x1234, block.getShort(0));
+        assertEquals(-2, block.getInt(1));
+        assertEquals(1.5f, block.getFloat(3));
+        assertEquals(-2.5, block.getDouble(5));
+        assertEquals(1234, block.getBcd(9));
+        assertEquals("ABC", block.getString(10, 4));
+        assertEquals("AB", block.getString(10, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> block.getInt(11));
+        assertThrows(IndexOutOfBoundsException.class, () -> block.getString(11, 3));
+        assertThrows(IllegalArgumentException.class, () -> block.getBcd(1));
+    }
+
+    @Test
+    @DisplayName("設定した値が受信データと同じ並びで書き込まれる")
+    void testSetters() {
+        WordBlock block = new WordBlock(new DeviceSpec("D100"), 12)
+            .setShort(0, (short)0x1234)
+            .setInt(1, -2)
+            .setFloat(3, 1.5f)
+            .setDouble(5, -2.5)
+            .setBcd(9, 1234)
+            .setString(10, 4, "ABC");
+
+        WordBlock copy = new WordBlock(new DeviceSpec("D100"), block.getBytes().clone());
+        assertEquals((short)0x1234, copy.getShort(0));
+        assertEquals(-2, copy.getInt(1));
+        assertEquals(1.5f, copy.getFloat(3));
+        assertEquals(-2.5, copy.getDouble(5));
+        assertEquals(1234, copy.getBcd(9));
+        assertEquals("ABC", copy.getString(10, 4));
+        assertEquals(0x3F, block.getBytes()[9]);
+        assertThrows(IllegalArgumentException.class, () -> block.setString(10, 2, "ABC"));
+        // ASCII以外の文字を含む場合は何も書き込まない
+        assertThrows(IllegalArgumentException.class, () -> block.setString(10, 4, "XYあ"));
+        assertEquals("ABC", block.getString(10, 4));
+        assertThrows(IllegalArgumentException.class, () -> block.setBcd(0, 10000));
+        assertThrows(IllegalArgumentException.class, () -> new WordBlock(new DeviceSpec("D0"), new byte[3]));
+    }
+}
@@ -0,0 +1,164 @@
+package dev.bocchi_megane.mcprotocol.lib.capability;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.bocchi_megane.mcprotocol.lib.Client;
+import dev.bocchi_megane.mcprotocol.lib.MockPlcServer;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+class CpuCapabilityRegistryTest {
+
+    private MockPlcServer _server;
+    private Client _client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        _server = new MockPlcServer();
+        _client = new Client(_server.getHost(), _server.getPort(), false);
+        _client.unsafe_connect();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        _client.disconnect();
+        _server.close();
+    }
+
+    @Test
+    @DisplayName("形名の先頭からシリーズの既知の能力を引ける")
+    void testLookupSeries() {
+        CpuCapabilityRegistry registry = new CpuCapabilityRegistry();
+
+        CpuCapability iqr = registry.lookup("R04CPU          H\u0003");
+        assertEquals("R04CPU", iqr.getTypeName());
+        assertTrue(iqr.isIqrSubcommandSupported());
+        assertTrue(iqr.is4ESupported());
+
+        CpuCapability qna = registry.lookup("Q2ASCPU");
+        assertEquals(480, qna.getMaxWordPoints());
+        assertEquals(96, qna.getMaxRandomPoints());
+        assertFalse(qna.is4ESupported());
+
+        CpuCapability q = registry.lookup(MockPlcServer.PLC_TYPE_NAME);
+        assertEquals(960, q.getMaxWordPoints());
+        assertFalse(q.isIqrSubcommandSupported());
+
+        CpuCapability unknown = registry.lookup("XYZ");
+        assertEquals("XYZ", unknown.getTypeName());
+        assertEquals(CpuCapability.DEFAULT.getMaxWordPoints(), unknown.getMaxWordPoints());
+    }
+
+    @Test
+    @DisplayName("登録した能力はシリーズの既知の能力より優先される")
+    void testRegister() {
+        CpuCapabilityRegistry registry = new CpuCapabilityRegistry();
+        registry.register(new CpuCapability("Q03UDVCPU   ", 480, 3584, 96, false, false, Map.of()));
+
+        assertTrue(registry.contains("Q03UDVCPU"));
+        assertEquals(480, registry.lookup(MockPlcServer.PLC_TYPE_NAME).getMaxWordPoints());
+        assertEquals(960, registry.lookup("Q06UDEHCPU").getMaxWordPoints());
+    }
+
+    @Test
+    @DisplayName("実機からデバイスの範囲を二分探索で調べて登録する")
+    void testProbe() {
+        CpuCapabilityRegistry registry = new CpuCapabilityRegistry();
+        CpuCapability capability = registry.probe(_client,
+            List.of(DeviceCodeEnum.DataRegister, DeviceCodeEnum.InternalRelay, DeviceCodeEnum.LongIndexRegister));
+
+        // 疑似PLCはデバイスコードごとに65536ワード
+        assertEquals("Q03UDVCPU", capability.getTypeName());
+        assertEquals(65536, capability.getDeviceSize(DeviceCodeEnum.DataRegister));
+        assertEquals(65536 * 16, capability.getDeviceSize(DeviceCodeEnum.InternalRelay));
+        assertEquals(32768, capability.getDeviceSize(DeviceCodeEnum.LongIndexRegister));
+        assertEquals(-1, capability.getDeviceSize(DeviceCodeEnum.LinkRegister));
+        assertSame(capability, registry.lookup("Q03UDVCPU"));
+    }
+
+    @Test
+    @DisplayName("クライアントのデバイス指定形式で範囲を調べる")
+    void testProbeIqrFormat() {
+        long before = _server.getRequestCount();
+        new CpuCapabilityRegistry().probe(_client, List.of(DeviceCodeEnum.DataRegister));
+        long qRequests = _server.getRequestCount() - before;
+
+        _client.setDeviceFormat(DeviceFormatEnum.IQ_R);
+        before = _server.getRequestCount();
+        CpuCapability capability = new CpuCapabilityRegistry().probe(_client, List.of(DeviceCodeEnum.DataRegister));
+        long iqrRequests = _server.getRequestCount() - before;
+
+        // 形名の読出し1回と、デバイス番号の範囲（3バイト、4バイト）の二分探索
+        assertEquals(65536, capability.getDeviceSize(DeviceCodeEnum.DataRegister));
+        assertEquals(1 + 24, qRequests);
+        assertEquals(1 + 31, iqrRequests);
+    }
+
+    @Test
+    @DisplayName("ファイルに保存した能力を読み込める")
+    void testSaveAndLoad(@TempDir Path directory) throws Exception {
+        CpuCapabilityRegistry registry = new CpuCapabilityRegistry();
+        registry.register(new CpuCapability("R08CPU", 960, 7168, 192, true, true,
+            Map.of(DeviceCodeEnum.DataRegister, 18432, DeviceCodeEnum.InternalRelay, 12288)));
+        registry.register(new CpuCapability("Q2ASCPU", 480, 3584, 96, false, false, Map.of()));
+        Path path = directory.resolve("capabilities.properties");
+        registry.save(path);
+
+        CpuCapabilityRegistry loaded = new CpuCapabilityRegistry();
+        loaded.load(path);
+        CpuCapability iqr = loaded.lookup("R08CPU");
+        assertEquals(18432, iqr.getDeviceSize(DeviceCodeEnum.DataRegister));
+        assertEquals(12288, iqr.getDeviceSize(DeviceCodeEnum.InternalRelay));
+        assertTrue(iqr.isIqrSubcommandSupported());
+        assertEquals(96, loaded.lookup("Q2ASCPU").getMaxRandomPoints());
+        assertTrue(loaded.contains("Q2ASCPU"));
+
+        Files.writeString(path, "R08CPU.maxWordPoints=abc\n");
+        assertThrows(IllegalArgumentException.class, () -> new CpuCapabilityRegistry().load(path));
+    }
+
+    @Test
+    @DisplayName("設定した能力の点数上限で分割し、範囲外のデバイスは送信前に例外になる")
+    void testClientUsesCapability() {
+        CpuCapability capability = new CpuCapabilityRegistry().lookup("Q2ASCPU")
+            .withDeviceSize(DeviceCodeEnum.DataRegister, 12288);
+        _client.setCpuCapability(capability);
+
+        long before = _server.getRequestCount();
+        _client.readBlockWord(new DeviceSpec("D0"), 960);
+        assertEquals(2, _server.getRequestCount() - before);
+
+        before = _server.getRequestCount();
+        assertThrows(IllegalArgumentException.class, () -> _client.readBlockWord(new DeviceSpec("D12287"), 2));
+        assertThrows(IllegalArgumentException.class, () -> _client.writeBlockWord(new DeviceSpec("D12288"), new short[] {1}));
+        assertEquals(0, _server.getRequestCount() - before);
+        _client.readBlockWord(new DeviceSpec("D12287"), 1);
+    }
+
+    @Test
+    @DisplayName("PLC形名からCPUの能力を設定できる")
+    void testLoadCpuCapability() {
+        CpuCapabilityRegistry registry = new CpuCapabilityRegistry();
+        CpuCapability capability = _client.loadCpuCapability(registry);
+
+        assertEquals("Q03UDVCPU", capability.getTypeName());
+        assertSame(capability, _client.getCpuCapability());
+        assertEquals(DeviceFormatEnum.Q, _client.getDeviceFormat());
+
+        registry.register(new CpuCapability("Q03UDVCPU", 960, 7168, 192, true, true, Map.of()));
+        _client.loadCpuCapability(registry);
+        assertEquals(DeviceFormatEnum.IQ_R, _client.getDeviceFormat());
+    }
+}
@@ -0,0 +1,36 @@
+package dev.bocchi_megane.mcprotocol.lib.capability;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+class CpuCapabilityTest {
+
+    @Test
+    @DisplayName("点数上限はプロトコルの上限以内で、ビット点数は64の倍数で指定する")
+    void testLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new CpuCapability("X", 961, 7168, 192, false, false, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> new CpuCapability("X", 960, 7000, 192, false, false, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> new CpuCapability("X", 960, 7168, 0, false, false, Map.of()));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CpuCapability("X", 960, 7168, 192, false, false, Map.of(DeviceCodeEnum.DataRegister, -1)));
+    }
+
+    @Test
+    @DisplayName("わかっているデバイスの範囲だけを検査する")
+    void testCheckRange() {
+        CpuCapability capability = CpuCapability.DEFAULT.withDeviceSize(DeviceCodeEnum.InternalRelay, 8192);
+
+        capability.checkRange(new DeviceSpec("M8176"), 16);
+        assertThrows(IllegalArgumentException.class, () -> capability.checkRange(new DeviceSpec("M8176"), 17));
+        capability.checkRange(new DeviceSpec("D1000000"), 1);
+        assertEquals(Map.of(DeviceCodeEnum.InternalRelay, 8192), capability.getDeviceSizes());
+        assertTrue(CpuCapability.DEFAULT.getDeviceSizes().isEmpty());
+    }
+}
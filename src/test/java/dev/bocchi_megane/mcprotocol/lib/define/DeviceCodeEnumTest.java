@@ -38,6 +38,23 @@ public class DeviceCodeEnumTest {
         assertArrayEquals(new byte[]{(byte) 0xA9}, DeviceCodeEnum.SpecialRegister.getBytes().getByteArray());
     }
 
+    @Test
+    public void testGetWordsPerPoint() {
+        assertEquals(4, DeviceCodeEnum.LongTimerCurrentValue.getWordsPerPoint());
+        assertEquals(4, DeviceCodeEnum.LongRetentiveTimerCurrentValue.getWordsPerPoint());
+        assertEquals(2, DeviceCodeEnum.LongCounterCurrentValue.getWordsPerPoint());
+        assertEquals(2, DeviceCodeEnum.LongIndexRegister.getWordsPerPoint());
+        assertEquals(1, DeviceCodeEnum.DataRegister.getWordsPerPoint());
+        assertEquals(1, DeviceCodeEnum.InternalRelay.getWordsPerPoint());
+    }
+
+    @Test
+    public void testIsIqrOnly() {
+        for (DeviceCodeEnum deviceCode : DeviceCodeEnum.values()) {
+            assertEquals(deviceCode.name().startsWith("Long"), deviceCode.isIqrOnly(), deviceCode.name());
+        }
+    }
+
     @Test
     public void testGetDeviceNumberBase() throws Exception {
         for (DeviceCodeEnum deviceCode : DeviceCodeEnum.values() ) {
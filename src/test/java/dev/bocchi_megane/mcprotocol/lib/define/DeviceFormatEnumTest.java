@@ -0,0 +1,32 @@
+package dev.bocchi_megane.mcprotocol.lib.define;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeviceFormatEnumTest {
+
+    @Test
+    public void testLength() {
+        assertEquals(4, DeviceFormatEnum.Q.getLength());
+        assertEquals(6, DeviceFormatEnum.IQ_R.getLength());
+        assertEquals(0xFFFFFF, DeviceFormatEnum.Q.getMaxDeviceNumber());
+        assertEquals(Integer.MAX_VALUE, DeviceFormatEnum.IQ_R.getMaxDeviceNumber());
+    }
+
+    @Test
+    public void testSubCommand() {
+        assertEquals(SubCommandEnum.Q_WORD, DeviceFormatEnum.Q.getSubCommand(false));
+        assertEquals(SubCommandEnum.Q_BIT, DeviceFormatEnum.Q.getSubCommand(true));
+        assertEquals(SubCommandEnum.IQ_R_WORD, DeviceFormatEnum.IQ_R.getSubCommand(false));
+        assertEquals(SubCommandEnum.IQ_R_BIT, DeviceFormatEnum.IQ_R.getSubCommand(true));
+    }
+
+    @Test
+    public void testBuild() {
+        assertEquals(DeviceFormatEnum.Q, DeviceFormatEnum.build(SubCommandEnum.Q_WORD));
+        assertEquals(DeviceFormatEnum.Q, DeviceFormatEnum.build(SubCommandEnum.Q_BIT));
+        assertEquals(DeviceFormatEnum.IQ_R, DeviceFormatEnum.build(SubCommandEnum.IQ_R_WORD));
+        assertEquals(DeviceFormatEnum.IQ_R, DeviceFormatEnum.build(SubCommandEnum.IQ_R_BIT));
+    }
+}
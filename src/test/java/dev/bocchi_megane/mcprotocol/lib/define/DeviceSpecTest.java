@@ -37,4 +37,36 @@ public class DeviceSpecTest {
             new DeviceSpec("U100");
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEqualsAndHashCode() {
+        DeviceSpec a = new DeviceSpec("D100");
+        DeviceSpec b = new DeviceSpec(DeviceCodeEnum.DataRegister, 100);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, new DeviceSpec("D101"));
+        assertNotEquals(a, new DeviceSpec("W100"));
+    }
+
+    @Test
+    public void testToByteArrayIqr() {
+        DeviceSpec deviceSpec = new DeviceSpec(DeviceCodeEnum.DataRegister, 0x01234567);
+
+        assertArrayEquals(new byte[] {0x67, 0x45, 0x23, 0x01, (byte)0xA8, 0x00}, deviceSpec.toByteArray(DeviceFormatEnum.IQ_R));
+        assertEquals(6, DeviceSpec.getByteArrayLength(DeviceFormatEnum.IQ_R));
+        assertThrows(IllegalArgumentException.class, () -> deviceSpec.toByteArray());
+        assertArrayEquals(new byte[] {(byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xA8},
+            new DeviceSpec(DeviceCodeEnum.DataRegister, 0xFFFFFF).toByteArray());
+    }
+
+    @Test
+    public void testConstructorWithByteArrayIqr() {
+        DeviceSpec deviceSpec = new DeviceSpec(new byte[] {0x67, 0x45, 0x23, 0x01, (byte)0x90, 0x00}, DeviceFormatEnum.IQ_R);
+
+        assertEquals(DeviceCodeEnum.InternalRelay, deviceSpec.getDeviceCode());
+        assertEquals(0x01234567, deviceSpec.getDeviceNumber());
+        assertThrows(IllegalArgumentException.class, () ->
+            new DeviceSpec(new byte[] {0x00, 0x00, 0x00, 0x00, (byte)0x90, 0x01}, DeviceFormatEnum.IQ_R));
+    }
+}
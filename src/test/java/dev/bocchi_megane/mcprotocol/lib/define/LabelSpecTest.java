@@ -0,0 +1,42 @@
+package dev.bocchi_megane.mcprotocol.lib.define;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LabelSpecTest {
+
+    @Test
+    public void testToByteArray() {
+        LabelSpec label = new LabelSpec("Ab温");
+
+        assertEquals("Ab温", label.getName());
+        assertArrayEquals(new byte[] {0x03, 0x00, 0x41, 0x00, 0x62, 0x00, 0x29, 0x6E}, label.toByteArray());
+        assertEquals(8, label.getByteArrayLength());
+        assertSame(label.toByteArray(), label.toByteArray());
+    }
+
+    @Test
+    public void testParse() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {0x02, 0x00, 0x58, 0x00, 0x31, 0x00, 0x7F}).order(ByteOrder.LITTLE_ENDIAN);
+        LabelSpec label = LabelSpec.parse(buffer);
+
+        assertEquals("X1", label.getName());
+        assertEquals(6, buffer.position());
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new LabelSpec(""));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        assertEquals(new LabelSpec("Label1"), new LabelSpec("Label1"));
+        assertEquals(new LabelSpec("Label1").hashCode(), new LabelSpec("Label1").hashCode());
+        assertNotEquals(new LabelSpec("Label1"), new LabelSpec("Label2"));
+    }
+}
@@ -124,10 +124,26 @@ class SubHeaderEnumTest {
     @DisplayName("列挙値の数確認")
     void testEnumValues() {
         SubHeaderEnum[] values = SubHeaderEnum.values();
-        assertEquals(2, values.length);
+        assertEquals(4, values.length);
         
         assertTrue(java.util.Arrays.asList(values).contains(SubHeaderEnum.REQUEST));
         assertTrue(java.util.Arrays.asList(values).contains(SubHeaderEnum.RESPONSE));
+        assertTrue(java.util.Arrays.asList(values).contains(SubHeaderEnum.REQUEST_4E));
+        assertTrue(java.util.Arrays.asList(values).contains(SubHeaderEnum.RESPONSE_4E));
+    }
+
+    @Test
+    @DisplayName("4Eサブヘッダの値確認")
+    void test4ESubHeader() {
+        assertArrayEquals(new byte[] {0x54, 0x00}, SubHeaderEnum.REQUEST_4E.getBytes().getByteArray());
+        assertArrayEquals(new byte[] {(byte)0xD4, 0x00}, SubHeaderEnum.RESPONSE_4E.getBytes().getByteArray());
+        assertEquals(SubHeaderEnum.RESPONSE_4E, SubHeaderEnum.build(new byte[] {(byte)0xD4, 0x00}));
+
+        assertTrue(SubHeaderEnum.REQUEST_4E.is4E());
+        assertTrue(SubHeaderEnum.RESPONSE_4E.is4E());
+        assertFalse(SubHeaderEnum.REQUEST.is4E());
+        assertTrue(SubHeaderEnum.REQUEST_4E.isRequest());
+        assertFalse(SubHeaderEnum.RESPONSE_4E.isRequest());
     }
 
     @Test
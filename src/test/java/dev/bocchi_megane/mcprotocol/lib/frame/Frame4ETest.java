@@ -0,0 +1,71 @@
+package dev.bocchi_megane.mcprotocol.lib.frame;
+
+import org.junit.jupiter.api.Test;
+
+import dev.bocchi_megane.mcprotocol.lib.define.AccessRoute;
+import dev.bocchi_megane.mcprotocol.lib.define.SubHeaderEnum;
+import dev.bocchi_megane.mcprotocol.lib.payload.PlcTypeNameRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Frame4ETest {
+
+    @Test
+    void testToBytes() {
+        byte[] data = {0x01, 0x02};
+        Frame4E frame = new Frame4E(SubHeaderEnum.RESPONSE_4E, (short)0x1234, AccessRoute.DEFAULT, (short)0x0000, data);
+
+        assertArrayEquals(new byte[] {
+            (byte)0xD4, 0x00,  // サブヘッダ
+            0x34, 0x12,  // シリアル番号
+            0x00, 0x00,  // 固定値
+            0x00, (byte)0xFF, (byte)0xFF, 0x03, 0x00,  // アクセス経路
+            0x04, 0x00,  // データ長
+            0x00, 0x00,  // 終了コード
+            0x01, 0x02  // データ
+        }, frame.toBytes());
+    }
+
+    @Test
+    void testParseRoundTrip() {
+        Frame4E frame = new Frame4E(SubHeaderEnum.RESPONSE_4E, (short)0xFFFE, AccessRoute.DEFAULT, (short)0xC059, new byte[] {0x05});
+
+        Frame3E parsed = Parser.parseFrame(frame.toBytes());
+
+        assertInstanceOf(Frame4E.class, parsed);
+        assertEquals((short)0xFFFE, ((Frame4E)parsed)._serialNumber);
+        assertEquals(SubHeaderEnum.RESPONSE_4E, parsed._subHeader);
+        assertEquals((short)0xC059, parsed._monitorOrFinishCode);
+        assertArrayEquals(new byte[] {0x05}, parsed._payloadByteArray);
+        assertTrue(parsed.isDataLengthValid());
+    }
+
+    @Test
+    void testBuild4E() {
+        Builder builder = new Builder(AccessRoute.DEFAULT);
+        byte[] bytes = builder.build4E(new PlcTypeNameRequest(), (short)7, (short)0x0010);
+
+        Frame3E parsed = Parser.parseFrame(bytes);
+        assertEquals(SubHeaderEnum.REQUEST_4E, parsed._subHeader);
+        assertEquals(7, ((Frame4E)parsed)._serialNumber);
+        assertEquals(0x0010, parsed._monitorOrFinishCode);
+        assertArrayEquals(new PlcTypeNameRequest().toByteArray(), parsed._payloadByteArray);
+    }
+
+    @Test
+    void testFrameReaderSplits4EFrames() {
+        byte[] first = new Frame4E(SubHeaderEnum.RESPONSE_4E, (short)1, AccessRoute.DEFAULT, (short)0, new byte[] {0x0A}).toBytes();
+        byte[] second = new Frame4E(SubHeaderEnum.RESPONSE_4E, (short)2, AccessRoute.DEFAULT, (short)0, new byte[] {0x0B, 0x0C}).toBytes();
+        FrameReader reader = new FrameReader();
+
+        // ヘッダの途中までではフレームにならない
+        reader.feed(first, 0, 10);
+        assertNull(reader.next());
+        reader.feed(first, 10, first.length - 10);
+        reader.feed(second);
+
+        assertEquals(1, ((Frame4E)reader.next())._serialNumber);
+        assertEquals(2, ((Frame4E)reader.next())._serialNumber);
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,108 @@
+package dev.bocchi_megane.mcprotocol.lib.frame;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.AccessRoute;
+import dev.bocchi_megane.mcprotocol.lib.define.SubHeaderEnum;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.util.Converter;
+
+class FrameReaderTest {
+
+    /** 応答フレーム（データ 0x01, 0x02） */
+    private static final byte[] RESPONSE = new byte[] {
+        // サブヘッダ
+        (byte)0xD0, 0x00,
+        // アクセス経路
+        0x00, (byte)0xFF, (byte)0xFF, 0x03, 0x00,
+        // データ長
+        0x04, 0x00,
+        // 終了コード
+        0x00, 0x00,
+        // データ
+        0x01, 0x02
+    };
+
+    @Test
+    @DisplayName("1バイトずつ供給しても最後のバイトでフレームが完成する")
+    void testPartialFeed() {
+        FrameReader reader = new FrameReader();
+        for (int i = 0; i < RESPONSE.length - 1; i++) {
+            reader.feed(RESPONSE, i, 1);
+            assertNull(reader.next());
+        }
+        reader.feed(RESPONSE, RESPONSE.length - 1, 1);
+
+        Frame3E frame = reader.next();
+        assertNotNull(frame);
+        assertEquals(SubHeaderEnum.RESPONSE, frame._subHeader);
+        assertArrayEquals(new byte[] {0x01, 0x02}, frame._payloadByteArray);
+        assertEquals(0, reader.available());
+    }
+
+    @Test
+    @DisplayName("1回の供給に含まれる複数フレームを順に取り出せる")
+    void testMultipleFramesInOneSegment() {
+        FrameReader reader = new FrameReader();
+        byte[] second = new Frame3E(SubHeaderEnum.RESPONSE, AccessRoute.DEFAULT, (short)0, new byte[] {0x03}).toBytes();
+        byte[] segment = Converter.concatByteArrays(RESPONSE, second, new byte[] {(byte)0xD0});
+
+        reader.feed(segment);
+
+        assertArrayEquals(new byte[] {0x01, 0x02}, reader.next()._payloadByteArray);
+        assertArrayEquals(new byte[] {0x03}, reader.next()._payloadByteArray);
+        assertNull(reader.next());
+        assertEquals(1, reader.available());
+    }
+
+    @Test
+    @DisplayName("受信バッファより大きいフレームをストリームから読み込める")
+    void testReadLargeFrame() throws Exception {
+        // 960ワード読込みの応答: 1920バイト + 終了コード
+        byte[] payload = new byte[1920];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte)i;
+        }
+        byte[] bytes = new Frame3E(SubHeaderEnum.RESPONSE, AccessRoute.DEFAULT, (short)0, payload).toBytes();
+        assertEquals(1931, bytes.length);
+
+        // 1回の読込みで最大100バイトしか返さないストリーム
+        InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 100));
+            }
+        };
+        FrameReader reader = new FrameReader(16);
+        Frame3E frame = reader.readFrame(in);
+
+        assertTrue(frame.isDataLengthValid());
+        assertArrayEquals(payload, frame._payloadByteArray);
+    }
+
+    @Test
+    @DisplayName("フレームの途中でストリームが終了した場合は例外")
+    void testReadFrameEof() {
+        byte[] truncated = java.util.Arrays.copyOf(RESPONSE, RESPONSE.length - 1);
+        FrameReader reader = new FrameReader();
+
+        assertThrows(EOFException.class, () -> reader.readFrame(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    @DisplayName("データ長が終了コード分に満たない場合は例外")
+    void testInvalidDataLength() {
+        byte[] bytes = RESPONSE.clone();
+        bytes[7] = 0x01;
+        FrameReader reader = new FrameReader();
+        reader.feed(bytes);
+
+        assertThrows(ResponseAbnormalException.class, reader::next);
+    }
+}
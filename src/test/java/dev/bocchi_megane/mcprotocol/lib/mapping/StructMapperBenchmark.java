@@ -0,0 +1,168 @@
+package dev.bocchi_megane.mcprotocol.lib.mapping;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.function.Function;
+
+import dev.bocchi_megane.mcprotocol.lib.WordBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+/**
+ * 構造体マッパーのベンチマーク
+ * 同じワードブロックから100件のレコードを読み出す処理について、次の3通りの1件あたりの時間を比較します。
+ * テストとしては実行されません。
+ *
+ * <ul>
+ * <li>MAPPER: {@link StructMapper}（組み立て済みのメソッドハンドル）</li>
+ * <li>REFLECT: 読み出しのたびに構成要素とアノテーションを調べ、Constructor#newInstanceで生成</li>
+ * <li>REFLECT_CACHED: 構成要素とアノテーションは事前に調べ、生成だけConstructor#newInstanceで行う</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes dev.bocchi_megane.mcprotocol.lib.mapping.StructMapperBenchmark [回数]
+ * </pre>
+ */
+public class StructMapperBenchmark {
+    /** 1回の読み出しの件数 */
+    private static final int COUNT = 100;
+    /** 計測の繰り返し回数 */
+    private static final int ROUNDS = 5;
+
+    record Sample(
+        @PlcField(offset = 0, type = FieldTypeEnum.INT32) int lotNumber,
+        @PlcField(offset = 2, type = FieldTypeEnum.FLOAT32) float temperature,
+        @PlcField(offset = 4, type = FieldTypeEnum.BIT, bit = 3) boolean isRunning,
+        @PlcField(offset = 5, type = FieldTypeEnum.UINT16) int count,
+        @PlcField(offset = 6, type = FieldTypeEnum.INT16) short step,
+        @PlcField(offset = 7, type = FieldTypeEnum.BCD16) int code,
+        @PlcField(offset = 8, type = FieldTypeEnum.FLOAT64) double weight,
+        @PlcField(offset = 12, type = FieldTypeEnum.STRING, length = 8) String name
+    ) {}
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        StructMapper<Sample> mapper = StructMapper.of(Sample.class);
+        WordBlock block = new WordBlock(new DeviceSpec("D0"), mapper.getWordCount() * COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            mapper.encode(new Sample(i, i * 0.5f, i % 2 == 0, i, (short)i, i, i * 0.25, "S" + i), block, i * mapper.getWordCount());
+        }
+        CachedReflection cached = new CachedReflection(Sample.class);
+
+        System.out.printf("%-16s %12s%n", "method", "ns/record");
+        for (int round = 0; round < ROUNDS; round++) {
+            print("MAPPER", measure(iterations, block, (b) -> decodeAll(b, mapper::decode, mapper.getWordCount())));
+            print("REFLECT", measure(iterations, block, (b) -> decodeAll(b, (w, o) -> reflect(Sample.class, w, o), mapper.getWordCount())));
+            print("REFLECT_CACHED", measure(iterations, block, (b) -> decodeAll(b, cached::decode, mapper.getWordCount())));
+        }
+    }
+
+    /** ワードブロックと位置から1件を読み出す処理 */
+    private interface IDecoder {
+        Object decode(WordBlock block, int offset);
+    }
+
+    /**
+     * 1回の読み出し（{@link #COUNT} 件）を行います。
+     */
+    private static Object decodeAll(WordBlock block, IDecoder decoder, int stride) {
+        Object last = null;
+        for (int i = 0; i < COUNT; i++) {
+            last = decoder.decode(block, i * stride);
+        }
+        return last;
+    }
+
+    /**
+     * 指定回数の読み出しにかかった時間を、1件あたりのナノ秒で返します。
+     */
+    private static double measure(int iterations, WordBlock block, Function<WordBlock, Object> action) {
+        int sink = 0;
+        for (int i = 0; i < iterations / 10; i++) {
+            sink += action.apply(block).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += action.apply(block).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return (double)elapsed / iterations / COUNT;
+    }
+
+    /**
+     * 計測結果を1行表示します。
+     */
+    private static void print(String method, double nanos) {
+        System.out.printf("%-16s %12.1f%n", method, nanos);
+    }
+
+    /**
+     * 構成要素とアノテーションをその場で調べて1件を読み出します。
+     */
+    private static Object reflect(Class<?> type, WordBlock block, int offset) {
+        try {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] types = new Class<?>[components.length];
+            Object[] values = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                types[i] = components[i].getType();
+                values[i] = read(components[i].getAnnotation(PlcField.class), block, offset);
+            }
+            return type.getDeclaredConstructor(types).newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * アノテーションに従って1フィールドを読み出します。
+     */
+    private static Object read(PlcField field, WordBlock block, int base) {
+        int offset = base + field.offset();
+        switch (field.type()) {
+            case BIT: return block.getBit(offset, field.bit());
+            case INT16: return block.getShort(offset);
+            case UINT16: return Short.toUnsignedInt(block.getShort(offset));
+            case INT32: return block.getInt(offset);
+            case FLOAT32: return block.getFloat(offset);
+            case FLOAT64: return block.getDouble(offset);
+            case BCD16: return block.getBcd(offset);
+            case STRING: return block.getString(offset, field.length());
+            default: throw new IllegalArgumentException(field.type().toString());
+        }
+    }
+
+    /**
+     * 構成要素とアノテーションを事前に調べておき、生成だけリフレクションで行う読み出し
+     */
+    private static class CachedReflection {
+        private final Constructor<?> _constructor;
+        private final PlcField[] _fields;
+
+        CachedReflection(Class<?> type) throws ReflectiveOperationException {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] types = new Class<?>[components.length];
+            _fields = new PlcField[components.length];
+            for (int i = 0; i < components.length; i++) {
+                types[i] = components[i].getType();
+                _fields[i] = components[i].getAnnotation(PlcField.class);
+            }
+            _constructor = type.getDeclaredConstructor(types);
+        }
+
+        Object decode(WordBlock block, int offset) {
+            Object[] values = new Object[_fields.length];
+            for (int i = 0; i < _fields.length; i++) {
+                values[i] = read(_fields[i], block, offset);
+            }
+            try {
+                return _constructor.newInstance(values);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
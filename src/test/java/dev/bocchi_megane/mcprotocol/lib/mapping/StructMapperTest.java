@@ -0,0 +1,104 @@
+package dev.bocchi_megane.mcprotocol.lib.mapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.bocchi_megane.mcprotocol.lib.WordBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+class StructMapperTest {
+
+    record Recipe(
+        @PlcField(offset = 0, type = FieldTypeEnum.INT32) int lotNumber,
+        @PlcField(offset = 2, type = FieldTypeEnum.FLOAT32) float temperature,
+        @PlcField(offset = 4, type = FieldTypeEnum.BIT, bit = 3) boolean isRunning,
+        @PlcField(offset = 4, type = FieldTypeEnum.BIT, bit = 15) boolean isAlarm,
+        @PlcField(offset = 5, type = FieldTypeEnum.UINT16) int count,
+        @PlcField(offset = 6, type = FieldTypeEnum.INT16) short step,
+        @PlcField(offset = 7, type = FieldTypeEnum.BCD16) int code,
+        @PlcField(offset = 8, type = FieldTypeEnum.FLOAT64) double weight,
+        @PlcField(offset = 12, type = FieldTypeEnum.STRING, length = 7) String name
+    ) {}
+
+    static class Status {
+        @PlcField(offset = 1, type = FieldTypeEnum.INT16)
+        private short mode;
+        @PlcField(offset = 0, type = FieldTypeEnum.BIT, bit = 0)
+        private boolean isReady;
+        private int unmapped = 99;
+    }
+
+    record Mismatch(@PlcField(offset = 0, type = FieldTypeEnum.INT32) short value) {}
+
+    record Unannotated(@PlcField(offset = 0, type = FieldTypeEnum.INT16) short value, int other) {}
+
+    @Test
+    @DisplayName("レコードの全データ型を書き込んで読み戻せる")
+    void testRecordRoundTrip() {
+        StructMapper<Recipe> mapper = StructMapper.of(Recipe.class);
+        Recipe recipe = new Recipe(-123456, 36.5f, true, true, 65535, (short)-7, 2024, 12.75, "LOT-A1");
+
+        WordBlock block = mapper.encode(new DeviceSpec("D0"), recipe);
+
+        assertEquals(16, mapper.getWordCount());
+        assertEquals(16, block.getWordCount());
+        assertEquals(-123456, block.getInt(0));
+        assertEquals((short)0x8008, block.getShort(4));
+        assertEquals((short)0x2024, block.getShort(7));
+        assertEquals(recipe, mapper.decode(block));
+    }
+
+    @Test
+    @DisplayName("連続して並んだ複数件を読み出せる")
+    void testDecodeAll() {
+        StructMapper<Recipe> mapper = StructMapper.of(Recipe.class);
+        WordBlock block = new WordBlock(new DeviceSpec("D0"), mapper.getWordCount() * 3);
+        for (int i = 0; i < 3; i++) {
+            mapper.encode(new Recipe(i, i, i % 2 == 0, false, i, (short)i, i, i, "N" + i), block, i * mapper.getWordCount());
+        }
+
+        List<Recipe> recipes = mapper.decodeAll(block, 3);
+
+        assertEquals(3, recipes.size());
+        assertEquals(new Recipe(2, 2, true, false, 2, (short)2, 2, 2, "N2"), recipes.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> mapper.decode(block, mapper.getWordCount() * 2 + 1));
+    }
+
+    @Test
+    @DisplayName("クラスのフィールドに読み書きし、割り当てのないフィールドは変えない")
+    void testClass() {
+        StructMapper<Status> mapper = StructMapper.of(Status.class);
+        WordBlock block = new WordBlock(new DeviceSpec("D0"), 2).setShort(0, (short)0x00F1).setShort(1, (short)5);
+
+        Status status = mapper.decode(block);
+        assertEquals(2, mapper.getWordCount());
+        assertTrue(status.isReady);
+        assertEquals(5, status.mode);
+        assertEquals(99, status.unmapped);
+
+        status.isReady = false;
+        mapper.encode(status, block, 0);
+        assertEquals((short)0x00F0, block.getShort(0));
+    }
+
+    @Test
+    @DisplayName("アノテーションの指定が不正な型は拒否する")
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> StructMapper.of(Mismatch.class));
+        assertThrows(IllegalArgumentException.class, () -> StructMapper.of(Unannotated.class));
+        assertThrows(IllegalArgumentException.class, () -> StructMapper.of(String.class));
+    }
+
+    @Test
+    @DisplayName("データ型の範囲外の値は書き込めない")
+    void testOutOfRange() {
+        StructMapper<Recipe> mapper = StructMapper.of(Recipe.class);
+        Recipe recipe = new Recipe(0, 0, false, false, 65536, (short)0, 0, 0, "");
+
+        assertThrows(IllegalArgumentException.class, () -> mapper.encode(new DeviceSpec("D0"), recipe));
+    }
+}
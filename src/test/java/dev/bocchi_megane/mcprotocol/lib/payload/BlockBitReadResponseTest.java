@@ -21,6 +21,22 @@ class BlockBitReadResponseTest {
         assertArrayEquals(expectedData, response.getReadData());
     }
 
+    @Test
+    void testPackedData() {
+        DeviceSpec deviceSpec = new DeviceSpec("X00");
+        BlockReadRequest request = new BlockReadRequest(deviceSpec, (short)66, true);
+
+        // 0, 2, 3, 5点目と、2つ目のlongにかかる64, 65点目がON
+        byte[] responseData = new byte[33];
+        responseData[0] = 0x10;
+        responseData[1] = 0x11;
+        responseData[2] = 0x01;
+        responseData[32] = 0x11;
+        BlockBitReadResponse response = new BlockBitReadResponse(responseData, request);
+
+        assertArrayEquals(new long[] {0b101101L, 0b11L}, response.getPackedData());
+    }
+
     @Test
     void testParseInvalidResponse() {
         DeviceSpec deviceSpec = new DeviceSpec("X00");
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
 import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
 import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
 import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
 
 public class BlockReadRequestTest {
@@ -57,4 +58,28 @@ public class BlockReadRequestTest {
             }, bytes
         );
     }
+
+    @Test
+    public void testIqrFormat() {
+        DeviceSpec deviceSpec = new DeviceSpec(DeviceCodeEnum.InternalRelay, 0x01000000);
+
+        BlockReadRequest request = new BlockReadRequest(deviceSpec, (short)16, true, DeviceFormatEnum.IQ_R);
+        byte[] bytes = request.toByteArray();
+
+        assertArrayEquals(new byte[]{
+                0x01, 0x04,  // コマンド
+                0x03, 0x00,  // サブコマンド
+                0x00, 0x00, 0x00, 0x01,  // デバイス番号
+                (byte)0x90, 0x00,  // デバイスコード
+                0x10, 0x00  // デバイス点数
+            }, bytes
+        );
+
+        BlockReadRequest parsed = new BlockReadRequest(bytes);
+        assertEquals(DeviceFormatEnum.IQ_R, parsed.getDeviceFormat());
+        assertEquals(SubCommandEnum.IQ_R_BIT, parsed.getSubCommand());
+        assertTrue(parsed._isBitDevice);
+        assertEquals(deviceSpec, parsed.getDeviceSpec());
+        assertEquals(16, parsed.getDevicePoint());
+    }
 }
\ No newline at end of file
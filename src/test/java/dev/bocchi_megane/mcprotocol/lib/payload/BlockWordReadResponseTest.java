@@ -4,7 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
 import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
 
 class BlockWordReadResponseTest {
 
@@ -173,4 +175,42 @@ class BlockWordReadResponseTest {
         assertEquals(1, readData1[0], "1番目のデータが期待値と一致しません");
         assertEquals(2, readData1[1], "2番目のデータが期待値と一致しません");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("ダブルワードデバイスの応答を2ワードずつint値として取り出せる")
+    void testDwordData() {
+        BlockReadRequest request = new BlockReadRequest(new DeviceSpec("LZ0"), (short)4, false);
+
+        // 0x00020001, -2 (0xFFFFFFFE)
+        byte[] responseData = {0x01, 0x00, 0x02, 0x00, (byte)0xFE, (byte)0xFF, (byte)0xFF, (byte)0xFF};
+        BlockWordReadResponse response = new BlockWordReadResponse(responseData, request);
+
+        assertArrayEquals(new int[] {0x00020001, -2}, response.getDwordData());
+        assertArrayEquals(new short[] {1, 2, -2, -1}, response.getReadData());
+    }
+
+    @Test
+    @DisplayName("1点が4ワードのデバイスの応答から各点の先頭2ワードを取り出せる")
+    void testDwordDataLongTimer() {
+        BlockReadRequest request = new BlockReadRequest(new DeviceSpec(DeviceCodeEnum.LongTimerCurrentValue, 0), (short)8, false);
+
+        // 現在値 0x00020001 / 接点・コイル / 予約、現在値 -2 / 接点・コイル / 予約
+        byte[] responseData = {
+            0x01, 0x00, 0x02, 0x00, 0x03, 0x00, 0x00, 0x00,
+            (byte)0xFE, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x01, 0x00, 0x00, 0x00
+        };
+        BlockWordReadResponse response = new BlockWordReadResponse(responseData, request);
+
+        assertArrayEquals(new int[] {0x00020001, -2}, response.getDwordData(4));
+        assertThrows(ResponseAbnormalException.class, () -> response.getDwordData(3));
+    }
+
+    @Test
+    @DisplayName("奇数ワードの応答はダブルワードとして取り出せない")
+    void testDwordDataOddLength() {
+        BlockReadRequest request = new BlockReadRequest(new DeviceSpec("D0"), (short)1, false);
+        BlockWordReadResponse response = new BlockWordReadResponse(new byte[] {0x01, 0x00}, request);
+
+        assertThrows(ResponseAbnormalException.class, response::getDwordData);
+    }
+}
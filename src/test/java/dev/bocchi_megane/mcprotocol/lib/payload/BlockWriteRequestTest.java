@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
 import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
 import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
 
 public class BlockWriteRequestTest {
@@ -58,4 +59,29 @@ public class BlockWriteRequestTest {
         assertEquals(12, bytes.length);
     }
 
+    @Test
+    public void testIqrFormat() {
+        DeviceSpec deviceSpec = new DeviceSpec("D200");
+        byte[] writeBytes = new byte[] {0x01, 0x02};
+
+        BlockWriteRequest blockWriteRequest = new BlockWriteRequest(deviceSpec, (short)1, writeBytes, false, DeviceFormatEnum.IQ_R);
+        byte[] bytes = blockWriteRequest.toByteArray();
+
+        assertArrayEquals(new byte[] {
+            0x01, 0x14,  // コマンド
+            0x02, 0x00,  // サブコマンド
+            (byte)0xC8, 0x00, 0x00, 0x00,  // デバイス番号 200
+            (byte)0xA8, 0x00,  // デバイスコード D
+            0x01, 0x00,  // デバイス点数
+            0x01, 0x02  // 書込みデータ
+        }, bytes);
+
+        BlockWriteRequest parsed = new BlockWriteRequest(bytes);
+        assertEquals(DeviceFormatEnum.IQ_R, parsed.getDeviceFormat());
+        assertEquals(SubCommandEnum.IQ_R_WORD, parsed.getSubCommand());
+        assertFalse(parsed.isBitDevice());
+        assertEquals(deviceSpec, parsed.getDeviceSpec());
+        assertArrayEquals(writeBytes, parsed.getWriteBytes());
+    }
+
 }
\ No newline at end of file
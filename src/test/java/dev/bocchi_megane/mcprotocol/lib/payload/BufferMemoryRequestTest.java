@@ -0,0 +1,99 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+
+class BufferMemoryRequestTest {
+
+    /** U3\G100 から 2ワードの読出し要求 */
+    private static final byte[] READ_REQUEST = new byte[] {
+        0x13, 0x06,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        (byte)0xC8, 0x00, 0x00, 0x00,  // 先頭アドレス（バイト単位）
+        0x04, 0x00,  // バイト数
+        0x03, 0x00   // ユニット番号
+    };
+
+    /** U3\G100 ← {0x1234, 0x5678} の書込み要求 */
+    private static final byte[] WRITE_REQUEST = new byte[] {
+        0x13, 0x16,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        (byte)0xC8, 0x00, 0x00, 0x00,  // 先頭アドレス（バイト単位）
+        0x04, 0x00,  // バイト数
+        0x03, 0x00,  // ユニット番号
+        0x34, 0x12, 0x78, 0x56  // データ
+    };
+
+    @Test
+    @DisplayName("読出し要求はアドレスと点数をバイト単位にして並べる")
+    void testReadToBytes() {
+        BufferMemoryReadRequest request = new BufferMemoryReadRequest(3, 100, 2);
+
+        assertEquals(CommandEnum.MODULE_BUFFER_READ, request.getCommand());
+        assertEquals(SubCommandEnum.Q_WORD, request.getSubCommand());
+        assertArrayEquals(READ_REQUEST, request.toByteArray());
+        assertTrue(request.isIdempotent());
+    }
+
+    @Test
+    @DisplayName("コマンドはインテリジェント機能ユニットのバッファメモリ一括読出し（0613H）・書込み（1613H）")
+    void testCommandCode() {
+        byte[] read = new BufferMemoryReadRequest(3, 100, 2).toByteArray();
+        byte[] write = new BufferMemoryWriteRequest(3, 100, new byte[] {0x34, 0x12}).toByteArray();
+
+        assertEquals(0x0613, (read[0] & 0xff) | (read[1] & 0xff) << 8);
+        assertEquals(0x1613, (write[0] & 0xff) | (write[1] & 0xff) << 8);
+    }
+
+    @Test
+    @DisplayName("バイト配列から読出し要求を復元できる")
+    void testReadParse() {
+        BufferMemoryReadRequest request = new BufferMemoryReadRequest(READ_REQUEST);
+
+        assertEquals(CommandEnum.MODULE_BUFFER_READ, request.getCommand());
+        assertEquals(3, request.getModuleNumber());
+        assertEquals(100, request.getAddress());
+        assertEquals(2, request.getWordPoint());
+    }
+
+    @Test
+    @DisplayName("読出し応答はワードデータとして取り出せ、長さが合わなければ異常とする")
+    void testReadResponse() {
+        BufferMemoryReadRequest request = new BufferMemoryReadRequest(3, 100, 2);
+        BufferMemoryReadResponse response = (BufferMemoryReadResponse)request.parseResponse(new byte[] {0x34, 0x12, 0x78, 0x56});
+
+        assertArrayEquals(new short[] {0x1234, 0x5678}, response.getReadData());
+        assertThrows(ResponseAbnormalException.class, () -> request.parseResponse(new byte[] {0x34, 0x12}));
+    }
+
+    @Test
+    @DisplayName("書込み要求はデバイス指定の後ろにデータを並べ、復元できる")
+    void testWrite() {
+        BufferMemoryWriteRequest request = new BufferMemoryWriteRequest(3, 100, new byte[] {0x34, 0x12, 0x78, 0x56});
+
+        assertEquals(CommandEnum.MODULE_BUFFER_WRITE, request.getCommand());
+        assertArrayEquals(WRITE_REQUEST, request.toByteArray());
+
+        BufferMemoryWriteRequest parsed = new BufferMemoryWriteRequest(WRITE_REQUEST);
+        assertEquals(3, parsed.getModuleNumber());
+        assertEquals(100, parsed.getAddress());
+        assertArrayEquals(new byte[] {0x34, 0x12, 0x78, 0x56}, parsed.getWriteBytes());
+    }
+
+    @Test
+    @DisplayName("範囲外のユニット番号・アドレス・点数は指定できない")
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferMemoryReadRequest(-1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BufferMemoryReadRequest(0x10000, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BufferMemoryReadRequest(0, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BufferMemoryReadRequest(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BufferMemoryReadRequest(0, 0, 961));
+        assertThrows(IllegalArgumentException.class, () -> new BufferMemoryWriteRequest(0, 0, new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> new BufferMemoryWriteRequest(0, 0, new byte[1922]));
+    }
+}
@@ -0,0 +1,119 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.LabelSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+
+class LabelRequestTest {
+
+    /** ラベル "A" と "BC" のランダム読出し要求 */
+    private static final byte[] RANDOM_READ_REQUEST = new byte[] {
+        0x1C, 0x04,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        0x02, 0x00,  // ラベル点数
+        0x00, 0x00,  // 省略指定点数
+        0x01, 0x00, 0x41, 0x00,  // "A"
+        0x02, 0x00, 0x42, 0x00, 0x43, 0x00  // "BC"
+    };
+
+    /** ラベル "A" ← 0x1234 のランダム書込み要求 */
+    private static final byte[] RANDOM_WRITE_REQUEST = new byte[] {
+        0x1B, 0x14,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        0x01, 0x00,  // ラベル点数
+        0x00, 0x00,  // 省略指定点数
+        0x01, 0x00, 0x41, 0x00,  // "A"
+        0x02, 0x00,  // データ長
+        0x34, 0x12   // データ
+    };
+
+    /** 配列型ラベル "A" から 4バイトの一括読出し要求 */
+    private static final byte[] ARRAY_READ_REQUEST = new byte[] {
+        0x1A, 0x04,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        0x01, 0x00,  // 配列点数
+        0x00, 0x00,  // 省略指定点数
+        0x01, 0x00, 0x41, 0x00,  // "A"
+        0x01, 0x00,  // 単位指定、固定値
+        0x04, 0x00   // データ長
+    };
+
+    @Test
+    @DisplayName("ランダム読出し要求は変換済みのラベル名を並べ、変換結果を使い回す")
+    void testRandomRead() {
+        LabelRandomReadRequest request = new LabelRandomReadRequest(List.of(new LabelSpec("A"), new LabelSpec("BC")));
+
+        assertEquals(CommandEnum.LABEL_RANDOM_READ, request.getCommand());
+        assertArrayEquals(RANDOM_READ_REQUEST, request.toByteArray());
+        assertSame(request.toByteArray(), request.toByteArray());
+        assertTrue(request.isIdempotent());
+
+        LabelRandomReadRequest parsed = new LabelRandomReadRequest(RANDOM_READ_REQUEST);
+        assertEquals(List.of(new LabelSpec("A"), new LabelSpec("BC")), parsed.getLabels());
+    }
+
+    @Test
+    @DisplayName("読出し応答をラベルごとのデータ型とデータに分け、ラベル数が合わなければ異常とする")
+    void testReadResponse() {
+        LabelRandomReadRequest request = new LabelRandomReadRequest(List.of(new LabelSpec("A"), new LabelSpec("BC")));
+        byte[] response = new byte[] {
+            0x02, 0x00,  // ラベル点数
+            0x02, 0x00, 0x02, 0x00, 0x34, 0x12,  // データ型ID、予備、データ長、データ
+            0x03, 0x00, 0x04, 0x00, 0x78, 0x56, 0x34, 0x12
+        };
+        LabelReadResponse parsed = (LabelReadResponse)request.parseResponse(response);
+
+        assertArrayEquals(new int[] {2, 3}, parsed.getDataTypes());
+        assertArrayEquals(new byte[] {0x34, 0x12}, parsed.getReadData().get(0));
+        assertArrayEquals(new byte[] {0x78, 0x56, 0x34, 0x12}, parsed.getReadData().get(1));
+        assertThrows(ResponseAbnormalException.class, () -> new LabelReadResponse(response, 1));
+        assertThrows(ResponseAbnormalException.class, () -> new LabelReadResponse(new byte[] {0x01, 0x00, 0x02, 0x00, 0x02, 0x00, 0x34}, 1));
+    }
+
+    @Test
+    @DisplayName("ランダム書込み要求はラベル名ごとにデータ長とデータを並べ、復元できる")
+    void testRandomWrite() {
+        LabelRandomWriteRequest request = new LabelRandomWriteRequest(List.of(new LabelSpec("A")), List.of(new byte[] {0x34, 0x12}));
+
+        assertEquals(CommandEnum.LABEL_RANDOM_WRITE, request.getCommand());
+        assertArrayEquals(RANDOM_WRITE_REQUEST, request.toByteArray());
+
+        LabelRandomWriteRequest parsed = new LabelRandomWriteRequest(RANDOM_WRITE_REQUEST);
+        assertEquals(List.of(new LabelSpec("A")), parsed.getLabels());
+        assertArrayEquals(new byte[] {0x34, 0x12}, parsed.getWriteData().get(0));
+    }
+
+    @Test
+    @DisplayName("配列型ラベルの読書き要求はワード単位の単位指定とバイト数を並べる")
+    void testArray() {
+        ArrayLabelReadRequest request = new ArrayLabelReadRequest(List.of(new LabelSpec("A")), new int[] {4});
+
+        assertEquals(CommandEnum.ARRAY_LABEL_READ, request.getCommand());
+        assertArrayEquals(ARRAY_READ_REQUEST, request.toByteArray());
+        assertArrayEquals(new int[] {4}, new ArrayLabelReadRequest(ARRAY_READ_REQUEST).getByteLengths());
+
+        ArrayLabelWriteRequest write = new ArrayLabelWriteRequest(List.of(new LabelSpec("A")), List.of(new byte[] {1, 2, 3, 4}));
+        ArrayLabelWriteRequest parsed = new ArrayLabelWriteRequest(write.toByteArray());
+        assertEquals(CommandEnum.ARRAY_LABEL_WRITE, parsed.getCommand());
+        assertEquals(List.of(new LabelSpec("A")), parsed.getLabels());
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, parsed.getWriteData().get(0));
+    }
+
+    @Test
+    @DisplayName("ラベル数・データ数・データ長が不正な要求は作れない")
+    void testInvalid() {
+        List<LabelSpec> labels = List.of(new LabelSpec("A"));
+        assertThrows(IllegalArgumentException.class, () -> new LabelRandomReadRequest(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new LabelRandomWriteRequest(labels, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new LabelRandomWriteRequest(labels, List.of(new byte[0])));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayLabelReadRequest(labels, new int[] {3}));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayLabelReadRequest(labels, new int[] {2, 2}));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayLabelWriteRequest(labels, List.of(new byte[] {1})));
+    }
+}
@@ -0,0 +1,56 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+class MonitorRequestTest {
+
+    @Test
+    @DisplayName("モニタ登録はランダム読出しと同じ並びでコマンドだけが異なる")
+    void testRegisterToBytes() {
+        MonitorRegisterRequest request = new MonitorRegisterRequest(
+            List.of(new DeviceSpec("D0")), List.of(new DeviceSpec("D1500")));
+
+        assertEquals(CommandEnum.MONITOR_REGISTER, request.getCommand());
+        assertArrayEquals(new byte[] {
+            0x01, 0x08,  // コマンド
+            0x00, 0x00,  // サブコマンド
+            0x01, 0x01,  // ワード・ダブルワードアクセス点数
+            0x00, 0x00, 0x00, (byte)0xA8,  // D0
+            (byte)0xDC, 0x05, 0x00, (byte)0xA8  // D1500
+        }, request.toByteArray());
+        assertEquals(CommandEnum.MONITOR_REGISTER, new MonitorRegisterRequest(request.toByteArray()).getCommand());
+    }
+
+    @Test
+    @DisplayName("モニタ要求はデバイス指定を含まず、応答を格納先の配列に展開する")
+    void testReadResponse() {
+        MonitorRegisterRequest registration = new MonitorRegisterRequest(
+            List.of(new DeviceSpec("D0"), new DeviceSpec("D1")), List.of(new DeviceSpec("D2")));
+        int[] buffer = new int[3];
+        MonitorReadRequest request = new MonitorReadRequest(registration, buffer);
+
+        assertArrayEquals(new byte[] {0x02, 0x08, 0x00, 0x00}, request.toByteArray());
+
+        byte[] data = {0x01, 0x00, (byte)0xFF, (byte)0xFF, 0x78, 0x56, 0x34, 0x12};
+        MonitorReadResponse response = (MonitorReadResponse)request.parseResponse(data);
+        assertSame(buffer, response.getReadData());
+        assertArrayEquals(new int[] {1, -1, 0x12345678}, buffer);
+        assertArrayEquals(data, response.toBytes());
+    }
+
+    @Test
+    @DisplayName("格納先が短い場合は例外")
+    void testShortBuffer() {
+        MonitorRegisterRequest registration = new MonitorRegisterRequest(
+            List.of(new DeviceSpec("D0"), new DeviceSpec("D1")), List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> new MonitorReadRequest(registration, new int[1]));
+    }
+}
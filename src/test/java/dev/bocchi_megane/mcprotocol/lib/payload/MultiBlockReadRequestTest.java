@@ -0,0 +1,125 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+
+class MultiBlockReadRequestTest {
+
+    /** D0×4、W100×8 のワードブロックと M0×2 のビットブロックを読み出す要求 */
+    private static final byte[] REQUEST = new byte[] {
+        0x06, 0x04,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        0x02,  // ワードデバイスブロック数
+        0x01,  // ビットデバイスブロック数
+        0x00, 0x00, 0x00, (byte)0xA8, 0x04, 0x00,  // D0, 4点
+        0x00, 0x01, 0x00, (byte)0xB4, 0x08, 0x00,  // W100, 8点
+        0x00, 0x00, 0x00, (byte)0x90, 0x02, 0x00   // M0, 2点
+    };
+
+    private static MultiBlockReadRequest createRequest() {
+        return new MultiBlockReadRequest(
+            List.of(new DeviceBlock("D0", 4), new DeviceBlock("W100", 8)),
+            List.of(new DeviceBlock("M0", 2))
+        );
+    }
+
+    @Test
+    @DisplayName("ワードブロック、ビットブロックの順にブロック指定を並べる")
+    void testToBytes() {
+        MultiBlockReadRequest request = createRequest();
+
+        assertEquals(CommandEnum.MULTI_BLOCK_READ, request.getCommand());
+        assertEquals(SubCommandEnum.Q_WORD, request.getSubCommand());
+        assertEquals(14, request.getTotalPoints());
+        assertArrayEquals(REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("バイト配列から要求を復元できる")
+    void testParse() {
+        MultiBlockReadRequest request = new MultiBlockReadRequest(REQUEST);
+
+        assertEquals(2, request.getWordBlocks().size());
+        assertEquals(1, request.getBitBlocks().size());
+        assertEquals(0x100, request.getWordBlocks().get(1).getDeviceSpec().getDeviceNumber());
+        assertEquals(8, request.getWordBlocks().get(1).getPoints());
+        assertArrayEquals(REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("iQ-Rシリーズの形式ではサブコマンド0002Hと6バイトのデバイス指定で要求する")
+    void testIqrFormat() {
+        MultiBlockReadRequest request = new MultiBlockReadRequest(
+            List.of(new DeviceBlock("D0", 4)), List.of(new DeviceBlock("M0", 2)), DeviceFormatEnum.IQ_R);
+        byte[] bytes = request.toByteArray();
+
+        assertArrayEquals(new byte[] {
+            0x06, 0x04,  // コマンド
+            0x02, 0x00,  // サブコマンド
+            0x01,  // ワードデバイスブロック数
+            0x01,  // ビットデバイスブロック数
+            0x00, 0x00, 0x00, 0x00, (byte)0xA8, 0x00, 0x04, 0x00,  // D0, 4点
+            0x00, 0x00, 0x00, 0x00, (byte)0x90, 0x00, 0x02, 0x00   // M0, 2点
+        }, bytes);
+
+        MultiBlockReadRequest parsed = new MultiBlockReadRequest(bytes);
+        assertEquals(DeviceFormatEnum.IQ_R, parsed.getDeviceFormat());
+        assertEquals(SubCommandEnum.IQ_R_WORD, parsed.getSubCommand());
+        assertEquals(4, parsed.getWordBlocks().get(0).getPoints());
+        assertEquals(2, parsed.getBitBlocks().get(0).getPoints());
+    }
+
+    @Test
+    @DisplayName("応答は1つの配列を共有するブロックごとのビューに分かれる")
+    void testResponse() {
+        MultiBlockReadRequest request = createRequest();
+        byte[] data = new byte[request.getTotalPoints() * 2];
+        for (int i = 0; i < data.length / 2; i++) {
+            data[i * 2] = (byte)i;
+        }
+
+        MultiBlockReadResponse response = (MultiBlockReadResponse)request.parseResponse(data);
+
+        assertEquals(3, response.getBlockCount());
+        ShortBuffer w100 = response.getBlock(1);
+        assertEquals(8, w100.remaining());
+        assertEquals(4, w100.get(0));
+        assertEquals(11, w100.get(7));
+        assertEquals(12, response.getBlock(2).get(0));
+        assertSame(response.getReadData(), w100.array());
+        assertArrayEquals(data, response.toBytes());
+    }
+
+    @Test
+    @DisplayName("ブロック数・点数の超過やデバイス種別の誤りは例外")
+    void testInvalidBlocks() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiBlockReadRequest(List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MultiBlockReadRequest(List.of(new DeviceBlock("M0", 1)), List.of()));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MultiBlockReadRequest(List.of(), List.of(new DeviceBlock("D0", 1))));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MultiBlockReadRequest(List.of(new DeviceBlock("D0", 961)), List.of()));
+
+        List<DeviceBlock> blocks = new ArrayList<>();
+        for (int i = 0; i <= MultiBlockReadRequest.MAX_BLOCKS; i++) {
+            blocks.add(new DeviceBlock("D0", 1));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new MultiBlockReadRequest(blocks, List.of()));
+
+        List<DeviceBlock> iqrMax = blocks.subList(0, MultiBlockReadRequest.MAX_BLOCKS_IQ_R);
+        assertDoesNotThrow(() -> new MultiBlockReadRequest(iqrMax, List.of(), DeviceFormatEnum.IQ_R));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MultiBlockReadRequest(blocks.subList(0, MultiBlockReadRequest.MAX_BLOCKS_IQ_R + 1), List.of(), DeviceFormatEnum.IQ_R));
+    }
+}
@@ -0,0 +1,98 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceBlock;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+
+class MultiBlockWriteRequestTest {
+
+    /** D0 ← {0x1234, 0x5678}、M16 ← 0x0005 の書込み要求 */
+    private static final byte[] REQUEST = new byte[] {
+        0x06, 0x14,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        0x01,  // ワードデバイスブロック数
+        0x01,  // ビットデバイスブロック数
+        0x00, 0x00, 0x00, (byte)0xA8, 0x02, 0x00,  // D0, 2点
+        0x34, 0x12, 0x78, 0x56,  // データ
+        0x10, 0x00, 0x00, (byte)0x90, 0x01, 0x00,  // M16, 1点
+        0x05, 0x00   // データ
+    };
+
+    @Test
+    @DisplayName("ブロックごとにデバイス指定・点数・データを並べる")
+    void testToBytes() {
+        MultiBlockWriteRequest request = new MultiBlockWriteRequest(
+            List.of(new DeviceBlock("D0", 2)),
+            List.of(new DeviceBlock("M16", 1)),
+            new short[] {0x1234, 0x5678, 0x0005}
+        );
+
+        assertEquals(CommandEnum.MULTI_BLOCK_WRITE, request.getCommand());
+        assertEquals(SubCommandEnum.Q_WORD, request.getSubCommand());
+        assertArrayEquals(REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("バイト配列から要求を復元できる")
+    void testParse() {
+        MultiBlockWriteRequest request = new MultiBlockWriteRequest(REQUEST);
+
+        assertEquals(1, request.getWordBlocks().size());
+        assertEquals(16, request.getBitBlocks().get(0).getDeviceSpec().getDeviceNumber());
+        assertArrayEquals(new short[] {0x1234, 0x5678, 0x0005}, request.getWriteData());
+        assertArrayEquals(REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("データ数の不一致や点数上限の超過は例外")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiBlockWriteRequest(
+            List.of(new DeviceBlock("D0", 2)), List.of(), new short[1]));
+        // 4 + 956 = 960 は上限ちょうど
+        assertDoesNotThrow(() -> new MultiBlockWriteRequest(
+            List.of(new DeviceBlock("D0", 956)), List.of(), new short[956]));
+        assertThrows(IllegalArgumentException.class, () -> new MultiBlockWriteRequest(
+            List.of(new DeviceBlock("D0", 957)), List.of(), new short[957]));
+    }
+
+    @Test
+    @DisplayName("上限を超えるブロック指定は、ブロックを途中で分割して複数の要求に詰める")
+    void testSplit() {
+        short[] data = new short[1000 + 32];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short)i;
+        }
+
+        List<MultiBlockWriteRequest> requests = MultiBlockWriteRequest.split(
+            List.of(new DeviceBlock("D0", 1000)), List.of(new DeviceBlock("M0", 32)), data);
+
+        assertEquals(2, requests.size());
+        MultiBlockWriteRequest first = requests.get(0);
+        assertEquals(956, first.getWordBlocks().get(0).getPoints());
+        assertTrue(first.getBitBlocks().isEmpty());
+        MultiBlockWriteRequest second = requests.get(1);
+        assertEquals(956, second.getWordBlocks().get(0).getDeviceSpec().getDeviceNumber());
+        assertEquals(44, second.getWordBlocks().get(0).getPoints());
+        assertEquals(32, second.getBitBlocks().get(0).getPoints());
+        assertEquals(956, second.getWriteData()[0]);
+        assertEquals(data.length - 1, second.getWriteData()[second.getWriteData().length - 1]);
+    }
+
+    @Test
+    @DisplayName("分割されたビットブロックの先頭デバイスは16点単位で進む")
+    void testSplitBitBlock() {
+        List<MultiBlockWriteRequest> requests = MultiBlockWriteRequest.split(
+            List.of(), List.of(new DeviceBlock("M0", 960)), new short[960]);
+
+        assertEquals(2, requests.size());
+        assertEquals(956, requests.get(0).getBitBlocks().get(0).getPoints());
+        assertEquals(956 * 16, requests.get(1).getBitBlocks().get(0).getDeviceSpec().getDeviceNumber());
+        assertEquals(4, requests.get(1).getBitBlocks().get(0).getPoints());
+    }
+}
@@ -0,0 +1,112 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+
+class RandomReadRequestTest {
+
+    /** D0, T0, M100 をワード、D1500, Y160 をダブルワードで読み出す要求 */
+    private static final byte[] REQUEST = new byte[] {
+        0x03, 0x04,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        0x03,  // ワードアクセス点数
+        0x02,  // ダブルワードアクセス点数
+        0x00, 0x00, 0x00, (byte)0xA8,  // D0
+        0x00, 0x00, 0x00, (byte)0xC2,  // TN0
+        0x64, 0x00, 0x00, (byte)0x90,  // M100
+        (byte)0xDC, 0x05, 0x00, (byte)0xA8,  // D1500
+        0x60, 0x01, 0x00, (byte)0x9D   // Y160
+    };
+
+    private static RandomReadRequest createRequest() {
+        return new RandomReadRequest(
+            List.of(new DeviceSpec("D0"), new DeviceSpec("TN0"), new DeviceSpec("M100")),
+            List.of(new DeviceSpec("D1500"), new DeviceSpec("Y160"))
+        );
+    }
+
+    @Test
+    @DisplayName("ワードとダブルワードのデバイス指定を1つの要求に並べる")
+    void testToBytes() {
+        RandomReadRequest request = createRequest();
+
+        assertEquals(CommandEnum.RANDOM_READ, request.getCommand());
+        assertEquals(SubCommandEnum.Q_WORD, request.getSubCommand());
+        assertArrayEquals(REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("バイト配列から要求を復元できる")
+    void testParse() {
+        RandomReadRequest request = new RandomReadRequest(REQUEST);
+
+        assertEquals(CommandEnum.RANDOM_READ, request.getCommand());
+        assertEquals(3, request.getWordDevices().size());
+        assertEquals(2, request.getDwordDevices().size());
+        assertEquals(DeviceCodeEnum.TimerCurrentValue, request.getWordDevices().get(1).getDeviceCode());
+        assertEquals(1500, request.getDwordDevices().get(0).getDeviceNumber());
+        assertArrayEquals(REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("ダブルワードのみの要求も作成できる")
+    void testDwordOnly() {
+        RandomReadRequest request = new RandomReadRequest(List.of(), List.of(new DeviceSpec("D0")));
+
+        assertArrayEquals(new byte[] {
+            0x03, 0x04, 0x00, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, (byte)0xA8
+        }, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("iQ-Rシリーズの形式ではサブコマンド0002Hと6バイトのデバイス指定で要求する")
+    void testIqrFormat() {
+        RandomReadRequest request = new RandomReadRequest(
+            List.of(new DeviceSpec("D0")), List.of(new DeviceSpec("M100")), DeviceFormatEnum.IQ_R);
+        byte[] bytes = request.toByteArray();
+
+        assertArrayEquals(new byte[] {
+            0x03, 0x04,  // コマンド
+            0x02, 0x00,  // サブコマンド
+            0x01,  // ワードアクセス点数
+            0x01,  // ダブルワードアクセス点数
+            0x00, 0x00, 0x00, 0x00, (byte)0xA8, 0x00,  // D0
+            0x64, 0x00, 0x00, 0x00, (byte)0x90, 0x00   // M100
+        }, bytes);
+
+        RandomReadRequest parsed = new RandomReadRequest(bytes);
+        assertEquals(DeviceFormatEnum.IQ_R, parsed.getDeviceFormat());
+        assertEquals(SubCommandEnum.IQ_R_WORD, parsed.getSubCommand());
+        assertEquals(new DeviceSpec("M100"), parsed.getDwordDevices().get(0));
+        assertEquals(DeviceFormatEnum.Q, new RandomReadRequest(REQUEST).getDeviceFormat());
+    }
+
+    @Test
+    @DisplayName("アクセス点数が0または上限超過の場合は例外")
+    void testInvalidPoints() {
+        assertThrows(IllegalArgumentException.class, () -> new RandomReadRequest(List.of(), List.of()));
+
+        List<DeviceSpec> words = new ArrayList<>();
+        for (int i = 0; i < RandomReadRequest.MAX_POINTS; i++) {
+            words.add(new DeviceSpec(DeviceCodeEnum.DataRegister, i));
+        }
+        assertDoesNotThrow(() -> new RandomReadRequest(words, List.of()));
+        assertThrows(IllegalArgumentException.class,
+            () -> new RandomReadRequest(words, List.of(new DeviceSpec("D0"))));
+
+        List<DeviceSpec> iqrMax = words.subList(0, RandomReadRequest.MAX_POINTS_IQ_R);
+        assertDoesNotThrow(() -> new RandomReadRequest(iqrMax, List.of(), DeviceFormatEnum.IQ_R));
+        assertThrows(IllegalArgumentException.class,
+            () -> new RandomReadRequest(iqrMax, List.of(new DeviceSpec("D0")), DeviceFormatEnum.IQ_R));
+    }
+}
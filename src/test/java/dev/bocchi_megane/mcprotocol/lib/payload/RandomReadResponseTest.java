@@ -0,0 +1,44 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.ResponseAbnormalException;
+
+class RandomReadResponseTest {
+
+    private static final RandomReadRequest REQUEST = new RandomReadRequest(
+        List.of(new DeviceSpec("D0"), new DeviceSpec("D10")),
+        List.of(new DeviceSpec("D100"))
+    );
+
+    /** ワード 0x1234, 0xFFFF とダブルワード 0x12345678 */
+    private static final byte[] RESPONSE = new byte[] {
+        0x34, 0x12,
+        (byte)0xFF, (byte)0xFF,
+        0x78, 0x56, 0x34, 0x12
+    };
+
+    @Test
+    @DisplayName("ワードとダブルワードの値を要求順に解析する")
+    void testParse() {
+        RandomReadResponse response = new RandomReadResponse(RESPONSE, REQUEST);
+
+        assertArrayEquals(new short[] {0x1234, -1}, response.getWordData());
+        assertArrayEquals(new int[] {0x12345678}, response.getDwordData());
+        assertArrayEquals(new int[] {0x1234, -1, 0x12345678}, response.getReadData());
+        assertArrayEquals(RESPONSE, response.toBytes());
+    }
+
+    @Test
+    @DisplayName("応答データ長がアクセス点数と一致しない場合は例外")
+    void testInvalidLength() {
+        byte[] truncated = java.util.Arrays.copyOf(RESPONSE, RESPONSE.length - 2);
+
+        assertThrows(ResponseAbnormalException.class, () -> new RandomReadResponse(truncated, REQUEST));
+    }
+}
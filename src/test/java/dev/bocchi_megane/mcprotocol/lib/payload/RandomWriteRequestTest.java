@@ -0,0 +1,93 @@
+package dev.bocchi_megane.mcprotocol.lib.payload;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.define.CommandEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.SubCommandEnum;
+
+class RandomWriteRequestTest {
+
+    /** D0 ← 0x0550、D1500 ← 0x12345678 の書込み要求 */
+    private static final byte[] WORD_REQUEST = new byte[] {
+        0x02, 0x14,  // コマンド
+        0x00, 0x00,  // サブコマンド
+        0x01,  // ワードアクセス点数
+        0x01,  // ダブルワードアクセス点数
+        0x00, 0x00, 0x00, (byte)0xA8, 0x50, 0x05,  // D0
+        (byte)0xDC, 0x05, 0x00, (byte)0xA8, 0x78, 0x56, 0x34, 0x12  // D1500
+    };
+
+    /** M50 ← OFF、Y2F ← ON の書込み要求 */
+    private static final byte[] BIT_REQUEST = new byte[] {
+        0x02, 0x14,  // コマンド
+        0x01, 0x00,  // サブコマンド
+        0x02,  // ビットアクセス点数
+        0x32, 0x00, 0x00, (byte)0x90, 0x00,  // M50
+        0x2F, 0x00, 0x00, (byte)0x9D, 0x01   // Y2F
+    };
+
+    @Test
+    @DisplayName("ワード単位の要求はデバイス指定と値を交互に並べる")
+    void testWordToBytes() {
+        RandomWriteRequest request = new RandomWriteRequest(
+            List.of(new DeviceSpec("D0")), new short[] {0x0550},
+            List.of(new DeviceSpec("D1500")), new int[] {0x12345678}
+        );
+
+        assertEquals(CommandEnum.RANDOM_WRITE, request.getCommand());
+        assertEquals(SubCommandEnum.Q_WORD, request.getSubCommand());
+        assertFalse(request.isBitDevice());
+        assertArrayEquals(WORD_REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("ビット単位の要求はデバイスごとにON/OFFを並べる")
+    void testBitToBytes() {
+        RandomWriteRequest request = new RandomWriteRequest(
+            List.of(new DeviceSpec("M50"), new DeviceSpec("Y2F")), new boolean[] {false, true}
+        );
+
+        assertEquals(SubCommandEnum.Q_BIT, request.getSubCommand());
+        assertTrue(request.isBitDevice());
+        assertArrayEquals(BIT_REQUEST, request.toByteArray());
+    }
+
+    @Test
+    @DisplayName("バイト配列から要求を復元できる")
+    void testParse() {
+        RandomWriteRequest word = new RandomWriteRequest(WORD_REQUEST);
+        assertArrayEquals(new short[] {0x0550}, word.getWordValues());
+        assertArrayEquals(new int[] {0x12345678}, word.getDwordValues());
+        assertEquals(1500, word.getDwordDevices().get(0).getDeviceNumber());
+        assertArrayEquals(WORD_REQUEST, word.toByteArray());
+
+        RandomWriteRequest bit = new RandomWriteRequest(BIT_REQUEST);
+        assertTrue(bit.isBitDevice());
+        assertArrayEquals(new boolean[] {false, true}, bit.getBitValues());
+        assertArrayEquals(BIT_REQUEST, bit.toByteArray());
+    }
+
+    @Test
+    @DisplayName("値の数の不一致、点数超過、ワードデバイスのビット書込みは例外")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RandomWriteRequest(
+            List.of(new DeviceSpec("D0")), new short[0], List.of(), new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new RandomWriteRequest(
+            List.of(), new short[0], List.of(), new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new RandomWriteRequest(
+            List.of(new DeviceSpec("D0")), new boolean[] {true}));
+
+        // 160 × 12 = 1920 は上限ちょうど
+        DeviceSpec[] words = new DeviceSpec[161];
+        java.util.Arrays.fill(words, new DeviceSpec("D0"));
+        assertDoesNotThrow(() -> new RandomWriteRequest(
+            List.of(words).subList(0, 160), new short[160], List.of(), new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new RandomWriteRequest(
+            List.of(words), new short[161], List.of(), new int[0]));
+    }
+}
@@ -0,0 +1,153 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.bocchi_megane.mcprotocol.lib.Client;
+import dev.bocchi_megane.mcprotocol.lib.MockPlcServer;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+class AdaptivePlannerTest {
+
+    private MockPlcServer _server;
+    private Client _client;
+    private List<DeviceSpec> _devices;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        _server = new MockPlcServer();
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        for (int i = 0; i < memory.length; i++) {
+            memory[i] = (short)i;
+        }
+        _client = new Client(_server.getHost(), _server.getPort(), false);
+        _client.unsafe_connect();
+
+        // 既定のしきい値（3ワード）では、2点ずつが隙間ごと1つのブロックに結合される
+        _devices = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            _devices.add(new DeviceSpec("D" + i * 100));
+            _devices.add(new DeviceSpec("D" + (i * 100 + 4)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        _client.disconnect();
+        _server.close();
+    }
+
+    @Test
+    @DisplayName("転送バイト数の影響が大きい接続では、隙間を読み飛ばす計画に入れ替える")
+    void testReplanToSmallerGap() {
+        try (AdaptivePlanner planner = new AdaptivePlanner(_client, _devices, new LatencyModel(1.0))) {
+            ReadPlan initial = planner.getPlan();
+            assertEquals(ReadPlanner.DEFAULT_GAP_THRESHOLD, initial.getGapThreshold());
+            for (int i = 0; i < 100; i++) {
+                planner.getLatencyModel().addSample(50 + i * 20, (50 + i * 20) * 1000L);
+            }
+
+            assertTrue(planner.replan());
+            ReadPlan replanned = planner.getPlan();
+            assertTrue(replanned.getGapThreshold() < ReadPlanner.DEFAULT_GAP_THRESHOLD);
+            assertTrue(replanned.getRequestBytes() + replanned.getResponseBytes()
+                < initial.getRequestBytes() + initial.getResponseBytes());
+            // 最適な計画からは入れ替えない
+            assertFalse(planner.replan());
+            assertSame(replanned, planner.getPlan());
+
+            ReadResult result = planner.read();
+            assertEquals(4904, result.get(new DeviceSpec("D4904")));
+            assertEquals(_devices.indexOf(new DeviceSpec("D4904")), initial.indexOf(new DeviceSpec("D4904")));
+        }
+    }
+
+    @Test
+    @DisplayName("標本が足りない間は計画を入れ替えない")
+    void testNoReplanWithoutSamples() {
+        try (AdaptivePlanner planner = new AdaptivePlanner(_client, _devices)) {
+            ReadPlan initial = planner.getPlan();
+            assertFalse(planner.replan());
+            assertSame(initial, planner.getPlan());
+        }
+    }
+
+    @Test
+    @DisplayName("周期的な作り直しの結果と失敗をリスナーに通知する")
+    void testReplanListener() throws Exception {
+        LatencyModel model = new LatencyModel(1.0);
+        for (int i = 0; i < 100; i++) {
+            model.addSample(50 + i * 20, (50 + i * 20) * 1000L);
+        }
+        CompletableFuture<ReadPlan> replanned = new CompletableFuture<>();
+        try (AdaptivePlanner planner = new AdaptivePlanner(_client, _devices, model)) {
+            planner.start(1, (p, plan) -> replanned.complete(plan));
+            ReadPlan plan = replanned.get(5, TimeUnit.SECONDS);
+            assertSame(plan, planner.getPlan());
+            assertTrue(plan.getGapThreshold() < ReadPlanner.DEFAULT_GAP_THRESHOLD);
+        }
+
+        RuntimeException failure = new IllegalStateException("見積りに失敗");
+        LatencyModel broken = new LatencyModel() {
+            @Override
+            public synchronized double estimateNanos(ReadPlan plan) {
+                throw failure;
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            broken.addSample(50 + i * 20, (50 + i * 20) * 1000L);
+        }
+        CompletableFuture<RuntimeException> error = new CompletableFuture<>();
+        try (AdaptivePlanner planner = new AdaptivePlanner(_client, _devices, broken)) {
+            planner.start(1, new IReplanListener() {
+                @Override
+                public void onReplanned(AdaptivePlanner p, ReadPlan plan) {
+                    fail("計画を入れ替えてはならない");
+                }
+
+                @Override
+                public void onReplanError(AdaptivePlanner p, RuntimeException e) {
+                    error.complete(e);
+                }
+            });
+            assertSame(failure, error.get(5, TimeUnit.SECONDS));
+            // 失敗した後も作り直しは継続する
+            assertTrue(planner.isRunning());
+        }
+    }
+
+    @Test
+    @DisplayName("実際の通信から標本を集め、読出しを止めずに周期的に作り直せる")
+    void testPeriodicReplanWhilePolling() throws Exception {
+        try (AdaptivePlanner planner = new AdaptivePlanner(_client, _devices)) {
+            planner.start(1);
+            assertTrue(planner.isRunning());
+            assertThrows(IllegalStateException.class, () -> planner.start(1));
+            // 大きさの異なるフレームを送って標本を集める
+            for (int i = 0; i < 100; i++) {
+                _client.readBlockWord(new DeviceSpec("D0"), 1 + i * 9);
+                ReadResult result = planner.read();
+                assertEquals(0, result.get(0));
+                assertEquals(4904, result.get(new DeviceSpec("D4904")));
+            }
+            assertTrue(planner.getLatencyModel().getSampleCount() >= 200);
+            planner.stop();
+            assertFalse(planner.isRunning());
+        }
+        // 登録を解除した後は標本が増えない
+        LatencyModel model = new LatencyModel();
+        new AdaptivePlanner(_client, _devices, model).close();
+        _client.readBlockWord(new DeviceSpec("D0"), 1);
+        assertEquals(0, model.getSampleCount());
+    }
+}
@@ -0,0 +1,76 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+
+class LatencyModelTest {
+
+    @Test
+    @DisplayName("固定時間と1バイトあたりの時間を標本から求められる")
+    void testFit() {
+        LatencyModel model = new LatencyModel(1.0);
+        for (int i = 0; i < 40; i++) {
+            int bytes = 30 + i * 50;
+            model.addSample(bytes, 2_000_000L + bytes * 800L + (i % 2 == 0 ? 1000 : -1000));
+        }
+
+        assertTrue(model.isReady());
+        assertEquals(40, model.getSampleCount());
+        assertEquals(2_000_000, model.getFixedNanos(), 2_000);
+        assertEquals(800, model.getNanosPerByte(), 1);
+        assertEquals(2_000_000 + 1000 * 800, model.estimateNanos(1000), 2_000);
+    }
+
+    @Test
+    @DisplayName("読出し計画の実行時間をフレーム数と転送バイト数から見積もる")
+    void testEstimatePlan() {
+        LatencyModel model = new LatencyModel(1.0);
+        for (int i = 0; i < LatencyModel.MIN_SAMPLES; i++) {
+            model.addSample(100 + i * 10, 1_000_000L + (100 + i * 10) * 10L);
+        }
+        ReadPlan plan = new ReadPlanner().plan(List.of(new DeviceSpec("D0"), new DeviceSpec("D1000")));
+
+        double expected = 1_000_000.0 * plan.getFrameCount() + 10.0 * (plan.getRequestBytes() + plan.getResponseBytes());
+        assertEquals(expected, model.estimateNanos(plan), 1);
+    }
+
+    @Test
+    @DisplayName("新しい標本ほど重く扱い、応答時間の変化に追従する")
+    void testDecay() {
+        LatencyModel model = new LatencyModel(0.9);
+        for (int i = 0; i < 200; i++) {
+            model.addSample(100 + (i % 10) * 100, 5_000_000L);
+        }
+        for (int i = 0; i < 200; i++) {
+            int bytes = 100 + (i % 10) * 100;
+            model.addSample(bytes, 500_000L + bytes * 100L);
+        }
+
+        assertEquals(500_000, model.getFixedNanos(), 1_000);
+        assertEquals(100, model.getNanosPerByte(), 1);
+    }
+
+    @Test
+    @DisplayName("標本が足りない場合は係数を求められない")
+    void testNotReady() {
+        LatencyModel model = new LatencyModel();
+        assertFalse(model.isReady());
+        assertThrows(IllegalStateException.class, model::getFixedNanos);
+
+        // 同じ大きさの標本だけでは傾きが決まらない
+        for (int i = 0; i < 100; i++) {
+            model.addSample(42, 1_000_000L + i);
+        }
+        assertFalse(model.isReady());
+        assertTrue(model.toString().contains("samples=100"));
+
+        assertThrows(IllegalArgumentException.class, () -> new LatencyModel(0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyModel(1.5));
+    }
+}
@@ -0,0 +1,215 @@
+package dev.bocchi_megane.mcprotocol.lib.plan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.bocchi_megane.mcprotocol.lib.capability.CpuCapability;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceFormatEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.MultiBlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.RandomReadRequest;
+
+class ReadPlannerTest {
+
+    private static List<DeviceSpec> devices(String... names) {
+        List<DeviceSpec> devices = new ArrayList<>();
+        for (String name : names) {
+            devices.add(new DeviceSpec(name));
+        }
+        return devices;
+    }
+
+    @Test
+    @DisplayName("しきい値以下の隙間は1つの一括読出しに結合される")
+    void testMergeWithinGap() {
+        ReadPlan plan = new ReadPlanner(3).plan(devices("D100", "D104", "D102", "D100"));
+
+        assertEquals(3, plan.getDevices().size());
+        assertEquals(1, plan.getFrameCount());
+        BlockReadRequest request = assertInstanceOf(BlockReadRequest.class, plan.getRequests().get(0));
+        assertEquals(new DeviceSpec("D100"), request.getDeviceSpec());
+        assertEquals(5, request.getDevicePoint());
+    }
+
+    @Test
+    @DisplayName("しきい値を超える隙間は別のブロックになる")
+    void testSplitBeyondGap() {
+        ReadPlan plan = new ReadPlanner(0).plan(devices("D100", "D101", "D103", "D104"));
+
+        assertEquals(1, plan.getFrameCount());
+        MultiBlockReadRequest request = assertInstanceOf(MultiBlockReadRequest.class, plan.getRequests().get(0));
+        assertEquals(2, request.getWordBlocks().size());
+        assertEquals(4, request.getTotalPoints());
+    }
+
+    @Test
+    @DisplayName("ビットデバイスは16点を1ワードとしてまとめ、ワードブロックの後ろに並ぶ")
+    void testBitDevicesPackedIntoWords() {
+        ReadPlan plan = new ReadPlanner().plan(devices("M20", "M0", "M31", "D0", "D1"));
+
+        assertEquals(1, plan.getFrameCount());
+        MultiBlockReadRequest request = assertInstanceOf(MultiBlockReadRequest.class, plan.getRequests().get(0));
+        assertEquals("[D0x2]", request.getWordBlocks().toString());
+        assertEquals("[M0x2]", request.getBitBlocks().toString());
+    }
+
+    @Test
+    @DisplayName("孤立したワードとダブルワードデバイスはランダム読出しにまとめられる")
+    void testIsolatedWordsUseRandomRead() {
+        ReadPlan plan = new ReadPlanner().plan(devices("D0", "D1000", "D2000", "W10", "LZ1"));
+
+        assertEquals(1, plan.getFrameCount());
+        RandomReadRequest request = assertInstanceOf(RandomReadRequest.class, plan.getRequests().get(0));
+        assertEquals(4, request.getWordDevices().size());
+        assertEquals(List.of(new DeviceSpec("LZ1")), request.getDwordDevices());
+    }
+
+    @Test
+    @DisplayName("ランダム読出しが複数フレームになる場合は1点のブロックとして複数ブロック読出しにまとめる")
+    void testSinglesMovedToMultiBlock() {
+        List<DeviceSpec> devices = new ArrayList<>();
+        for (int i = 0; i < 193; i++) {
+            devices.add(new DeviceSpec("D" + i * 10));
+        }
+        ReadPlan plan = new ReadPlanner().plan(devices);
+
+        // ランダム読出しでは2フレーム、1点のブロックなら120ブロックずつで2フレーム（同数のためランダム読出し）
+        assertEquals(2, plan.getFrameCount());
+        assertInstanceOf(RandomReadRequest.class, plan.getRequests().get(0));
+
+        devices.add(new DeviceSpec("D5000"));
+        devices.add(new DeviceSpec("D5001"));
+        plan = new ReadPlanner().plan(devices);
+        // 連続範囲1つとランダム読出し2フレームより、複数ブロック読出し2フレームの方が少ない
+        assertEquals(2, plan.getFrameCount());
+        assertInstanceOf(MultiBlockReadRequest.class, plan.getRequests().get(0));
+        assertInstanceOf(MultiBlockReadRequest.class, plan.getRequests().get(1));
+    }
+
+    @Test
+    @DisplayName("1回の要求の上限を超える範囲は分割される")
+    void testLongRangeSplit() {
+        ReadPlan plan = new ReadPlanner(1000).plan(devices("D0", "D959", "D960", "D1000"));
+
+        assertEquals(2, plan.getFrameCount());
+        BlockReadRequest first = assertInstanceOf(BlockReadRequest.class, plan.getRequests().get(0));
+        assertEquals(960, first.getDevicePoint());
+    }
+
+    @Test
+    @DisplayName("見積りがデバイスごとの読込みより少なくなる")
+    void testEstimates() {
+        List<DeviceSpec> devices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            devices.add(new DeviceSpec("D" + i * 2));
+            devices.add(new DeviceSpec("M" + i * 3));
+        }
+        ReadPlan plan = new ReadPlanner().plan(devices);
+
+        assertEquals(200, plan.getPerTagFrameCount());
+        assertTrue(plan.getFrameCount() < plan.getPerTagFrameCount());
+        assertTrue(plan.getRequestBytes() < plan.getPerTagRequestBytes());
+        assertTrue(plan.getResponseBytes() < plan.getPerTagResponseBytes());
+        assertEquals(200 * 21, plan.getPerTagRequestBytes());
+        assertTrue(plan.toString().contains("per-tag 200"));
+    }
+
+    @Test
+    @DisplayName("不正な引数は例外になる")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ReadPlanner(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ReadPlanner().plan(List.of()));
+        assertEquals(-1, new ReadPlanner().plan(devices("D0")).indexOf(new DeviceSpec("D1")));
+    }
+
+    @Test
+    @DisplayName("CPUの能力の点数上限でフレームを分ける")
+    void testCpuCapabilityLimits() {
+        CpuCapability qna = new CpuCapability("Q2ASCPU", 480, 3584, 96, false, false, Map.of());
+        List<DeviceSpec> devices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            devices.add(new DeviceSpec("D" + i * 10));
+        }
+        devices.add(new DeviceSpec("W0"));
+        devices.add(new DeviceSpec("W599"));
+
+        ReadPlan plan = new ReadPlanner(1000, qna).plan(devices);
+        for (var request : plan.getRequests()) {
+            if (request instanceof BlockReadRequest) {
+                assertTrue(((BlockReadRequest)request).getDevicePoint() <= 480);
+            } else if (request instanceof MultiBlockReadRequest) {
+                assertTrue(((MultiBlockReadRequest)request).getTotalPoints() <= 480);
+            } else {
+                assertTrue(((RandomReadRequest)request).getWordDevices().size() <= 96);
+            }
+        }
+        assertEquals(qna, new ReadPlanner(0, qna).getCpuCapability());
+    }
+
+    @Test
+    @DisplayName("指定したデバイス指定形式で要求を作成し、iQ-Rシリーズ専用のデバイスを含む要求はiQ-Rシリーズの形式にする")
+    void testDeviceFormat() {
+        List<DeviceSpec> devices = devices("D0", "D1", "D100", "D101", "W10", "LZ1");
+
+        ReadPlanner iqr = new ReadPlanner(3, CpuCapability.DEFAULT, DeviceFormatEnum.IQ_R);
+        assertEquals(DeviceFormatEnum.IQ_R, iqr.getDeviceFormat());
+        for (AbstractRequest request : iqr.plan(devices).getRequests()) {
+            assertEquals(DeviceFormatEnum.IQ_R.getSubCommand(false), request.getSubCommand());
+        }
+
+        ReadPlanner q = new ReadPlanner();
+        assertEquals(DeviceFormatEnum.Q, q.getDeviceFormat());
+        for (AbstractRequest request : q.plan(devices).getRequests()) {
+            DeviceFormatEnum expected = request instanceof RandomReadRequest
+                ? DeviceFormatEnum.IQ_R : DeviceFormatEnum.Q;
+            assertEquals(expected.getSubCommand(false), request.getSubCommand());
+        }
+    }
+
+    @Test
+    @DisplayName("iQ-Rシリーズの形式ではランダム読出しの点数とブロック数をiQ-Rシリーズの上限に収める")
+    void testIqrFormatLimits() {
+        ReadPlanner iqr = new ReadPlanner(3, CpuCapability.DEFAULT, DeviceFormatEnum.IQ_R);
+        List<DeviceSpec> singles = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            singles.add(new DeviceSpec("D" + i * 100));
+        }
+
+        ReadPlan plan = iqr.plan(singles);
+        assertEquals(2, plan.getFrameCount());
+        for (var request : plan.getRequests()) {
+            RandomReadRequest random = assertInstanceOf(RandomReadRequest.class, request);
+            assertTrue(random.getWordDevices().size() <= RandomReadRequest.MAX_POINTS_IQ_R);
+        }
+        assertEquals(1, new ReadPlanner().plan(singles).getFrameCount());
+
+        // Q形式でもiQ-Rシリーズ専用のデバイスを含めばiQ-Rシリーズの上限で分ける
+        List<DeviceSpec> withLong = new ArrayList<>(singles);
+        withLong.add(new DeviceSpec("LZ0"));
+        for (var request : new ReadPlanner().plan(withLong).getRequests()) {
+            RandomReadRequest random = assertInstanceOf(RandomReadRequest.class, request);
+            assertTrue(random.getWordDevices().size() + random.getDwordDevices().size() <= RandomReadRequest.MAX_POINTS_IQ_R);
+        }
+
+        List<DeviceSpec> pairs = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            pairs.add(new DeviceSpec("D" + i * 100));
+            pairs.add(new DeviceSpec("D" + (i * 100 + 1)));
+        }
+        plan = iqr.plan(pairs);
+        assertEquals(3, plan.getFrameCount());
+        for (var request : plan.getRequests()) {
+            MultiBlockReadRequest multi = assertInstanceOf(MultiBlockReadRequest.class, request);
+            assertTrue(multi.getWordBlocks().size() <= MultiBlockReadRequest.MAX_BLOCKS_IQ_R);
+        }
+        assertEquals(2, new ReadPlanner().plan(pairs).getFrameCount());
+    }
+}
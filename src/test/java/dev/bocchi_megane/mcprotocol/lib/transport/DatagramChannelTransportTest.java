@@ -0,0 +1,120 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.Client;
+import dev.bocchi_megane.mcprotocol.lib.MockPlcServer;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.FrameTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+import dev.bocchi_megane.mcprotocol.lib.payload.AbstractResponse;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockWordReadResponse;
+
+class DatagramChannelTransportTest {
+
+    private MockPlcServer _server;
+    private DatagramChannelTransport _transport;
+    private Client _client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        _server = new MockPlcServer();
+        _transport = new DatagramChannelTransport(_server.getHost(), _server.getUdpPort());
+        _transport.setTimeout(200);
+        _client = new Client(_transport, false);
+        _client.unsafe_connect();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        _client.disconnect();
+        _server.close();
+    }
+
+    @Test
+    @DisplayName("960ワードの読み書きを1データグラムずつで往復できる")
+    void testWordRoundTrip() {
+        short[] data = new short[960];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short)(i * 7);
+        }
+        _client.writeBlockWord(new DeviceSpec("D1000"), data);
+
+        assertArrayEquals(data, _client.readBlockWord(new DeviceSpec("D1000"), (short)960));
+        assertTrue(_client.isConnected());
+    }
+
+    @Test
+    @DisplayName("4Eフレームの要求を複数同時に送信し、シリアル番号で対応付ける")
+    void testPipelined4E() {
+        _client.setFrameType(FrameTypeEnum.FRAME_4E);
+        short[] memory = _server.memory(DeviceCodeEnum.DataRegister);
+        for (int i = 0; i < 160; i++) {
+            memory[i] = (short)(i + 1);
+        }
+        List<BlockReadRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            requests.add(new BlockReadRequest(new DeviceSpec(DeviceCodeEnum.DataRegister, i * 10), (short)10, false));
+        }
+
+        List<AbstractResponse> responses = _client.sendRequests(requests);
+
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i * 10 + 1, ((BlockWordReadResponse)responses.get(i)).getReadData()[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("応答を失った読出しはタイムアウト後に再送される")
+    void testReadIsRetransmitted() {
+        _client.setFrameType(FrameTypeEnum.FRAME_4E);
+        _server.memory(DeviceCodeEnum.DataRegister)[3] = 33;
+        _server.dropDatagramResponses(1);
+
+        assertArrayEquals(new short[] {33}, _client.readBlockWord(new DeviceSpec("D3"), (short)1));
+        assertEquals(2, _server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("3Eフレームでも応答を失った読出しは再送される")
+    void testReadIsRetransmitted3E() {
+        _server.memory(DeviceCodeEnum.DataRegister)[4] = 44;
+        _server.dropDatagramResponses(1);
+
+        assertArrayEquals(new short[] {44}, _client.readBlockWord(new DeviceSpec("D4"), (short)1));
+        assertEquals(2, _server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("書込みは再送せずにタイムアウトとなる")
+    void testWriteIsNotRetransmitted() {
+        _client.setFrameType(FrameTypeEnum.FRAME_4E);
+        _server.dropDatagramResponses(1);
+
+        assertThrows(RequestAbnormalException.class, () -> _client.writeBlockWord(new DeviceSpec("D5"), new short[] {55}));
+        assertEquals(1, _server.getRequestCount());
+        // 要求自体は1回だけ実行されている
+        assertEquals(55, _server.memory(DeviceCodeEnum.DataRegister)[5]);
+    }
+
+    @Test
+    @DisplayName("再送回数を使い切った読出しはタイムアウトとなる")
+    void testRetransmitExhausted() {
+        _transport.setRetransmitCount(1);
+        _server.dropDatagramResponses(2);
+
+        assertThrows(RequestAbnormalException.class, () -> _client.readBlockWord(new DeviceSpec("D0"), (short)1));
+        assertEquals(2, _server.getRequestCount());
+        // 後続の要求には影響しない
+        assertArrayEquals(new short[] {0}, _client.readBlockWord(new DeviceSpec("D0"), (short)1));
+    }
+}
@@ -0,0 +1,55 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReconnectPolicyTest {
+
+    @Test
+    @DisplayName("待ち時間は指数的に延び、上限で頭打ちになる")
+    void testExponentialBackoff() {
+        ReconnectPolicy policy = new ReconnectPolicy(10, 500, 2.0, 0.0, 0);
+
+        assertEquals(10, policy.getDelayMillis(0));
+        assertEquals(20, policy.getDelayMillis(1));
+        assertEquals(160, policy.getDelayMillis(4));
+        assertEquals(500, policy.getDelayMillis(10));
+        assertEquals(500, policy.getDelayMillis(1000));
+    }
+
+    @Test
+    @DisplayName("揺らぎは指定した割合の範囲に収まり、ばらつく")
+    void testJitter() {
+        ReconnectPolicy policy = new ReconnectPolicy(1000, 1000, 2.0, 0.5, 0);
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.getDelayMillis(0);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+
+        assertTrue(min >= 500, "下限を下回りました: " + min);
+        assertTrue(max <= 1000, "上限を超えました: " + max);
+        assertTrue(max - min > 100, "揺らぎがありません");
+    }
+
+    @Test
+    @DisplayName("最大試行回数")
+    void testMaxAttempts() {
+        ReconnectPolicy limited = new ReconnectPolicy(10, 100, 2.0, 0.5, 3);
+        assertTrue(limited.canAttempt(2));
+        assertFalse(limited.canAttempt(3));
+        assertTrue(ReconnectPolicy.DEFAULT.canAttempt(Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("範囲外の指定は例外")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ReconnectPolicy(100, 10, 2.0, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReconnectPolicy(10, 100, 0.5, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReconnectPolicy(10, 100, 2.0, 1.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReconnectPolicy(10, 100, 2.0, 0.5, -1));
+    }
+}
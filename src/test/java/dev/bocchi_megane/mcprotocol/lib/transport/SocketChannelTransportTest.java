@@ -0,0 +1,75 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.bocchi_megane.mcprotocol.lib.Client;
+import dev.bocchi_megane.mcprotocol.lib.MockPlcServer;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceCodeEnum;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.exception.RequestAbnormalException;
+
+class SocketChannelTransportTest {
+
+    private MockPlcServer _server;
+    private Client _client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        _server = new MockPlcServer();
+        _client = new Client(new SocketChannelTransport(_server.getHost(), _server.getPort()), false);
+        _client.unsafe_connect();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        _client.disconnect();
+        _server.close();
+    }
+
+    @Test
+    @DisplayName("960ワードの書込み・読込みが往復する")
+    void testMaxWordBlock() {
+        short[] writeData = new short[960];
+        for (int i = 0; i < writeData.length; i++) {
+            writeData[i] = (short)(i * 3);
+        }
+        _client.writeBlockWord(new DeviceSpec("D100"), writeData);
+
+        assertEquals(writeData[0], _server.memory(DeviceCodeEnum.DataRegister)[100]);
+        assertArrayEquals(writeData, _client.readBlockWord(new DeviceSpec("D100"), (short)960));
+    }
+
+    @Test
+    @DisplayName("ビットデバイスの書込み・読込みが往復する")
+    void testBitBlock() {
+        boolean[] writeData = {true, false, true};
+        _client.writeBlockBit(new DeviceSpec("M10"), writeData);
+
+        boolean[] readData = _client.readBlockBit(new DeviceSpec("M10"), (short)3);
+        assertTrue(readData[0]);
+        assertFalse(readData[1]);
+        assertTrue(readData[2]);
+    }
+
+    @Test
+    @DisplayName("応答がない場合はタイムアウトで送信異常となる")
+    void testTimeout() {
+        _client.getTransport().setTimeout(100);
+        _server.setSilent(true);
+
+        assertThrows(RequestAbnormalException.class, () -> _client.readPlcTypeName());
+    }
+
+    @Test
+    @DisplayName("接続状態が通信路から取得できる")
+    void testIsConnected() {
+        assertTrue(_client.isConnected());
+        assertNull(_client.getSocket());
+        _client.disconnect();
+        assertFalse(_client.isConnected());
+    }
+}
@@ -0,0 +1,104 @@
+package dev.bocchi_megane.mcprotocol.lib.transport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import dev.bocchi_megane.mcprotocol.lib.Client;
+import dev.bocchi_megane.mcprotocol.lib.MockPlcServer;
+import dev.bocchi_megane.mcprotocol.lib.define.DeviceSpec;
+import dev.bocchi_megane.mcprotocol.lib.define.FrameTypeEnum;
+import dev.bocchi_megane.mcprotocol.lib.payload.BlockReadRequest;
+
+/**
+ * 通信路のベンチマーク
+ * ループバック上の疑似PLCに対して、TCP（Socket / SocketChannel）とUDP（DatagramChannel）の
+ * 応答時間とスループットを比較します。テストとしては実行されません。
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes dev.bocchi_megane.mcprotocol.lib.transport.TransportBenchmark [回数]
+ * </pre>
+ */
+public class TransportBenchmark {
+    /** ウォームアップの回数 */
+    private static final int WARMUP = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        try (MockPlcServer server = new MockPlcServer()) {
+            String host = server.getHost();
+            List<Case> cases = List.of(
+                new Case("TCP Socket", () -> new SocketTransport(host, server.getPort())),
+                new Case("TCP SocketChannel", () -> new SocketChannelTransport(host, server.getPort())),
+                new Case("UDP DatagramChannel", () -> new DatagramChannelTransport(host, server.getUdpPort()))
+            );
+            System.out.printf("%-20s %-5s %6s %10s %10s %10s %12s%n",
+                "transport", "frame", "points", "p50[us]", "p99[us]", "max[us]", "pipelined/s");
+            for (Case c : cases) {
+                for (FrameTypeEnum frameType : FrameTypeEnum.values()) {
+                    for (short points : new short[] {1, 64, 960}) {
+                        run(c, frameType, points, iterations);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 1条件分を計測して表示します。
+     * 逐次の往復時間の分布と、4Eフレームの場合はパイプライン送信のスループットを計測します。
+     */
+    private static void run(Case c, FrameTypeEnum frameType, short points, int iterations) throws Exception {
+        Client client = new Client(c.factory.get(), false);
+        client.setFrameType(frameType);
+        client.unsafe_connect();
+        try {
+            DeviceSpec spec = new DeviceSpec("D0");
+            for (int i = 0; i < WARMUP; i++) {
+                client.readBlockWord(spec, points);
+            }
+            long[] samples = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                client.readBlockWord(spec, points);
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+
+            String throughput = "-";
+            if (frameType == FrameTypeEnum.FRAME_4E) {
+                List<BlockReadRequest> batch = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    batch.add(new BlockReadRequest(spec, points, false));
+                }
+                int batches = Math.max(iterations / batch.size(), 1);
+                long start = System.nanoTime();
+                for (int i = 0; i < batches; i++) {
+                    client.sendRequests(batch);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                throughput = String.format("%.0f", batches * batch.size() / seconds);
+            }
+
+            System.out.printf("%-20s %-5s %6d %10.1f %10.1f %10.1f %12s%n",
+                c.name, frameType == FrameTypeEnum.FRAME_4E ? "4E" : "3E", points,
+                samples[iterations / 2] / 1e3, samples[iterations * 99 / 100] / 1e3, samples[iterations - 1] / 1e3,
+                throughput);
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    /** 計測対象の通信路 */
+    private static class Case {
+        final String name;
+        final Supplier<ITransport> factory;
+
+        Case(String name, Supplier<ITransport> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+    }
+}
@@ -120,6 +120,55 @@ public class ConverterTest {
         assertArrayEquals(expected, result);
     }
 
+    @Test
+    public void testFromBooleanArrayToWords() {
+        // 17点は2ワードに詰められ、端数は0で埋められる
+        boolean[] bits = new boolean[17];
+        bits[0] = true;
+        bits[15] = true;
+        bits[16] = true;
+        short[] words = Converter.fromBooleanArrayToWords(bits);
+        assertArrayEquals(new short[] {(short)0x8001, 0x0001}, words);
+        assertArrayEquals(bits, Converter.fromWordsToBooleanArray(words, 17));
+        assertThrows(IllegalArgumentException.class, () -> Converter.fromWordsToBooleanArray(words, 33));
+    }
+
+    @Test
+    public void testFromWordsToLongArray() {
+        // 5ワードは2つのlongに詰められ、ワードの並びがそのまま下位から入る
+        short[] words = {(short)0x8001, 0x0002, 0x0003, (short)0xFFFF, 0x0005};
+        long[] packed = Converter.fromWordsToLongArray(words);
+        assertArrayEquals(new long[] {0xFFFF000300028001L, 0x0005L}, packed);
+        assertArrayEquals(words, Converter.fromLongArrayToWords(packed, 5));
+        assertArrayEquals(new short[] {(short)0x8001, 0x0002, 0x0003, (short)0xFFFF, 0x0005, 0, 0, 0, 0},
+            Converter.fromLongArrayToWords(packed, 9));
+    }
+
+    @Test
+    public void testBcd() {
+        assertEquals(0, Converter.fromBcdToInt((short)0x0000));
+        assertEquals(9999, Converter.fromBcdToInt((short)0x9999));
+        assertEquals((short)0x0705, Converter.fromIntToBcd(705));
+        assertEquals((short)0x9999, Converter.fromIntToBcd(9999));
+        assertThrows(IllegalArgumentException.class, () -> Converter.fromBcdToInt((short)0x00A0));
+        assertThrows(IllegalArgumentException.class, () -> Converter.fromIntToBcd(-1));
+    }
+
+    @Test
+    public void testGetPutViews() {
+        // 奇数の位置からでも読み書きできる
+        byte[] bytes = new byte[9];
+        Converter.putInt(bytes, 1, 0x12345678);
+        assertArrayEquals(new byte[] {0, 0x78, 0x56, 0x34, 0x12, 0, 0, 0, 0}, bytes);
+        assertEquals(0x12345678, Converter.getInt(bytes, 1));
+        assertEquals((short)0x5678, Converter.getShort(bytes, 1));
+        Converter.putDouble(bytes, 1, Math.PI);
+        assertEquals(Math.PI, Converter.getDouble(bytes, 1));
+        Converter.putFloat(bytes, 0, -0.5f);
+        assertEquals(-0.5f, Converter.getFloat(bytes, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> Converter.getDouble(bytes, 2));
+    }
+
     public static void main(String[] args) {
         System.out.println("UtilityTest");
     }